@@ -317,6 +317,120 @@ public class Aeron implements AutoCloseable
         return conductor.addSubscription(channel, streamId, availableImageHandler, unavailableImageHandler);
     }
 
+    /**
+     * Asynchronously add a {@link Publication} for publishing messages to subscribers. The command is sent to the
+     * media driver without waiting for a response so many adds can be in flight at once.
+     * <p>
+     * The publication can be retrieved with {@link #getPublication(long)} once the media driver has responded.
+     *
+     * @param channel  for sending the messages known to the media layer.
+     * @param streamId within the channel scope.
+     * @return the registration id of the publication to be used with {@link #getPublication(long)}.
+     */
+    public long asyncAddPublication(final String channel, final int streamId)
+    {
+        return conductor.asyncAddPublication(channel, streamId);
+    }
+
+    /**
+     * Asynchronously add an {@link ExclusivePublication} for publishing messages to subscribers from a single thread.
+     * The command is sent to the media driver without waiting for a response so many adds can be in flight at once.
+     * <p>
+     * The publication can be retrieved with {@link #getExclusivePublication(long)} once the media driver has
+     * responded.
+     *
+     * @param channel  for sending the messages known to the media layer.
+     * @param streamId within the channel scope.
+     * @return the registration id of the publication to be used with {@link #getExclusivePublication(long)}.
+     */
+    public long asyncAddExclusivePublication(final String channel, final int streamId)
+    {
+        return conductor.asyncAddExclusivePublication(channel, streamId);
+    }
+
+    /**
+     * Asynchronously add a new {@link Subscription} for subscribing to messages from publishers. The command is sent
+     * to the media driver without waiting for a response so many adds can be in flight at once.
+     * <p>
+     * The method will set up the {@link Subscription} to use the
+     * {@link Aeron.Context#availableImageHandler(AvailableImageHandler)} and
+     * {@link Aeron.Context#unavailableImageHandler(UnavailableImageHandler)} from the {@link Aeron.Context}.
+     * The subscription can be retrieved with {@link #getSubscription(long)} once the media driver has responded.
+     *
+     * @param channel  for receiving the messages known to the media layer.
+     * @param streamId within the channel scope.
+     * @return the registration id of the subscription to be used with {@link #getSubscription(long)}.
+     */
+    public long asyncAddSubscription(final String channel, final int streamId)
+    {
+        return conductor.asyncAddSubscription(channel, streamId);
+    }
+
+    /**
+     * Asynchronously add a new {@link Subscription} for subscribing to messages from publishers. The command is sent
+     * to the media driver without waiting for a response so many adds can be in flight at once.
+     * <p>
+     * This method will override the default handlers from the {@link Aeron.Context}. Null values are valid and will
+     * result in no action being taken. The subscription can be retrieved with {@link #getSubscription(long)} once
+     * the media driver has responded.
+     *
+     * @param channel                 for receiving the messages known to the media layer.
+     * @param streamId                within the channel scope.
+     * @param availableImageHandler   called when {@link Image}s become available for consumption. Null is valid if no
+     *                                action is to be taken.
+     * @param unavailableImageHandler called when {@link Image}s go unavailable for consumption. Null is valid if no
+     *                                action is to be taken.
+     * @return the registration id of the subscription to be used with {@link #getSubscription(long)}.
+     */
+    public long asyncAddSubscription(
+        final String channel,
+        final int streamId,
+        final AvailableImageHandler availableImageHandler,
+        final UnavailableImageHandler unavailableImageHandler)
+    {
+        return conductor.asyncAddSubscription(channel, streamId, availableImageHandler, unavailableImageHandler);
+    }
+
+    /**
+     * Get a {@link ConcurrentPublication} added with {@link #asyncAddPublication(String, int)} without blocking.
+     *
+     * @param registrationId returned from {@link #asyncAddPublication(String, int)}.
+     * @return the publication if the media driver has responded, otherwise null.
+     * @throws io.aeron.exceptions.RegistrationException if the media driver failed to add the publication.
+     * @throws DriverTimeoutException if the media driver has not responded within the driver timeout.
+     */
+    public ConcurrentPublication getPublication(final long registrationId)
+    {
+        return conductor.getPublication(registrationId);
+    }
+
+    /**
+     * Get an {@link ExclusivePublication} added with {@link #asyncAddExclusivePublication(String, int)} without
+     * blocking.
+     *
+     * @param registrationId returned from {@link #asyncAddExclusivePublication(String, int)}.
+     * @return the publication if the media driver has responded, otherwise null.
+     * @throws io.aeron.exceptions.RegistrationException if the media driver failed to add the publication.
+     * @throws DriverTimeoutException if the media driver has not responded within the driver timeout.
+     */
+    public ExclusivePublication getExclusivePublication(final long registrationId)
+    {
+        return conductor.getExclusivePublication(registrationId);
+    }
+
+    /**
+     * Get a {@link Subscription} added with {@link #asyncAddSubscription(String, int)} without blocking.
+     *
+     * @param registrationId returned from {@link #asyncAddSubscription(String, int)}.
+     * @return the subscription if the media driver has responded, otherwise null.
+     * @throws io.aeron.exceptions.RegistrationException if the media driver failed to add the subscription.
+     * @throws DriverTimeoutException if the media driver has not responded within the driver timeout.
+     */
+    public Subscription getSubscription(final long registrationId)
+    {
+        return conductor.getSubscription(registrationId);
+    }
+
     /**
      * Generate the next correlation id that is unique for the connected Media Driver.
      * <p>
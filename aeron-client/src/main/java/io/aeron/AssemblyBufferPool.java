@@ -0,0 +1,251 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import org.agrona.BitUtil;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Pool of off-heap buffers, in power of two size classes, for reassembling fragmented messages which is bounded
+ * in the total length of the buffers it will allocate.
+ * <p>
+ * Buffers are acquired when a message begins, or needs to grow, and released when it completes so the memory
+ * retained is a function of the messages in flight rather than the largest message ever seen per session. When
+ * a buffer is required which would take the pool over its max length then idle buffers of other size classes are
+ * freed to make room before the pool is considered exhausted.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe but can be shared by the assemblers polled on the same thread.
+ *
+ * @see PooledFragmentAssembler
+ */
+public class AssemblyBufferPool
+{
+    /**
+     * Length of the smallest buffer allocated by the pool.
+     */
+    public static final int MIN_BUFFER_LENGTH = 4096;
+
+    /**
+     * Length of the largest buffer allocated by the pool.
+     */
+    public static final int MAX_BUFFER_LENGTH = 1 << 30;
+
+    private static final int MIN_BUFFER_LENGTH_SHIFT = Integer.numberOfTrailingZeros(MIN_BUFFER_LENGTH);
+    private static final int SIZE_CLASS_COUNT = Integer.numberOfTrailingZeros(MAX_BUFFER_LENGTH) -
+        MIN_BUFFER_LENGTH_SHIFT + 1;
+
+    private final long maxPoolLength;
+    private final ArrayDeque<UnsafeBuffer>[] freeBuffersBySizeClass;
+    private long allocatedLength;
+    private long inUseLength;
+    private long allocationCount;
+    private long exhaustedCount;
+
+    /**
+     * Construct a pool which will allocate buffers up to a max total length.
+     *
+     * @param maxPoolLength max total length of the buffers allocated by the pool, whether in use or idle.
+     */
+    @SuppressWarnings("unchecked")
+    public AssemblyBufferPool(final long maxPoolLength)
+    {
+        if (maxPoolLength < MIN_BUFFER_LENGTH)
+        {
+            throw new IllegalArgumentException(
+                "maxPoolLength must be >= " + MIN_BUFFER_LENGTH + ": " + maxPoolLength);
+        }
+
+        this.maxPoolLength = maxPoolLength;
+        freeBuffersBySizeClass = new ArrayDeque[SIZE_CLASS_COUNT];
+        for (int i = 0; i < SIZE_CLASS_COUNT; i++)
+        {
+            freeBuffersBySizeClass[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Acquire a buffer with a capacity of at least the required length.
+     *
+     * @param length required of the buffer.
+     * @return a buffer with a capacity of at least the required length or null if the pool is exhausted.
+     */
+    public UnsafeBuffer acquire(final int length)
+    {
+        if (length > MAX_BUFFER_LENGTH)
+        {
+            exhaustedCount++;
+            return null;
+        }
+
+        final int capacity = bufferLength(length);
+        UnsafeBuffer buffer = freeBuffersBySizeClass[sizeClass(capacity)].pollLast();
+
+        if (null == buffer)
+        {
+            if (!reclaim(capacity))
+            {
+                exhaustedCount++;
+                return null;
+            }
+
+            buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(capacity));
+            allocatedLength += capacity;
+            allocationCount++;
+        }
+
+        inUseLength += capacity;
+
+        return buffer;
+    }
+
+    /**
+     * Release a buffer acquired from this pool so it can be reused. The buffer must not be accessed after it has
+     * been released as its memory may be freed when the pool is trimmed or needs to make room.
+     *
+     * @param buffer to be released.
+     */
+    public void release(final UnsafeBuffer buffer)
+    {
+        final int capacity = buffer.capacity();
+        inUseLength -= capacity;
+        freeBuffersBySizeClass[sizeClass(capacity)].addLast(buffer);
+    }
+
+    /**
+     * Free all idle buffers so the memory can be reclaimed.
+     *
+     * @return the length of the buffers freed.
+     */
+    public long trim()
+    {
+        long freedLength = 0;
+        for (final ArrayDeque<UnsafeBuffer> freeBuffers : freeBuffersBySizeClass)
+        {
+            UnsafeBuffer buffer;
+            while (null != (buffer = freeBuffers.pollLast()))
+            {
+                freedLength += buffer.capacity();
+                free(buffer);
+            }
+        }
+
+        allocatedLength -= freedLength;
+
+        return freedLength;
+    }
+
+    /**
+     * Max total length of the buffers allocated by the pool, whether in use or idle.
+     *
+     * @return max total length of the buffers allocated by the pool.
+     */
+    public long maxPoolLength()
+    {
+        return maxPoolLength;
+    }
+
+    /**
+     * Total length of the buffers currently allocated by the pool, whether in use or idle.
+     *
+     * @return total length of the buffers currently allocated by the pool.
+     */
+    public long allocatedLength()
+    {
+        return allocatedLength;
+    }
+
+    /**
+     * Total length of the buffers currently acquired from the pool.
+     *
+     * @return total length of the buffers currently acquired from the pool.
+     */
+    public long inUseLength()
+    {
+        return inUseLength;
+    }
+
+    /**
+     * Count of buffers allocated by the pool since it was constructed.
+     *
+     * @return count of buffers allocated by the pool since it was constructed.
+     */
+    public long allocationCount()
+    {
+        return allocationCount;
+    }
+
+    /**
+     * Count of acquires which failed because the pool was exhausted.
+     *
+     * @return count of acquires which failed because the pool was exhausted.
+     */
+    public long exhaustedCount()
+    {
+        return exhaustedCount;
+    }
+
+    /**
+     * The length of buffer, as a power of two, the pool will allocate for a required length.
+     *
+     * @param length required of the buffer.
+     * @return the length of buffer the pool will allocate.
+     */
+    public static int bufferLength(final int length)
+    {
+        return Math.max(MIN_BUFFER_LENGTH, BitUtil.findNextPositivePowerOfTwo(length));
+    }
+
+    public String toString()
+    {
+        return "AssemblyBufferPool{" +
+            "maxPoolLength=" + maxPoolLength +
+            ", allocatedLength=" + allocatedLength +
+            ", inUseLength=" + inUseLength +
+            ", allocationCount=" + allocationCount +
+            ", exhaustedCount=" + exhaustedCount +
+            '}';
+    }
+
+    private boolean reclaim(final int capacity)
+    {
+        for (int i = SIZE_CLASS_COUNT - 1; i >= 0 && (allocatedLength + capacity) > maxPoolLength; i--)
+        {
+            final ArrayDeque<UnsafeBuffer> freeBuffers = freeBuffersBySizeClass[i];
+            UnsafeBuffer buffer;
+            while ((allocatedLength + capacity) > maxPoolLength && null != (buffer = freeBuffers.pollLast()))
+            {
+                allocatedLength -= buffer.capacity();
+                free(buffer);
+            }
+        }
+
+        return (allocatedLength + capacity) <= maxPoolLength;
+    }
+
+    private static void free(final UnsafeBuffer buffer)
+    {
+        IoUtil.unmap(buffer.byteBuffer());
+    }
+
+    private static int sizeClass(final int capacity)
+    {
+        return Integer.numberOfTrailingZeros(capacity) - MIN_BUFFER_LENGTH_SHIFT;
+    }
+}
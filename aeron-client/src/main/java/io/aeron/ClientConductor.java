@@ -23,7 +23,9 @@ import io.aeron.status.ChannelEndpointStatus;
 import org.agrona.DirectBuffer;
 import org.agrona.ManagedResource;
 import org.agrona.collections.ArrayListUtil;
+import org.agrona.collections.Long2LongHashMap;
 import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.collections.LongHashSet;
 import org.agrona.concurrent.*;
 import org.agrona.concurrent.status.CountersManager;
 import org.agrona.concurrent.status.CountersReader;
@@ -67,6 +69,10 @@ class ClientConductor implements Agent, DriverEventsListener
     private final LogBuffersFactory logBuffersFactory;
     private final Long2ObjectHashMap<LogBuffers> logBuffersByIdMap = new Long2ObjectHashMap<>();
     private final Long2ObjectHashMap<Object> resourceByRegIdMap = new Long2ObjectHashMap<>();
+    private final LongHashSet asyncCommandIdSet = new LongHashSet();
+    private final Long2ObjectHashMap<String> asyncChannelByRegIdMap = new Long2ObjectHashMap<>();
+    private final Long2LongHashMap asyncDeadlineNsByRegIdMap = new Long2LongHashMap(Aeron.NULL_VALUE);
+    private final Long2ObjectHashMap<RegistrationException> asyncExceptionByRegIdMap = new Long2ObjectHashMap<>();
     private final ArrayList<ManagedResource> lingeringResources = new ArrayList<>();
     private final AvailableImageHandler defaultAvailableImageHandler;
     private final UnavailableImageHandler defaultUnavailableImageHandler;
@@ -94,7 +100,7 @@ class ClientConductor implements Agent, DriverEventsListener
         defaultUnavailableImageHandler = ctx.unavailableImageHandler();
         availableCounterHandler = ctx.availableCounterHandler();
         unavailableCounterHandler = ctx.unavailableCounterHandler();
-        driverEventsAdapter = new DriverEventsAdapter(ctx.toClientBuffer(), this);
+        driverEventsAdapter = new DriverEventsAdapter(ctx.toClientBuffer(), this, asyncCommandIdSet);
         driverAgentInvoker = ctx.driverAgentInvoker();
         counterValuesBuffer = ctx.countersValuesBuffer();
         countersReader = new CountersReader(ctx.countersMetaDataBuffer(), ctx.countersValuesBuffer(), US_ASCII);
@@ -171,7 +177,16 @@ class ClientConductor implements Agent, DriverEventsListener
 
     public void onError(final long correlationId, final ErrorCode errorCode, final String message)
     {
-        driverException = new RegistrationException(errorCode, message);
+        if (removeAsyncCommand(correlationId))
+        {
+            asyncChannelByRegIdMap.remove(correlationId);
+            resourceByRegIdMap.remove(correlationId);
+            asyncExceptionByRegIdMap.put(correlationId, new RegistrationException(errorCode, message));
+        }
+        else
+        {
+            driverException = new RegistrationException(errorCode, message);
+        }
     }
 
     public void onChannelEndpointError(final int statusIndicatorId, final String message)
@@ -208,9 +223,12 @@ class ClientConductor implements Agent, DriverEventsListener
         final int statusIndicatorId,
         final String logFileName)
     {
+        final String channel = removeAsyncCommand(correlationId) ?
+            asyncChannelByRegIdMap.remove(correlationId) : stashedChannel;
+
         final ConcurrentPublication publication = new ConcurrentPublication(
             this,
-            stashedChannel,
+            channel,
             streamId,
             sessionId,
             new UnsafeBufferPosition(counterValuesBuffer, publicationLimitId),
@@ -231,9 +249,12 @@ class ClientConductor implements Agent, DriverEventsListener
         final int statusIndicatorId,
         final String logFileName)
     {
+        final String channel = removeAsyncCommand(correlationId) ?
+            asyncChannelByRegIdMap.remove(correlationId) : stashedChannel;
+
         final ExclusivePublication publication = new ExclusivePublication(
             this,
-            stashedChannel,
+            channel,
             streamId,
             sessionId,
             new UnsafeBufferPosition(counterValuesBuffer, publicationLimitId),
@@ -247,6 +268,7 @@ class ClientConductor implements Agent, DriverEventsListener
 
     public void onNewSubscription(final long correlationId, final int statusIndicatorId)
     {
+        removeAsyncCommand(correlationId);
         final Subscription subscription = (Subscription)resourceByRegIdMap.get(correlationId);
         subscription.channelStatusId(statusIndicatorId);
     }
@@ -397,6 +419,54 @@ class ClientConductor implements Agent, DriverEventsListener
         }
     }
 
+    long asyncAddPublication(final String channel, final int streamId)
+    {
+        clientLock.lock();
+        try
+        {
+            ensureOpen();
+
+            final long registrationId = driverProxy.addPublication(channel, streamId);
+            addAsyncCommand(registrationId);
+            asyncChannelByRegIdMap.put(registrationId, channel);
+
+            return registrationId;
+        }
+        finally
+        {
+            clientLock.unlock();
+        }
+    }
+
+    long asyncAddExclusivePublication(final String channel, final int streamId)
+    {
+        clientLock.lock();
+        try
+        {
+            ensureOpen();
+
+            final long registrationId = driverProxy.addExclusivePublication(channel, streamId);
+            addAsyncCommand(registrationId);
+            asyncChannelByRegIdMap.put(registrationId, channel);
+
+            return registrationId;
+        }
+        finally
+        {
+            clientLock.unlock();
+        }
+    }
+
+    ConcurrentPublication getPublication(final long registrationId)
+    {
+        return (ConcurrentPublication)getAsyncResource(registrationId);
+    }
+
+    ExclusivePublication getExclusivePublication(final long registrationId)
+    {
+        return (ExclusivePublication)getAsyncResource(registrationId);
+    }
+
     void releasePublication(final Publication publication)
     {
         clientLock.lock();
@@ -458,6 +528,47 @@ class ClientConductor implements Agent, DriverEventsListener
         }
     }
 
+    long asyncAddSubscription(final String channel, final int streamId)
+    {
+        return asyncAddSubscription(channel, streamId, defaultAvailableImageHandler, defaultUnavailableImageHandler);
+    }
+
+    long asyncAddSubscription(
+        final String channel,
+        final int streamId,
+        final AvailableImageHandler availableImageHandler,
+        final UnavailableImageHandler unavailableImageHandler)
+    {
+        clientLock.lock();
+        try
+        {
+            ensureOpen();
+
+            final long correlationId = driverProxy.addSubscription(channel, streamId);
+            final Subscription subscription = new Subscription(
+                this,
+                channel,
+                streamId,
+                correlationId,
+                availableImageHandler,
+                unavailableImageHandler);
+
+            resourceByRegIdMap.put(correlationId, subscription);
+            addAsyncCommand(correlationId);
+
+            return correlationId;
+        }
+        finally
+        {
+            clientLock.unlock();
+        }
+    }
+
+    Subscription getSubscription(final long registrationId)
+    {
+        return (Subscription)getAsyncResource(registrationId);
+    }
+
     void releaseSubscription(final Subscription subscription)
     {
         clientLock.lock();
@@ -666,6 +777,59 @@ class ClientConductor implements Agent, DriverEventsListener
         }
     }
 
+    private Object getAsyncResource(final long registrationId)
+    {
+        clientLock.lock();
+        try
+        {
+            ensureOpen();
+
+            if (asyncCommandIdSet.contains(registrationId))
+            {
+                service(NO_CORRELATION_ID);
+            }
+
+            final RegistrationException ex = asyncExceptionByRegIdMap.remove(registrationId);
+            if (null != ex)
+            {
+                throw ex;
+            }
+
+            if (asyncCommandIdSet.contains(registrationId))
+            {
+                if (nanoClock.nanoTime() - asyncDeadlineNsByRegIdMap.get(registrationId) > 0)
+                {
+                    removeAsyncCommand(registrationId);
+                    asyncChannelByRegIdMap.remove(registrationId);
+                    resourceByRegIdMap.remove(registrationId);
+
+                    throw new DriverTimeoutException("No response from MediaDriver within (ns):" + driverTimeoutNs);
+                }
+
+                return null;
+            }
+
+            return resourceByRegIdMap.get(registrationId);
+        }
+        finally
+        {
+            clientLock.unlock();
+        }
+    }
+
+    private void addAsyncCommand(final long registrationId)
+    {
+        asyncCommandIdSet.add(registrationId);
+        asyncDeadlineNsByRegIdMap.put(registrationId, nanoClock.nanoTime() + driverTimeoutNs);
+    }
+
+    private boolean removeAsyncCommand(final long registrationId)
+    {
+        asyncDeadlineNsByRegIdMap.remove(registrationId);
+
+        return asyncCommandIdSet.remove(registrationId);
+    }
+
     private LogBuffers logBuffers(final long registrationId, final String logFileName)
     {
         LogBuffers logBuffers = logBuffersByIdMap.get(registrationId);
@@ -842,5 +1006,9 @@ class ClientConductor implements Agent, DriverEventsListener
         }
 
         resourceByRegIdMap.clear();
+        asyncCommandIdSet.clear();
+        asyncChannelByRegIdMap.clear();
+        asyncDeadlineNsByRegIdMap.clear();
+        asyncExceptionByRegIdMap.clear();
     }
 }
@@ -184,6 +184,49 @@ public class CommonContext implements AutoCloseable, Cloneable
      */
     public static final String TAGS_PARAM_NAME = "tags";
 
+    /**
+     * Key for the index of the receiver shard in the driver which should service a subscription channel.
+     */
+    public static final String RECEIVER_SHARD_PARAM_NAME = "receiver-shard";
+
+    /**
+     * Key for the number of sockets bound with SO_REUSEPORT to the endpoint of a unicast subscription channel so the
+     * kernel can spread publishers across that many receiver shards. A value of 1, which is the default, disables it.
+     */
+    public static final String RECEIVER_FAN_IN_PARAM_NAME = "fan-in";
+
+    /**
+     * Key for the address and port of the single source a unicast subscription channel will receive from. The receive
+     * socket is connected to it so datagrams from any other source are dropped by the kernel.
+     */
+    public static final String SOURCE_PARAM_NAME = "source";
+
+    /**
+     * Key for the index of the sender shard in the driver which should service a publication channel.
+     */
+    public static final String SENDER_SHARD_PARAM_NAME = "sender-shard";
+
+    /**
+     * Key for the number of datagrams protected by each FEC parity frame sent for a publication channel. A value of
+     * 0, which is the default, disables FEC.
+     */
+    public static final String FEC_GROUP_SIZE_PARAM_NAME = "fec";
+
+    /**
+     * Key for the rate in bytes per second at which a publication channel is paced. A value of 0 disables pacing.
+     */
+    public static final String PACING_RATE_PARAM_NAME = "pacing-rate";
+
+    /**
+     * Key for the burst in bytes which a paced publication channel can send at once.
+     */
+    public static final String PACING_BURST_PARAM_NAME = "pacing-burst";
+
+    /**
+     * Key for the priority class by which the sender serves a publication channel where 0 is the highest.
+     */
+    public static final String PRIORITY_PARAM_NAME = "priority";
+
     private long driverTimeoutMs = DRIVER_TIMEOUT_MS;
     private String aeronDirectoryName = getAeronDirectoryName();
     private File aeronDirectory;
@@ -182,6 +182,53 @@ public class ConcurrentPublication extends Publication
         return newPosition;
     }
 
+    /**
+     * Non-blocking publish of a batch of messages, with a message per vector, which reserves space in the term for
+     * the whole batch with a single tail update.
+     *
+     * @param messages              to be published with a message per vector.
+     * @param count                 of messages from the start of the array to be published.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} for each frame.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED}.
+     */
+    public long offerBatch(
+        final DirectBufferVector[] messages, final int count, final ReservedValueSupplier reservedValueSupplier)
+    {
+        final int batchLength = computeBatchLength(messages, count);
+        long newPosition = CLOSED;
+
+        if (!isClosed)
+        {
+            final long limit = positionLimit.getVolatile();
+            final int termCount = activeTermCount(logMetaDataBuffer);
+            final TermAppender termAppender = termAppenders[indexByTermCount(termCount)];
+            final long rawTail = termAppender.rawTailVolatile();
+            final long termOffset = rawTail & 0xFFFF_FFFFL;
+            final int termId = termId(rawTail);
+            final long position = computeTermBeginPosition(termId, positionBitsToShift, initialTermId) + termOffset;
+
+            if (termCount != (termId - initialTermId))
+            {
+                return ADMIN_ACTION;
+            }
+
+            if (position < limit)
+            {
+                final int resultingOffset = termAppender.appendUnfragmentedBatch(
+                    headerWriter, messages, count, batchLength, reservedValueSupplier, termId);
+
+                newPosition = newPosition(termCount, (int)termOffset, termId, position, resultingOffset);
+            }
+            else
+            {
+                newPosition = backPressureStatus(position, batchLength);
+            }
+        }
+
+        return newPosition;
+    }
+
     /**
      * Try to claim a range in the publication log into which a message can be written with zero copy semantics.
      * Once the message has been written then {@link BufferClaim#commit()} should be called thus making it available.
@@ -17,6 +17,7 @@ package io.aeron;
 
 import io.aeron.command.*;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.LongHashSet;
 import org.agrona.concurrent.MessageHandler;
 import org.agrona.concurrent.broadcast.CopyBroadcastReceiver;
 
@@ -38,14 +39,19 @@ class DriverEventsAdapter implements MessageHandler
     private final ImageMessageFlyweight imageMessage = new ImageMessageFlyweight();
     private final CounterUpdateFlyweight counterUpdate = new CounterUpdateFlyweight();
     private final DriverEventsListener listener;
+    private final LongHashSet asyncCommandIdSet;
 
     private long activeCorrelationId;
     private long lastReceivedCorrelationId;
 
-    DriverEventsAdapter(final CopyBroadcastReceiver broadcastReceiver, final DriverEventsListener listener)
+    DriverEventsAdapter(
+        final CopyBroadcastReceiver broadcastReceiver,
+        final DriverEventsListener listener,
+        final LongHashSet asyncCommandIdSet)
     {
         this.broadcastReceiver = broadcastReceiver;
         this.listener = listener;
+        this.asyncCommandIdSet = asyncCommandIdSet;
     }
 
     public int receive(final long activeCorrelationId)
@@ -76,11 +82,11 @@ class DriverEventsAdapter implements MessageHandler
                 {
                     listener.onChannelEndpointError(correlationId, errorResponse.errorMessage());
                 }
-                else if (correlationId == activeCorrelationId)
+                else if (isResponse(correlationId))
                 {
                     listener.onError(correlationId, errorResponse.errorCode(), errorResponse.errorMessage());
 
-                    lastReceivedCorrelationId = correlationId;
+                    onResponse(correlationId);
                 }
                 break;
             }
@@ -105,7 +111,7 @@ class DriverEventsAdapter implements MessageHandler
                 publicationReady.wrap(buffer, index);
 
                 final long correlationId = publicationReady.correlationId();
-                if (correlationId == activeCorrelationId)
+                if (isResponse(correlationId))
                 {
                     listener.onNewPublication(
                         correlationId,
@@ -116,7 +122,7 @@ class DriverEventsAdapter implements MessageHandler
                         publicationReady.channelStatusCounterId(),
                         publicationReady.logFileName());
 
-                    lastReceivedCorrelationId = correlationId;
+                    onResponse(correlationId);
                 }
                 break;
             }
@@ -126,11 +132,11 @@ class DriverEventsAdapter implements MessageHandler
                 subscriptionReady.wrap(buffer, index);
 
                 final long correlationId = subscriptionReady.correlationId();
-                if (correlationId == activeCorrelationId)
+                if (isResponse(correlationId))
                 {
                     listener.onNewSubscription(correlationId, subscriptionReady.channelStatusCounterId());
 
-                    lastReceivedCorrelationId = correlationId;
+                    onResponse(correlationId);
                 }
                 break;
             }
@@ -161,7 +167,7 @@ class DriverEventsAdapter implements MessageHandler
                 publicationReady.wrap(buffer, index);
 
                 final long correlationId = publicationReady.correlationId();
-                if (correlationId == activeCorrelationId)
+                if (isResponse(correlationId))
                 {
                     listener.onNewExclusivePublication(
                         correlationId,
@@ -172,7 +178,7 @@ class DriverEventsAdapter implements MessageHandler
                         publicationReady.channelStatusCounterId(),
                         publicationReady.logFileName());
 
-                    lastReceivedCorrelationId = correlationId;
+                    onResponse(correlationId);
                 }
                 break;
             }
@@ -205,4 +211,17 @@ class DriverEventsAdapter implements MessageHandler
             }
         }
     }
+
+    private boolean isResponse(final long correlationId)
+    {
+        return correlationId == activeCorrelationId || asyncCommandIdSet.contains(correlationId);
+    }
+
+    private void onResponse(final long correlationId)
+    {
+        if (correlationId == activeCorrelationId)
+        {
+            lastReceivedCorrelationId = correlationId;
+        }
+    }
 }
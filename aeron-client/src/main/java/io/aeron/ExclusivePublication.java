@@ -200,6 +200,44 @@ public class ExclusivePublication extends Publication
         return newPosition;
     }
 
+    /**
+     * Non-blocking publish of a batch of messages, with a message per vector, which reserves space in the term for
+     * the whole batch with a single tail update.
+     *
+     * @param messages              to be published with a message per vector.
+     * @param count                 of messages from the start of the array to be published.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} for each frame.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED}.
+     */
+    public long offerBatch(
+        final DirectBufferVector[] messages, final int count, final ReservedValueSupplier reservedValueSupplier)
+    {
+        final int batchLength = computeBatchLength(messages, count);
+        long newPosition = CLOSED;
+
+        if (!isClosed)
+        {
+            final long limit = positionLimit.getVolatile();
+            final ExclusiveTermAppender termAppender = termAppenders[activePartitionIndex];
+            final long position = termBeginPosition + termOffset;
+
+            if (position < limit)
+            {
+                final int result = termAppender.appendUnfragmentedBatch(
+                    termId, termOffset, headerWriter, messages, count, batchLength, reservedValueSupplier);
+
+                newPosition = newPosition(result);
+            }
+            else
+            {
+                newPosition = backPressureStatus(position, batchLength);
+            }
+        }
+
+        return newPosition;
+    }
+
     /**
      * Try to claim a range in the publication log into which a message can be written with zero copy semantics.
      * Once the message has been written then {@link ExclusiveBufferClaim#commit()} should be called thus making it
@@ -250,6 +250,24 @@ public class Image
         return subscriberPosition.get() >= endOfStreamPosition(logBuffers.metaDataBuffer());
     }
 
+    /**
+     * Is a frame available to be consumed at the current position? This is a single volatile read of the frame
+     * length in the term and so is cheaper than a {@link #poll(FragmentHandler, int)} which finds nothing.
+     *
+     * @return true if a frame is available at the current position otherwise false.
+     */
+    boolean isFrameAvailable()
+    {
+        if (isClosed)
+        {
+            return false;
+        }
+
+        final long position = subscriberPosition.get();
+
+        return 0 != frameLengthVolatile(activeTermBuffer(position), (int)position & termLengthMask);
+    }
+
     /**
      * The {@link FileChannel} to the raw log of the Image.
      *
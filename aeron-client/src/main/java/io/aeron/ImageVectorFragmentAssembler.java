@@ -0,0 +1,223 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.MessageVectorHandler;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.util.Arrays;
+
+import static io.aeron.logbuffer.FrameDescriptor.*;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+
+/**
+ * A {@link FragmentHandler} that reassembles fragmented messages without copy so the {@link MessageVectorHandler}
+ * only sees whole messages. This is for a single session on an {@link Image} and not for multiple session
+ * {@link Image}s in a {@link Subscription}.
+ * <p>
+ * A fragmented message is appended to a single term so its fragments lie in order in the term buffer separated
+ * only by their frame headers. When the first fragment of a message is delivered the term is scanned ahead and,
+ * if all the fragments up to the last have been committed, the delegate is given a vector per fragment over the
+ * term buffer which skips the headers. The remaining fragments are then skipped as they are delivered. The vectors
+ * are valid for the callback as the image position has not yet moved beyond the first fragment, so the log
+ * cannot have been cleaned.
+ * <p>
+ * If the message is not yet complete in the term, or the fragments are not delivered from a term buffer, then
+ * the message falls back to being copied to a temporary buffer as it is delivered across polls and is delegated
+ * as one vector.
+ * <p>
+ * Unfragmented messages are delegated as one vector without copy. The {@link Header} passed to the delegate on
+ * assembling a message will be that of the last fragment.
+ */
+public class ImageVectorFragmentAssembler implements FragmentHandler
+{
+    private static final int INITIAL_VECTOR_COUNT = 8;
+
+    private final MessageVectorHandler delegate;
+    private final BufferBuilder builder;
+    private DirectBufferVector[] vectors = newVectors(INITIAL_VECTOR_COUNT, 0);
+    private int vectorCount;
+    private int messageLength;
+    private int endFrameOffset;
+    private boolean isCopying;
+    private boolean isSkipping;
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on only whole messages.
+     *
+     * @param delegate onto which whole messages are forwarded.
+     */
+    public ImageVectorFragmentAssembler(final MessageVectorHandler delegate)
+    {
+        this.delegate = delegate;
+        this.builder = new BufferBuilder();
+    }
+
+    /**
+     * Get the delegate unto which assembled messages are delegated.
+     *
+     * @return the delegate unto which assembled messages are delegated.
+     */
+    public MessageVectorHandler delegate()
+    {
+        return delegate;
+    }
+
+    /**
+     * The implementation of {@link FragmentHandler} that reassembles and forwards whole messages.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     */
+    public void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final byte flags = header.flags();
+
+        if ((flags & UNFRAGMENTED) == UNFRAGMENTED)
+        {
+            vectors[0].reset(buffer, offset, length);
+            delegate.onMessage(vectors, 1, length, header);
+        }
+        else if ((flags & BEGIN_FRAG_FLAG) == BEGIN_FRAG_FLAG)
+        {
+            onBeginFragment(buffer, offset, length, header);
+        }
+        else if (isSkipping)
+        {
+            isSkipping = (flags & END_FRAG_FLAG) != END_FRAG_FLAG;
+        }
+        else if (isCopying)
+        {
+            builder.append(buffer, offset, length);
+
+            if ((flags & END_FRAG_FLAG) == END_FRAG_FLAG)
+            {
+                try
+                {
+                    vectors[0].reset(builder.buffer(), 0, builder.limit());
+                    delegate.onMessage(vectors, 1, builder.limit(), header);
+                }
+                finally
+                {
+                    reset();
+                }
+            }
+        }
+    }
+
+    private void onBeginFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        reset();
+
+        if (buffer instanceof UnsafeBuffer && header.buffer() == buffer && scanMessage((UnsafeBuffer)buffer, offset))
+        {
+            isSkipping = true;
+            final int beginFrameOffset = header.offset();
+            header.offset(endFrameOffset);
+            try
+            {
+                delegate.onMessage(vectors, vectorCount, messageLength, header);
+            }
+            finally
+            {
+                header.offset(beginFrameOffset);
+                clearVectors();
+            }
+        }
+        else
+        {
+            clearVectors();
+            builder.append(buffer, offset, length);
+            isCopying = true;
+        }
+    }
+
+    private boolean scanMessage(final UnsafeBuffer termBuffer, final int offset)
+    {
+        final int capacity = termBuffer.capacity();
+        int frameOffset = offset - HEADER_LENGTH;
+
+        while (frameOffset < capacity)
+        {
+            final int frameLength = frameLengthVolatile(termBuffer, frameOffset);
+            if (frameLength <= 0 || isPaddingFrame(termBuffer, frameOffset))
+            {
+                return false;
+            }
+
+            addVector(termBuffer, frameOffset + HEADER_LENGTH, frameLength - HEADER_LENGTH);
+
+            if ((frameFlags(termBuffer, frameOffset) & END_FRAG_FLAG) == END_FRAG_FLAG)
+            {
+                endFrameOffset = frameOffset;
+                return true;
+            }
+
+            frameOffset += BitUtil.align(frameLength, FRAME_ALIGNMENT);
+        }
+
+        return false;
+    }
+
+    private void addVector(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (vectorCount == vectors.length)
+        {
+            vectors = newVectors(vectorCount * 2, vectorCount);
+        }
+
+        vectors[vectorCount++].reset(buffer, offset, length);
+        messageLength += length;
+    }
+
+    private void clearVectors()
+    {
+        for (int i = 0; i < vectorCount; i++)
+        {
+            vectors[i].buffer(null);
+        }
+
+        vectorCount = 0;
+        messageLength = 0;
+    }
+
+    private void reset()
+    {
+        clearVectors();
+        isCopying = false;
+        isSkipping = false;
+        builder.reset();
+    }
+
+    private DirectBufferVector[] newVectors(final int length, final int existingCount)
+    {
+        final DirectBufferVector[] newVectors = null == vectors ?
+            new DirectBufferVector[length] : Arrays.copyOf(vectors, length);
+
+        for (int i = existingCount; i < length; i++)
+        {
+            newVectors[i] = new DirectBufferVector();
+        }
+
+        return newVectors;
+    }
+}
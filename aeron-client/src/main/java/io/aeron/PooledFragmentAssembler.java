@@ -0,0 +1,318 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.logbuffer.FrameDescriptor.*;
+
+/**
+ * A {@link FragmentHandler} that sits in a chain-of-responsibility pattern that reassembles fragmented messages
+ * so that the next handler in the chain only sees whole messages, using buffers from a bounded
+ * {@link AssemblyBufferPool} which can be shared between assemblers.
+ * <p>
+ * Unfragmented messages are delegated without copy. Fragmented messages are copied to a buffer acquired from the
+ * pool for reassembly before delegation and the buffer is released back to the pool once the message has been
+ * delegated. A session therefore only holds a buffer while it has a message in flight.
+ * <p>
+ * The {@link Header} passed to the delegate on assembling a message will be that of the last fragment.
+ * <p>
+ * When the pool is exhausted the {@link ExhaustedPolicy} determines what happens to the message being assembled.
+ *
+ * @see Subscription#poll(FragmentHandler, int)
+ * @see Image#poll(FragmentHandler, int)
+ */
+public class PooledFragmentAssembler implements FragmentHandler
+{
+    /**
+     * Action to take when a buffer cannot be acquired from the pool to assemble a message.
+     */
+    public enum ExhaustedPolicy
+    {
+        /**
+         * Drop the message being assembled and count it in {@link #droppedMessageCount()}.
+         */
+        DROP,
+
+        /**
+         * Allocate a buffer outside of the pool which is discarded once the message has been delegated.
+         */
+        ALLOCATE,
+
+        /**
+         * Drop the message being assembled and throw an {@link IllegalStateException}.
+         */
+        THROW
+    }
+
+    private final FragmentHandler delegate;
+    private final AssemblyBufferPool pool;
+    private final ExhaustedPolicy exhaustedPolicy;
+    private final Int2ObjectHashMap<Assembly> assemblyBySessionIdMap = new Int2ObjectHashMap<>();
+    private long droppedMessageCount;
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on whole messages which drops messages
+     * when the pool is exhausted.
+     *
+     * @param delegate onto which whole messages are forwarded.
+     * @param pool     from which buffers are acquired to assemble messages.
+     */
+    public PooledFragmentAssembler(final FragmentHandler delegate, final AssemblyBufferPool pool)
+    {
+        this(delegate, pool, ExhaustedPolicy.DROP);
+    }
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on whole messages.
+     *
+     * @param delegate        onto which whole messages are forwarded.
+     * @param pool            from which buffers are acquired to assemble messages.
+     * @param exhaustedPolicy action to take when the pool is exhausted.
+     */
+    public PooledFragmentAssembler(
+        final FragmentHandler delegate, final AssemblyBufferPool pool, final ExhaustedPolicy exhaustedPolicy)
+    {
+        this.delegate = delegate;
+        this.pool = pool;
+        this.exhaustedPolicy = exhaustedPolicy;
+    }
+
+    /**
+     * Get the delegate unto which assembled messages are delegated.
+     *
+     * @return the delegate unto which assembled messages are delegated.
+     */
+    public FragmentHandler delegate()
+    {
+        return delegate;
+    }
+
+    /**
+     * Get the pool from which buffers are acquired to assemble messages.
+     *
+     * @return the pool from which buffers are acquired to assemble messages.
+     */
+    public AssemblyBufferPool pool()
+    {
+        return pool;
+    }
+
+    /**
+     * Count of messages dropped because a buffer could not be acquired from the pool.
+     *
+     * @return count of messages dropped because a buffer could not be acquired from the pool.
+     */
+    public long droppedMessageCount()
+    {
+        return droppedMessageCount;
+    }
+
+    /**
+     * The implementation of {@link FragmentHandler} that reassembles and forwards whole messages.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     */
+    public void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final byte flags = header.flags();
+
+        if ((flags & UNFRAGMENTED) == UNFRAGMENTED)
+        {
+            delegate.onFragment(buffer, offset, length, header);
+        }
+        else
+        {
+            handleFragment(buffer, offset, length, header, flags);
+        }
+    }
+
+    /**
+     * Free the buffer of a session, releasing it to the pool, when an image goes inactive.
+     *
+     * @param sessionId to have its buffer freed
+     * @return true if a buffer has been freed otherwise false.
+     */
+    public boolean freeSessionBuffer(final int sessionId)
+    {
+        final Assembly assembly = assemblyBySessionIdMap.remove(sessionId);
+        if (null != assembly && null != assembly.buffer)
+        {
+            release(assembly);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Clear down the assemblies by session, releasing any buffers in use to the pool.
+     */
+    public void clear()
+    {
+        for (final Assembly assembly : assemblyBySessionIdMap.values())
+        {
+            if (null != assembly.buffer)
+            {
+                release(assembly);
+            }
+        }
+
+        assemblyBySessionIdMap.clear();
+    }
+
+    private void handleFragment(
+        final DirectBuffer buffer, final int offset, final int length, final Header header, final byte flags)
+    {
+        if ((flags & BEGIN_FRAG_FLAG) == BEGIN_FRAG_FLAG)
+        {
+            final int sessionId = header.sessionId();
+            Assembly assembly = assemblyBySessionIdMap.get(sessionId);
+            if (null == assembly)
+            {
+                assembly = new Assembly();
+                assemblyBySessionIdMap.put(sessionId, assembly);
+            }
+            else if (null != assembly.buffer)
+            {
+                release(assembly);
+            }
+
+            append(assembly, buffer, offset, length);
+        }
+        else
+        {
+            final Assembly assembly = assemblyBySessionIdMap.get(header.sessionId());
+            if (null != assembly && null != assembly.buffer && append(assembly, buffer, offset, length))
+            {
+                if ((flags & END_FRAG_FLAG) == END_FRAG_FLAG)
+                {
+                    try
+                    {
+                        delegate.onFragment(assembly.buffer, 0, assembly.limit, header);
+                    }
+                    finally
+                    {
+                        release(assembly);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean append(final Assembly assembly, final DirectBuffer buffer, final int offset, final int length)
+    {
+        final long requiredLength = (long)assembly.limit + length;
+        final UnsafeBuffer currentBuffer = assembly.buffer;
+
+        if (null == currentBuffer || requiredLength > currentBuffer.capacity())
+        {
+            final boolean wasPooled = assembly.isPooled;
+            final UnsafeBuffer newBuffer = acquire(assembly, requiredLength);
+            if (null == newBuffer)
+            {
+                if (null != currentBuffer)
+                {
+                    release(assembly);
+                }
+
+                droppedMessageCount++;
+                if (ExhaustedPolicy.THROW == exhaustedPolicy)
+                {
+                    throw new IllegalStateException("assembly buffer pool exhausted: " + pool);
+                }
+
+                return false;
+            }
+
+            if (null != currentBuffer)
+            {
+                newBuffer.putBytes(0, currentBuffer, 0, assembly.limit);
+                if (wasPooled)
+                {
+                    pool.release(currentBuffer);
+                }
+                else
+                {
+                    IoUtil.unmap(currentBuffer.byteBuffer());
+                }
+            }
+
+            assembly.buffer = newBuffer;
+        }
+
+        assembly.buffer.putBytes(assembly.limit, buffer, offset, length);
+        assembly.limit += length;
+
+        return true;
+    }
+
+    private UnsafeBuffer acquire(final Assembly assembly, final long requiredLength)
+    {
+        if (requiredLength > AssemblyBufferPool.MAX_BUFFER_LENGTH)
+        {
+            return null;
+        }
+
+        final UnsafeBuffer buffer = pool.acquire((int)requiredLength);
+        if (null != buffer)
+        {
+            assembly.isPooled = true;
+            return buffer;
+        }
+
+        if (ExhaustedPolicy.ALLOCATE == exhaustedPolicy)
+        {
+            assembly.isPooled = false;
+            return new UnsafeBuffer(
+                ByteBuffer.allocateDirect(AssemblyBufferPool.bufferLength((int)requiredLength)));
+        }
+
+        return null;
+    }
+
+    private void release(final Assembly assembly)
+    {
+        if (assembly.isPooled)
+        {
+            pool.release(assembly.buffer);
+        }
+        else if (null != assembly.buffer)
+        {
+            IoUtil.unmap(assembly.buffer.byteBuffer());
+        }
+
+        assembly.buffer = null;
+        assembly.limit = 0;
+    }
+
+    private static final class Assembly
+    {
+        UnsafeBuffer buffer;
+        int limit;
+        boolean isPooled;
+    }
+}
@@ -17,6 +17,7 @@ package io.aeron;
 
 import io.aeron.logbuffer.*;
 import io.aeron.status.ChannelEndpointStatus;
+import org.agrona.BitUtil;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.ReadablePosition;
@@ -410,6 +411,43 @@ public abstract class Publication implements AutoCloseable
      */
     public abstract long offer(DirectBufferVector[] vectors, ReservedValueSupplier reservedValueSupplier);
 
+    /**
+     * Non-blocking publish of a batch of messages, with a message per vector, which reserves space in the term for
+     * the whole batch with a single tail update. This reduces the cost per message when offering many small
+     * messages.
+     * <p>
+     * Each message must be no greater than {@link #maxPayloadLength()} and the batch, including the aligned frame
+     * headers, no greater than {@link #maxMessageLength()}. The batch is appended in full or not at all.
+     *
+     * @param messages to be published with a message per vector.
+     * @param count    of messages from the start of the array to be published.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if a message or the batch is too long, or the count is not valid.
+     */
+    public final long offerBatch(final DirectBufferVector[] messages, final int count)
+    {
+        return offerBatch(messages, count, null);
+    }
+
+    /**
+     * Non-blocking publish of a batch of messages, with a message per vector, which reserves space in the term for
+     * the whole batch with a single tail update. This reduces the cost per message when offering many small
+     * messages.
+     * <p>
+     * Each message must be no greater than {@link #maxPayloadLength()} and the batch, including the aligned frame
+     * headers, no greater than {@link #maxMessageLength()}. The batch is appended in full or not at all.
+     *
+     * @param messages              to be published with a message per vector.
+     * @param count                 of messages from the start of the array to be published.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} for each frame.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if a message or the batch is too long, or the count is not valid.
+     */
+    public abstract long offerBatch(
+        DirectBufferVector[] messages, int count, ReservedValueSupplier reservedValueSupplier);
+
     /**
      * Try to claim a range in the publication log into which a message can be written with zero copy semantics.
      * Once the message has been written then {@link BufferClaim#commit()} should be called thus making it available.
@@ -511,6 +549,34 @@ public abstract class Publication implements AutoCloseable
         }
     }
 
+    int computeBatchLength(final DirectBufferVector[] messages, final int count)
+    {
+        if (count < 1 || count > messages.length)
+        {
+            throw new IllegalArgumentException("Batch count must be in range 1.." + messages.length + ": " + count);
+        }
+
+        int batchLength = 0;
+        for (int i = 0; i < count; i++)
+        {
+            final int length = messages[i].validate().length;
+            if (length > maxPayloadLength)
+            {
+                throw new IllegalArgumentException(
+                    "Batch message exceeds maxPayloadLength of " + maxPayloadLength + ", length=" + length);
+            }
+
+            batchLength += BitUtil.align(length + HEADER_LENGTH, FrameDescriptor.FRAME_ALIGNMENT);
+            if (batchLength > maxMessageLength)
+            {
+                throw new IllegalArgumentException(
+                    "Batch exceeds maxMessageLength of " + maxMessageLength + ", count=" + count);
+            }
+        }
+
+        return batchLength;
+    }
+
     void checkForMaxMessageLength(final int length)
     {
         if (length > maxMessageLength)
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.collections.ArrayUtil;
+
+/**
+ * Polls a group of {@link Subscription}s, each with its own {@link FragmentHandler}, from a single duty cycle so
+ * that one idle strategy can be applied to the group based on the total work done.
+ * <p>
+ * Only {@link Image}s which have a frame available at their position are polled so a large group of mostly idle
+ * subscriptions has a low cost per cycle. Each subscription is given a weight and can consume up to
+ * weight * fragmentsPerWeight fragments per cycle, within the fragment limit for the whole group. The starting
+ * subscription is rotated each cycle so none are starved when the fragment limit is reached.
+ * <p>
+ * <b>Note:</b>A SubscriptionGroup is not threadsafe and should not be shared between subscribers.
+ */
+public class SubscriptionGroup
+{
+    private static final Member[] EMPTY_MEMBERS = new Member[0];
+
+    private final int fragmentsPerWeight;
+    private int roundRobinIndex = 0;
+    private Member[] members = EMPTY_MEMBERS;
+
+    /**
+     * Construct a new group which polls subscriptions for a number of fragments per unit of weight.
+     *
+     * @param fragmentsPerWeight number of fragments a subscription may consume per cycle for each unit of weight.
+     */
+    public SubscriptionGroup(final int fragmentsPerWeight)
+    {
+        if (fragmentsPerWeight < 1)
+        {
+            throw new IllegalArgumentException("fragmentsPerWeight must be positive: " + fragmentsPerWeight);
+        }
+
+        this.fragmentsPerWeight = fragmentsPerWeight;
+    }
+
+    /**
+     * Add a {@link Subscription} to the group with a weight of 1.
+     *
+     * @param subscription    to be polled.
+     * @param fragmentHandler to which fragments from the subscription are delivered.
+     * @return this for a fluent API.
+     */
+    public SubscriptionGroup add(final Subscription subscription, final FragmentHandler fragmentHandler)
+    {
+        return add(subscription, fragmentHandler, 1);
+    }
+
+    /**
+     * Add a {@link Subscription} to the group.
+     *
+     * @param subscription    to be polled.
+     * @param fragmentHandler to which fragments from the subscription are delivered.
+     * @param weight          of the subscription relative to others in the group.
+     * @return this for a fluent API.
+     */
+    public SubscriptionGroup add(
+        final Subscription subscription, final FragmentHandler fragmentHandler, final int weight)
+    {
+        if (weight < 1)
+        {
+            throw new IllegalArgumentException("weight must be positive: " + weight);
+        }
+
+        if (null != find(subscription))
+        {
+            throw new IllegalArgumentException(
+                "subscription already in group: registrationId=" + subscription.registrationId());
+        }
+
+        members = ArrayUtil.add(members, new Member(subscription, fragmentHandler, weight * fragmentsPerWeight));
+
+        return this;
+    }
+
+    /**
+     * Remove a {@link Subscription} from the group.
+     *
+     * @param subscription to be removed.
+     * @return true if the subscription was found and removed otherwise false.
+     */
+    public boolean remove(final Subscription subscription)
+    {
+        final Member member = find(subscription);
+        if (null != member)
+        {
+            members = ArrayUtil.remove(members, member);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Number of {@link Subscription}s in the group.
+     *
+     * @return number of {@link Subscription}s in the group.
+     */
+    public int size()
+    {
+        return members.length;
+    }
+
+    /**
+     * Poll the {@link Image}s, which have frames available, of the subscriptions in the group.
+     *
+     * @param fragmentLimit number of message fragments to limit for the poll operation across the group.
+     * @return the number of fragments received.
+     */
+    public int poll(final int fragmentLimit)
+    {
+        final Member[] members = this.members;
+        final int length = members.length;
+        int fragmentsRead = 0;
+
+        int startingIndex = roundRobinIndex++;
+        if (startingIndex >= length)
+        {
+            roundRobinIndex = startingIndex = 0;
+        }
+
+        for (int i = startingIndex; i < length && fragmentsRead < fragmentLimit; i++)
+        {
+            fragmentsRead += members[i].poll(fragmentLimit - fragmentsRead);
+        }
+
+        for (int i = 0; i < startingIndex && fragmentsRead < fragmentLimit; i++)
+        {
+            fragmentsRead += members[i].poll(fragmentLimit - fragmentsRead);
+        }
+
+        return fragmentsRead;
+    }
+
+    private Member find(final Subscription subscription)
+    {
+        for (final Member member : members)
+        {
+            if (member.subscription == subscription)
+            {
+                return member;
+            }
+        }
+
+        return null;
+    }
+
+    private static final class Member
+    {
+        final Subscription subscription;
+        final FragmentHandler fragmentHandler;
+        final int fragmentQuantum;
+        int roundRobinIndex = 0;
+
+        Member(final Subscription subscription, final FragmentHandler fragmentHandler, final int fragmentQuantum)
+        {
+            this.subscription = subscription;
+            this.fragmentHandler = fragmentHandler;
+            this.fragmentQuantum = fragmentQuantum;
+        }
+
+        int poll(final int fragmentBudget)
+        {
+            final Image[] images = subscription.images;
+            final int length = images.length;
+            final int fragmentLimit = Math.min(fragmentBudget, fragmentQuantum);
+            int fragmentsRead = 0;
+
+            int startingIndex = roundRobinIndex++;
+            if (startingIndex >= length)
+            {
+                roundRobinIndex = startingIndex = 0;
+            }
+
+            for (int i = startingIndex; i < length && fragmentsRead < fragmentLimit; i++)
+            {
+                fragmentsRead += poll(images[i], fragmentLimit - fragmentsRead);
+            }
+
+            for (int i = 0; i < startingIndex && fragmentsRead < fragmentLimit; i++)
+            {
+                fragmentsRead += poll(images[i], fragmentLimit - fragmentsRead);
+            }
+
+            return fragmentsRead;
+        }
+
+        private int poll(final Image image, final int fragmentLimit)
+        {
+            return image.isFrameAvailable() ? image.poll(fragmentHandler, fragmentLimit) : 0;
+        }
+    }
+}
@@ -251,6 +251,69 @@ public class ExclusiveTermAppender
         return resultingOffset;
     }
 
+    /**
+     * Append a batch of unfragmented messages to the the term buffer with a single update of the tail. The headers
+     * for all frames are written first and then each frame is committed in order once its message is copied.
+     *
+     * @param termId                for the current term.
+     * @param termOffset            in the term at which to append.
+     * @param header                for writing the default header.
+     * @param messages              to be appended with a message per vector.
+     * @param count                 of messages from the start of the array to be appended.
+     * @param batchLength           of all the frames as a sum of their aligned lengths.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} for each frame.
+     * @return the resulting offset of the term after the append on success otherwise {@link #FAILED}.
+     */
+    public int appendUnfragmentedBatch(
+        final int termId,
+        final int termOffset,
+        final HeaderWriter header,
+        final DirectBufferVector[] messages,
+        final int count,
+        final int batchLength,
+        final ReservedValueSupplier reservedValueSupplier)
+    {
+        final UnsafeBuffer termBuffer = this.termBuffer;
+        final int termLength = termBuffer.capacity();
+
+        int resultingOffset = termOffset + batchLength;
+        putRawTailOrdered(termId, resultingOffset);
+
+        if (resultingOffset > termLength)
+        {
+            resultingOffset = handleEndOfLogCondition(termBuffer, termOffset, header, termLength, termId);
+        }
+        else
+        {
+            int frameOffset = termOffset;
+            for (int i = 0; i < count; i++)
+            {
+                final int frameLength = messages[i].length + HEADER_LENGTH;
+                header.write(termBuffer, frameOffset, frameLength, termId);
+                frameOffset += align(frameLength, FRAME_ALIGNMENT);
+            }
+
+            frameOffset = termOffset;
+            for (int i = 0; i < count; i++)
+            {
+                final DirectBufferVector message = messages[i];
+                final int frameLength = message.length + HEADER_LENGTH;
+                termBuffer.putBytes(frameOffset + HEADER_LENGTH, message.buffer, message.offset, message.length);
+
+                if (null != reservedValueSupplier)
+                {
+                    final long reservedValue = reservedValueSupplier.get(termBuffer, frameOffset, frameLength);
+                    termBuffer.putLong(frameOffset + RESERVED_VALUE_OFFSET, reservedValue, LITTLE_ENDIAN);
+                }
+
+                frameLengthOrdered(termBuffer, frameOffset, frameLength);
+                frameOffset += align(frameLength, FRAME_ALIGNMENT);
+            }
+        }
+
+        return resultingOffset;
+    }
+
     /**
      * Append a fragmented message to the the term buffer.
      * The message will be split up into fragments of MTU length minus header.
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import io.aeron.DirectBufferVector;
+
+/**
+ * Handler for whole messages which are delivered as a sequence of vectors, in order, that together make up the
+ * message. The vectors are views over the log buffer, or a buffer used for reassembly, and are only valid for the
+ * duration of the callback.
+ */
+@FunctionalInterface
+public interface MessageVectorHandler
+{
+    /**
+     * Callback for handling a whole message as a sequence of vectors.
+     *
+     * @param vectors     which make up the message in order. Only the first vectorCount elements are valid.
+     * @param vectorCount of vectors which make up the message.
+     * @param length      of the message in bytes as a sum of the vectors.
+     * @param header      representing the meta data for the last fragment of the message.
+     */
+    void onMessage(DirectBufferVector[] vectors, int vectorCount, int length, Header header);
+}
@@ -65,6 +65,59 @@ public class TermGapScanner
         final int termOffset,
         final int limitOffset,
         final GapHandler handler)
+    {
+        final int gapBeginOffset = scanFrames(termBuffer, termOffset, limitOffset);
+        if (gapBeginOffset < limitOffset)
+        {
+            final int gapEndOffset = gapEndOffset(termBuffer, gapBeginOffset, limitOffset);
+            handler.onGap(termId, gapBeginOffset, gapEndOffset - gapBeginOffset);
+        }
+
+        return gapBeginOffset;
+    }
+
+    /**
+     * Scan for up to a max number of gaps from the scanOffset up to a limit offset. Each gap will be reported to the
+     * {@link GapHandler} in order of term offset.
+     *
+     * @param termBuffer  to be scanned for gaps.
+     * @param termId      of the current term buffer.
+     * @param termOffset  at which to start scanning.
+     * @param limitOffset at which to stop scanning.
+     * @param maxGaps     to be reported in the scan.
+     * @param handler     to call for each gap found.
+     * @return offset of last contiguous frame from the termOffset.
+     */
+    public static int scanForGaps(
+        final UnsafeBuffer termBuffer,
+        final int termId,
+        final int termOffset,
+        final int limitOffset,
+        final int maxGaps,
+        final GapHandler handler)
+    {
+        final int rebuildOffset = scanFrames(termBuffer, termOffset, limitOffset);
+
+        int gapCount = 0;
+        int offset = rebuildOffset;
+        while (gapCount < maxGaps && offset < limitOffset)
+        {
+            final int gapEndOffset = gapEndOffset(termBuffer, offset, limitOffset);
+            handler.onGap(termId, offset, gapEndOffset - offset);
+            gapCount++;
+
+            if (gapEndOffset >= limitOffset)
+            {
+                break;
+            }
+
+            offset = scanFrames(termBuffer, gapEndOffset, limitOffset);
+        }
+
+        return rebuildOffset;
+    }
+
+    private static int scanFrames(final UnsafeBuffer termBuffer, final int termOffset, final int limitOffset)
     {
         int offset = termOffset;
         do
@@ -79,25 +132,24 @@ public class TermGapScanner
         }
         while (offset < limitOffset);
 
-        final int gapBeginOffset = offset;
-        if (offset < limitOffset)
+        return offset;
+    }
+
+    private static int gapEndOffset(final UnsafeBuffer termBuffer, final int gapBeginOffset, final int limitOffset)
+    {
+        int offset = gapBeginOffset;
+        final int limit = limitOffset - ALIGNED_HEADER_LENGTH;
+
+        while (offset < limit)
         {
-            final int limit = limitOffset - ALIGNED_HEADER_LENGTH;
-            while (offset < limit)
-            {
-                offset += FRAME_ALIGNMENT;
+            offset += FRAME_ALIGNMENT;
 
-                if (0 != termBuffer.getIntVolatile(offset))
-                {
-                    offset -= ALIGNED_HEADER_LENGTH;
-                    break;
-                }
+            if (0 != termBuffer.getIntVolatile(offset))
+            {
+                return offset;
             }
-
-            final int gapLength = (offset - gapBeginOffset) + ALIGNED_HEADER_LENGTH;
-            handler.onGap(termId, gapBeginOffset, gapLength);
         }
 
-        return gapBeginOffset;
+        return offset + ALIGNED_HEADER_LENGTH;
     }
 }
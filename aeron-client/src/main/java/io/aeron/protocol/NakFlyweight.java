@@ -20,10 +20,15 @@ import org.agrona.concurrent.UnsafeBuffer;
 import java.nio.ByteBuffer;
 
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.SIZE_OF_INT;
 
 /**
  * Flyweight for a NAK Message Frame.
  * <p>
+ * A NAK may carry additional ranges in the same term after the header. Each additional range is a term offset
+ * and length pair of {@link #RANGE_LENGTH} bytes, and the number of ranges is given by the frame length. Senders
+ * which only understand the header will service the first range.
+ * <p>
  * <a target="_blank"
  *    href="https://github.com/real-logic/aeron/wiki/Protocol-Specification#data-recovery-via-retransmit-request">
  * Data Recovery</a> wiki page.
@@ -32,6 +37,21 @@ public class NakFlyweight extends HeaderFlyweight
 {
     public static final int HEADER_LENGTH = 28;
 
+    /**
+     * Length of each additional range of term offset and length which follows the header.
+     */
+    public static final int RANGE_LENGTH = 8;
+
+    /**
+     * Max number of ranges, including the one in the header, that can be carried in a single NAK.
+     */
+    public static final int MAX_RANGE_COUNT = 16;
+
+    /**
+     * Max length of a NAK frame carrying {@link #MAX_RANGE_COUNT} ranges.
+     */
+    public static final int MAX_LENGTH = HEADER_LENGTH + ((MAX_RANGE_COUNT - 1) * RANGE_LENGTH);
+
     private static final int SESSION_ID_FIELD_OFFSET = 8;
     private static final int STREAM_ID_FIELD_OFFSET = 12;
     private static final int TERM_ID_FIELD_OFFSET = 16;
@@ -167,6 +187,80 @@ public class NakFlyweight extends HeaderFlyweight
         return this;
     }
 
+    /**
+     * The number of ranges carried in a NAK frame of a given length, including the range in the header.
+     *
+     * @param frameLength of the NAK frame.
+     * @return the number of ranges carried in the NAK frame.
+     */
+    public static int rangeCount(final int frameLength)
+    {
+        if (frameLength <= HEADER_LENGTH)
+        {
+            return 1;
+        }
+
+        return 1 + Math.min((frameLength - HEADER_LENGTH) / RANGE_LENGTH, MAX_RANGE_COUNT - 1);
+    }
+
+    /**
+     * The frame length required to carry a number of ranges, including the range in the header.
+     *
+     * @param rangeCount to be carried in the NAK frame.
+     * @return the frame length required to carry the ranges.
+     */
+    public static int frameLengthForRanges(final int rangeCount)
+    {
+        return HEADER_LENGTH + ((rangeCount - 1) * RANGE_LENGTH);
+    }
+
+    /**
+     * The term offset of a range where index 0 is the range in the header.
+     *
+     * @param index of the range.
+     * @return term offset of the range.
+     */
+    public int rangeTermOffset(final int index)
+    {
+        return 0 == index ? termOffset() : getInt(rangeOffset(index), LITTLE_ENDIAN);
+    }
+
+    /**
+     * The length of a range where index 0 is the range in the header.
+     *
+     * @param index of the range.
+     * @return length of the range.
+     */
+    public int rangeLength(final int index)
+    {
+        return 0 == index ? length() : getInt(rangeOffset(index) + SIZE_OF_INT, LITTLE_ENDIAN);
+    }
+
+    /**
+     * Set a range where index 0 is the range in the header.
+     *
+     * @param index      of the range.
+     * @param termOffset of the range.
+     * @param length     of the range.
+     * @return flyweight
+     */
+    public NakFlyweight range(final int index, final int termOffset, final int length)
+    {
+        if (0 == index)
+        {
+            termOffset(termOffset);
+            length(length);
+        }
+        else
+        {
+            final int offset = rangeOffset(index);
+            putInt(offset, termOffset, LITTLE_ENDIAN);
+            putInt(offset + SIZE_OF_INT, length, LITTLE_ENDIAN);
+        }
+
+        return this;
+    }
+
     public String toString()
     {
         final StringBuilder sb = new StringBuilder();
@@ -182,8 +276,14 @@ public class NakFlyweight extends HeaderFlyweight
             .append(" stream_id=").append(streamId())
             .append(" term_id=").append(termId())
             .append(" length=").append(length())
+            .append(" range_count=").append(rangeCount(frameLength()))
             .append("}");
 
         return sb.toString();
     }
+
+    private static int rangeOffset(final int index)
+    {
+        return HEADER_LENGTH + ((index - 1) * RANGE_LENGTH);
+    }
 }
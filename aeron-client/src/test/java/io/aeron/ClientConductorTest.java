@@ -41,8 +41,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
-import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 public class ClientConductorTest
@@ -295,6 +294,54 @@ public class ClientConductorTest
         conductor.addPublication(CHANNEL, STREAM_ID_1);
     }
 
+    @Test
+    public void asyncAddPublicationShouldBeAvailableOnceReady()
+    {
+        final long registrationId = conductor.asyncAddPublication(CHANNEL, STREAM_ID_1);
+
+        verify(driverProxy).addPublication(CHANNEL, STREAM_ID_1);
+        assertNull(conductor.getPublication(registrationId));
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_PUBLICATION_READY, publicationReadyBuffer, (buffer) -> publicationReady.length());
+
+        final Publication publication = conductor.getPublication(registrationId);
+
+        assertNotNull(publication);
+        assertThat(publication.channel(), is(CHANNEL));
+        assertThat(publication.registrationId(), is(registrationId));
+    }
+
+    @Test(expected = RegistrationException.class)
+    public void asyncAddPublicationShouldFailOnMediaDriverError()
+    {
+        final long registrationId = conductor.asyncAddPublication(CHANNEL, STREAM_ID_1);
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_ERROR,
+            errorMessageBuffer,
+            (buffer) ->
+            {
+                errorResponse.errorCode(INVALID_CHANNEL);
+                errorResponse.errorMessage("invalid channel");
+                errorResponse.offendingCommandCorrelationId(CORRELATION_ID);
+                return errorResponse.length();
+            });
+
+        conductor.getPublication(registrationId);
+    }
+
+    @Test(expected = DriverTimeoutException.class, timeout = 5_000)
+    public void asyncAddPublicationShouldTimeoutWithoutReadyMessage()
+    {
+        final long registrationId = conductor.asyncAddPublication(CHANNEL, STREAM_ID_1);
+
+        while (null == conductor.getPublication(registrationId))
+        {
+            Thread.yield();
+        }
+    }
+
     @Test
     public void closingPublicationDoesNotRemoveOtherPublications()
     {
@@ -430,6 +477,93 @@ public class ClientConductorTest
         conductor.addSubscription(CHANNEL, STREAM_ID_1);
     }
 
+    @Test
+    public void asyncAddSubscriptionShouldBeAvailableOnceReady()
+    {
+        final long registrationId = conductor.asyncAddSubscription(CHANNEL, STREAM_ID_1);
+
+        verify(driverProxy).addSubscription(CHANNEL, STREAM_ID_1);
+        assertNull(conductor.getSubscription(registrationId));
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_SUBSCRIPTION_READY,
+            subscriptionReadyBuffer,
+            (buffer) ->
+            {
+                subscriptionReady.correlationId(CORRELATION_ID);
+                subscriptionReady.channelStatusCounterId(SUBSCRIPTION_POSITION_ID);
+                return SubscriptionReadyFlyweight.LENGTH;
+            });
+
+        final Subscription subscription = conductor.getSubscription(registrationId);
+
+        assertNotNull(subscription);
+        assertThat(subscription.channel(), is(CHANNEL));
+        assertThat(subscription.streamId(), is(STREAM_ID_1));
+        assertThat(subscription.registrationId(), is(registrationId));
+        assertThat(subscription.channelStatusId(), is(SUBSCRIPTION_POSITION_ID));
+    }
+
+    @Test
+    public void asyncAddSubscriptionShouldFailAndReleaseSubscriptionOnMediaDriverError()
+    {
+        final long registrationId = conductor.asyncAddSubscription(CHANNEL, STREAM_ID_1);
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_ERROR,
+            errorMessageBuffer,
+            (buffer) ->
+            {
+                errorResponse.errorCode(INVALID_CHANNEL);
+                errorResponse.errorMessage("invalid channel");
+                errorResponse.offendingCommandCorrelationId(CORRELATION_ID);
+                return errorResponse.length();
+            });
+
+        try
+        {
+            conductor.getSubscription(registrationId);
+            fail("expected RegistrationException");
+        }
+        catch (final RegistrationException ignore)
+        {
+        }
+
+        assertNull(conductor.getSubscription(registrationId));
+    }
+
+    @Test(timeout = 5_000)
+    public void asyncAddSubscriptionShouldTimeoutAndReleaseSubscriptionWithoutReadyMessage()
+    {
+        final long registrationId = conductor.asyncAddSubscription(CHANNEL, STREAM_ID_1);
+
+        try
+        {
+            while (null == conductor.getSubscription(registrationId))
+            {
+                Thread.yield();
+            }
+
+            fail("expected DriverTimeoutException");
+        }
+        catch (final DriverTimeoutException ignore)
+        {
+        }
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_SUBSCRIPTION_READY,
+            subscriptionReadyBuffer,
+            (buffer) ->
+            {
+                subscriptionReady.correlationId(CORRELATION_ID);
+                return SubscriptionReadyFlyweight.LENGTH;
+            });
+
+        conductor.doWork();
+
+        assertNull(conductor.getSubscription(registrationId));
+    }
+
     @Test
     public void clientNotifiedOfNewImageShouldMapLogFile()
     {
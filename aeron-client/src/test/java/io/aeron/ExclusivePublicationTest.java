@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.status.ChannelEndpointStatus;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.ReadablePosition;
+import org.junit.Before;
+import org.junit.Test;
+
+import static io.aeron.logbuffer.LogBufferDescriptor.*;
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ExclusivePublicationTest
+{
+    private static final String CHANNEL = "aeron:udp?endpoint=localhost:40124";
+    private static final int STREAM_ID_1 = 2;
+    private static final int SESSION_ID_1 = 13;
+    private static final int TERM_ID_1 = 1;
+    private static final int CORRELATION_ID = 2000;
+    private static final int PARTITION_INDEX = 0;
+    private static final int MTU_LENGTH = 4096;
+    private static final int PAGE_SIZE = 4 * 1024;
+    private static final int BATCH_MESSAGE_LENGTH = 100;
+    private static final int BATCH_COUNT = 3;
+    private static final int ALIGNED_BATCH_FRAME_LENGTH = BitUtil.align(
+        BATCH_MESSAGE_LENGTH + DataHeaderFlyweight.HEADER_LENGTH, FrameDescriptor.FRAME_ALIGNMENT);
+    private static final int BATCH_LENGTH = ALIGNED_BATCH_FRAME_LENGTH * BATCH_COUNT;
+
+    private final UnsafeBuffer messageBuffer = new UnsafeBuffer(allocateDirect(BATCH_MESSAGE_LENGTH * BATCH_COUNT));
+    private final UnsafeBuffer logMetaDataBuffer = new UnsafeBuffer(allocateDirect(LOG_META_DATA_LENGTH));
+    private final UnsafeBuffer[] termBuffers = new UnsafeBuffer[PARTITION_COUNT];
+    private final DirectBufferVector[] batch = new DirectBufferVector[BATCH_COUNT];
+
+    private final ClientConductor conductor = mock(ClientConductor.class);
+    private final LogBuffers logBuffers = mock(LogBuffers.class);
+    private final ReadablePosition publicationLimit = mock(ReadablePosition.class);
+    private ExclusivePublication publication;
+
+    @Before
+    public void setUp()
+    {
+        when(publicationLimit.getVolatile()).thenReturn(2L * BATCH_LENGTH);
+        when(logBuffers.duplicateTermBuffers()).thenReturn(termBuffers);
+        when(logBuffers.termLength()).thenReturn(TERM_MIN_LENGTH);
+        when(logBuffers.metaDataBuffer()).thenReturn(logMetaDataBuffer);
+
+        initialTermId(logMetaDataBuffer, TERM_ID_1);
+        mtuLength(logMetaDataBuffer, MTU_LENGTH);
+        termLength(logMetaDataBuffer, TERM_MIN_LENGTH);
+        pageSize(logMetaDataBuffer, PAGE_SIZE);
+        isConnected(logMetaDataBuffer, false);
+        initialiseTailWithTermId(logMetaDataBuffer, PARTITION_INDEX, TERM_ID_1);
+
+        for (int i = 0; i < PARTITION_COUNT; i++)
+        {
+            termBuffers[i] = new UnsafeBuffer(allocateDirect(TERM_MIN_LENGTH));
+        }
+
+        for (int i = 0; i < BATCH_COUNT; i++)
+        {
+            batch[i] = new DirectBufferVector(messageBuffer, i * BATCH_MESSAGE_LENGTH, BATCH_MESSAGE_LENGTH);
+        }
+
+        publication = newPublication();
+    }
+
+    @Test
+    public void shouldEnsureThePublicationIsOpenBeforeOfferBatch()
+    {
+        publication.close();
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is(Publication.CLOSED));
+    }
+
+    @Test
+    public void shouldOfferBatchAndAdvanceTailByBatchLength()
+    {
+        isConnected(logMetaDataBuffer, true);
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is((long)BATCH_LENGTH));
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is(2L * BATCH_LENGTH));
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID_1, 2 * BATCH_LENGTH)));
+
+        for (int i = 0; i < BATCH_COUNT * 2; i++)
+        {
+            assertThat(
+                termBuffers[PARTITION_INDEX].getInt(i * ALIGNED_BATCH_FRAME_LENGTH),
+                is(BATCH_MESSAGE_LENGTH + DataHeaderFlyweight.HEADER_LENGTH));
+        }
+    }
+
+    @Test
+    public void shouldOfferWholeBatchWhenPositionIsBelowPublicationLimit()
+    {
+        when(publicationLimit.getVolatile()).thenReturn((long)ALIGNED_BATCH_FRAME_LENGTH);
+        isConnected(logMetaDataBuffer, true);
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is((long)BATCH_LENGTH));
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is(Publication.BACK_PRESSURED));
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID_1, BATCH_LENGTH)));
+    }
+
+    @Test
+    public void shouldNotOfferBatchWhenBackPressured()
+    {
+        when(publicationLimit.getVolatile()).thenReturn(0L);
+        isConnected(logMetaDataBuffer, true);
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is(Publication.BACK_PRESSURED));
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID_1, 0)));
+    }
+
+    @Test
+    public void shouldNotOfferBatchWhenNotConnected()
+    {
+        when(publicationLimit.getVolatile()).thenReturn(0L);
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is(Publication.NOT_CONNECTED));
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID_1, 0)));
+    }
+
+    @Test
+    public void shouldPadTermAndRotateWhenBatchCrossesEndOfTerm()
+    {
+        final int termOffset = TERM_MIN_LENGTH - ALIGNED_BATCH_FRAME_LENGTH;
+        when(publicationLimit.getVolatile()).thenReturn(2L * TERM_MIN_LENGTH);
+        isConnected(logMetaDataBuffer, true);
+        rawTail(logMetaDataBuffer, PARTITION_INDEX, packTail(TERM_ID_1, termOffset));
+        publication = newPublication();
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is(Publication.ADMIN_ACTION));
+        assertThat(FrameDescriptor.frameType(termBuffers[PARTITION_INDEX], termOffset),
+            is(FrameDescriptor.PADDING_FRAME_TYPE));
+        assertThat(termBuffers[PARTITION_INDEX].getInt(termOffset), is(ALIGNED_BATCH_FRAME_LENGTH));
+        assertThat(activeTermCount(logMetaDataBuffer), is(1));
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is((long)TERM_MIN_LENGTH + BATCH_LENGTH));
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX + 1), is(packTail(TERM_ID_1 + 1, BATCH_LENGTH)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectBatchLongerThanMaxMessageLength()
+    {
+        final int maxMessageLength = publication.maxMessageLength();
+        final DirectBufferVector[] batch = new DirectBufferVector[(maxMessageLength / ALIGNED_BATCH_FRAME_LENGTH) + 1];
+        for (int i = 0; i < batch.length; i++)
+        {
+            batch[i] = this.batch[0];
+        }
+
+        publication.offerBatch(batch, batch.length);
+    }
+
+    private ExclusivePublication newPublication()
+    {
+        final ExclusivePublication publication = new ExclusivePublication(
+            conductor,
+            CHANNEL,
+            STREAM_ID_1,
+            SESSION_ID_1,
+            publicationLimit,
+            ChannelEndpointStatus.NO_ID_ALLOCATED,
+            logBuffers,
+            CORRELATION_ID,
+            CORRELATION_ID);
+
+        doAnswer(
+            (invocation) ->
+            {
+                publication.internalClose();
+                return null;
+            }).when(conductor).releasePublication(publication);
+
+        return publication;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.logbuffer.MessageVectorHandler;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.junit.Assert.*;
+
+public class ImageVectorFragmentAssemblerTest
+{
+    private static final int TERM_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int INITIAL_TERM_ID = 3;
+    private static final int PAYLOAD_LENGTH = 96;
+
+    private final UnsafeBuffer termBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_LENGTH));
+    private final UnsafeBuffer messageBuffer = new UnsafeBuffer(new byte[PAYLOAD_LENGTH * 4]);
+    private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+    private final Header header = new Header(
+        INITIAL_TERM_ID, LogBufferDescriptor.positionBitsToShift(TERM_LENGTH));
+    private int messageCount;
+    private int messageLength;
+    private int vectorCount;
+    private boolean isVectorOverTerm;
+    private int headerOffset;
+
+    private final MessageVectorHandler handler =
+        (vectors, vectorCount, length, header) ->
+        {
+            messageCount++;
+            messageLength = length;
+            this.vectorCount = vectorCount;
+            isVectorOverTerm = vectors[0].buffer() == termBuffer;
+            headerOffset = header.offset();
+
+            int offset = 0;
+            for (int i = 0; i < vectorCount; i++)
+            {
+                final DirectBufferVector vector = vectors[i];
+                messageBuffer.putBytes(offset, vector.buffer(), vector.offset(), vector.length());
+                offset += vector.length();
+            }
+        };
+
+    private final ImageVectorFragmentAssembler assembler = new ImageVectorFragmentAssembler(handler);
+
+    @Before
+    public void setUp()
+    {
+        header.buffer(termBuffer);
+    }
+
+    @Test
+    public void shouldPassThroughUnfragmentedMessageAsSingleVector()
+    {
+        final int frameOffset = putFrame(0, FrameDescriptor.UNFRAGMENTED, 'a');
+
+        deliver(frameOffset);
+
+        assertEquals(1, messageCount);
+        assertEquals(1, vectorCount);
+        assertTrue(isVectorOverTerm);
+        assertEquals(PAYLOAD_LENGTH, messageLength);
+    }
+
+    @Test
+    public void shouldAssembleCommittedMessageAsVectorsOverTermAndSkipRemainingFragments()
+    {
+        final int beginOffset = putFrame(0, FrameDescriptor.BEGIN_FRAG_FLAG, 'a');
+        final int middleOffset = putFrame(nextOffset(beginOffset), (byte)0, 'b');
+        final int endOffset = putFrame(nextOffset(middleOffset), FrameDescriptor.END_FRAG_FLAG, 'c');
+
+        deliver(beginOffset);
+
+        assertEquals(1, messageCount);
+        assertEquals(3, vectorCount);
+        assertTrue(isVectorOverTerm);
+        assertEquals(PAYLOAD_LENGTH * 3, messageLength);
+        assertEquals(endOffset, headerOffset);
+        assertEquals(beginOffset, header.offset());
+        assertMessage(3);
+
+        deliver(middleOffset);
+        deliver(endOffset);
+
+        assertEquals(1, messageCount);
+    }
+
+    @Test
+    public void shouldCopyMessageWhenNotCommittedAtFirstFragment()
+    {
+        final int beginOffset = putFrame(0, FrameDescriptor.BEGIN_FRAG_FLAG, 'a');
+
+        deliver(beginOffset);
+        assertEquals(0, messageCount);
+
+        final int middleOffset = putFrame(nextOffset(beginOffset), (byte)0, 'b');
+        final int endOffset = putFrame(nextOffset(middleOffset), FrameDescriptor.END_FRAG_FLAG, 'c');
+        termBuffer.setMemory(beginOffset, middleOffset - beginOffset, (byte)0);
+
+        deliver(middleOffset);
+        deliver(endOffset);
+
+        assertEquals(1, messageCount);
+        assertEquals(1, vectorCount);
+        assertFalse(isVectorOverTerm);
+        assertEquals(PAYLOAD_LENGTH * 3, messageLength);
+        assertMessage(3);
+    }
+
+    private int putFrame(final int frameOffset, final byte flags, final char fill)
+    {
+        final int frameLength = HEADER_LENGTH + PAYLOAD_LENGTH;
+        termBuffer.setMemory(frameOffset + HEADER_LENGTH, PAYLOAD_LENGTH, (byte)fill);
+
+        dataHeader.wrap(termBuffer, frameOffset, frameLength);
+        dataHeader
+            .termOffset(frameOffset)
+            .termId(INITIAL_TERM_ID)
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags(flags)
+            .headerType(HeaderFlyweight.HDR_TYPE_DATA);
+        termBuffer.putIntOrdered(frameOffset, frameLength);
+
+        return frameOffset;
+    }
+
+    private static int nextOffset(final int frameOffset)
+    {
+        return frameOffset + BitUtil.align(HEADER_LENGTH + PAYLOAD_LENGTH, FrameDescriptor.FRAME_ALIGNMENT);
+    }
+
+    private void deliver(final int frameOffset)
+    {
+        header.offset(frameOffset);
+        assembler.onFragment(termBuffer, frameOffset + HEADER_LENGTH, PAYLOAD_LENGTH, header);
+    }
+
+    private void assertMessage(final int fragmentCount)
+    {
+        for (int i = 0; i < fragmentCount; i++)
+        {
+            for (int j = 0; j < PAYLOAD_LENGTH; j++)
+            {
+                assertEquals((byte)('a' + i), messageBuffer.getByte((i * PAYLOAD_LENGTH) + j));
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.ByteOrder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class PooledFragmentAssemblerTest
+{
+    private static final int SESSION_ID = 777;
+    private static final int INITIAL_TERM_ID = 3;
+    private static final int MAX_POOL_LENGTH = AssemblyBufferPool.MIN_BUFFER_LENGTH * 4;
+
+    private final FragmentHandler delegateFragmentHandler = mock(FragmentHandler.class);
+    private final UnsafeBuffer termBuffer = mock(UnsafeBuffer.class);
+    private final Header header = spy(new Header(INITIAL_TERM_ID, LogBufferDescriptor.TERM_MIN_LENGTH));
+    private final AssemblyBufferPool pool = new AssemblyBufferPool(MAX_POOL_LENGTH);
+
+    @Before
+    public void setUp()
+    {
+        header.buffer(termBuffer);
+        when(termBuffer.getInt(anyInt(), any(ByteOrder.class))).thenReturn(SESSION_ID);
+    }
+
+    @Test
+    public void shouldAssembleMessageGrowingBufferAndReleaseToPool()
+    {
+        final PooledFragmentAssembler adapter = new PooledFragmentAssembler(delegateFragmentHandler, pool);
+        when(header.flags())
+            .thenReturn(FrameDescriptor.BEGIN_FRAG_FLAG)
+            .thenReturn(FrameDescriptor.END_FRAG_FLAG);
+
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[AssemblyBufferPool.MIN_BUFFER_LENGTH * 2]);
+        final int length = srcBuffer.capacity() / 2;
+
+        srcBuffer.setMemory(0, length, (byte)65);
+        srcBuffer.setMemory(length, length, (byte)66);
+
+        adapter.onFragment(srcBuffer, 0, length, header);
+        assertThat(pool.inUseLength(), is((long)AssemblyBufferPool.MIN_BUFFER_LENGTH));
+
+        adapter.onFragment(srcBuffer, length, length, header);
+
+        final ArgumentCaptor<DirectBuffer> bufferArg = ArgumentCaptor.forClass(DirectBuffer.class);
+        verify(delegateFragmentHandler, times(1)).onFragment(bufferArg.capture(), eq(0), eq(length * 2), any());
+
+        final DirectBuffer capturedBuffer = bufferArg.getValue();
+        for (int i = 0; i < srcBuffer.capacity(); i++)
+        {
+            assertThat("same at i=" + i, capturedBuffer.getByte(i), is(srcBuffer.getByte(i)));
+        }
+
+        assertThat(pool.inUseLength(), is(0L));
+        assertThat(pool.allocatedLength(), is((long)AssemblyBufferPool.MIN_BUFFER_LENGTH * 3));
+    }
+
+    @Test
+    public void shouldDropMessageWhenPoolExhausted()
+    {
+        final PooledFragmentAssembler adapter = new PooledFragmentAssembler(delegateFragmentHandler, pool);
+        when(header.flags())
+            .thenReturn(FrameDescriptor.BEGIN_FRAG_FLAG)
+            .thenReturn((byte)0)
+            .thenReturn(FrameDescriptor.END_FRAG_FLAG);
+
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[MAX_POOL_LENGTH]);
+        final int length = srcBuffer.capacity() / 2;
+
+        adapter.onFragment(srcBuffer, 0, length, header);
+        adapter.onFragment(srcBuffer, length, length, header);
+        adapter.onFragment(srcBuffer, 0, length, header);
+
+        verify(delegateFragmentHandler, never()).onFragment(any(), anyInt(), anyInt(), any());
+        assertThat(adapter.droppedMessageCount(), is(1L));
+        assertThat(pool.exhaustedCount(), is(1L));
+        assertThat(pool.inUseLength(), is(0L));
+    }
+
+    @Test
+    public void shouldAllocateOutsidePoolWhenExhaustedAndPolicyIsAllocate()
+    {
+        final PooledFragmentAssembler adapter = new PooledFragmentAssembler(
+            delegateFragmentHandler, pool, PooledFragmentAssembler.ExhaustedPolicy.ALLOCATE);
+        when(header.flags())
+            .thenReturn(FrameDescriptor.BEGIN_FRAG_FLAG)
+            .thenReturn(FrameDescriptor.END_FRAG_FLAG);
+
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[MAX_POOL_LENGTH * 2]);
+        final int length = srcBuffer.capacity() / 2;
+
+        adapter.onFragment(srcBuffer, 0, length, header);
+        adapter.onFragment(srcBuffer, length, length, header);
+
+        verify(delegateFragmentHandler, times(1)).onFragment(any(), eq(0), eq(length * 2), any());
+        assertThat(adapter.droppedMessageCount(), is(0L));
+        assertThat(pool.inUseLength(), is(0L));
+        assertThat(pool.allocatedLength(), is((long)MAX_POOL_LENGTH));
+    }
+}
@@ -17,7 +17,9 @@ package io.aeron;
 
 import io.aeron.logbuffer.BufferClaim;
 import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.protocol.DataHeaderFlyweight;
 import io.aeron.status.ChannelEndpointStatus;
+import org.agrona.BitUtil;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.ReadablePosition;
 import org.junit.Before;
@@ -42,11 +44,17 @@ public class PublicationTest
     private static final int PARTITION_INDEX = 0;
     private static final int MTU_LENGTH = 4096;
     private static final int PAGE_SIZE = 4 * 1024;
+    private static final int BATCH_MESSAGE_LENGTH = 100;
+    private static final int BATCH_COUNT = 3;
+    private static final int ALIGNED_BATCH_FRAME_LENGTH = BitUtil.align(
+        BATCH_MESSAGE_LENGTH + DataHeaderFlyweight.HEADER_LENGTH, FrameDescriptor.FRAME_ALIGNMENT);
+    private static final int BATCH_LENGTH = ALIGNED_BATCH_FRAME_LENGTH * BATCH_COUNT;
 
     private final ByteBuffer sendBuffer = allocateDirect(SEND_BUFFER_CAPACITY);
     private final UnsafeBuffer atomicSendBuffer = new UnsafeBuffer(sendBuffer);
     private final UnsafeBuffer logMetaDataBuffer = spy(new UnsafeBuffer(allocateDirect(LOG_META_DATA_LENGTH)));
     private final UnsafeBuffer[] termBuffers = new UnsafeBuffer[PARTITION_COUNT];
+    private final DirectBufferVector[] batch = new DirectBufferVector[BATCH_COUNT];
 
     private final ClientConductor conductor = mock(ClientConductor.class);
     private final LogBuffers logBuffers = mock(LogBuffers.class);
@@ -72,6 +80,11 @@ public class PublicationTest
             termBuffers[i] = new UnsafeBuffer(allocateDirect(TERM_MIN_LENGTH));
         }
 
+        for (int i = 0; i < BATCH_COUNT; i++)
+        {
+            batch[i] = new DirectBufferVector(atomicSendBuffer, i * BATCH_MESSAGE_LENGTH, BATCH_MESSAGE_LENGTH);
+        }
+
         publication = new ConcurrentPublication(
             conductor,
             CHANNEL,
@@ -152,4 +165,85 @@ public class PublicationTest
 
         verify(conductor).releasePublication(publication);
     }
+
+    @Test
+    public void shouldEnsureThePublicationIsOpenBeforeOfferBatch()
+    {
+        publication.close();
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is(Publication.CLOSED));
+    }
+
+    @Test
+    public void shouldOfferBatchAndAdvanceTailByBatchLength()
+    {
+        isConnected(logMetaDataBuffer, true);
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is((long)BATCH_LENGTH));
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID_1, BATCH_LENGTH)));
+
+        for (int i = 0; i < BATCH_COUNT; i++)
+        {
+            assertThat(
+                termBuffers[PARTITION_INDEX].getInt(i * ALIGNED_BATCH_FRAME_LENGTH),
+                is(BATCH_MESSAGE_LENGTH + DataHeaderFlyweight.HEADER_LENGTH));
+        }
+    }
+
+    @Test
+    public void shouldOfferWholeBatchWhenPositionIsBelowPublicationLimit()
+    {
+        when(publicationLimit.getVolatile()).thenReturn((long)ALIGNED_BATCH_FRAME_LENGTH);
+        isConnected(logMetaDataBuffer, true);
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is((long)BATCH_LENGTH));
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is(Publication.BACK_PRESSURED));
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID_1, BATCH_LENGTH)));
+    }
+
+    @Test
+    public void shouldNotOfferBatchWhenBackPressured()
+    {
+        when(publicationLimit.getVolatile()).thenReturn(0L);
+        isConnected(logMetaDataBuffer, true);
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is(Publication.BACK_PRESSURED));
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID_1, 0)));
+    }
+
+    @Test
+    public void shouldNotOfferBatchWhenNotConnected()
+    {
+        when(publicationLimit.getVolatile()).thenReturn(0L);
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is(Publication.NOT_CONNECTED));
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID_1, 0)));
+    }
+
+    @Test
+    public void shouldPadTermAndRotateWhenBatchCrossesEndOfTerm()
+    {
+        final int termOffset = TERM_MIN_LENGTH - ALIGNED_BATCH_FRAME_LENGTH;
+        when(publicationLimit.getVolatile()).thenReturn(2L * TERM_MIN_LENGTH);
+        isConnected(logMetaDataBuffer, true);
+        rawTail(logMetaDataBuffer, PARTITION_INDEX, packTail(TERM_ID_1, termOffset));
+        initialiseTailWithTermId(logMetaDataBuffer, PARTITION_INDEX + 1, TERM_ID_1 + 1 - PARTITION_COUNT);
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is(Publication.ADMIN_ACTION));
+        assertThat(FrameDescriptor.frameType(termBuffers[PARTITION_INDEX], termOffset),
+            is(FrameDescriptor.PADDING_FRAME_TYPE));
+        assertThat(termBuffers[PARTITION_INDEX].getInt(termOffset), is(ALIGNED_BATCH_FRAME_LENGTH));
+        assertThat(activeTermCount(logMetaDataBuffer), is(1));
+
+        assertThat(publication.offerBatch(batch, BATCH_COUNT), is((long)TERM_MIN_LENGTH + BATCH_LENGTH));
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX + 1), is(packTail(TERM_ID_1 + 1, BATCH_LENGTH)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectBatchWithMessageLongerThanMaxPayloadLength()
+    {
+        batch[1] = new DirectBufferVector(
+            new UnsafeBuffer(new byte[MTU_LENGTH]), 0, MTU_LENGTH - DataHeaderFlyweight.HEADER_LENGTH + 1);
+
+        publication.offerBatch(batch, BATCH_COUNT);
+    }
 }
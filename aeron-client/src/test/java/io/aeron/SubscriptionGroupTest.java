@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class SubscriptionGroupTest
+{
+    private static final int FRAGMENTS_PER_WEIGHT = 2;
+
+    private final FragmentHandler handlerOne = mock(FragmentHandler.class);
+    private final FragmentHandler handlerTwo = mock(FragmentHandler.class);
+    private final Subscription subscriptionOne = mock(Subscription.class);
+    private final Subscription subscriptionTwo = mock(Subscription.class);
+    private final Image imageOne = mock(Image.class);
+    private final Image imageTwo = mock(Image.class);
+    private final SubscriptionGroup group = new SubscriptionGroup(FRAGMENTS_PER_WEIGHT);
+
+    @Before
+    public void setUp()
+    {
+        subscriptionOne.images = new Image[]{ imageOne };
+        subscriptionTwo.images = new Image[]{ imageTwo };
+    }
+
+    @Test
+    public void shouldNotPollImagesWithoutAvailableFrames()
+    {
+        group.add(subscriptionOne, handlerOne).add(subscriptionTwo, handlerTwo);
+        when(imageTwo.isFrameAvailable()).thenReturn(true);
+        when(imageTwo.poll(eq(handlerTwo), anyInt())).thenReturn(1);
+
+        assertEquals(1, group.poll(10));
+
+        verify(imageOne, never()).poll(any(), anyInt());
+        verify(imageTwo).poll(handlerTwo, FRAGMENTS_PER_WEIGHT);
+    }
+
+    @Test
+    public void shouldLimitFragmentsByWeightAndGroupLimit()
+    {
+        group.add(subscriptionOne, handlerOne, 3).add(subscriptionTwo, handlerTwo, 1);
+        when(imageOne.isFrameAvailable()).thenReturn(true);
+        when(imageTwo.isFrameAvailable()).thenReturn(true);
+        when(imageOne.poll(eq(handlerOne), anyInt())).thenAnswer((invocation) -> invocation.getArgument(1));
+        when(imageTwo.poll(eq(handlerTwo), anyInt())).thenAnswer((invocation) -> invocation.getArgument(1));
+
+        assertEquals(8, group.poll(100));
+        verify(imageOne).poll(handlerOne, 3 * FRAGMENTS_PER_WEIGHT);
+        verify(imageTwo).poll(handlerTwo, FRAGMENTS_PER_WEIGHT);
+
+        assertEquals(4, group.poll(4));
+        verify(imageTwo, times(2)).poll(handlerTwo, FRAGMENTS_PER_WEIGHT);
+        verify(imageOne).poll(handlerOne, 2);
+    }
+
+    @Test
+    public void shouldRemoveSubscription()
+    {
+        group.add(subscriptionOne, handlerOne).add(subscriptionTwo, handlerTwo);
+
+        assertTrue(group.remove(subscriptionOne));
+        assertFalse(group.remove(subscriptionOne));
+        assertEquals(1, group.size());
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import io.aeron.DirectBufferVector;
+import io.aeron.ReservedValueSupplier;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static io.aeron.logbuffer.ExclusiveTermAppender.FAILED;
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_TAIL_COUNTERS_OFFSET;
+import static io.aeron.logbuffer.LogBufferDescriptor.packTail;
+import static io.aeron.logbuffer.LogBufferDescriptor.rawTailVolatile;
+import static io.aeron.protocol.DataHeaderFlyweight.RESERVED_VALUE_OFFSET;
+import static io.aeron.protocol.DataHeaderFlyweight.createDefaultHeader;
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static io.aeron.logbuffer.FrameDescriptor.*;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.agrona.BitUtil.*;
+
+public class ExclusiveTermAppenderTest
+{
+    private static final int TERM_BUFFER_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int META_DATA_BUFFER_LENGTH = LogBufferDescriptor.LOG_META_DATA_LENGTH;
+    private static final int PARTITION_INDEX = 0;
+    private static final int TERM_TAIL_COUNTER_OFFSET = TERM_TAIL_COUNTERS_OFFSET + (PARTITION_INDEX * SIZE_OF_LONG);
+    private static final int TERM_ID = 7;
+    private static final long RV = 7777L;
+    private static final ReservedValueSupplier RVS = (termBuffer, termOffset, frameLength) -> RV;
+
+    private final UnsafeBuffer termBuffer = spy(new UnsafeBuffer(allocateDirect(TERM_BUFFER_LENGTH)));
+    private final UnsafeBuffer logMetaDataBuffer = new UnsafeBuffer(allocateDirect(META_DATA_BUFFER_LENGTH));
+    private final HeaderWriter headerWriter = spy(new HeaderWriter(createDefaultHeader(0, 0, TERM_ID)));
+
+    private final ExclusiveTermAppender termAppender =
+        new ExclusiveTermAppender(termBuffer, logMetaDataBuffer, PARTITION_INDEX);
+
+    @Test
+    public void shouldAppendFrameToEmptyLog()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 20;
+        final int frameLength = msgLength + HEADER_LENGTH;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final int tail = 0;
+
+        assertThat(termAppender.appendUnfragmentedMessage(TERM_ID, tail, headerWriter, buffer, 0, msgLength, RVS),
+            is(alignedFrameLength));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX),
+            is(packTail(TERM_ID, tail + alignedFrameLength)));
+
+        final InOrder inOrder = inOrder(termBuffer, headerWriter);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, tail, frameLength, TERM_ID);
+        inOrder.verify(termBuffer, times(1)).putBytes(HEADER_LENGTH, buffer, 0, msgLength);
+        inOrder.verify(termBuffer, times(1)).putLong(tail + RESERVED_VALUE_OFFSET, RV, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameLength);
+    }
+
+    @Test
+    public void shouldAppendBatchWithSingleTailUpdateAndCommitInOrder()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLengthOne = 20;
+        final int msgLengthTwo = 40;
+        final int frameLengthOne = msgLengthOne + HEADER_LENGTH;
+        final int frameLengthTwo = msgLengthTwo + HEADER_LENGTH;
+        final int alignedFrameLengthOne = align(frameLengthOne, FRAME_ALIGNMENT);
+        final int batchLength = alignedFrameLengthOne + align(frameLengthTwo, FRAME_ALIGNMENT);
+        final DirectBufferVector[] messages =
+        {
+            new DirectBufferVector(buffer, 0, msgLengthOne),
+            new DirectBufferVector(buffer, msgLengthOne, msgLengthTwo)
+        };
+        final int tail = 0;
+
+        assertThat(termAppender.appendUnfragmentedBatch(TERM_ID, tail, headerWriter, messages, 2, batchLength, RVS),
+            is(batchLength));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX),
+            is(packTail(TERM_ID, tail + batchLength)));
+
+        final InOrder inOrder = inOrder(termBuffer, headerWriter);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, tail, frameLengthOne, TERM_ID);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, alignedFrameLengthOne, frameLengthTwo, TERM_ID);
+        inOrder.verify(termBuffer, times(1)).putBytes(HEADER_LENGTH, buffer, 0, msgLengthOne);
+        inOrder.verify(termBuffer, times(1)).putLong(tail + RESERVED_VALUE_OFFSET, RV, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameLengthOne);
+        inOrder.verify(termBuffer, times(1))
+            .putBytes(alignedFrameLengthOne + HEADER_LENGTH, buffer, msgLengthOne, msgLengthTwo);
+        inOrder.verify(termBuffer, times(1))
+            .putLong(alignedFrameLengthOne + RESERVED_VALUE_OFFSET, RV, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(alignedFrameLengthOne, frameLengthTwo);
+    }
+
+    @Test
+    public void shouldPadLogWhenAppendingBatchWithInsufficientRemainingCapacity()
+    {
+        final int msgLength = 120;
+        final int alignedFrameLength = align(HEADER_LENGTH + msgLength, FRAME_ALIGNMENT);
+        final int batchLength = alignedFrameLength * 2;
+        final int tailValue = TERM_BUFFER_LENGTH - alignedFrameLength;
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[msgLength * 2]);
+        final int frameLength = TERM_BUFFER_LENGTH - tailValue;
+        final DirectBufferVector[] messages =
+        {
+            new DirectBufferVector(buffer, 0, msgLength),
+            new DirectBufferVector(buffer, msgLength, msgLength)
+        };
+
+        assertThat(termAppender.appendUnfragmentedBatch(
+            TERM_ID, tailValue, headerWriter, messages, 2, batchLength, RVS), is(FAILED));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX),
+            is(packTail(TERM_ID, tailValue + batchLength)));
+
+        final InOrder inOrder = inOrder(termBuffer, headerWriter);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, tailValue, frameLength, TERM_ID);
+        inOrder.verify(termBuffer, times(1)).putShort(typeOffset(tailValue), (short)PADDING_FRAME_TYPE, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tailValue, frameLength);
+        verify(termBuffer, never()).putBytes(anyInt(), eq(buffer), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldAppendBatchWhichEndsAtEndOfTerm()
+    {
+        final int msgLength = 120;
+        final int frameLength = HEADER_LENGTH + msgLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final int tailValue = TERM_BUFFER_LENGTH - (alignedFrameLength * 2);
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[msgLength * 2]);
+        final DirectBufferVector[] messages =
+        {
+            new DirectBufferVector(buffer, 0, msgLength),
+            new DirectBufferVector(buffer, msgLength, msgLength)
+        };
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tailValue));
+
+        assertThat(termAppender.appendUnfragmentedBatch(
+            TERM_ID, tailValue, headerWriter, messages, 2, alignedFrameLength * 2, RVS), is(TERM_BUFFER_LENGTH));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID, TERM_BUFFER_LENGTH)));
+
+        final InOrder inOrder = inOrder(termBuffer);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tailValue, frameLength);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tailValue + alignedFrameLength, frameLength);
+        verify(termBuffer, never()).putShort(anyInt(), eq((short)PADDING_FRAME_TYPE), any());
+    }
+}
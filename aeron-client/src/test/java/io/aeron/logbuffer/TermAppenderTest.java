@@ -115,6 +115,45 @@ public class TermAppenderTest
         inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameLength);
     }
 
+    @Test
+    public void shouldAppendBatchWithSingleTailUpdateAndCommitInOrder()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLengthOne = 20;
+        final int msgLengthTwo = 40;
+        final int frameLengthOne = msgLengthOne + headerLength;
+        final int frameLengthTwo = msgLengthTwo + headerLength;
+        final int alignedFrameLengthOne = align(frameLengthOne, FRAME_ALIGNMENT);
+        final int batchLength = alignedFrameLengthOne + align(frameLengthTwo, FRAME_ALIGNMENT);
+        final DirectBufferVector[] messages =
+        {
+            new DirectBufferVector(buffer, 0, msgLengthOne),
+            new DirectBufferVector(buffer, msgLengthOne, msgLengthTwo)
+        };
+        final int tail = 0;
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tail));
+
+        assertThat(termAppender.appendUnfragmentedBatch(headerWriter, messages, 2, batchLength, RVS, TERM_ID),
+            is(batchLength));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX),
+            is(packTail(TERM_ID, tail + batchLength)));
+
+        final InOrder inOrder = inOrder(termBuffer, headerWriter);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, tail, frameLengthOne, TERM_ID);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, alignedFrameLengthOne, frameLengthTwo, TERM_ID);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength, buffer, 0, msgLengthOne);
+        inOrder.verify(termBuffer, times(1)).putLong(tail + RESERVED_VALUE_OFFSET, RV, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameLengthOne);
+        inOrder.verify(termBuffer, times(1))
+            .putBytes(alignedFrameLengthOne + headerLength, buffer, msgLengthOne, msgLengthTwo);
+        inOrder.verify(termBuffer, times(1))
+            .putLong(alignedFrameLengthOne + RESERVED_VALUE_OFFSET, RV, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(alignedFrameLengthOne, frameLengthTwo);
+    }
+
     @Test
     public void shouldPadLogWhenAppendingWithInsufficientRemainingCapacity()
     {
@@ -139,6 +178,64 @@ public class TermAppenderTest
         inOrder.verify(termBuffer, times(1)).putIntOrdered(tailValue, frameLength);
     }
 
+    @Test
+    public void shouldPadLogWhenAppendingBatchWithInsufficientRemainingCapacity()
+    {
+        final int msgLength = 120;
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int alignedFrameLength = align(headerLength + msgLength, FRAME_ALIGNMENT);
+        final int batchLength = alignedFrameLength * 2;
+        final int tailValue = TERM_BUFFER_LENGTH - alignedFrameLength;
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[msgLength * 2]);
+        final int frameLength = TERM_BUFFER_LENGTH - tailValue;
+        final DirectBufferVector[] messages =
+        {
+            new DirectBufferVector(buffer, 0, msgLength),
+            new DirectBufferVector(buffer, msgLength, msgLength)
+        };
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tailValue));
+
+        assertThat(termAppender.appendUnfragmentedBatch(headerWriter, messages, 2, batchLength, RVS, TERM_ID),
+            is(FAILED));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX),
+            is(packTail(TERM_ID, tailValue + batchLength)));
+
+        final InOrder inOrder = inOrder(termBuffer, headerWriter);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, tailValue, frameLength, TERM_ID);
+        inOrder.verify(termBuffer, times(1)).putShort(typeOffset(tailValue), (short)PADDING_FRAME_TYPE, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tailValue, frameLength);
+        verify(termBuffer, never()).putBytes(anyInt(), eq(buffer), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldAppendBatchWhichEndsAtEndOfTerm()
+    {
+        final int msgLength = 120;
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int frameLength = headerLength + msgLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final int tailValue = TERM_BUFFER_LENGTH - (alignedFrameLength * 2);
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[msgLength * 2]);
+        final DirectBufferVector[] messages =
+        {
+            new DirectBufferVector(buffer, 0, msgLength),
+            new DirectBufferVector(buffer, msgLength, msgLength)
+        };
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tailValue));
+
+        assertThat(
+            termAppender.appendUnfragmentedBatch(headerWriter, messages, 2, alignedFrameLength * 2, RVS, TERM_ID),
+            is(TERM_BUFFER_LENGTH));
+
+        final InOrder inOrder = inOrder(termBuffer);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tailValue, frameLength);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tailValue + alignedFrameLength, frameLength);
+        verify(termBuffer, never()).putShort(anyInt(), eq((short)PADDING_FRAME_TYPE), any());
+    }
+
     @Test
     public void shouldFragmentMessageOverTwoFrames()
     {
@@ -86,6 +86,46 @@ public class TermGapScannerTest
         verify(gapHandler).onGap(TERM_ID, tail, align(HEADER_LENGTH, FRAME_ALIGNMENT));
     }
 
+    @Test
+    public void shouldReportMultipleGapsUpToMax()
+    {
+        final int alignedFrameLength = align(HEADER_LENGTH, FRAME_ALIGNMENT);
+        final int highWaterMark = alignedFrameLength * 7;
+
+        when(termBuffer.getIntVolatile(0)).thenReturn(HEADER_LENGTH);
+        when(termBuffer.getIntVolatile(alignedFrameLength * 2)).thenReturn(HEADER_LENGTH);
+        when(termBuffer.getIntVolatile(alignedFrameLength * 4)).thenReturn(HEADER_LENGTH);
+        when(termBuffer.getIntVolatile(alignedFrameLength * 6)).thenReturn(HEADER_LENGTH);
+
+        assertThat(
+            TermGapScanner.scanForGaps(termBuffer, TERM_ID, 0, highWaterMark, 2, gapHandler), is(alignedFrameLength));
+
+        verify(gapHandler).onGap(TERM_ID, alignedFrameLength, alignedFrameLength);
+        verify(gapHandler).onGap(TERM_ID, alignedFrameLength * 3, alignedFrameLength);
+        verifyNoMoreInteractions(gapHandler);
+    }
+
+    @Test
+    public void shouldReadEachGapOnceWhenScanningForMultipleGaps()
+    {
+        final int alignedFrameLength = align(HEADER_LENGTH, FRAME_ALIGNMENT);
+        final int highWaterMark = alignedFrameLength * 8;
+
+        when(termBuffer.getIntVolatile(0)).thenReturn(HEADER_LENGTH);
+        when(termBuffer.getIntVolatile(alignedFrameLength * 4)).thenReturn(HEADER_LENGTH);
+        when(termBuffer.getIntVolatile(alignedFrameLength * 7)).thenReturn(HEADER_LENGTH);
+
+        assertThat(
+            TermGapScanner.scanForGaps(termBuffer, TERM_ID, 0, highWaterMark, 2, gapHandler), is(alignedFrameLength));
+
+        verify(gapHandler).onGap(TERM_ID, alignedFrameLength, alignedFrameLength * 3);
+        verify(gapHandler).onGap(TERM_ID, alignedFrameLength * 5, alignedFrameLength * 2);
+        verifyNoMoreInteractions(gapHandler);
+        verify(termBuffer).getIntVolatile(alignedFrameLength * 2);
+        verify(termBuffer).getIntVolatile(alignedFrameLength * 3);
+        verify(termBuffer).getIntVolatile(alignedFrameLength * 6);
+    }
+
     @Test
     public void shouldReportNoGapWhenHwmIsInPadding()
     {
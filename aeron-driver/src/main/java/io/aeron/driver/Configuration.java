@@ -23,7 +23,9 @@ import io.aeron.driver.exceptions.ConfigurationException;
 import io.aeron.driver.media.ReceiveChannelEndpoint;
 import io.aeron.driver.media.SendChannelEndpoint;
 import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.NakFlyweight;
 import org.agrona.BitUtil;
 import org.agrona.LangUtil;
 import org.agrona.concurrent.BackoffIdleStrategy;
@@ -280,6 +282,54 @@ public class Configuration
      */
     public static final long STATUS_MESSAGE_TIMEOUT_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(200);
 
+    /**
+     * Property name for if the timeout between status messages for an image adapts to its consumption rate and RTT.
+     */
+    public static final String STATUS_MESSAGE_ADAPTIVE_PROP_NAME = "aeron.rcv.status.message.adaptive";
+
+    /**
+     * Should the timeout between status messages for an image adapt, between
+     * {@link #STATUS_MESSAGE_MIN_TIMEOUT_PROP_NAME} and {@link #STATUS_MESSAGE_MAX_TIMEOUT_PROP_NAME}, to how long it
+     * takes to consume the receiver window less the RTT rather than be fixed at
+     * {@link #STATUS_MESSAGE_TIMEOUT_PROP_NAME}.
+     */
+    public static final boolean STATUS_MESSAGE_ADAPTIVE =
+        "true".equalsIgnoreCase(getProperty(STATUS_MESSAGE_ADAPTIVE_PROP_NAME, "false"));
+
+    /**
+     * Property name for the min timeout in nanoseconds between status messages when adaptive.
+     */
+    public static final String STATUS_MESSAGE_MIN_TIMEOUT_PROP_NAME = "aeron.rcv.status.message.min.timeout";
+
+    /**
+     * Default min timeout between status messages for an image consuming quickly when adaptive.
+     */
+    public static final long STATUS_MESSAGE_MIN_TIMEOUT_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Property name for the max timeout in nanoseconds between status messages when adaptive.
+     */
+    public static final String STATUS_MESSAGE_MAX_TIMEOUT_PROP_NAME = "aeron.rcv.status.message.max.timeout";
+
+    /**
+     * Default max timeout between status messages for an image consuming slowly or idle when adaptive. This must be
+     * well within the publication connection timeout of the sender.
+     */
+    public static final long STATUS_MESSAGE_MAX_TIMEOUT_DEFAULT_NS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Property name for if status messages bound for the same control address are batched into one datagram.
+     */
+    public static final String STATUS_MESSAGE_BATCH_PROP_NAME = "aeron.rcv.status.message.batch";
+
+    /**
+     * Should status messages from the images of a {@link Receiver} which are bound for the same control address on
+     * the same endpoint be batched into one datagram at the end of each duty cycle. Senders must be able to read
+     * more than one status message per datagram.
+     */
+    public static final boolean STATUS_MESSAGE_BATCH =
+        "true".equalsIgnoreCase(getProperty(STATUS_MESSAGE_BATCH_PROP_NAME, "false"));
+
     /**
      * Property name for ratio of sending data to polling status messages in the Sender.
      */
@@ -290,6 +340,162 @@ public class Configuration
      */
     public static final int SEND_TO_STATUS_POLL_RATIO_DEFAULT = 4;
 
+    /**
+     * Property name for the max number of datagrams received from a transport in one poll by the {@link Receiver}.
+     */
+    public static final String RECEIVE_BATCH_SIZE_PROP_NAME = "aeron.rcv.batch.size";
+
+    /**
+     * Default max number of datagrams received from a transport in one poll. A value of 1 is a single read.
+     */
+    public static final int RECEIVE_BATCH_SIZE_DEFAULT = 1;
+
+    /**
+     * Property name for if the {@link Receiver} sweeps all transports with non-blocking reads rather than using a
+     * selector when there are many transports.
+     */
+    public static final String RECEIVE_SWEEP_POLL_PROP_NAME = "aeron.rcv.sweep.poll";
+
+    /**
+     * Should the {@link Receiver} sweep all transports with non-blocking reads, skipping those which are idle, rather
+     * than using a selector when there are many transports.
+     */
+    public static final boolean RECEIVE_SWEEP_POLL =
+        "true".equalsIgnoreCase(getProperty(RECEIVE_SWEEP_POLL_PROP_NAME, "false"));
+
+    /**
+     * Property name for the max number of polls an idle transport is skipped for when sweeping.
+     */
+    public static final String RECEIVE_SWEEP_MAX_SKIP_PROP_NAME = "aeron.rcv.sweep.max.skip";
+
+    /**
+     * Default max number of polls an idle transport is skipped for when sweeping. The skip doubles each time a read
+     * of the transport finds nothing, up to this max, and is reset when a datagram is received.
+     */
+    public static final int RECEIVE_SWEEP_MAX_SKIP_DEFAULT = 32;
+
+    /**
+     * Property name for if the {@link Receiver} timestamps packets to track receive side latency of images.
+     */
+    public static final String RECEIVE_TIMESTAMPS_PROP_NAME = "aeron.rcv.timestamps";
+
+    /**
+     * Should the {@link Receiver} timestamp each packet on receipt so the delay until it is consumed and the
+     * inter-arrival jitter of each image are tracked and published as percentiles to counters.
+     */
+    public static final boolean RECEIVE_TIMESTAMPS =
+        "true".equalsIgnoreCase(getProperty(RECEIVE_TIMESTAMPS_PROP_NAME, "false"));
+
+    /**
+     * Property name for if the {@link Receiver} receives the body of in order data packets directly into the term
+     * buffer on unicast channels connected to a single source.
+     */
+    public static final String RECEIVE_IN_PLACE_PROP_NAME = "aeron.rcv.in.place";
+
+    /**
+     * Should the {@link Receiver} receive the body of in order data packets directly into the term buffer, rather than
+     * copying them from a receive buffer, on unicast channels which have a
+     * {@link io.aeron.CommonContext#SOURCE_PARAM_NAME} so the socket can be connected for scattering reads.
+     */
+    public static final boolean RECEIVE_IN_PLACE =
+        "true".equalsIgnoreCase(getProperty(RECEIVE_IN_PLACE_PROP_NAME, "false"));
+
+    /**
+     * Property name for the interval in nanoseconds over which receive latency percentiles are published.
+     */
+    public static final String RECEIVE_LATENCY_INTERVAL_PROP_NAME = "aeron.rcv.latency.interval";
+
+    /**
+     * Default interval over which receive latency percentiles are published before the histograms are reset.
+     */
+    public static final long RECEIVE_LATENCY_INTERVAL_DEFAULT_NS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Property name for the max number of datagrams sent by a {@link NetworkPublication} in one duty cycle.
+     */
+    public static final String SEND_BATCH_SIZE_PROP_NAME = "aeron.send.batch.size";
+
+    /**
+     * Default max number of datagrams sent by a publication in one duty cycle. A value of 1 is a single send.
+     */
+    public static final int SEND_BATCH_SIZE_DEFAULT = 1;
+
+    /**
+     * Property name for the default rate in bytes per second at which a {@link NetworkPublication} is paced.
+     */
+    public static final String PUBLICATION_PACING_RATE_PROP_NAME = "aeron.publication.pacing.rate";
+
+    /**
+     * Default rate in bytes per second at which a publication is paced. A value of 0 disables pacing.
+     */
+    public static final long PUBLICATION_PACING_RATE_DEFAULT = 0;
+
+    /**
+     * Property name for the default burst in bytes which a paced {@link NetworkPublication} can send at once.
+     */
+    public static final String PUBLICATION_PACING_BURST_PROP_NAME = "aeron.publication.pacing.burst";
+
+    /**
+     * Default burst in bytes for a paced publication. A value of 0 allows 1ms of the rate, and at least one MTU.
+     */
+    public static final int PUBLICATION_PACING_BURST_DEFAULT = 0;
+
+    /**
+     * Property name for the number of priority classes by which the {@link Sender} serves network publications.
+     */
+    public static final String SENDER_PRIORITY_CLASSES_PROP_NAME = "aeron.sender.priority.classes";
+
+    /**
+     * Default number of priority classes. A value of 1 serves all publications round robin.
+     */
+    public static final int SENDER_PRIORITY_CLASSES_DEFAULT = 1;
+
+    /**
+     * Max number of priority classes the {@link Sender} can serve.
+     */
+    public static final int SENDER_PRIORITY_CLASSES_MAX = 8;
+
+    /**
+     * Property name for the default priority class of a {@link NetworkPublication} where 0 is the highest.
+     */
+    public static final String PUBLICATION_PRIORITY_PROP_NAME = "aeron.publication.priority";
+
+    /**
+     * Default priority class of a publication which is the highest.
+     */
+    public static final int PUBLICATION_PRIORITY_DEFAULT = 0;
+
+    /**
+     * Property name for the max bytes a {@link NetworkPublication} can send in one duty cycle of the {@link Sender}.
+     */
+    public static final String SENDER_QUANTUM_PROP_NAME = "aeron.sender.quantum";
+
+    /**
+     * Default max bytes a publication can send in one duty cycle. A value of 0 is unbounded, otherwise the quantum
+     * is at least one MTU.
+     */
+    public static final int SENDER_QUANTUM_DEFAULT = 0;
+
+    /**
+     * Property name for the number of {@link Receiver} agents which share the receive channel endpoints.
+     */
+    public static final String RECEIVER_SHARD_COUNT_PROP_NAME = "aeron.receiver.shard.count";
+
+    /**
+     * Default number of {@link Receiver} agents. A value of 1 is a single receiver for all endpoints.
+     */
+    public static final int RECEIVER_SHARD_COUNT_DEFAULT = 1;
+
+    /**
+     * Property name for the number of {@link Sender} agents which share the send channel endpoints.
+     */
+    public static final String SENDER_SHARD_COUNT_PROP_NAME = "aeron.sender.shard.count";
+
+    /**
+     * Default number of {@link Sender} agents. A value of 1 is a single sender for all endpoints.
+     */
+    public static final int SENDER_SHARD_COUNT_DEFAULT = 1;
+
     /**
      * Property name for SO_RCVBUF setting on UDP sockets which must be sufficient for Bandwidth Delay Produce (BDP).
      */
@@ -409,6 +615,17 @@ public class Configuration
     public static final int IPC_PUBLICATION_TERM_WINDOW_LENGTH = getSizeAsInt(
         IPC_PUBLICATION_TERM_WINDOW_LENGTH_PROP_NAME, 0);
 
+    /**
+     * Property name for the maximum length in bytes of consumed log which is cleaned in a single duty cycle.
+     */
+    public static final String TERM_CLEAN_MAX_LENGTH_PROP_NAME = "aeron.term.clean.max.length";
+
+    /**
+     * Maximum length in bytes of consumed log which is cleaned in a single duty cycle. A value of 0 cleans up to the
+     * end of the dirty term in one go.
+     */
+    public static final int TERM_CLEAN_MAX_LENGTH = getSizeAsInt(TERM_CLEAN_MAX_LENGTH_PROP_NAME, 0);
+
     /**
      * Property name for {@link Publication} unblock timeout.
      */
@@ -452,6 +669,57 @@ public class Configuration
     public static final boolean SPIES_SIMULATE_CONNECTION =
         "true".equalsIgnoreCase(getProperty(SPIES_SIMULATE_CONNECTION_PROP_NAME, "false"));
 
+    /**
+     * Property name for if log buffers are allocated on a separate thread so the {@link DriverConductor} is not
+     * stalled while they are created and pre-touched.
+     */
+    public static final String ASYNC_LOG_ALLOCATION_PROP_NAME = "aeron.log.allocation.async";
+
+    /**
+     * Should log buffers be allocated on a separate thread from the {@link DriverConductor}.
+     */
+    public static final boolean ASYNC_LOG_ALLOCATION =
+        "true".equalsIgnoreCase(getProperty(ASYNC_LOG_ALLOCATION_PROP_NAME, "false"));
+
+    /**
+     * Property name for the number of pre-allocated log buffers to pool per term length. The value is a comma
+     * separated list of termLength:count pairs, e.g. "64k:16,16m:4", where the term length can have a k, m, or g
+     * suffix.
+     */
+    public static final String LOG_POOL_SIZES_PROP_NAME = "aeron.log.pool.sizes";
+
+    /**
+     * Default is no pooling of log buffers so each is created on demand and deleted when closed.
+     */
+    public static final String LOG_POOL_SIZES_DEFAULT = "";
+
+    /**
+     * Property name for a directory on a hugetlbfs, or tmpfs with huge pages, mount in which publication and image
+     * logs are placed rather than the aeron directory.
+     */
+    public static final String LOG_HUGE_PAGES_DIR_PROP_NAME = "aeron.log.huge.pages.dir";
+
+    /**
+     * Directory in which publication and image logs are placed to be backed by huge pages, or null to use the aeron
+     * directory. Logs fall back to the aeron directory if huge pages are not available.
+     */
+    public static final String LOG_HUGE_PAGES_DIR = getProperty(LOG_HUGE_PAGES_DIR_PROP_NAME);
+
+    /**
+     * Property name for the page size of the huge pages directory to which logs are aligned.
+     */
+    public static final String LOG_HUGE_PAGE_SIZE_PROP_NAME = "aeron.log.huge.page.size";
+
+    /**
+     * Default page size of the huge pages directory is 2MB.
+     */
+    public static final int LOG_HUGE_PAGE_SIZE_DEFAULT = 2 * 1024 * 1024;
+
+    /**
+     * Page size of the huge pages directory to which logs are aligned.
+     */
+    public static final int LOG_HUGE_PAGE_SIZE = getSizeAsInt(LOG_HUGE_PAGE_SIZE_PROP_NAME, LOG_HUGE_PAGE_SIZE_DEFAULT);
+
     private static final String DEFAULT_IDLE_STRATEGY = "org.agrona.concurrent.BackoffIdleStrategy";
 
     /**
@@ -794,6 +1062,16 @@ public class Configuration
     public static final StaticDelayGenerator NAK_UNICAST_DELAY_GENERATOR = new StaticDelayGenerator(
         NAK_UNICAST_DELAY_DEFAULT_NS, true);
 
+    /**
+     * Property name for the max number of gaps tracked per image and carried as ranges in a single NAK.
+     */
+    public static final String NAK_MAX_GAPS_PROP_NAME = "aeron.nak.max.gaps";
+
+    /**
+     * Default max number of gaps per NAK. A value of 1 tracks and NAKs a single gap at a time.
+     */
+    public static final int NAK_MAX_GAPS_DEFAULT = 1;
+
     /**
      * Default delay before retransmission of data for unicast in nanoseconds.
      */
@@ -816,11 +1094,26 @@ public class Configuration
     public static final FeedbackDelayGenerator RETRANSMIT_UNICAST_LINGER_GENERATOR =
         () -> RETRANSMIT_UNICAST_LINGER_DEFAULT_NS;
 
+    /**
+     * Property name for the max number of active retransmissions per connected stream.
+     */
+    public static final String MAX_RETRANSMITS_PROP_NAME = "aeron.retransmit.max.outstanding";
+
     /**
      * Default max number of active retransmissions per connected stream.
      */
     public static final int MAX_RETRANSMITS_DEFAULT = 16;
 
+    /**
+     * Property name for the max rate of retransmission in bytes per second per publication.
+     */
+    public static final String RETRANSMIT_RATE_PROP_NAME = "aeron.retransmit.rate";
+
+    /**
+     * Default max rate of retransmission in bytes per second per publication. A value of 0 is unlimited.
+     */
+    public static final long RETRANSMIT_RATE_DEFAULT = 0;
+
     /**
      * How far ahead the publisher can get from the sender position.
      *
@@ -857,6 +1150,42 @@ public class Configuration
         return publicationTermWindowLength;
     }
 
+    /**
+     * How much of a term can be cleaned in a single duty cycle so large reclaims are spread over many cycles.
+     *
+     * @param termBufferLength to be used when {@link #TERM_CLEAN_MAX_LENGTH} is not set.
+     * @return the maximum length in bytes to clean in a single duty cycle.
+     */
+    public static int termCleanMaxLength(final int termBufferLength)
+    {
+        return termCleanMaxLength(termBufferLength, TERM_CLEAN_MAX_LENGTH);
+    }
+
+    /**
+     * How much of a term can be cleaned in a single duty cycle so large reclaims are spread over many cycles.
+     *
+     * @param termBufferLength   to be used when the configured clean length is not set.
+     * @param termCleanMaxLength configured for the driver, or 0 to clean up to the end of the dirty term.
+     * @return the maximum length in bytes to clean in a single duty cycle.
+     */
+    public static int termCleanMaxLength(final int termBufferLength, final int termCleanMaxLength)
+    {
+        return 0 != termCleanMaxLength ? Math.min(termCleanMaxLength, termBufferLength) : termBufferLength;
+    }
+
+    /**
+     * How far ahead of the clean position a publisher limit or receiver window can be set. A log wraps after
+     * {@link LogBufferDescriptor#PARTITION_COUNT} terms so this leaves half a term for a message which starts before
+     * the limit, ensuring nothing is written to a region which has not yet been cleaned when cleaning falls behind.
+     *
+     * @param termBufferLength of the log.
+     * @return the maximum distance in bytes from the clean position to a limit.
+     */
+    public static long cleanLimitLength(final int termBufferLength)
+    {
+        return ((long)termBufferLength * (LogBufferDescriptor.PARTITION_COUNT - 1)) + (termBufferLength >> 1);
+    }
+
     /**
      * How large the term buffer should be for IPC only.
      *
@@ -946,6 +1275,91 @@ public class Configuration
         return getDurationInNanos(STATUS_MESSAGE_TIMEOUT_PROP_NAME, STATUS_MESSAGE_TIMEOUT_DEFAULT_NS);
     }
 
+    static long statusMessageMinTimeout()
+    {
+        return getDurationInNanos(STATUS_MESSAGE_MIN_TIMEOUT_PROP_NAME, STATUS_MESSAGE_MIN_TIMEOUT_DEFAULT_NS);
+    }
+
+    static long statusMessageMaxTimeout()
+    {
+        return getDurationInNanos(STATUS_MESSAGE_MAX_TIMEOUT_PROP_NAME, STATUS_MESSAGE_MAX_TIMEOUT_DEFAULT_NS);
+    }
+
+    static int receiveBatchSize()
+    {
+        return getInteger(RECEIVE_BATCH_SIZE_PROP_NAME, RECEIVE_BATCH_SIZE_DEFAULT);
+    }
+
+    static int receiveSweepMaxSkip()
+    {
+        return getInteger(RECEIVE_SWEEP_MAX_SKIP_PROP_NAME, RECEIVE_SWEEP_MAX_SKIP_DEFAULT);
+    }
+
+    static long receiveLatencyInterval()
+    {
+        return getDurationInNanos(RECEIVE_LATENCY_INTERVAL_PROP_NAME, RECEIVE_LATENCY_INTERVAL_DEFAULT_NS);
+    }
+
+    static int sendBatchSize()
+    {
+        return getInteger(SEND_BATCH_SIZE_PROP_NAME, SEND_BATCH_SIZE_DEFAULT);
+    }
+
+    static long publicationPacingRate()
+    {
+        return getSizeAsLong(PUBLICATION_PACING_RATE_PROP_NAME, PUBLICATION_PACING_RATE_DEFAULT);
+    }
+
+    static int publicationPacingBurst()
+    {
+        return getSizeAsInt(PUBLICATION_PACING_BURST_PROP_NAME, PUBLICATION_PACING_BURST_DEFAULT);
+    }
+
+    static int senderPriorityClasses()
+    {
+        return getInteger(SENDER_PRIORITY_CLASSES_PROP_NAME, SENDER_PRIORITY_CLASSES_DEFAULT);
+    }
+
+    static int publicationPriority()
+    {
+        return getInteger(PUBLICATION_PRIORITY_PROP_NAME, PUBLICATION_PRIORITY_DEFAULT);
+    }
+
+    static int senderQuantum()
+    {
+        return getSizeAsInt(SENDER_QUANTUM_PROP_NAME, SENDER_QUANTUM_DEFAULT);
+    }
+
+    static String logPoolSizes()
+    {
+        return getProperty(LOG_POOL_SIZES_PROP_NAME, LOG_POOL_SIZES_DEFAULT);
+    }
+
+    static int receiverShardCount()
+    {
+        return getInteger(RECEIVER_SHARD_COUNT_PROP_NAME, RECEIVER_SHARD_COUNT_DEFAULT);
+    }
+
+    static int senderShardCount()
+    {
+        return getInteger(SENDER_SHARD_COUNT_PROP_NAME, SENDER_SHARD_COUNT_DEFAULT);
+    }
+
+    static int nakMaxGaps()
+    {
+        return getInteger(NAK_MAX_GAPS_PROP_NAME, NAK_MAX_GAPS_DEFAULT);
+    }
+
+    static int maxRetransmits()
+    {
+        return getInteger(MAX_RETRANSMITS_PROP_NAME, MAX_RETRANSMITS_DEFAULT);
+    }
+
+    static long retransmitRate()
+    {
+        return getSizeAsLong(RETRANSMIT_RATE_PROP_NAME, RETRANSMIT_RATE_DEFAULT);
+    }
+
     static int sendToStatusMessagePollRatio()
     {
         return getInteger(SEND_TO_STATUS_POLL_RATIO_PROP_NAME, SEND_TO_STATUS_POLL_RATIO_DEFAULT);
@@ -1105,6 +1519,202 @@ public class Configuration
         }
     }
 
+    /**
+     * Validate that the receive batch size is at least one datagram.
+     *
+     * @param receiveBatchSize to be validated.
+     * @throws ConfigurationException if the batch size is not valid.
+     */
+    static void validateReceiveBatchSize(final int receiveBatchSize)
+    {
+        if (receiveBatchSize < 1)
+        {
+            throw new ConfigurationException("receiveBatchSize must be >= 1: " + receiveBatchSize);
+        }
+    }
+
+    /**
+     * Validate that the max number of polls an idle transport is skipped for when sweeping is not negative.
+     *
+     * @param receiveSweepMaxSkip to be validated.
+     * @throws ConfigurationException if the max skip is not valid.
+     */
+    static void validateReceiveSweepMaxSkip(final int receiveSweepMaxSkip)
+    {
+        if (receiveSweepMaxSkip < 0)
+        {
+            throw new ConfigurationException("receiveSweepMaxSkip must be >= 0: " + receiveSweepMaxSkip);
+        }
+    }
+
+    /**
+     * Validate that the send batch size is at least one datagram.
+     *
+     * @param sendBatchSize to be validated.
+     * @throws ConfigurationException if the batch size is not valid.
+     */
+    static void validateSendBatchSize(final int sendBatchSize)
+    {
+        if (sendBatchSize < 1)
+        {
+            throw new ConfigurationException("sendBatchSize must be >= 1: " + sendBatchSize);
+        }
+    }
+
+    /**
+     * Validate that there is at least one receiver shard.
+     *
+     * @param receiverShardCount to be validated.
+     * @throws ConfigurationException if the shard count is not valid.
+     */
+    static void validateReceiverShardCount(final int receiverShardCount)
+    {
+        if (receiverShardCount < 1)
+        {
+            throw new ConfigurationException("receiverShardCount must be >= 1: " + receiverShardCount);
+        }
+    }
+
+    /**
+     * Validate that there is at least one sender shard.
+     *
+     * @param senderShardCount to be validated.
+     * @throws ConfigurationException if the shard count is not valid.
+     */
+    static void validateSenderShardCount(final int senderShardCount)
+    {
+        if (senderShardCount < 1)
+        {
+            throw new ConfigurationException("senderShardCount must be >= 1: " + senderShardCount);
+        }
+    }
+
+    /**
+     * Validate that the max gaps per NAK can be carried in a single NAK frame.
+     *
+     * @param nakMaxGaps to be validated.
+     * @throws ConfigurationException if the max gaps is not valid.
+     */
+    static void validateNakMaxGaps(final int nakMaxGaps)
+    {
+        if (nakMaxGaps < 1 || nakMaxGaps > NakFlyweight.MAX_RANGE_COUNT)
+        {
+            throw new ConfigurationException(
+                "nakMaxGaps must be in range 1.." + NakFlyweight.MAX_RANGE_COUNT + ": " + nakMaxGaps);
+        }
+    }
+
+    /**
+     * Validate that the max length cleaned in a duty cycle is either unset or a whole number of frames, so the clean
+     * position always lands on a frame boundary.
+     *
+     * @param termCleanMaxLength to be validated.
+     * @throws ConfigurationException if the length is not valid.
+     */
+    static void validateTermCleanMaxLength(final int termCleanMaxLength)
+    {
+        if (0 != termCleanMaxLength &&
+            (termCleanMaxLength < FrameDescriptor.FRAME_ALIGNMENT ||
+            0 != (termCleanMaxLength & (FrameDescriptor.FRAME_ALIGNMENT - 1))))
+        {
+            throw new ConfigurationException(
+                "termCleanMaxLength must be 0 or a positive multiple of " + FrameDescriptor.FRAME_ALIGNMENT + ": " +
+                termCleanMaxLength);
+        }
+    }
+
+    /**
+     * Validate that the max retransmits and retransmit rate are appropriate values.
+     *
+     * @param maxRetransmits to be validated.
+     * @param retransmitRate to be validated.
+     * @throws ConfigurationException if the values are not valid.
+     */
+    static void validateRetransmitLimits(final int maxRetransmits, final long retransmitRate)
+    {
+        if (maxRetransmits < 1)
+        {
+            throw new ConfigurationException("maxRetransmits must be >= 1: " + maxRetransmits);
+        }
+
+        if (retransmitRate < 0)
+        {
+            throw new ConfigurationException("retransmitRate must be >= 0: " + retransmitRate);
+        }
+    }
+
+    /**
+     * Validate that the publication pacing rate and burst are appropriate values.
+     *
+     * @param pacingRate  to be validated.
+     * @param pacingBurst to be validated.
+     * @throws ConfigurationException if the values are not valid.
+     */
+    static void validatePublicationPacing(final long pacingRate, final int pacingBurst)
+    {
+        if (pacingRate < 0)
+        {
+            throw new ConfigurationException("publicationPacingRate must be >= 0: " + pacingRate);
+        }
+
+        if (pacingBurst < 0)
+        {
+            throw new ConfigurationException("publicationPacingBurst must be >= 0: " + pacingBurst);
+        }
+    }
+
+    /**
+     * Validate the number of sender priority classes, the default priority of a publication, and the send quantum.
+     *
+     * @param priorityClasses     to be validated.
+     * @param publicationPriority to be validated.
+     * @param senderQuantum       to be validated.
+     * @throws ConfigurationException if the values are not valid.
+     */
+    static void validateSenderPriority(
+        final int priorityClasses, final int publicationPriority, final int senderQuantum)
+    {
+        if (priorityClasses < 1 || priorityClasses > SENDER_PRIORITY_CLASSES_MAX)
+        {
+            throw new ConfigurationException(
+                "senderPriorityClasses must be in the range 1-" + SENDER_PRIORITY_CLASSES_MAX + ": " + priorityClasses);
+        }
+
+        if (publicationPriority < 0 || publicationPriority >= priorityClasses)
+        {
+            throw new ConfigurationException(
+                "publicationPriority must be in the range 0-" + (priorityClasses - 1) + ": " + publicationPriority);
+        }
+
+        if (senderQuantum < 0)
+        {
+            throw new ConfigurationException("senderQuantum must be >= 0: " + senderQuantum);
+        }
+    }
+
+    /**
+     * Validate the range an adaptive status message timeout can take.
+     *
+     * @param minTimeoutNs        between status messages.
+     * @param maxTimeoutNs        between status messages.
+     * @param connectionTimeoutNs of a publication which must be greater than the max.
+     */
+    static void validateStatusMessageTimeouts(
+        final long minTimeoutNs, final long maxTimeoutNs, final long connectionTimeoutNs)
+    {
+        if (minTimeoutNs <= 0 || minTimeoutNs > maxTimeoutNs)
+        {
+            throw new ConfigurationException(
+                "statusMessageMinTimeoutNs must be > 0 and <= statusMessageMaxTimeoutNs: " + minTimeoutNs);
+        }
+
+        if (maxTimeoutNs >= connectionTimeoutNs)
+        {
+            throw new ConfigurationException(
+                "statusMessageMaxTimeoutNs must be < publicationConnectionTimeoutNs: " + maxTimeoutNs);
+        }
+    }
+
     /**
      * Validate the publication linger timeout is an appropriate value.
      *
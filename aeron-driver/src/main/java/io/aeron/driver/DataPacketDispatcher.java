@@ -18,6 +18,7 @@ package io.aeron.driver;
 import io.aeron.driver.exceptions.UnknownSubscriptionException;
 import io.aeron.driver.media.ReceiveChannelEndpoint;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
 import org.agrona.collections.Int2ObjectHashMap;
@@ -245,6 +246,28 @@ public class DataPacketDispatcher
         }
     }
 
+    /**
+     * Get the image for a session of a stream if one has been added.
+     *
+     * @param sessionId of the image.
+     * @param streamId  of the image.
+     * @return the image for the session of the stream or null if none has been added.
+     */
+    public PublicationImage image(final int sessionId, final int streamId)
+    {
+        final StreamInterest streamInterest = streamInterestByIdMap.get(streamId);
+        if (null != streamInterest)
+        {
+            final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(sessionId);
+            if (null != sessionInterest)
+            {
+                return sessionInterest.image;
+            }
+        }
+
+        return null;
+    }
+
     public int onDataPacket(
         final ReceiveChannelEndpoint channelEndpoint,
         final DataHeaderFlyweight header,
@@ -287,6 +310,21 @@ public class DataPacketDispatcher
         return 0;
     }
 
+    public void onFecMessage(final FecFlyweight header, final UnsafeBuffer buffer, final int length)
+    {
+        final StreamInterest streamInterest = streamInterestByIdMap.get(header.streamId());
+
+        if (null != streamInterest)
+        {
+            final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(header.sessionId());
+
+            if (null != sessionInterest && null != sessionInterest.image)
+            {
+                sessionInterest.image.onFecMessage(header, buffer, length);
+            }
+        }
+    }
+
     public void onSetupMessage(
         final ReceiveChannelEndpoint channelEndpoint,
         final SetupFlyweight header,
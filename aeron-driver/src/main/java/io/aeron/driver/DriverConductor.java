@@ -25,20 +25,25 @@ import io.aeron.driver.media.ReceiveChannelEndpoint;
 import io.aeron.driver.media.ReceiveDestinationUdpTransport;
 import io.aeron.driver.media.SendChannelEndpoint;
 import io.aeron.driver.media.UdpChannel;
+import io.aeron.driver.media.UdpChannelTransport;
 import io.aeron.driver.status.*;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.status.ChannelEndpointStatus;
 import org.agrona.BitUtil;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.collections.IntHashSet;
+import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.concurrent.*;
 import org.agrona.concurrent.ringbuffer.RingBuffer;
 import org.agrona.concurrent.status.*;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 
 import static io.aeron.ErrorCode.*;
@@ -59,7 +64,8 @@ public class DriverConductor implements Agent
     private final long imageLivenessTimeoutNs;
     private final long clientLivenessTimeoutNs;
     private final long publicationUnblockTimeoutNs;
-    private final long statusMessageTimeoutNs;
+    private final long statusMessageMinTimeoutNs;
+    private final long statusMessageMaxTimeoutNs;
     private long timeOfLastToDriverPositionChangeNs;
     private long timeOfLastTimerCheckNs;
     private long lastConsumerCommandPosition;
@@ -79,18 +85,27 @@ public class DriverConductor implements Agent
     private final ArrayList<NetworkPublication> networkPublications = new ArrayList<>();
     private final ArrayList<IpcPublication> ipcPublications = new ArrayList<>();
     private final ArrayList<PublicationImage> publicationImages = new ArrayList<>();
-    private final ArrayList<PublicationLink> publicationLinks = new ArrayList<>();
-    private final ArrayList<SubscriptionLink> subscriptionLinks = new ArrayList<>();
-    private final ArrayList<CounterLink> counterLinks = new ArrayList<>();
-    private final ArrayList<AeronClient> clients = new ArrayList<>();
+    private final Int2ObjectHashMap<ArrayList<NetworkPublication>> networkPublicationsByStreamIdMap =
+        new Int2ObjectHashMap<>();
+    private final Int2ObjectHashMap<ArrayList<IpcPublication>> ipcPublicationsByStreamIdMap =
+        new Int2ObjectHashMap<>();
+    private final Int2ObjectHashMap<ArrayList<PublicationImage>> publicationImagesByStreamIdMap =
+        new Int2ObjectHashMap<>();
+    private final Int2ObjectHashMap<ArrayList<SubscriptionLink>> subscriptionLinksByStreamIdMap =
+        new Int2ObjectHashMap<>();
+    private final Long2ObjectHashMap<PublicationLink> publicationLinkByIdMap = new Long2ObjectHashMap<>();
+    private final Long2ObjectHashMap<SubscriptionLink> subscriptionLinkByIdMap = new Long2ObjectHashMap<>();
+    private final Long2ObjectHashMap<CounterLink> counterLinkByIdMap = new Long2ObjectHashMap<>();
+    private final Long2ObjectHashMap<AeronClient> clientByIdMap = new Long2ObjectHashMap<>();
+    private final ArrayList<PendingPublication> pendingPublications = new ArrayList<>();
     private final IntHashSet activeSessionIds = new IntHashSet();
     private final EpochClock epochClock;
     private final NanoClock nanoClock;
     private final CachedEpochClock cachedEpochClock;
     private final CachedNanoClock cachedNanoClock;
     private final CountersManager countersManager;
-    private final NetworkPublicationThreadLocals networkPublicationThreadLocals = new NetworkPublicationThreadLocals();
     private final MutableDirectBuffer tempBuffer;
+    private final LogAllocator logAllocator;
 
     public DriverConductor(final Context ctx)
     {
@@ -99,7 +114,10 @@ public class DriverConductor implements Agent
         imageLivenessTimeoutNs = ctx.imageLivenessTimeoutNs();
         clientLivenessTimeoutNs = ctx.clientLivenessTimeoutNs();
         publicationUnblockTimeoutNs = ctx.publicationUnblockTimeoutNs();
-        statusMessageTimeoutNs = ctx.statusMessageTimeoutNs();
+        statusMessageMinTimeoutNs = ctx.statusMessageAdaptive() ?
+            ctx.statusMessageMinTimeoutNs() : ctx.statusMessageTimeoutNs();
+        statusMessageMaxTimeoutNs = ctx.statusMessageAdaptive() ?
+            ctx.statusMessageMaxTimeoutNs() : ctx.statusMessageTimeoutNs();
         driverCmdQueue = ctx.driverCommandQueue();
         receiverProxy = ctx.receiverProxy();
         senderProxy = ctx.senderProxy();
@@ -113,6 +131,11 @@ public class DriverConductor implements Agent
         tempBuffer = ctx.tempBuffer();
 
         countersManager = context.countersManager();
+        logAllocator = new LogAllocator(
+            ctx.asyncLogAllocation() && ThreadingMode.INVOKER != ctx.threadingMode(),
+            driverCmdQueue,
+            nanoClock,
+            ctx.systemCounters());
 
         clientCommandAdapter = new ClientCommandAdapter(
             context.systemCounters().get(ERRORS),
@@ -131,9 +154,12 @@ public class DriverConductor implements Agent
 
     public void onClose()
     {
+        driverCmdQueue.drain(LogAllocator::abortIfCompletion);
+        pendingPublications.clear();
         publicationImages.forEach(PublicationImage::close);
         networkPublications.forEach(NetworkPublication::close);
         ipcPublications.forEach(IpcPublication::close);
+        rawLogFactory.close();
     }
 
     public String roleName()
@@ -158,7 +184,7 @@ public class DriverConductor implements Agent
             final PublicationImage image = publicationImages.get(i);
             if (image.isTrackingRebuild())
             {
-                image.trackRebuild(nowNs, statusMessageTimeoutNs);
+                image.trackRebuild(nowNs, statusMessageMinTimeoutNs, statusMessageMaxTimeoutNs);
             }
         }
 
@@ -210,10 +236,61 @@ public class DriverConductor implements Agent
         if (subscriberPositions.size() > 0)
         {
             final UdpChannel udpChannel = channelEndpoint.udpChannel();
-            final String channel = udpChannel.originalUriString();
             final long registrationId = toDriverCommands.nextCorrelationId();
-            final RawLog rawLog = newPublicationImageLog(
-                sessionId, streamId, initialTermId, termBufferLength, senderMtuLength, udpChannel, registrationId);
+
+            logAllocator.allocate(
+                () -> rawLogFactory.newNetworkedImage(
+                    udpChannel.canonicalForm(), sessionId, streamId, registrationId, termBufferLength),
+                (rawLog) -> newPublicationImage(
+                    registrationId,
+                    sessionId,
+                    streamId,
+                    initialTermId,
+                    activeTermId,
+                    initialTermOffset,
+                    termBufferLength,
+                    senderMtuLength,
+                    transportIndex,
+                    controlAddress,
+                    sourceAddress,
+                    channelEndpoint,
+                    subscriberPositions,
+                    rawLog),
+                (ex) ->
+                {
+                    closeSubscriberPositions(subscriberPositions);
+                    recordError(ex);
+                });
+        }
+    }
+
+    private void newPublicationImage(
+        final long registrationId,
+        final int sessionId,
+        final int streamId,
+        final int initialTermId,
+        final int activeTermId,
+        final int initialTermOffset,
+        final int termBufferLength,
+        final int senderMtuLength,
+        final int transportIndex,
+        final InetSocketAddress controlAddress,
+        final InetSocketAddress sourceAddress,
+        final ReceiveChannelEndpoint channelEndpoint,
+        final List<SubscriberPosition> allSubscriberPositions,
+        final RawLog rawLog)
+    {
+        final List<SubscriberPosition> subscriberPositions = activeSubscriberPositions(allSubscriberPositions);
+        if (subscriberPositions.isEmpty())
+        {
+            rawLog.close();
+        }
+        else
+        {
+            final UdpChannel udpChannel = channelEndpoint.udpChannel();
+            final String channel = udpChannel.originalUriString();
+            initPublicationImageMetadata(
+                registrationId, sessionId, streamId, initialTermId, termBufferLength, senderMtuLength, rawLog);
 
             final CongestionControl congestionControl = context.congestionControlSupplier().newInstance(
                 registrationId,
@@ -239,9 +316,15 @@ public class DriverConductor implements Agent
                 initialTermOffset,
                 rawLog,
                 udpChannel.isMulticast() ? NAK_MULTICAST_DELAY_GENERATOR : NAK_UNICAST_DELAY_GENERATOR,
+                context.nakMaxGaps(),
+                context.termCleanMaxLength(),
                 positionArray(subscriberPositions),
                 ReceiverHwm.allocate(tempBuffer, countersManager, registrationId, sessionId, streamId, channel),
                 ReceiverPos.allocate(tempBuffer, countersManager, registrationId, sessionId, streamId, channel),
+                PerImageIndicator.allocate(
+                    tempBuffer, "rcv-loss-gaps", countersManager, registrationId, sessionId, streamId, channel),
+                PerImageIndicator.allocate(
+                    tempBuffer, "rcv-loss-recovery-ns", countersManager, registrationId, sessionId, streamId, channel),
                 nanoClock,
                 cachedNanoClock,
                 cachedEpochClock,
@@ -249,9 +332,19 @@ public class DriverConductor implements Agent
                 sourceAddress,
                 congestionControl,
                 context.lossReport(),
-                subscriberPositions.get(0).subscription().isReliable());
+                subscriberPositions.get(0).subscription().isReliable(),
+                context.receiveTimestamps() ? new ReceiveLatency(
+                    tempBuffer,
+                    countersManager,
+                    registrationId,
+                    sessionId,
+                    streamId,
+                    channel,
+                    context.receiveLatencyIntervalNs(),
+                    cachedNanoClock.nanoTime()) : null);
 
             publicationImages.add(image);
+            addToStreamIndex(publicationImagesByStreamIdMap, streamId, image);
             receiverProxy.newPublicationImage(channelEndpoint, image);
 
             final String sourceIdentity = generateSourceIdentity(sourceAddress);
@@ -289,9 +382,14 @@ public class DriverConductor implements Agent
         return receiveChannelEndpointByChannelMap.get(channel.canonicalForm());
     }
 
-    IpcPublication getSharedIpcPublication(final long streamId)
+    LogAllocator logAllocator()
     {
-        return findSharedIpcPublication(ipcPublications, streamId);
+        return logAllocator;
+    }
+
+    IpcPublication getSharedIpcPublication(final int streamId)
+    {
+        return findSharedIpcPublication(ipcPublicationsByStreamIdMap, streamId);
     }
 
     IpcPublication getIpcPublication(final long registrationId)
@@ -353,7 +451,19 @@ public class DriverConductor implements Agent
         NetworkPublication publication = null;
         if (!isExclusive)
         {
-            publication = findPublication(networkPublications, streamId, channelEndpoint);
+            publication = findPublication(networkPublicationsByStreamIdMap, streamId, channelEndpoint);
+            if (null == publication)
+            {
+                final PendingPublication pendingPublication = findPendingPublication(channelEndpoint, streamId);
+                if (null != pendingPublication)
+                {
+                    deferCommand(
+                        pendingPublication,
+                        correlationId,
+                        () -> onAddNetworkPublication(channel, streamId, correlationId, clientId, false));
+                    return;
+                }
+            }
         }
 
         if (null == publication)
@@ -363,29 +473,36 @@ public class DriverConductor implements Agent
                 confirmSessionIdNotInUse(params.sessionId);
             }
 
-            publication = newNetworkPublication(
-                correlationId, streamId, channel, udpChannel, channelEndpoint, params, isExclusive);
+            newNetworkPublication(
+                correlationId, clientId, streamId, channel, udpChannel, channelEndpoint, params, isExclusive);
         }
         else
         {
             confirmMatch(channelUri, params, publication.rawLog(), publication.sessionId());
+            linkNetworkPublication(correlationId, clientId, publication, isExclusive);
         }
+    }
 
-        publicationLinks.add(new PublicationLink(correlationId, getOrAddClient(clientId), publication));
+    private void linkNetworkPublication(
+        final long correlationId, final long clientId, final NetworkPublication publication, final boolean isExclusive)
+    {
+        publicationLinkByIdMap.put(
+            correlationId, new PublicationLink(correlationId, getOrAddClient(clientId), publication));
 
         clientProxy.onPublicationReady(
             correlationId,
             publication.registrationId(),
-            streamId,
+            publication.streamId(),
             publication.sessionId(),
             publication.rawLog().fileName(),
             publication.publisherLimitId(),
-            channelEndpoint.statusIndicatorCounterId(),
+            publication.channelEndpoint().statusIndicatorCounterId(),
             isExclusive);
     }
 
     void cleanupSpies(final NetworkPublication publication)
     {
+        final List<SubscriptionLink> subscriptionLinks = subscriptionLinks(publication.streamId());
         for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
         {
             final SubscriptionLink link = subscriptionLinks.get(i);
@@ -394,7 +511,7 @@ public class DriverConductor implements Agent
             {
                 clientProxy.onUnavailableImage(
                     publication.registrationId(), link.registrationId(), publication.streamId(), publication.channel());
-                subscriptionLinks.get(i).unlink(publication);
+                link.unlink(publication);
             }
         }
     }
@@ -445,6 +562,7 @@ public class DriverConductor implements Agent
 
     void transitionToLinger(final PublicationImage image)
     {
+        final List<SubscriptionLink> subscriptionLinks = subscriptionLinks(image.streamId());
         for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
         {
             final SubscriptionLink link = subscriptionLinks.get(i);
@@ -461,6 +579,7 @@ public class DriverConductor implements Agent
 
     void transitionToLinger(final IpcPublication publication)
     {
+        final List<SubscriptionLink> subscriptionLinks = subscriptionLinks(publication.streamId());
         for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
         {
             final SubscriptionLink link = subscriptionLinks.get(i);
@@ -478,6 +597,7 @@ public class DriverConductor implements Agent
 
     void cleanupImage(final PublicationImage image)
     {
+        final List<SubscriptionLink> subscriptionLinks = subscriptionLinks(image.streamId());
         for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
         {
             subscriptionLinks.get(i).unlink(image);
@@ -488,6 +608,7 @@ public class DriverConductor implements Agent
     {
         activeSessionIds.remove(publication.sessionId());
 
+        final List<SubscriptionLink> subscriptionLinks = subscriptionLinks(publication.streamId());
         for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
         {
             subscriptionLinks.get(i).unlink(publication);
@@ -501,8 +622,54 @@ public class DriverConductor implements Agent
         final long clientId,
         final boolean isExclusive)
     {
-        final IpcPublication ipcPublication = getOrAddIpcPublication(correlationId, streamId, channel, isExclusive);
-        publicationLinks.add(new PublicationLink(correlationId, getOrAddClient(clientId), ipcPublication));
+        IpcPublication publication = null;
+        final ChannelUri channelUri = ChannelUri.parse(channel);
+        final PublicationParams params = getPublicationParams(context, channelUri, this, isExclusive, true);
+
+        if (!isExclusive)
+        {
+            publication = findSharedIpcPublication(ipcPublicationsByStreamIdMap, streamId);
+            if (null == publication)
+            {
+                final PendingPublication pendingPublication = findPendingPublication(null, streamId);
+                if (null != pendingPublication)
+                {
+                    deferCommand(
+                        pendingPublication,
+                        correlationId,
+                        () -> onAddIpcPublication(channel, streamId, correlationId, clientId, false));
+                    return;
+                }
+            }
+        }
+
+        if (null == publication)
+        {
+            if (params.hasSessionId && !params.isSessionIdTagged)
+            {
+                confirmSessionIdNotInUse(params.sessionId);
+            }
+
+            validateMtuForMaxMessage(params, isExclusive);
+            addIpcPublication(correlationId, clientId, streamId, channel, isExclusive, params);
+        }
+        else
+        {
+            confirmMatch(channelUri, params, publication.rawLog(), publication.sessionId());
+            linkIpcPublication(correlationId, clientId, channel, publication, isExclusive);
+        }
+    }
+
+    private void linkIpcPublication(
+        final long correlationId,
+        final long clientId,
+        final String channel,
+        final IpcPublication ipcPublication,
+        final boolean isExclusive)
+    {
+        final int streamId = ipcPublication.streamId();
+        publicationLinkByIdMap.put(
+            correlationId, new PublicationLink(correlationId, getOrAddClient(clientId), ipcPublication));
 
         final ArrayList<SubscriberPosition> subscriberPositions = linkIpcSubscriptions(ipcPublication);
 
@@ -533,19 +700,7 @@ public class DriverConductor implements Agent
 
     void onRemovePublication(final long registrationId, final long correlationId)
     {
-        PublicationLink publicationLink = null;
-        final ArrayList<PublicationLink> publicationLinks = this.publicationLinks;
-        for (int i = 0, size = publicationLinks.size(); i < size; i++)
-        {
-            final PublicationLink publication = publicationLinks.get(i);
-            if (registrationId == publication.registrationId())
-            {
-                publicationLink = publication;
-                fastUnorderedRemove(publicationLinks, i);
-                break;
-            }
-        }
-
+        final PublicationLink publicationLink = publicationLinkByIdMap.remove(registrationId);
         if (null == publicationLink)
         {
             throw new ControlProtocolException(UNKNOWN_PUBLICATION, "Unknown publication: " + registrationId);
@@ -641,7 +796,7 @@ public class DriverConductor implements Agent
         final SubscriptionLink subscription = new NetworkSubscriptionLink(
             registrationId, channelEndpoint, streamId, channel, client, params);
 
-        subscriptionLinks.add(subscription);
+        addSubscriptionLink(subscription);
         clientProxy.onSubscriptionReady(registrationId, channelEndpoint.statusIndicatorCounterId());
 
         linkMatchingImages(subscription);
@@ -654,8 +809,9 @@ public class DriverConductor implements Agent
         final IpcSubscriptionLink subscriptionLink = new IpcSubscriptionLink(
             registrationId, streamId, channel, getOrAddClient(clientId), params);
 
-        subscriptionLinks.add(subscriptionLink);
+        addSubscriptionLink(subscriptionLink);
 
+        final List<IpcPublication> ipcPublications = streamIndexList(ipcPublicationsByStreamIdMap, streamId);
         for (int i = 0, size = ipcPublications.size(); i < size; i++)
         {
             final IpcPublication publication = ipcPublications.get(i);
@@ -693,8 +849,10 @@ public class DriverConductor implements Agent
         final SpySubscriptionLink subscriptionLink = new SpySubscriptionLink(
             registrationId, udpChannel, streamId, client, params);
 
-        subscriptionLinks.add(subscriptionLink);
+        addSubscriptionLink(subscriptionLink);
 
+        final List<NetworkPublication> networkPublications = streamIndexList(
+            networkPublicationsByStreamIdMap, streamId);
         for (int i = 0, size = networkPublications.size(); i < size; i++)
         {
             final NetworkPublication publication = networkPublications.get(i);
@@ -726,7 +884,7 @@ public class DriverConductor implements Agent
 
     void onRemoveSubscription(final long registrationId, final long correlationId)
     {
-        final SubscriptionLink subscription = removeSubscriptionLink(subscriptionLinks, registrationId);
+        final SubscriptionLink subscription = removeSubscriptionLink(registrationId);
         if (null == subscription)
         {
             throw new ControlProtocolException(UNKNOWN_SUBSCRIPTION, "Unknown Subscription: " + registrationId);
@@ -766,7 +924,7 @@ public class DriverConductor implements Agent
 
     void onClientKeepalive(final long clientId)
     {
-        final AeronClient client = findClient(clients, clientId);
+        final AeronClient client = clientByIdMap.get(clientId);
         if (null != client)
         {
             client.timeOfLastKeepaliveMs(cachedEpochClock.time());
@@ -788,26 +946,14 @@ public class DriverConductor implements Agent
         final AtomicCounter counter = countersManager.newCounter(
             typeId, keyBuffer, keyOffset, keyLength, labelBuffer, labelOffset, labelLength);
 
-        counterLinks.add(new CounterLink(counter, correlationId, client));
+        counterLinkByIdMap.put(correlationId, new CounterLink(counter, correlationId, client));
 
         clientProxy.onCounterReady(correlationId, counter.id());
     }
 
     void onRemoveCounter(final long registrationId, final long correlationId)
     {
-        CounterLink counterLink = null;
-        final ArrayList<CounterLink> counterLinks = this.counterLinks;
-        for (int i = 0, size = counterLinks.size(); i < size; i++)
-        {
-            final CounterLink link = counterLinks.get(i);
-            if (registrationId == link.registrationId())
-            {
-                counterLink = link;
-                fastUnorderedRemove(counterLinks, i);
-                break;
-            }
-        }
-
+        final CounterLink counterLink = counterLinkByIdMap.remove(registrationId);
         if (null == counterLink)
         {
             throw new ControlProtocolException(UNKNOWN_COUNTER, "Unknown counter: " + registrationId);
@@ -821,7 +967,7 @@ public class DriverConductor implements Agent
 
     void onClientClose(final long clientId, final long correlationId)
     {
-        final AeronClient client = findClient(clients, clientId);
+        final AeronClient client = clientByIdMap.get(clientId);
         if (null != client)
         {
             client.timeOfLastKeepaliveMs(0);
@@ -832,18 +978,9 @@ public class DriverConductor implements Agent
 
     void onAddRcvDestination(final long registrationId, final String destinationChannel, final long correlationId)
     {
-        ReceiveChannelEndpoint receiveChannelEndpoint = null;
-
-        for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
-        {
-            final SubscriptionLink subscriptionLink = subscriptionLinks.get(i);
-
-            if (registrationId == subscriptionLink.registrationId())
-            {
-                receiveChannelEndpoint = subscriptionLink.channelEndpoint();
-                break;
-            }
-        }
+        final SubscriptionLink subscriptionLink = subscriptionLinkByIdMap.get(registrationId);
+        final ReceiveChannelEndpoint receiveChannelEndpoint =
+            null != subscriptionLink ? subscriptionLink.channelEndpoint() : null;
 
         if (null == receiveChannelEndpoint)
         {
@@ -863,18 +1000,9 @@ public class DriverConductor implements Agent
 
     void onRemoveRcvDestination(final long registrationId, final String destinationChannel, final long correlationId)
     {
-        ReceiveChannelEndpoint receiveChannelEndpoint = null;
-
-        for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
-        {
-            final SubscriptionLink subscriptionLink = subscriptionLinks.get(i);
-
-            if (registrationId == subscriptionLink.registrationId())
-            {
-                receiveChannelEndpoint = subscriptionLink.channelEndpoint();
-                break;
-            }
-        }
+        final SubscriptionLink subscriptionLink = subscriptionLinkByIdMap.get(registrationId);
+        final ReceiveChannelEndpoint receiveChannelEndpoint =
+            null != subscriptionLink ? subscriptionLink.channelEndpoint() : null;
 
         if (null == receiveChannelEndpoint)
         {
@@ -893,13 +1021,13 @@ public class DriverConductor implements Agent
         final long nowMs = cachedEpochClock.time();
         toDriverCommands.consumerHeartbeatTime(nowMs);
 
-        checkManagedResources(clients, nowNs, nowMs);
-        checkManagedResources(publicationLinks, nowNs, nowMs);
-        checkManagedResources(networkPublications, nowNs, nowMs);
-        checkManagedResources(subscriptionLinks, nowNs, nowMs);
-        checkManagedResources(publicationImages, nowNs, nowMs);
-        checkManagedResources(ipcPublications, nowNs, nowMs);
-        checkManagedResources(counterLinks, nowNs, nowMs);
+        checkManagedResources(clientByIdMap, nowNs, nowMs);
+        checkManagedResources(publicationLinkByIdMap, nowNs, nowMs);
+        checkManagedResources(networkPublications, networkPublicationsByStreamIdMap, nowNs, nowMs);
+        checkSubscriptionLinks(nowNs, nowMs);
+        checkManagedResources(publicationImages, publicationImagesByStreamIdMap, nowNs, nowMs);
+        checkManagedResources(ipcPublications, ipcPublicationsByStreamIdMap, nowNs, nowMs);
+        checkManagedResources(counterLinkByIdMap, nowNs, nowMs);
     }
 
     private void checkForBlockedToDriverCommands(final long nowNs)
@@ -928,6 +1056,7 @@ public class DriverConductor implements Agent
         final int sessionId, final int streamId, final ReceiveChannelEndpoint channelEndpoint, final long joinPosition)
     {
         final ArrayList<SubscriberPosition> subscriberPositions = new ArrayList<>();
+        final List<SubscriptionLink> subscriptionLinks = subscriptionLinks(streamId);
 
         for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
         {
@@ -952,10 +1081,11 @@ public class DriverConductor implements Agent
     }
 
     private static NetworkPublication findPublication(
-        final ArrayList<NetworkPublication> publications,
+        final Int2ObjectHashMap<ArrayList<NetworkPublication>> publicationsByStreamIdMap,
         final int streamId,
         final SendChannelEndpoint channelEndpoint)
     {
+        final List<NetworkPublication> publications = streamIndexList(publicationsByStreamIdMap, streamId);
         for (int i = 0, size = publications.size(); i < size; i++)
         {
             final NetworkPublication publication = publications.get(i);
@@ -972,8 +1102,9 @@ public class DriverConductor implements Agent
         return null;
     }
 
-    private NetworkPublication newNetworkPublication(
+    private void newNetworkPublication(
         final long registrationId,
+        final long clientId,
         final int streamId,
         final String channel,
         final UdpChannel udpChannel,
@@ -982,6 +1113,79 @@ public class DriverConductor implements Agent
         final boolean isExclusive)
     {
         final int sessionId = params.hasSessionId ? params.sessionId : nextAvailableSessionId();
+        final PendingPublication pendingPublication = isExclusive ?
+            null : addPendingPublication(channelEndpoint, streamId);
+        activeSessionIds.add(sessionId);
+        channelEndpoint.incRef();
+
+        logAllocator.allocate(
+            () -> rawLogFactory.newNetworkPublication(
+                udpChannel.canonicalForm(), sessionId, streamId, registrationId, params.termLength),
+            (rawLog) ->
+            {
+                NetworkPublication publication = null;
+                try
+                {
+                    publication = newNetworkPublication(
+                        registrationId,
+                        sessionId,
+                        streamId,
+                        channel,
+                        udpChannel,
+                        channelEndpoint,
+                        params,
+                        isExclusive,
+                        rawLog);
+                }
+                catch (final Exception ex)
+                {
+                    rawLog.close();
+                    onNetworkPublicationFailed(registrationId, sessionId, channelEndpoint, ex);
+                }
+
+                if (null != publication)
+                {
+                    final NetworkPublication newPublication = publication;
+                    runCommand(
+                        registrationId,
+                        () -> linkNetworkPublication(registrationId, clientId, newPublication, isExclusive));
+                }
+
+                completePendingPublication(pendingPublication);
+            },
+            (ex) ->
+            {
+                onNetworkPublicationFailed(registrationId, sessionId, channelEndpoint, ex);
+                completePendingPublication(pendingPublication);
+            });
+    }
+
+    private void onNetworkPublicationFailed(
+        final long registrationId, final int sessionId, final SendChannelEndpoint channelEndpoint, final Exception ex)
+    {
+        activeSessionIds.remove(sessionId);
+        channelEndpoint.decRef();
+        if (channelEndpoint.shouldBeClosed())
+        {
+            channelEndpoint.closeStatusIndicator();
+            sendChannelEndpointByChannelMap.remove(channelEndpoint.udpChannel().canonicalForm());
+            senderProxy.closeSendChannelEndpoint(channelEndpoint);
+        }
+
+        onCommandError(registrationId, ex);
+    }
+
+    private NetworkPublication newNetworkPublication(
+        final long registrationId,
+        final int sessionId,
+        final int streamId,
+        final String channel,
+        final UdpChannel udpChannel,
+        final SendChannelEndpoint channelEndpoint,
+        final PublicationParams params,
+        final boolean isExclusive,
+        final RawLog rawLog)
+    {
         final UnsafeBufferPosition senderPosition = SenderPos.allocate(
             tempBuffer, countersManager, registrationId, sessionId, streamId, channel);
         final UnsafeBufferPosition senderLimit = SenderLimit.allocate(
@@ -1000,7 +1204,9 @@ public class DriverConductor implements Agent
             cachedNanoClock,
             context.systemCounters(),
             RETRANSMIT_UNICAST_DELAY_GENERATOR,
-            RETRANSMIT_UNICAST_LINGER_GENERATOR);
+            RETRANSMIT_UNICAST_LINGER_GENERATOR,
+            context.maxRetransmits(),
+            context.retransmitRate());
 
         final FlowControl flowControl = udpChannel.isMulticast() || udpChannel.hasExplicitControl() ?
             context.multicastFlowControlSupplier().newInstance(udpChannel, streamId, registrationId) :
@@ -1011,7 +1217,7 @@ public class DriverConductor implements Agent
             params.tag,
             channelEndpoint,
             cachedNanoClock,
-            newNetworkPublicationLog(sessionId, streamId, initialTermId, udpChannel, registrationId, params),
+            initPublicationMetadata(sessionId, streamId, initialTermId, registrationId, params, rawLog),
             PublisherPos.allocate(tempBuffer, countersManager, registrationId, sessionId, streamId, channel),
             PublisherLimit.allocate(tempBuffer, countersManager, registrationId, sessionId, streamId, channel),
             senderPosition,
@@ -1020,56 +1226,32 @@ public class DriverConductor implements Agent
             streamId,
             initialTermId,
             params.mtuLength,
+            context.sendBatchSize(),
+            params.fecGroupSize,
+            params.pacingRate,
+            params.pacingBurst,
+            params.priority,
+            context.senderQuantum(),
+            context.termCleanMaxLength(),
             context.systemCounters(),
             flowControl,
             retransmitHandler,
-            networkPublicationThreadLocals,
+            context.senderShardContext(channelEndpoint.senderShardIndex()).networkPublicationThreadLocals(),
             publicationUnblockTimeoutNs,
             context.publicationConnectionTimeoutNs(),
             params.lingerTimeoutNs,
             isExclusive,
             context.spiesSimulateConnection());
 
-        channelEndpoint.incRef();
         networkPublications.add(publication);
+        addToStreamIndex(networkPublicationsByStreamIdMap, streamId, publication);
         senderProxy.newNetworkPublication(publication);
-        linkSpies(subscriptionLinks, publication);
-        activeSessionIds.add(sessionId);
+        linkSpies(subscriptionLinks(streamId), publication);
 
         return publication;
     }
 
-    private RawLog newNetworkPublicationLog(
-        final int sessionId,
-        final int streamId,
-        final int initialTermId,
-        final UdpChannel udpChannel,
-        final long registrationId,
-        final PublicationParams params)
-    {
-        final RawLog rawLog = rawLogFactory.newNetworkPublication(
-            udpChannel.canonicalForm(), sessionId, streamId, registrationId, params.termLength);
-
-        initPublicationMetadata(sessionId, streamId, initialTermId, registrationId, params, rawLog);
-
-        return rawLog;
-    }
-
-    private RawLog newIpcPublicationLog(
-        final int sessionId,
-        final int streamId,
-        final int initialTermId,
-        final long registrationId,
-        final PublicationParams params)
-    {
-        final RawLog rawLog = rawLogFactory.newIpcPublication(sessionId, streamId, registrationId, params.termLength);
-
-        initPublicationMetadata(sessionId, streamId, initialTermId, registrationId, params, rawLog);
-
-        return rawLog;
-    }
-
-    private void initPublicationMetadata(
+    private RawLog initPublicationMetadata(
         final int sessionId,
         final int streamId,
         final int initialTermId,
@@ -1083,11 +1265,13 @@ public class DriverConductor implements Agent
         initialTermId(logMetaData, initialTermId);
         mtuLength(logMetaData, params.mtuLength);
         termLength(logMetaData, rawLog.termLength());
-        pageSize(logMetaData, context.filePageSize());
+        pageSize(logMetaData, rawLog.pageSize());
         correlationId(logMetaData, registrationId);
         endOfStreamPosition(logMetaData, Long.MAX_VALUE);
 
         initialisePositionCounters(initialTermId, params, logMetaData);
+
+        return rawLog;
     }
 
     private static void initialisePositionCounters(
@@ -1119,28 +1303,23 @@ public class DriverConductor implements Agent
         }
     }
 
-    private RawLog newPublicationImageLog(
+    private void initPublicationImageMetadata(
+        final long correlationId,
         final int sessionId,
         final int streamId,
         final int initialTermId,
         final int termBufferLength,
         final int senderMtuLength,
-        final UdpChannel udpChannel,
-        final long correlationId)
+        final RawLog rawLog)
     {
-        final RawLog rawLog = rawLogFactory.newNetworkedImage(
-            udpChannel.canonicalForm(), sessionId, streamId, correlationId, termBufferLength);
-
         final UnsafeBuffer logMetaData = rawLog.metaData();
         storeDefaultFrameHeader(logMetaData, createDefaultHeader(sessionId, streamId, initialTermId));
         initialTermId(logMetaData, initialTermId);
         mtuLength(logMetaData, senderMtuLength);
         termLength(logMetaData, termBufferLength);
-        pageSize(logMetaData, context.filePageSize());
+        pageSize(logMetaData, rawLog.pageSize());
         correlationId(logMetaData, correlationId);
         endOfStreamPosition(logMetaData, Long.MAX_VALUE);
-
-        return rawLog;
     }
 
     private SendChannelEndpoint getOrCreateSendChannelEndpoint(final UdpChannel udpChannel)
@@ -1148,11 +1327,14 @@ public class DriverConductor implements Agent
         SendChannelEndpoint channelEndpoint = findExistingSendChannelEndpoint(udpChannel);
         if (null == channelEndpoint)
         {
+            final int shardIndex = shardIndex(
+                udpChannel, CommonContext.SENDER_SHARD_PARAM_NAME, context.senderShardCount());
             channelEndpoint = context.sendChannelEndpointSupplier().newInstance(
                 udpChannel,
                 SendChannelStatus.allocate(tempBuffer, countersManager, udpChannel.originalUriString()),
-                context);
+                context.senderShardContext(shardIndex));
 
+            channelEndpoint.senderShardIndex(shardIndex);
             sendChannelEndpointByChannelMap.put(udpChannel.canonicalForm(), channelEndpoint);
             senderProxy.registerSendChannelEndpoint(channelEndpoint);
         }
@@ -1184,7 +1366,7 @@ public class DriverConductor implements Agent
         final ReceiveChannelEndpoint channelEndpoint = findExistingReceiveChannelEndpoint(udpChannel);
         if (null != channelEndpoint)
         {
-            final ArrayList<SubscriptionLink> existingLinks = subscriptionLinks;
+            final List<SubscriptionLink> existingLinks = subscriptionLinks(streamId);
             for (int i = 0, size = existingLinks.size(); i < size; i++)
             {
                 final SubscriptionLink subscription = existingLinks.get(i);
@@ -1204,6 +1386,7 @@ public class DriverConductor implements Agent
         final int streamId = subscription.streamId();
         final String channel = subscription.channel();
 
+        final List<PublicationImage> publicationImages = streamIndexList(publicationImagesByStreamIdMap, streamId);
         for (int i = 0, size = publicationImages.size(); i < size; i++)
         {
             final PublicationImage image = publicationImages.get(i);
@@ -1233,7 +1416,7 @@ public class DriverConductor implements Agent
 
     private ArrayList<SubscriberPosition> linkIpcSubscriptions(final IpcPublication publication)
     {
-        final ArrayList<SubscriptionLink> subscriptionLinks = this.subscriptionLinks;
+        final List<SubscriptionLink> subscriptionLinks = subscriptionLinks(publication.streamId());
         final ArrayList<SubscriberPosition> subscriberPositions = new ArrayList<>();
 
         for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
@@ -1303,11 +1486,32 @@ public class DriverConductor implements Agent
         ReceiveChannelEndpoint channelEndpoint = findExistingReceiveChannelEndpoint(udpChannel);
         if (null == channelEndpoint)
         {
-            channelEndpoint = context.receiveChannelEndpointSupplier().newInstance(
-                udpChannel,
-                new DataPacketDispatcher(context.driverConductorProxy(), receiverProxy.receiver()),
-                ReceiveChannelStatus.allocate(tempBuffer, countersManager, udpChannel.originalUriString()),
-                context);
+            final int shardCount = context.receiverShardCount();
+            final int shardIndex = shardIndex(udpChannel, CommonContext.RECEIVER_SHARD_PARAM_NAME, shardCount);
+            int fanIn = fanIn(udpChannel, shardCount);
+            if (fanIn > 1 && !UdpChannelTransport.isReusePortSupported())
+            {
+                recordError(new IllegalStateException(
+                    "SO_REUSEPORT not supported, fan-in disabled: " + udpChannel.originalUriString()));
+                fanIn = 1;
+            }
+
+            final AtomicCounter statusIndicator = ReceiveChannelStatus.allocate(
+                tempBuffer, countersManager, udpChannel.originalUriString());
+            channelEndpoint = newReceiveChannelEndpoint(udpChannel, shardIndex, statusIndicator);
+
+            if (fanIn > 1)
+            {
+                final ReceiveChannelEndpoint[] endpoints = new ReceiveChannelEndpoint[fanIn];
+                endpoints[0] = channelEndpoint;
+                for (int i = 1; i < fanIn; i++)
+                {
+                    final int memberShardIndex = (shardIndex + i) % shardCount;
+                    endpoints[i] = newReceiveChannelEndpoint(udpChannel, memberShardIndex, statusIndicator);
+                }
+
+                channelEndpoint.fanIn(endpoints);
+            }
 
             receiveChannelEndpointByChannelMap.put(udpChannel.canonicalForm(), channelEndpoint);
             receiverProxy.registerReceiveChannelEndpoint(channelEndpoint);
@@ -1316,6 +1520,66 @@ public class DriverConductor implements Agent
         return channelEndpoint;
     }
 
+    private ReceiveChannelEndpoint newReceiveChannelEndpoint(
+        final UdpChannel udpChannel, final int shardIndex, final AtomicCounter statusIndicator)
+    {
+        final ReceiveChannelEndpoint channelEndpoint = context.receiveChannelEndpointSupplier().newInstance(
+            udpChannel,
+            new DataPacketDispatcher(context.driverConductorProxy(), receiverProxy.receiver(shardIndex)),
+            statusIndicator,
+            context.receiverShardContext(shardIndex));
+
+        channelEndpoint.receiverShardIndex(shardIndex);
+
+        return channelEndpoint;
+    }
+
+    private static int fanIn(final UdpChannel udpChannel, final int shardCount)
+    {
+        final String fanInParam = udpChannel.channelUri().get(CommonContext.RECEIVER_FAN_IN_PARAM_NAME);
+        if (null == fanInParam)
+        {
+            return 1;
+        }
+
+        final int fanIn = Integer.parseInt(fanInParam);
+        if (fanIn < 1 || fanIn > shardCount)
+        {
+            throw new IllegalArgumentException(
+                CommonContext.RECEIVER_FAN_IN_PARAM_NAME + "=" + fanIn + " must be in range 1.." + shardCount);
+        }
+
+        if (fanIn > 1 &&
+            (udpChannel.isMulticast() ||
+            0 == udpChannel.remoteData().getPort() ||
+            null != udpChannel.channelUri().get(CommonContext.MDC_CONTROL_MODE_PARAM_NAME)))
+        {
+            throw new IllegalArgumentException(
+                CommonContext.RECEIVER_FAN_IN_PARAM_NAME + " requires a unicast endpoint with a port: " +
+                udpChannel.originalUriString());
+        }
+
+        return fanIn;
+    }
+
+    private static int shardIndex(final UdpChannel udpChannel, final String paramName, final int shardCount)
+    {
+        final String shardParam = udpChannel.channelUri().get(paramName);
+        if (null != shardParam)
+        {
+            final int shardIndex = Integer.parseInt(shardParam);
+            if (shardIndex < 0 || shardIndex >= shardCount)
+            {
+                throw new IllegalArgumentException(
+                    paramName + "=" + shardIndex + " must be in range 0.." + (shardCount - 1));
+            }
+
+            return shardIndex;
+        }
+
+        return (udpChannel.canonicalForm().hashCode() & Integer.MAX_VALUE) % shardCount;
+    }
+
     private ReceiveChannelEndpoint findExistingReceiveChannelEndpoint(final UdpChannel udpChannel)
     {
         if (udpChannel.hasTag())
@@ -1336,7 +1600,7 @@ public class DriverConductor implements Agent
 
     private AeronClient getOrAddClient(final long clientId)
     {
-        AeronClient client = findClient(clients, clientId);
+        AeronClient client = clientByIdMap.get(clientId);
         if (null == client)
         {
             client = new AeronClient(
@@ -1344,52 +1608,70 @@ public class DriverConductor implements Agent
                 clientLivenessTimeoutNs,
                 cachedEpochClock.time(),
                 ClientHeartbeatStatus.allocate(tempBuffer, countersManager, clientId));
-            clients.add(client);
+            clientByIdMap.put(clientId, client);
         }
 
         return client;
     }
 
-    private IpcPublication getOrAddIpcPublication(
-        final long correlationId, final int streamId, final String channel, final boolean isExclusive)
+    private void addIpcPublication(
+        final long registrationId,
+        final long clientId,
+        final int streamId,
+        final String channel,
+        final boolean isExclusive,
+        final PublicationParams params)
     {
-        IpcPublication publication = null;
-        final ChannelUri channelUri = ChannelUri.parse(channel);
-        final PublicationParams params = getPublicationParams(context, channelUri, this, isExclusive, true);
-
-        if (!isExclusive)
-        {
-            publication = findSharedIpcPublication(ipcPublications, streamId);
-        }
+        final int sessionId = params.hasSessionId ? params.sessionId : nextAvailableSessionId();
+        final PendingPublication pendingPublication = isExclusive ? null : addPendingPublication(null, streamId);
+        activeSessionIds.add(sessionId);
 
-        if (null == publication)
-        {
-            if (params.hasSessionId && !params.isSessionIdTagged)
+        logAllocator.allocate(
+            () -> rawLogFactory.newIpcPublication(sessionId, streamId, registrationId, params.termLength),
+            (rawLog) ->
             {
-                confirmSessionIdNotInUse(params.sessionId);
-            }
+                IpcPublication publication = null;
+                try
+                {
+                    publication = newIpcPublication(
+                        registrationId, sessionId, streamId, channel, isExclusive, params, rawLog);
+                }
+                catch (final Exception ex)
+                {
+                    rawLog.close();
+                    activeSessionIds.remove(sessionId);
+                    onCommandError(registrationId, ex);
+                }
 
-            validateMtuForMaxMessage(params, isExclusive);
-            publication = addIpcPublication(correlationId, streamId, channel, isExclusive, params);
-        }
-        else
-        {
-            confirmMatch(channelUri, params, publication.rawLog(), publication.sessionId());
-        }
+                if (null != publication)
+                {
+                    final IpcPublication newPublication = publication;
+                    runCommand(
+                        registrationId,
+                        () -> linkIpcPublication(registrationId, clientId, channel, newPublication, isExclusive));
+                }
 
-        return publication;
+                completePendingPublication(pendingPublication);
+            },
+            (ex) ->
+            {
+                activeSessionIds.remove(sessionId);
+                onCommandError(registrationId, ex);
+                completePendingPublication(pendingPublication);
+            });
     }
 
-    private IpcPublication addIpcPublication(
+    private IpcPublication newIpcPublication(
         final long registrationId,
+        final int sessionId,
         final int streamId,
         final String channel,
         final boolean isExclusive,
-        final PublicationParams params)
+        final PublicationParams params,
+        final RawLog rawLog)
     {
-        final int sessionId = params.hasSessionId ? params.sessionId : nextAvailableSessionId();
         final int initialTermId = params.isReplay ? params.initialTermId : BitUtil.generateRandomisedId();
-        final RawLog rawLog = newIpcPublicationLog(sessionId, streamId, initialTermId, registrationId, params);
+        initPublicationMetadata(sessionId, streamId, initialTermId, registrationId, params, rawLog);
 
         final IpcPublication publication = new IpcPublication(
             registrationId,
@@ -1401,63 +1683,194 @@ public class DriverConductor implements Agent
             rawLog,
             publicationUnblockTimeoutNs,
             params.lingerTimeoutNs,
+            context.termCleanMaxLength(),
             cachedNanoClock.nanoTime(),
             context.systemCounters(),
             isExclusive);
 
         ipcPublications.add(publication);
-        activeSessionIds.add(sessionId);
+        addToStreamIndex(ipcPublicationsByStreamIdMap, streamId, publication);
 
         return publication;
     }
 
-    private static AeronClient findClient(final ArrayList<AeronClient> clients, final long clientId)
+    private PendingPublication findPendingPublication(final SendChannelEndpoint channelEndpoint, final int streamId)
     {
-        AeronClient aeronClient = null;
-
-        for (int i = 0, size = clients.size(); i < size; i++)
+        for (int i = 0, size = pendingPublications.size(); i < size; i++)
         {
-            final AeronClient client = clients.get(i);
-            if (client.clientId() == clientId)
+            final PendingPublication pendingPublication = pendingPublications.get(i);
+            if (channelEndpoint == pendingPublication.channelEndpoint && streamId == pendingPublication.streamId)
             {
-                aeronClient = client;
-                break;
+                return pendingPublication;
             }
         }
 
-        return aeronClient;
+        return null;
+    }
+
+    private PendingPublication addPendingPublication(final SendChannelEndpoint channelEndpoint, final int streamId)
+    {
+        final PendingPublication pendingPublication = new PendingPublication(channelEndpoint, streamId);
+        pendingPublications.add(pendingPublication);
+
+        return pendingPublication;
     }
 
-    private static SubscriptionLink removeSubscriptionLink(
-        final ArrayList<SubscriptionLink> subscriptionLinks, final long registrationId)
+    private void deferCommand(
+        final PendingPublication pendingPublication, final long correlationId, final Runnable command)
     {
-        SubscriptionLink subscriptionLink = null;
+        pendingPublication.deferredCommands.add(() -> runCommand(correlationId, command));
+    }
 
-        for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
+    private void runCommand(final long correlationId, final Runnable command)
+    {
+        try
         {
-            final SubscriptionLink subscription = subscriptionLinks.get(i);
-            if (subscription.registrationId() == registrationId)
+            command.run();
+        }
+        catch (final Exception ex)
+        {
+            onCommandError(correlationId, ex);
+        }
+    }
+
+    private void completePendingPublication(final PendingPublication pendingPublication)
+    {
+        if (null != pendingPublication)
+        {
+            pendingPublications.remove(pendingPublication);
+
+            final ArrayList<Runnable> deferredCommands = pendingPublication.deferredCommands;
+            for (int i = 0, size = deferredCommands.size(); i < size; i++)
             {
-                subscriptionLink = subscription;
-                fastUnorderedRemove(subscriptionLinks, i);
-                break;
+                deferredCommands.get(i).run();
             }
         }
+    }
+
+    private List<SubscriberPosition> activeSubscriberPositions(final List<SubscriberPosition> positions)
+    {
+        final ArrayList<SubscriberPosition> activePositions = new ArrayList<>(positions.size());
+
+        for (int i = 0, size = positions.size(); i < size; i++)
+        {
+            final SubscriberPosition position = positions.get(i);
+            final SubscriptionLink subscription = position.subscription();
+            if (subscriptionLinkByIdMap.get(subscription.registrationId()) != subscription)
+            {
+                position.position().close();
+            }
+            else
+            {
+                activePositions.add(position);
+            }
+        }
+
+        return activePositions;
+    }
+
+    private static void closeSubscriberPositions(final List<SubscriberPosition> positions)
+    {
+        for (int i = 0, size = positions.size(); i < size; i++)
+        {
+            positions.get(i).position().close();
+        }
+    }
+
+    private void onCommandError(final long correlationId, final Exception ex)
+    {
+        if (ex instanceof ControlProtocolException)
+        {
+            clientProxy.onError(correlationId, ((ControlProtocolException)ex).errorCode(), ex.getMessage());
+        }
+        else
+        {
+            clientProxy.onError(correlationId, GENERIC_ERROR, ex.getClass().getSimpleName() + " : " + ex.getMessage());
+        }
+
+        recordError(ex);
+    }
+
+    private void recordError(final Exception ex)
+    {
+        context.systemCounters().get(ERRORS).increment();
+        context.errorHandler().onError(ex);
+    }
+
+    private void addSubscriptionLink(final SubscriptionLink subscriptionLink)
+    {
+        subscriptionLinkByIdMap.put(subscriptionLink.registrationId(), subscriptionLink);
+        addToStreamIndex(subscriptionLinksByStreamIdMap, subscriptionLink.streamId(), subscriptionLink);
+    }
+
+    private SubscriptionLink removeSubscriptionLink(final long registrationId)
+    {
+        final SubscriptionLink subscriptionLink = subscriptionLinkByIdMap.remove(registrationId);
+        if (null != subscriptionLink)
+        {
+            removeFromStreamIndex(subscriptionLinksByStreamIdMap, subscriptionLink.streamId(), subscriptionLink);
+        }
 
         return subscriptionLink;
     }
 
+    private List<SubscriptionLink> subscriptionLinks(final int streamId)
+    {
+        return streamIndexList(subscriptionLinksByStreamIdMap, streamId);
+    }
+
+    private static <T> void addToStreamIndex(
+        final Int2ObjectHashMap<ArrayList<T>> streamIndex, final int streamId, final T value)
+    {
+        ArrayList<T> list = streamIndex.get(streamId);
+        if (null == list)
+        {
+            list = new ArrayList<>();
+            streamIndex.put(streamId, list);
+        }
+
+        list.add(value);
+    }
+
+    private static <T> void removeFromStreamIndex(
+        final Int2ObjectHashMap<ArrayList<T>> streamIndex, final int streamId, final T value)
+    {
+        final ArrayList<T> list = streamIndex.get(streamId);
+        if (null != list)
+        {
+            for (int i = 0, size = list.size(); i < size; i++)
+            {
+                if (value == list.get(i))
+                {
+                    fastUnorderedRemove(list, i);
+                    break;
+                }
+            }
+
+            if (list.isEmpty())
+            {
+                streamIndex.remove(streamId);
+            }
+        }
+    }
+
+    private static <T> List<T> streamIndexList(final Int2ObjectHashMap<ArrayList<T>> streamIndex, final int streamId)
+    {
+        final ArrayList<T> list = streamIndex.get(streamId);
+
+        return null != list ? list : Collections.emptyList();
+    }
+
     private static IpcPublication findSharedIpcPublication(
-        final ArrayList<IpcPublication> ipcPublications, final long streamId)
+        final Int2ObjectHashMap<ArrayList<IpcPublication>> ipcPublicationsByStreamIdMap, final int streamId)
     {
         IpcPublication ipcPublication = null;
+        final List<IpcPublication> ipcPublications = streamIndexList(ipcPublicationsByStreamIdMap, streamId);
 
         for (int i = 0, size = ipcPublications.size(); i < size; i++)
         {
             final IpcPublication publication = ipcPublications.get(i);
-            if (publication.streamId() == streamId &&
-                !publication.isExclusive() &&
-                IpcPublication.State.ACTIVE == publication.state())
+            if (!publication.isExclusive() && IpcPublication.State.ACTIVE == publication.state())
             {
                 ipcPublication = publication;
                 break;
@@ -1495,24 +1908,64 @@ public class DriverConductor implements Agent
         }
     }
 
-    private <T extends DriverManagedResource> void checkManagedResources(
-        final ArrayList<T> list, final long nowNs, final long nowMs)
+    private <T extends DriverManagedResource & Subscribable> void checkManagedResources(
+        final ArrayList<T> list,
+        final Int2ObjectHashMap<ArrayList<T>> streamIndex,
+        final long nowNs,
+        final long nowMs)
     {
         for (int lastIndex = list.size() - 1, i = lastIndex; i >= 0; i--)
         {
-            final DriverManagedResource resource = list.get(i);
+            final T resource = list.get(i);
 
             resource.onTimeEvent(nowNs, nowMs, this);
 
             if (resource.hasReachedEndOfLife())
             {
                 fastUnorderedRemove(list, i, lastIndex--);
+                removeFromStreamIndex(streamIndex, resource.streamId(), resource);
                 resource.close();
             }
         }
     }
 
-    private void linkSpies(final ArrayList<SubscriptionLink> links, final NetworkPublication publication)
+    private <T extends DriverManagedResource> void checkManagedResources(
+        final Long2ObjectHashMap<T> resourceByIdMap, final long nowNs, final long nowMs)
+    {
+        final Iterator<T> iterator = resourceByIdMap.values().iterator();
+        while (iterator.hasNext())
+        {
+            final T resource = iterator.next();
+
+            resource.onTimeEvent(nowNs, nowMs, this);
+
+            if (resource.hasReachedEndOfLife())
+            {
+                iterator.remove();
+                resource.close();
+            }
+        }
+    }
+
+    private void checkSubscriptionLinks(final long nowNs, final long nowMs)
+    {
+        final Iterator<SubscriptionLink> iterator = subscriptionLinkByIdMap.values().iterator();
+        while (iterator.hasNext())
+        {
+            final SubscriptionLink subscriptionLink = iterator.next();
+
+            subscriptionLink.onTimeEvent(nowNs, nowMs, this);
+
+            if (subscriptionLink.hasReachedEndOfLife())
+            {
+                iterator.remove();
+                removeFromStreamIndex(subscriptionLinksByStreamIdMap, subscriptionLink.streamId(), subscriptionLink);
+                subscriptionLink.close();
+            }
+        }
+    }
+
+    private void linkSpies(final List<SubscriptionLink> links, final NetworkPublication publication)
     {
         for (int i = 0, size = links.size(); i < size; i++)
         {
@@ -1562,4 +2015,21 @@ public class DriverConductor implements Agent
     {
         return address.getHostString() + ':' + address.getPort();
     }
+
+    /**
+     * Shared publication which is waiting on its log to be allocated. Further adds for the same publication are
+     * deferred until it is complete. The channel endpoint is null for IPC publications.
+     */
+    static final class PendingPublication
+    {
+        final SendChannelEndpoint channelEndpoint;
+        final int streamId;
+        final ArrayList<Runnable> deferredCommands = new ArrayList<>();
+
+        PendingPublication(final SendChannelEndpoint channelEndpoint, final int streamId)
+        {
+            this.channelEndpoint = channelEndpoint;
+            this.streamId = streamId;
+        }
+    }
 }
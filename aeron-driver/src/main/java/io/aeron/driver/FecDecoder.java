@@ -0,0 +1,297 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.Aeron;
+import io.aeron.driver.status.SystemCounters;
+import io.aeron.logbuffer.TermRebuilder;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.Position;
+
+import java.util.Arrays;
+
+import static io.aeron.driver.status.SystemCounterDescriptor.FEC_RECOVERIES;
+import static io.aeron.driver.status.SystemCounterDescriptor.INVALID_PACKETS;
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.logbuffer.LogBufferDescriptor.computePosition;
+import static io.aeron.logbuffer.LogBufferDescriptor.indexByPosition;
+
+/**
+ * Decoder of FEC parity frames for a {@link PublicationImage} which reconstructs a single missing datagram in a
+ * group from the parity and the other datagrams of the group which have been received into the term buffer.
+ * <p>
+ * A small number of parity frames are retained while their groups are incomplete so datagrams received out of
+ * order, or repaired by retransmit, can still allow the remaining missing datagram to be reconstructed.
+ */
+class FecDecoder
+{
+    /**
+     * Max number of parity frames retained for groups which are not yet complete.
+     */
+    static final int MAX_PENDING_GROUPS = 4;
+
+    private final int sessionId;
+    private final int streamId;
+    private final int initialTermId;
+    private final int termLength;
+    private final int positionBitsToShift;
+    private final int mtuLength;
+    private final int slotLength;
+    private int nextSlotIndex = 0;
+    private int pendingGroupCount = 0;
+    private final long[] groupPositions = new long[MAX_PENDING_GROUPS];
+    private final UnsafeBuffer parityFrames;
+    private final FecFlyweight pendingFrame = new FecFlyweight();
+    private final UnsafeBuffer recoveryBuffer;
+    private final DataHeaderFlyweight recoveredHeader;
+    private final AtomicCounter fecRecoveries;
+    private final AtomicCounter invalidPackets;
+
+    FecDecoder(
+        final int sessionId,
+        final int streamId,
+        final int initialTermId,
+        final int termLength,
+        final int positionBitsToShift,
+        final int mtuLength,
+        final SystemCounters systemCounters)
+    {
+        this.sessionId = sessionId;
+        this.streamId = streamId;
+        this.initialTermId = initialTermId;
+        this.termLength = termLength;
+        this.positionBitsToShift = positionBitsToShift;
+        this.mtuLength = mtuLength;
+
+        slotLength = BitUtil.align(
+            FecFlyweight.computeFrameLength(FecFlyweight.MAX_DATAGRAM_COUNT, mtuLength), BitUtil.CACHE_LINE_LENGTH);
+        parityFrames = new UnsafeBuffer(
+            BufferUtil.allocateDirectAligned(slotLength * MAX_PENDING_GROUPS, BitUtil.CACHE_LINE_LENGTH));
+        recoveryBuffer = new UnsafeBuffer(BufferUtil.allocateDirectAligned(
+            BitUtil.align(mtuLength, BitUtil.CACHE_LINE_LENGTH), BitUtil.CACHE_LINE_LENGTH));
+        recoveredHeader = new DataHeaderFlyweight(recoveryBuffer);
+        fecRecoveries = systemCounters.get(FEC_RECOVERIES);
+        invalidPackets = systemCounters.get(INVALID_PACKETS);
+
+        Arrays.fill(groupPositions, Aeron.NULL_VALUE);
+    }
+
+    /**
+     * Retain a parity frame received for the image so its group can be recovered if a datagram is missing.
+     *
+     * @param header          of the parity frame.
+     * @param buffer          containing the parity frame.
+     * @param length          of the received packet.
+     * @param rebuildPosition up to which the image has been rebuilt contiguously.
+     */
+    void onParityFrame(
+        final FecFlyweight header, final UnsafeBuffer buffer, final int length, final long rebuildPosition)
+    {
+        final int datagramCount = header.datagramCount();
+        final int parityLength = header.parityLength();
+        final int termOffset = header.termOffset();
+
+        if (datagramCount < 1 || datagramCount > FecFlyweight.MAX_DATAGRAM_COUNT ||
+            parityLength <= 0 || parityLength > mtuLength ||
+            FecFlyweight.computeFrameLength(datagramCount, parityLength) > length ||
+            termOffset < 0 || 0 != (termOffset & (FRAME_ALIGNMENT - 1)))
+        {
+            invalidPackets.increment();
+            return;
+        }
+
+        int groupLength = 0;
+        for (int i = 0; i < datagramCount; i++)
+        {
+            final int datagramLength = header.datagramLength(i);
+            if (datagramLength <= 0 || datagramLength > parityLength ||
+                0 != (datagramLength & (FRAME_ALIGNMENT - 1)))
+            {
+                invalidPackets.increment();
+                return;
+            }
+
+            groupLength += datagramLength;
+        }
+
+        if (termOffset + groupLength > termLength)
+        {
+            invalidPackets.increment();
+            return;
+        }
+
+        final long groupPosition = computePosition(header.termId(), termOffset, positionBitsToShift, initialTermId);
+        final long groupEndPosition = groupPosition + groupLength;
+        if (groupEndPosition > rebuildPosition && groupEndPosition - rebuildPosition <= termLength)
+        {
+            final int slotIndex = nextSlotIndex;
+            nextSlotIndex = (slotIndex + 1) & (MAX_PENDING_GROUPS - 1);
+
+            if (Aeron.NULL_VALUE == groupPositions[slotIndex])
+            {
+                pendingGroupCount++;
+            }
+
+            groupPositions[slotIndex] = groupPosition;
+            parityFrames.putBytes(
+                slotIndex * slotLength, buffer, 0, FecFlyweight.computeFrameLength(datagramCount, parityLength));
+        }
+    }
+
+    /**
+     * Attempt to recover any groups with a single missing datagram and discard those which are complete.
+     *
+     * @param termBuffers     for the image.
+     * @param rebuildPosition up to which the image has been rebuilt contiguously.
+     * @param hwmPosition     for the image which is advanced if a recovered datagram is beyond it.
+     * @return the number of datagrams recovered.
+     */
+    int processPendingGroups(final UnsafeBuffer[] termBuffers, final long rebuildPosition, final Position hwmPosition)
+    {
+        int recoveredCount = 0;
+
+        if (pendingGroupCount > 0)
+        {
+            for (int slotIndex = 0; slotIndex < MAX_PENDING_GROUPS; slotIndex++)
+            {
+                final long groupPosition = groupPositions[slotIndex];
+                if (Aeron.NULL_VALUE != groupPosition)
+                {
+                    pendingFrame.wrap(parityFrames, slotIndex * slotLength, slotLength);
+                    final int outcome = recover(
+                        pendingFrame, termBuffers[indexByPosition(groupPosition, positionBitsToShift)],
+                        groupPosition, rebuildPosition, hwmPosition);
+
+                    if (outcome >= 0)
+                    {
+                        groupPositions[slotIndex] = Aeron.NULL_VALUE;
+                        pendingGroupCount--;
+                        recoveredCount += outcome;
+                    }
+                }
+            }
+        }
+
+        return recoveredCount;
+    }
+
+    private int recover(
+        final FecFlyweight frame,
+        final UnsafeBuffer termBuffer,
+        final long groupPosition,
+        final long rebuildPosition,
+        final Position hwmPosition)
+    {
+        final int datagramCount = frame.datagramCount();
+        final int groupTermOffset = frame.termOffset();
+        int missingCount = 0;
+        int missingIndex = 0;
+        int missingOffset = 0;
+        int offset = groupTermOffset;
+
+        int incompleteCount = 0;
+
+        for (int i = 0; i < datagramCount; i++)
+        {
+            final int datagramLength = frame.datagramLength(i);
+            if (0 == termBuffer.getIntVolatile(offset))
+            {
+                missingCount++;
+                missingIndex = i;
+                missingOffset = offset;
+            }
+            else if (!isCommitted(termBuffer, offset, offset + datagramLength))
+            {
+                incompleteCount++;
+            }
+
+            offset += datagramLength;
+        }
+
+        final boolean isComplete = 0 == missingCount && 0 == incompleteCount;
+        if (isComplete || groupPosition + (offset - groupTermOffset) <= rebuildPosition)
+        {
+            return 0;
+        }
+
+        if (missingCount != 1 || incompleteCount > 0)
+        {
+            return -1;
+        }
+
+        final int parityLength = frame.parityLength();
+        recoveryBuffer.putBytes(0, frame, FecFlyweight.parityOffset(datagramCount), parityLength);
+
+        offset = groupTermOffset;
+        for (int i = 0; i < datagramCount; i++)
+        {
+            final int datagramLength = frame.datagramLength(i);
+            if (i != missingIndex)
+            {
+                FecEncoder.xor(recoveryBuffer, 0, termBuffer, offset, datagramLength);
+            }
+
+            offset += datagramLength;
+        }
+
+        final int missingLength = frame.datagramLength(missingIndex);
+        final int frameType = recoveredHeader.headerType();
+        if (recoveredHeader.frameLength() <= 0 ||
+            (HeaderFlyweight.HDR_TYPE_DATA != frameType && HeaderFlyweight.HDR_TYPE_PAD != frameType) ||
+            recoveredHeader.sessionId() != sessionId ||
+            recoveredHeader.streamId() != streamId ||
+            recoveredHeader.termId() != frame.termId() ||
+            recoveredHeader.termOffset() != missingOffset)
+        {
+            invalidPackets.increment();
+            return 0;
+        }
+
+        TermRebuilder.insert(termBuffer, missingOffset, recoveryBuffer, missingLength);
+        hwmPosition.proposeMaxOrdered(groupPosition + (missingOffset - groupTermOffset) + missingLength);
+        fecRecoveries.increment();
+
+        return 1;
+    }
+
+    /**
+     * Are all the frames which cover a range of the term committed? A datagram may be only partially filled by
+     * a retransmit with different frame boundaries so each frame in the range must be checked before the range can
+     * be used to reconstruct another datagram.
+     */
+    private static boolean isCommitted(final UnsafeBuffer termBuffer, final int offset, final int limit)
+    {
+        int frameOffset = offset;
+        while (frameOffset < limit)
+        {
+            final int frameLength = termBuffer.getIntVolatile(frameOffset);
+            if (frameLength <= 0)
+            {
+                return false;
+            }
+
+            frameOffset += BitUtil.align(frameLength, FRAME_ALIGNMENT);
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.SendChannelEndpoint;
+import io.aeron.driver.status.SystemCounters;
+import io.aeron.protocol.FecFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.driver.status.SystemCounterDescriptor.FEC_FRAMES_SENT;
+import static io.aeron.driver.status.SystemCounterDescriptor.SHORT_SENDS;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Encoder of XOR parity frames for groups of consecutive datagrams sent by a {@link NetworkPublication} so that a
+ * receiver can reconstruct a single lost datagram in each group without waiting for a NAK and retransmit.
+ * <p>
+ * A group is sent when it reaches the group size, or early if the next datagram is not contiguous in the same term
+ * or the publication is idle.
+ */
+class FecEncoder
+{
+    private final int groupSize;
+    private final int[] datagramLengths;
+    private final UnsafeBuffer parityData;
+    private final ByteBuffer frameBuffer;
+    private final FecFlyweight fecHeader;
+    private final AtomicCounter fecFramesSent;
+    private final AtomicCounter shortSends;
+    private int datagramCount = 0;
+    private int parityLength = 0;
+    private int groupTermId;
+    private int groupTermOffset;
+    private int nextTermOffset;
+
+    FecEncoder(
+        final int groupSize,
+        final int mtuLength,
+        final int sessionId,
+        final int streamId,
+        final SystemCounters systemCounters)
+    {
+        this.groupSize = groupSize;
+        datagramLengths = new int[groupSize];
+        parityData = new UnsafeBuffer(BufferUtil.allocateDirectAligned(
+            BitUtil.align(mtuLength, BitUtil.CACHE_LINE_LENGTH), BitUtil.CACHE_LINE_LENGTH));
+        frameBuffer = BufferUtil.allocateDirectAligned(
+            BitUtil.align(FecFlyweight.computeFrameLength(groupSize, mtuLength), BitUtil.CACHE_LINE_LENGTH),
+            BitUtil.CACHE_LINE_LENGTH);
+        fecHeader = new FecFlyweight(frameBuffer);
+        fecFramesSent = systemCounters.get(FEC_FRAMES_SENT);
+        shortSends = systemCounters.get(SHORT_SENDS);
+
+        fecHeader
+            .sessionId(sessionId)
+            .streamId(streamId)
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags((short)0)
+            .headerType(HeaderFlyweight.HDR_TYPE_FEC);
+    }
+
+    /**
+     * Add a datagram which has been sent to the current group and send a parity frame when the group is full.
+     *
+     * @param termBuffer      from which the datagram was sent.
+     * @param termId          for the term buffer.
+     * @param termOffset      at which the datagram begins.
+     * @param length          of the datagram.
+     * @param channelEndpoint on which the parity frame should be sent.
+     */
+    void onDatagramSent(
+        final UnsafeBuffer termBuffer,
+        final int termId,
+        final int termOffset,
+        final int length,
+        final SendChannelEndpoint channelEndpoint)
+    {
+        if (datagramCount > 0 && (termId != groupTermId || termOffset != nextTermOffset))
+        {
+            flush(channelEndpoint);
+        }
+
+        if (0 == datagramCount)
+        {
+            groupTermId = termId;
+            groupTermOffset = termOffset;
+        }
+
+        if (length > parityLength)
+        {
+            parityData.setMemory(parityLength, length - parityLength, (byte)0);
+            parityLength = length;
+        }
+
+        xor(parityData, 0, termBuffer, termOffset, length);
+        datagramLengths[datagramCount++] = length;
+        nextTermOffset = termOffset + length;
+
+        if (groupSize == datagramCount)
+        {
+            flush(channelEndpoint);
+        }
+    }
+
+    /**
+     * Send a parity frame for any datagrams in the current group and start a new group.
+     *
+     * @param channelEndpoint on which the parity frame should be sent.
+     */
+    void flush(final SendChannelEndpoint channelEndpoint)
+    {
+        final int datagramCount = this.datagramCount;
+        if (datagramCount > 0)
+        {
+            final int parityOffset = FecFlyweight.parityOffset(datagramCount);
+            final int frameLength = parityOffset + parityLength;
+
+            fecHeader
+                .termOffset(groupTermOffset)
+                .termId(groupTermId)
+                .datagramCount(datagramCount)
+                .parityLength(parityLength)
+                .frameLength(frameLength);
+
+            for (int i = 0; i < datagramCount; i++)
+            {
+                fecHeader.datagramLength(i, datagramLengths[i]);
+            }
+
+            fecHeader.putBytes(parityOffset, parityData, 0, parityLength);
+
+            frameBuffer.limit(frameLength).position(0);
+            if (frameLength == channelEndpoint.send(frameBuffer))
+            {
+                fecFramesSent.increment();
+            }
+            else
+            {
+                shortSends.increment();
+            }
+
+            this.datagramCount = 0;
+            parityLength = 0;
+        }
+    }
+
+    /**
+     * XOR a range of bytes from the source buffer into the destination buffer.
+     *
+     * @param dstBuffer to be XORed into.
+     * @param dstOffset at which the range begins in the destination.
+     * @param srcBuffer to be XORed from.
+     * @param srcOffset at which the range begins in the source.
+     * @param length    of the range.
+     */
+    static void xor(
+        final UnsafeBuffer dstBuffer,
+        final int dstOffset,
+        final UnsafeBuffer srcBuffer,
+        final int srcOffset,
+        final int length)
+    {
+        int i = 0;
+        for (final int limit = length - SIZE_OF_LONG; i <= limit; i += SIZE_OF_LONG)
+        {
+            dstBuffer.putLong(dstOffset + i, dstBuffer.getLong(dstOffset + i) ^ srcBuffer.getLong(srcOffset + i));
+        }
+
+        for (; i < length; i++)
+        {
+            final byte value = (byte)(dstBuffer.getByte(dstOffset + i) ^ srcBuffer.getByte(srcOffset + i));
+            dstBuffer.putByte(dstOffset + i, value);
+        }
+    }
+}
@@ -49,6 +49,8 @@ public final class IpcPublication implements DriverManagedResource, Subscribable
     private final int tripGain;
     private final int termBufferLength;
     private final int termWindowLength;
+    private final int termCleanMaxLength;
+    private final long cleanLimitLength;
     private final int positionBitsToShift;
     private final int initialTermId;
     private long tripLimit;
@@ -79,6 +81,7 @@ public final class IpcPublication implements DriverManagedResource, Subscribable
         final RawLog rawLog,
         final long unblockTimeoutNs,
         final long lingerTimeoutNs,
+        final int termCleanMaxLength,
         final long nowNs,
         final SystemCounters systemCounters,
         final boolean isExclusive)
@@ -96,6 +99,8 @@ public final class IpcPublication implements DriverManagedResource, Subscribable
         this.positionBitsToShift = LogBufferDescriptor.positionBitsToShift(termLength);
         this.termWindowLength = Configuration.ipcPublicationTermWindowLength(termLength);
         this.tripGain = termWindowLength / 8;
+        this.termCleanMaxLength = Configuration.termCleanMaxLength(termLength, termCleanMaxLength);
+        this.cleanLimitLength = Configuration.cleanLimitLength(termLength);
         this.publisherPos = publisherPos;
         this.publisherLimit = publisherLimit;
         this.rawLog = rawLog;
@@ -262,13 +267,14 @@ public final class IpcPublication implements DriverManagedResource, Subscribable
                 consumerPosition = maxSubscriberPosition;
             }
 
-            final long proposedLimit = minSubscriberPosition + termWindowLength;
+            workCount = cleanBuffer(minSubscriberPosition);
+
+            final long proposedLimit = Math.min(
+                minSubscriberPosition + termWindowLength, cleanPosition + cleanLimitLength);
             if (proposedLimit > tripLimit)
             {
                 publisherLimit.setOrdered(proposedLimit);
                 tripLimit = proposedLimit + tripGain;
-
-                cleanBuffer(minSubscriberPosition);
                 workCount = 1;
             }
         }
@@ -351,11 +357,11 @@ public final class IpcPublication implements DriverManagedResource, Subscribable
         return producerPosition > consumerPosition;
     }
 
-    private void cleanBuffer(final long minConsumerPosition)
+    private int cleanBuffer(final long minConsumerPosition)
     {
         final long cleanPosition = this.cleanPosition;
         final UnsafeBuffer dirtyTerm = termBuffers[indexByPosition(cleanPosition, positionBitsToShift)];
-        final int bytesForCleaning = (int)(minConsumerPosition - cleanPosition);
+        final int bytesForCleaning = (int)Math.min(minConsumerPosition - cleanPosition, termCleanMaxLength);
         final int bufferCapacity = termBufferLength;
         final int termOffset = (int)cleanPosition & (bufferCapacity - 1);
         final int length = Math.min(bytesForCleaning, bufferCapacity - termOffset);
@@ -364,6 +370,10 @@ public final class IpcPublication implements DriverManagedResource, Subscribable
         {
             dirtyTerm.setMemory(termOffset, length, (byte)0);
             this.cleanPosition = cleanPosition + length;
+
+            return 1;
         }
+
+        return 0;
     }
 }
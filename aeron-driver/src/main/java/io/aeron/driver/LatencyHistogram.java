@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of nanosecond values in the style of HdrHistogram with log-linear buckets, 8 per power of 2, so values
+ * are recorded to within 12.5% in a fixed array without allocation. Not thread safe.
+ */
+final class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+    private final long[] counts = new long[(Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT];
+    private long totalCount;
+    private long maxValue;
+
+    /**
+     * Record a value, negative values are recorded as 0.
+     *
+     * @param value to be recorded.
+     */
+    void record(final long value)
+    {
+        final long recordedValue = Math.max(0, value);
+
+        counts[index(recordedValue)]++;
+        totalCount++;
+
+        if (recordedValue > maxValue)
+        {
+            maxValue = recordedValue;
+        }
+    }
+
+    /**
+     * Number of values recorded since last reset.
+     *
+     * @return number of values recorded since last reset.
+     */
+    long totalCount()
+    {
+        return totalCount;
+    }
+
+    /**
+     * Max value recorded since last reset.
+     *
+     * @return max value recorded since last reset.
+     */
+    long maxValue()
+    {
+        return maxValue;
+    }
+
+    /**
+     * The value at or below which the given percentage of values recorded fall, to within the bucket precision.
+     *
+     * @param percentile in the range 0 to 100.
+     * @return the value at the percentile or 0 if nothing has been recorded.
+     */
+    long valueAtPercentile(final double percentile)
+    {
+        if (0 == totalCount)
+        {
+            return 0;
+        }
+
+        final long countAtPercentile = Math.max(1, (long)Math.ceil((percentile / 100.0) * totalCount));
+        long count = 0;
+
+        for (int i = 0; i < counts.length; i++)
+        {
+            count += counts[i];
+            if (count >= countAtPercentile)
+            {
+                return Math.min(highestEquivalentValue(i), maxValue);
+            }
+        }
+
+        return maxValue;
+    }
+
+    /**
+     * Reset all recorded values.
+     */
+    void reset()
+    {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxValue = 0;
+    }
+
+    static int index(final long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int)value;
+        }
+
+        final int exponent = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK;
+
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long highestEquivalentValue(final int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        final int shift = (index >> SUB_BUCKET_BITS) - 1;
+        final long lowestValue = (long)(SUB_BUCKET_COUNT + (index & SUB_BUCKET_MASK)) << shift;
+
+        return lowestValue + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.buffer.RawLog;
+import io.aeron.driver.exceptions.ControlProtocolException;
+import io.aeron.driver.status.SystemCounters;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static io.aeron.ErrorCode.GENERIC_ERROR;
+import static io.aeron.driver.status.SystemCounterDescriptor.*;
+
+/**
+ * Allocates {@link RawLog}s for the {@link DriverConductor} so that creating, mapping, and pre-touching log buffers
+ * does not stall the processing of other commands.
+ * <p>
+ * When asynchronous the allocation is run on the thread of this {@link Agent} and the completion is passed back to
+ * the {@link DriverConductor} via its command queue, otherwise allocation and completion are run inline.
+ * <p>
+ * Neither thread waits on the other. A request which cannot be queued is rejected with an error on the conductor
+ * thread, and completions which cannot be passed back are retained and retried before further requests are taken
+ * so a full request queue applies back pressure to the conductor.
+ */
+final class LogAllocator implements Agent
+{
+    private final boolean isAsync;
+    private final OneToOneConcurrentArrayQueue<Runnable> requestQueue;
+    private final ArrayDeque<Completion> pendingCompletions = new ArrayDeque<>();
+    private final Queue<Runnable> conductorCommandQueue;
+    private final NanoClock nanoClock;
+    private final AtomicCounter allocationTimeNs;
+    private final AtomicCounter allocationMaxNs;
+    private final AtomicCounter failedOffers;
+
+    LogAllocator(
+        final boolean isAsync,
+        final Queue<Runnable> conductorCommandQueue,
+        final NanoClock nanoClock,
+        final SystemCounters systemCounters)
+    {
+        this.isAsync = isAsync;
+        this.conductorCommandQueue = conductorCommandQueue;
+        this.nanoClock = nanoClock;
+        this.requestQueue = isAsync ? new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY) : null;
+
+        allocationTimeNs = systemCounters.get(LOG_ALLOCATION_TIME_NS);
+        allocationMaxNs = systemCounters.get(LOG_ALLOCATION_MAX_NS);
+        failedOffers = systemCounters.get(CONDUCTOR_PROXY_FAILS);
+    }
+
+    public String roleName()
+    {
+        return "log-allocator";
+    }
+
+    public int doWork()
+    {
+        int workCount = offerPendingCompletions();
+
+        if (pendingCompletions.isEmpty())
+        {
+            workCount += requestQueue.drain(Runnable::run, Configuration.COMMAND_DRAIN_LIMIT);
+        }
+
+        return workCount;
+    }
+
+    /**
+     * Close the logs of allocations which have not been passed back to the conductor. Requests which have not been
+     * run are discarded as they have not allocated.
+     */
+    public void onClose()
+    {
+        if (null != requestQueue)
+        {
+            requestQueue.clear();
+
+            Completion completion;
+            while (null != (completion = pendingCompletions.poll()))
+            {
+                completion.abort();
+            }
+        }
+    }
+
+    /**
+     * Is allocation run on the thread of this agent rather than inline on the conductor thread.
+     *
+     * @return true if allocation is run on the thread of this agent.
+     */
+    boolean isAsync()
+    {
+        return isAsync;
+    }
+
+    /**
+     * Allocate a {@link RawLog} and then complete on the conductor thread with either the log or the error.
+     * <p>
+     * If the request cannot be queued for allocation then onError is called immediately on the conductor thread.
+     *
+     * @param logSupplier which creates the log.
+     * @param onAllocated called on the conductor thread with the allocated log.
+     * @param onError     called on the conductor thread if the allocation failed.
+     */
+    void allocate(
+        final Supplier<RawLog> logSupplier, final Consumer<RawLog> onAllocated, final Consumer<Exception> onError)
+    {
+        if (isAsync)
+        {
+            if (!requestQueue.offer(() -> complete(allocateLog(logSupplier, onAllocated, onError))))
+            {
+                failedOffers.increment();
+                onError.accept(new ControlProtocolException(GENERIC_ERROR, "log allocation queue is full"));
+            }
+        }
+        else
+        {
+            allocateLog(logSupplier, onAllocated, onError).run();
+        }
+    }
+
+    /**
+     * Abort a completion taken from the conductor command queue which will not be run, closing any allocated log.
+     *
+     * @param command taken from the conductor command queue.
+     */
+    static void abortIfCompletion(final Runnable command)
+    {
+        if (command instanceof Completion)
+        {
+            ((Completion)command).abort();
+        }
+    }
+
+    private Completion allocateLog(
+        final Supplier<RawLog> logSupplier, final Consumer<RawLog> onAllocated, final Consumer<Exception> onError)
+    {
+        final long startNs = nanoClock.nanoTime();
+        final RawLog rawLog;
+        try
+        {
+            rawLog = logSupplier.get();
+        }
+        catch (final Exception ex)
+        {
+            return new Completion(null, onAllocated, ex, onError);
+        }
+
+        final long durationNs = nanoClock.nanoTime() - startNs;
+        allocationTimeNs.getAndAddOrdered(durationNs);
+        if (durationNs > allocationMaxNs.get())
+        {
+            allocationMaxNs.setOrdered(durationNs);
+        }
+
+        return new Completion(rawLog, onAllocated, null, onError);
+    }
+
+    private void complete(final Completion completion)
+    {
+        if (!pendingCompletions.isEmpty() || !conductorCommandQueue.offer(completion))
+        {
+            failedOffers.increment();
+            pendingCompletions.add(completion);
+        }
+    }
+
+    private int offerPendingCompletions()
+    {
+        int workCount = 0;
+
+        Completion completion;
+        while (null != (completion = pendingCompletions.peek()) && conductorCommandQueue.offer(completion))
+        {
+            pendingCompletions.poll();
+            workCount++;
+        }
+
+        return workCount;
+    }
+
+    /**
+     * Completion of an allocation to be run on the conductor thread which owns the log until it is run.
+     */
+    static final class Completion implements Runnable
+    {
+        private final RawLog rawLog;
+        private final Consumer<RawLog> onAllocated;
+        private final Exception error;
+        private final Consumer<Exception> onError;
+
+        Completion(
+            final RawLog rawLog,
+            final Consumer<RawLog> onAllocated,
+            final Exception error,
+            final Consumer<Exception> onError)
+        {
+            this.rawLog = rawLog;
+            this.onAllocated = onAllocated;
+            this.error = error;
+            this.onError = onError;
+        }
+
+        public void run()
+        {
+            if (null != rawLog)
+            {
+                onAllocated.accept(rawLog);
+            }
+            else
+            {
+                onError.accept(error);
+            }
+        }
+
+        void abort()
+        {
+            if (null != rawLog)
+            {
+                rawLog.close();
+            }
+        }
+    }
+}
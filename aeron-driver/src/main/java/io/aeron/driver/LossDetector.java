@@ -19,32 +19,76 @@ import io.aeron.Aeron;
 import io.aeron.logbuffer.TermGapScanner;
 import org.agrona.concurrent.UnsafeBuffer;
 
-import static io.aeron.logbuffer.TermGapScanner.scanForGap;
+import static io.aeron.logbuffer.LogBufferDescriptor.computePosition;
+import static io.aeron.logbuffer.TermGapScanner.scanForGaps;
 
 /**
  * Detecting and handling of gaps in a message stream.
  * <p>
- * Each detector only notifies a single run of a gap in a message stream.
+ * Each detector tracks up to a max number of outstanding gaps in the term being rebuilt, each with its own feedback
+ * deadline. Gaps whose deadlines expire in the same scan are notified together so they can be carried in one NAK.
+ * The tracking state is preallocated so scanning does not allocate.
  */
 public class LossDetector implements TermGapScanner.GapHandler
 {
     private final FeedbackDelayGenerator delayGenerator;
     private final LossHandler lossHandler;
-    private final Gap scannedGap = new Gap();
-    private final Gap activeGap = new Gap();
+    private final int maxGaps;
 
-    private long deadlineNs = Aeron.NULL_VALUE;
+    private final int[] scannedTermOffsets;
+    private final int[] scannedLengths;
+    private int scannedTermId;
+    private int scannedGapCount;
+
+    private final int[] activeTermOffsets;
+    private final int[] activeLengths;
+    private final long[] activeDeadlinesNs;
+    private final long[] activeDetectedNs;
+    private final boolean[] activeLatencyTracked;
+    private int activeTermId;
+    private int activeGapCount;
+
+    private int untrackedTermId;
+    private int untrackedTermOffset = Integer.MAX_VALUE;
+
+    private final int[] nakTermOffsets;
+    private final int[] nakLengths;
+
+    private long lastRecoveryLatencyNs;
 
     /**
-     * Create a loss detector for a channel.
+     * Create a loss detector for a channel which tracks a single gap at a time.
      *
      * @param delayGenerator to use for delay determination
      * @param lossHandler    to call when signalling a gap
      */
     public LossDetector(final FeedbackDelayGenerator delayGenerator, final LossHandler lossHandler)
+    {
+        this(delayGenerator, lossHandler, 1);
+    }
+
+    /**
+     * Create a loss detector for a channel.
+     *
+     * @param delayGenerator to use for delay determination
+     * @param lossHandler    to call when signalling a gap
+     * @param maxGaps        to be tracked and signalled at the same time
+     */
+    public LossDetector(final FeedbackDelayGenerator delayGenerator, final LossHandler lossHandler, final int maxGaps)
     {
         this.delayGenerator = delayGenerator;
         this.lossHandler = lossHandler;
+        this.maxGaps = maxGaps;
+
+        scannedTermOffsets = new int[maxGaps];
+        scannedLengths = new int[maxGaps];
+        activeTermOffsets = new int[maxGaps];
+        activeLengths = new int[maxGaps];
+        activeDeadlinesNs = new long[maxGaps];
+        activeDetectedNs = new long[maxGaps];
+        activeLatencyTracked = new boolean[maxGaps];
+        nakTermOffsets = new int[maxGaps];
+        nakLengths = new int[maxGaps];
     }
 
     /**
@@ -70,8 +114,8 @@ public class LossDetector implements TermGapScanner.GapHandler
         final int positionBitsToShift,
         final int initialTermId)
     {
-        boolean lossFound = false;
         int rebuildOffset = (int)rebuildPosition & termLengthMask;
+        scannedGapCount = 0;
 
         if (rebuildPosition < hwmPosition)
         {
@@ -82,17 +126,13 @@ public class LossDetector implements TermGapScanner.GapHandler
             final int hwmTermOffset = (int)hwmPosition & termLengthMask;
             final int limitOffset = rebuildTermCount == hwmTermCount ? hwmTermOffset : termBuffer.capacity();
 
-            rebuildOffset = scanForGap(termBuffer, rebuildTermId, rebuildOffset, limitOffset, this);
-            if (rebuildOffset < limitOffset)
-            {
-                if (!scannedGap.matches(activeGap))
-                {
-                    activateGap(nowNs, scannedGap);
-                    lossFound = true;
-                }
+            rebuildOffset = scanForGaps(termBuffer, rebuildTermId, rebuildOffset, limitOffset, maxGaps, this);
+        }
 
-                checkTimerExpiry(nowNs);
-            }
+        final boolean lossFound = updateActiveGaps(nowNs);
+        if (activeGapCount > 0)
+        {
+            checkTimerExpiry(nowNs);
         }
 
         return pack(rebuildOffset, lossFound);
@@ -100,7 +140,59 @@ public class LossDetector implements TermGapScanner.GapHandler
 
     public void onGap(final int termId, final int offset, final int length)
     {
-        scannedGap.set(termId, offset, length);
+        if (scannedGapCount < maxGaps)
+        {
+            scannedTermId = termId;
+            scannedTermOffsets[scannedGapCount] = offset;
+            scannedLengths[scannedGapCount] = length;
+            scannedGapCount++;
+        }
+    }
+
+    /**
+     * The number of gaps outstanding as of the last scan.
+     *
+     * @return number of gaps outstanding as of the last scan.
+     */
+    public int activeGapCount()
+    {
+        return activeGapCount;
+    }
+
+    /**
+     * The position at the end of the furthest gap outstanding as of the last scan.
+     *
+     * @param positionBitsToShift used for position calculation
+     * @param initialTermId       used for position calculation
+     * @return position at the end of the furthest gap outstanding or {@link Aeron#NULL_VALUE} if none outstanding.
+     */
+    public long activeGapsEndPosition(final int positionBitsToShift, final int initialTermId)
+    {
+        if (0 == activeGapCount)
+        {
+            return Aeron.NULL_VALUE;
+        }
+
+        int endOffset = 0;
+        for (int i = 0; i < activeGapCount; i++)
+        {
+            endOffset = Math.max(endOffset, activeTermOffsets[i] + activeLengths[i]);
+        }
+
+        return computePosition(activeTermId, endOffset, positionBitsToShift, initialTermId);
+    }
+
+    /**
+     * The time in nanoseconds from detection to repair of the most recently repaired gap.
+     * <p>
+     * Only gaps which have been tracked continuously since detection are measured. A gap which fell beyond the max
+     * gaps tracked by a scan, e.g. when an earlier gap was split, is not counted when it is later repaired.
+     *
+     * @return time in nanoseconds from detection to repair of the most recently repaired gap.
+     */
+    public long lastRecoveryLatencyNs()
+    {
+        return lastRecoveryLatencyNs;
     }
 
     /**
@@ -137,45 +229,150 @@ public class LossDetector implements TermGapScanner.GapHandler
         return (int)(scanOutcome >>> 32);
     }
 
-    private void activateGap(final long nowNs, final Gap gap)
+    private boolean updateActiveGaps(final long nowNs)
     {
-        activeGap.set(gap.termId, gap.termOffset, gap.length);
+        final boolean isScanTruncated = scannedGapCount == maxGaps;
+        final int scanLimitOffset = isScanTruncated ?
+            scannedTermOffsets[maxGaps - 1] + scannedLengths[maxGaps - 1] : Integer.MAX_VALUE;
+
+        for (int i = activeGapCount - 1; i >= 0; i--)
+        {
+            final int termOffset = activeTermOffsets[i];
+            if (scannedGapIndex(activeTermId, termOffset) < 0)
+            {
+                if (activeTermId == scannedTermId && termOffset >= scanLimitOffset)
+                {
+                    untrackGap(termOffset);
+                }
+                else if (activeLatencyTracked[i])
+                {
+                    lastRecoveryLatencyNs = nowNs - activeDetectedNs[i];
+                }
+
+                removeActiveGap(i);
+            }
+        }
+
+        boolean lossFound = false;
+        for (int i = 0; i < scannedGapCount; i++)
+        {
+            final int termOffset = scannedTermOffsets[i];
+            final int activeIndex = activeGapIndex(scannedTermId, termOffset);
+
+            if (activeIndex < 0)
+            {
+                activateGap(nowNs, termOffset, scannedLengths[i]);
+                lossFound = true;
+            }
+            else
+            {
+                activeLengths[activeIndex] = scannedLengths[i];
+            }
+        }
+
+        if (!isScanTruncated)
+        {
+            untrackedTermOffset = Integer.MAX_VALUE;
+        }
+
+        return lossFound;
+    }
+
+    private void untrackGap(final int termOffset)
+    {
+        if (untrackedTermId != activeTermId || termOffset < untrackedTermOffset)
+        {
+            untrackedTermId = activeTermId;
+            untrackedTermOffset = termOffset;
+        }
+    }
+
+    private void activateGap(final long nowNs, final int termOffset, final int length)
+    {
+        final int index = activeGapCount++;
+
+        activeTermId = scannedTermId;
+        activeTermOffsets[index] = termOffset;
+        activeLengths[index] = length;
+        activeDetectedNs[index] = nowNs;
+        activeLatencyTracked[index] = scannedTermId != untrackedTermId || termOffset < untrackedTermOffset;
 
         if (delayGenerator.shouldFeedbackImmediately())
         {
-            deadlineNs = nowNs;
+            activeDeadlinesNs[index] = nowNs;
         }
         else
         {
-            deadlineNs = nowNs + delayGenerator.generateDelay();
+            activeDeadlinesNs[index] = nowNs + delayGenerator.generateDelay();
         }
     }
 
-    private void checkTimerExpiry(final long nowNs)
+    private void removeActiveGap(final int index)
     {
-        if (nowNs >= deadlineNs)
+        final int lastIndex = --activeGapCount;
+        for (int i = index; i < lastIndex; i++)
         {
-            lossHandler.onGapDetected(activeGap.termId, activeGap.termOffset, activeGap.length);
-            deadlineNs = nowNs + delayGenerator.generateDelay();
+            activeTermOffsets[i] = activeTermOffsets[i + 1];
+            activeLengths[i] = activeLengths[i + 1];
+            activeDeadlinesNs[i] = activeDeadlinesNs[i + 1];
+            activeDetectedNs[i] = activeDetectedNs[i + 1];
+            activeLatencyTracked[i] = activeLatencyTracked[i + 1];
         }
     }
 
-    static final class Gap
+    private int scannedGapIndex(final int termId, final int termOffset)
     {
-        int termId;
-        int termOffset = -1;
-        int length;
+        if (termId == scannedTermId)
+        {
+            for (int i = 0; i < scannedGapCount; i++)
+            {
+                if (scannedTermOffsets[i] == termOffset)
+                {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    private int activeGapIndex(final int termId, final int termOffset)
+    {
+        if (termId == activeTermId)
+        {
+            for (int i = 0; i < activeGapCount; i++)
+            {
+                if (activeTermOffsets[i] == termOffset)
+                {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
 
-        public void set(final int termId, final int termOffset, final int length)
+    private void checkTimerExpiry(final long nowNs)
+    {
+        int nakCount = 0;
+        for (int i = 0; i < activeGapCount; i++)
         {
-            this.termId = termId;
-            this.termOffset = termOffset;
-            this.length = length;
+            if (nowNs >= activeDeadlinesNs[i])
+            {
+                nakTermOffsets[nakCount] = activeTermOffsets[i];
+                nakLengths[nakCount] = activeLengths[i];
+                nakCount++;
+                activeDeadlinesNs[i] = nowNs + delayGenerator.generateDelay();
+            }
         }
 
-        public boolean matches(final Gap other)
+        if (1 == nakCount)
+        {
+            lossHandler.onGapDetected(activeTermId, nakTermOffsets[0], nakLengths[0]);
+        }
+        else if (nakCount > 1)
         {
-            return other.termId == this.termId && other.termOffset == this.termOffset;
+            lossHandler.onGapsDetected(activeTermId, nakTermOffsets, nakLengths, nakCount);
         }
     }
 }
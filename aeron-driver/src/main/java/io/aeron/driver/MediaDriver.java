@@ -17,9 +17,11 @@ package io.aeron.driver;
 
 import io.aeron.*;
 import io.aeron.driver.exceptions.ActiveDriverException;
+import io.aeron.driver.exceptions.ConfigurationException;
 import io.aeron.driver.media.*;
 import io.aeron.driver.buffer.RawLogFactory;
 import io.aeron.driver.reports.LossReport;
+import io.aeron.driver.status.SenderPriorityCounter;
 import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import org.agrona.*;
@@ -37,6 +39,7 @@ import java.util.Date;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static io.aeron.CncFileDescriptor.*;
 import static io.aeron.driver.Configuration.*;
@@ -61,12 +64,15 @@ import static org.agrona.concurrent.status.CountersReader.METADATA_LENGTH;
  */
 public final class MediaDriver implements AutoCloseable
 {
+    private static final long LOG_ALLOCATOR_SLEEP_NS = TimeUnit.MICROSECONDS.toNanos(100);
+
     private boolean wasHighResTimerEnabled;
     private final AgentRunner sharedRunner;
     private final AgentRunner sharedNetworkRunner;
     private final AgentRunner conductorRunner;
-    private final AgentRunner receiverRunner;
-    private final AgentRunner senderRunner;
+    private final AgentRunner logAllocatorRunner;
+    private final AgentRunner[] receiverRunners;
+    private final AgentRunner[] senderRunners;
     private final AgentInvoker sharedInvoker;
     private final Context ctx;
 
@@ -104,16 +110,32 @@ public final class MediaDriver implements AutoCloseable
         ctx.conclude();
 
         final DriverConductor conductor = new DriverConductor(ctx);
-        final Receiver receiver = new Receiver(ctx);
-        final Sender sender = new Sender(ctx);
+        final Receiver[] receivers = new Receiver[ctx.receiverShardCount()];
+        final Sender[] senders = new Sender[ctx.senderShardCount()];
+
+        for (int i = 0; i < receivers.length; i++)
+        {
+            receivers[i] = new Receiver(ctx.receiverShardContext(i));
+            ctx.receiverProxy().receiver(i, receivers[i]);
+        }
 
-        ctx.receiverProxy().receiver(receiver);
-        ctx.senderProxy().sender(sender);
+        for (int i = 0; i < senders.length; i++)
+        {
+            senders[i] = new Sender(ctx.senderShardContext(i));
+            ctx.senderProxy().sender(i, senders[i]);
+        }
+
+        final Agent receiver = 1 == receivers.length ? receivers[0] : new CompositeAgent(receivers);
+        final Agent sender = 1 == senders.length ? senders[0] : new CompositeAgent(senders);
         ctx.driverConductorProxy().driverConductor(conductor);
 
         final AtomicCounter errorCounter = ctx.systemCounters().get(ERRORS);
         final ErrorHandler errorHandler = ctx.errorHandler();
 
+        final LogAllocator logAllocator = conductor.logAllocator();
+        logAllocatorRunner = logAllocator.isAsync() ? new AgentRunner(
+            new SleepingIdleStrategy(LOG_ALLOCATOR_SLEEP_NS), errorHandler, errorCounter, logAllocator) : null;
+
         switch (ctx.threadingMode())
         {
             case INVOKER:
@@ -122,8 +144,8 @@ public final class MediaDriver implements AutoCloseable
                 sharedRunner = null;
                 sharedNetworkRunner = null;
                 conductorRunner = null;
-                receiverRunner = null;
-                senderRunner = null;
+                receiverRunners = null;
+                senderRunners = null;
                 break;
 
             case SHARED:
@@ -134,8 +156,8 @@ public final class MediaDriver implements AutoCloseable
                     new CompositeAgent(sender, receiver, conductor));
                 sharedNetworkRunner = null;
                 conductorRunner = null;
-                receiverRunner = null;
-                senderRunner = null;
+                receiverRunners = null;
+                senderRunners = null;
                 sharedInvoker = null;
                 break;
 
@@ -144,15 +166,26 @@ public final class MediaDriver implements AutoCloseable
                     ctx.sharedNetworkIdleStrategy(), errorHandler, errorCounter, new CompositeAgent(sender, receiver));
                 conductorRunner = new AgentRunner(ctx.conductorIdleStrategy(), errorHandler, errorCounter, conductor);
                 sharedRunner = null;
-                receiverRunner = null;
-                senderRunner = null;
+                receiverRunners = null;
+                senderRunners = null;
                 sharedInvoker = null;
                 break;
 
             default:
             case DEDICATED:
-                senderRunner = new AgentRunner(ctx.senderIdleStrategy(), errorHandler, errorCounter, sender);
-                receiverRunner = new AgentRunner(ctx.receiverIdleStrategy(), errorHandler, errorCounter, receiver);
+                senderRunners = new AgentRunner[senders.length];
+                for (int i = 0; i < senders.length; i++)
+                {
+                    senderRunners[i] = new AgentRunner(
+                        ctx.senderShardContext(i).senderIdleStrategy(), errorHandler, errorCounter, senders[i]);
+                }
+
+                receiverRunners = new AgentRunner[receivers.length];
+                for (int i = 0; i < receivers.length; i++)
+                {
+                    receiverRunners[i] = new AgentRunner(
+                        ctx.receiverShardContext(i).receiverIdleStrategy(), errorHandler, errorCounter, receivers[i]);
+                }
                 conductorRunner = new AgentRunner(ctx.conductorIdleStrategy(), errorHandler, errorCounter, conductor);
                 sharedNetworkRunner = null;
                 sharedRunner = null;
@@ -244,8 +277,21 @@ public final class MediaDriver implements AutoCloseable
     {
         CloseHelper.quietClose(sharedRunner);
         CloseHelper.quietClose(sharedNetworkRunner);
-        CloseHelper.quietClose(receiverRunner);
-        CloseHelper.quietClose(senderRunner);
+        if (null != receiverRunners)
+        {
+            for (final AgentRunner receiverRunner : receiverRunners)
+            {
+                CloseHelper.quietClose(receiverRunner);
+            }
+        }
+        if (null != senderRunners)
+        {
+            for (final AgentRunner senderRunner : senderRunners)
+            {
+                CloseHelper.quietClose(senderRunner);
+            }
+        }
+        CloseHelper.quietClose(logAllocatorRunner);
         CloseHelper.quietClose(conductorRunner);
         CloseHelper.quietClose(sharedInvoker);
 
@@ -287,14 +333,25 @@ public final class MediaDriver implements AutoCloseable
             AgentRunner.startOnThread(conductorRunner, ctx.conductorThreadFactory());
         }
 
-        if (null != senderRunner)
+        if (null != logAllocatorRunner)
+        {
+            AgentRunner.startOnThread(logAllocatorRunner, ctx.conductorThreadFactory());
+        }
+
+        if (null != senderRunners)
         {
-            AgentRunner.startOnThread(senderRunner, ctx.senderThreadFactory());
+            for (final AgentRunner senderRunner : senderRunners)
+            {
+                AgentRunner.startOnThread(senderRunner, ctx.senderThreadFactory());
+            }
         }
 
-        if (null != receiverRunner)
+        if (null != receiverRunners)
         {
-            AgentRunner.startOnThread(receiverRunner, ctx.receiverThreadFactory());
+            for (final AgentRunner receiverRunner : receiverRunners)
+            {
+                AgentRunner.startOnThread(receiverRunner, ctx.receiverThreadFactory());
+            }
         }
 
         if (null != sharedNetworkRunner)
@@ -401,6 +458,12 @@ public final class MediaDriver implements AutoCloseable
         private boolean termBufferSparseFile = Configuration.TERM_BUFFER_SPARSE_FILE;
         private boolean performStorageChecks = Configuration.PERFORM_STORAGE_CHECKS;
         private boolean spiesSimulateConnection = Configuration.SPIES_SIMULATE_CONNECTION;
+        private boolean asyncLogAllocation = Configuration.ASYNC_LOG_ALLOCATION;
+        private boolean receiveSweepPoll = Configuration.RECEIVE_SWEEP_POLL;
+        private boolean receiveTimestamps = Configuration.RECEIVE_TIMESTAMPS;
+        private boolean receiveInPlace = Configuration.RECEIVE_IN_PLACE;
+        private boolean statusMessageAdaptive = Configuration.STATUS_MESSAGE_ADAPTIVE;
+        private boolean statusMessageBatch = Configuration.STATUS_MESSAGE_BATCH;
 
         private long timerIntervalNs = Configuration.TIMER_INTERVAL_NS;
         private long clientLivenessTimeoutNs = Configuration.CLIENT_LIVENESS_TIMEOUT_NS;
@@ -409,15 +472,35 @@ public final class MediaDriver implements AutoCloseable
         private long publicationConnectionTimeoutNs = Configuration.PUBLICATION_CONNECTION_TIMEOUT_NS;
         private long publicationLingerTimeoutNs = Configuration.PUBLICATION_LINGER_NS;
         private long statusMessageTimeoutNs = Configuration.statusMessageTimeout();
+        private long statusMessageMinTimeoutNs = Configuration.statusMessageMinTimeout();
+        private long statusMessageMaxTimeoutNs = Configuration.statusMessageMaxTimeout();
         private long counterFreeToReuseTimeoutNs = Configuration.counterFreeToReuseTimeout();
         private int publicationTermBufferLength = Configuration.termBufferLength();
         private int ipcPublicationTermBufferLength = Configuration.ipcTermBufferLength(publicationTermBufferLength);
         private int initialWindowLength = Configuration.initialWindowLength();
         private int mtuLength = Configuration.MTU_LENGTH;
         private int ipcMtuLength = Configuration.IPC_MTU_LENGTH;
+        private int receiveBatchSize = Configuration.receiveBatchSize();
+        private int receiveSweepMaxSkip = Configuration.receiveSweepMaxSkip();
+        private long receiveLatencyIntervalNs = Configuration.receiveLatencyInterval();
+        private int receiverShardCount = Configuration.receiverShardCount();
+        private int senderShardCount = Configuration.senderShardCount();
+        private int nakMaxGaps = Configuration.nakMaxGaps();
+        private int termCleanMaxLength = Configuration.TERM_CLEAN_MAX_LENGTH;
+        private int maxRetransmits = Configuration.maxRetransmits();
+        private long retransmitRate = Configuration.retransmitRate();
+        private int sendBatchSize = Configuration.sendBatchSize();
+        private long publicationPacingRate = Configuration.publicationPacingRate();
+        private int publicationPacingBurst = Configuration.publicationPacingBurst();
+        private int senderPriorityClasses = Configuration.senderPriorityClasses();
+        private int publicationPriority = Configuration.publicationPriority();
+        private int senderQuantum = Configuration.senderQuantum();
         private int filePageSize = Configuration.FILE_PAGE_SIZE;
         private int publicationReservedSessionIdLow = Configuration.PUBLICATION_RESERVED_SESSION_ID_LOW;
         private int publicationReservedSessionIdHigh = Configuration.PUBLICATION_RESERVED_SESSION_ID_HIGH;
+        private String logPoolSizes = Configuration.logPoolSizes();
+        private String logHugePagesDir = Configuration.LOG_HUGE_PAGES_DIR;
+        private int logHugePageSize = Configuration.LOG_HUGE_PAGE_SIZE;
 
         private EpochClock epochClock;
         private NanoClock nanoClock;
@@ -431,12 +514,17 @@ public final class MediaDriver implements AutoCloseable
         private ThreadFactory sharedNetworkThreadFactory;
         private IdleStrategy conductorIdleStrategy;
         private IdleStrategy senderIdleStrategy;
+        private Supplier<IdleStrategy> senderIdleStrategySupplier;
+        private boolean isSenderIdleStrategySupplied;
         private IdleStrategy receiverIdleStrategy;
+        private Supplier<IdleStrategy> receiverIdleStrategySupplier;
+        private boolean isReceiverIdleStrategySupplied;
         private IdleStrategy sharedNetworkIdleStrategy;
         private IdleStrategy sharedIdleStrategy;
         private SendChannelEndpointSupplier sendChannelEndpointSupplier;
         private ReceiveChannelEndpointSupplier receiveChannelEndpointSupplier;
         private ReceiveChannelEndpointThreadLocals receiveChannelEndpointThreadLocals;
+        private NetworkPublicationThreadLocals networkPublicationThreadLocals;
         private MutableDirectBuffer tempBuffer;
         private FlowControlSupplier unicastFlowControlSupplier;
         private FlowControlSupplier multicastFlowControlSupplier;
@@ -448,6 +536,8 @@ public final class MediaDriver implements AutoCloseable
         private boolean useConcurrentCountersManager;
         private CountersManager countersManager;
         private SystemCounters systemCounters;
+        private AtomicCounter[] senderPriorityBytesSent;
+        private AtomicCounter[] senderPriorityWaitTime;
         private LossReport lossReport;
 
         private RawLogFactory rawLogFactory;
@@ -456,6 +546,10 @@ public final class MediaDriver implements AutoCloseable
         private ManyToOneConcurrentArrayQueue<Runnable> driverCommandQueue;
         private OneToOneConcurrentArrayQueue<Runnable> receiverCommandQueue;
         private OneToOneConcurrentArrayQueue<Runnable> senderCommandQueue;
+        private OneToOneConcurrentArrayQueue<Runnable>[] receiverShardCommandQueues;
+        private Context[] receiverShardContexts;
+        private OneToOneConcurrentArrayQueue<Runnable>[] senderShardCommandQueues;
+        private Context[] senderShardContexts;
         private ReceiverProxy receiverProxy;
         private SenderProxy senderProxy;
         private DriverConductorProxy driverConductorProxy;
@@ -487,6 +581,21 @@ public final class MediaDriver implements AutoCloseable
             super.close();
         }
 
+        /**
+         * Delete the aeron directory along with the directory for logs of this driver in the
+         * {@link #logHugePagesDir()} if used.
+         */
+        public void deleteAeronDirectory()
+        {
+            super.deleteAeronDirectory();
+
+            final File hugePagesDataDir = RawLogFactory.hugePagesDataDir(logHugePagesDir, aeronDirectoryName());
+            if (null != hugePagesDataDir && hugePagesDataDir.exists())
+            {
+                IoUtil.delete(hugePagesDataDir, false);
+            }
+        }
+
         public Context conclude()
         {
             super.conclude();
@@ -498,8 +607,25 @@ public final class MediaDriver implements AutoCloseable
                 validateMtuLength(mtuLength);
                 validateMtuLength(ipcMtuLength);
                 validatePageSize(filePageSize);
+                validatePageSize(logHugePageSize);
+                validateReceiveBatchSize(receiveBatchSize);
+                validateReceiveSweepMaxSkip(receiveSweepMaxSkip);
+                validateReceiverShardCount(receiverShardCount);
+                validateSenderShardCount(senderShardCount);
+                validateNakMaxGaps(nakMaxGaps);
+                validateTermCleanMaxLength(termCleanMaxLength);
+                validateRetransmitLimits(maxRetransmits, retransmitRate);
+                validateSendBatchSize(sendBatchSize);
+                validatePublicationPacing(publicationPacingRate, publicationPacingBurst);
+                validateSenderPriority(senderPriorityClasses, publicationPriority, senderQuantum);
                 validateSessionIdRange(publicationReservedSessionIdLow, publicationReservedSessionIdHigh);
 
+                if (statusMessageAdaptive)
+                {
+                    validateStatusMessageTimeouts(
+                        statusMessageMinTimeoutNs, statusMessageMaxTimeoutNs, publicationConnectionTimeoutNs);
+                }
+
                 LogBufferDescriptor.checkTermLength(publicationTermBufferLength);
                 LogBufferDescriptor.checkTermLength(ipcPublicationTermBufferLength);
 
@@ -530,6 +656,8 @@ public final class MediaDriver implements AutoCloseable
                 concludeCounters();
                 concludeDependantProperties();
                 concludeIdleStrategies();
+                concludeReceiverShards();
+                concludeSenderShards();
 
                 toDriverCommands.consumerHeartbeatTime(epochClock.time());
                 CncFileDescriptor.signalCncReady(cncMetaDataBuffer);
@@ -771,278 +899,974 @@ public final class MediaDriver implements AutoCloseable
         /**
          * Time in nanoseconds a publication will linger once it is drained to recover potential tail loss.
          *
-         * @param timeoutNs for keeping a publication once it is drained.
+         * @param timeoutNs for keeping a publication once it is drained.
+         * @return this for a fluent API.
+         */
+        public Context publicationLingerTimeoutNs(final long timeoutNs)
+        {
+            this.publicationLingerTimeoutNs = timeoutNs;
+            return this;
+        }
+
+        /**
+         * Time in nanoseconds after which a client is considered dead if a keep alive is not received.
+         *
+         * @return time in nanoseconds after which a client is considered dead if a keep alive is not received.
+         */
+        public long clientLivenessTimeoutNs()
+        {
+            return clientLivenessTimeoutNs;
+        }
+
+        /**
+         * Time in nanoseconds after which a client is considered dead if a keep alive is not received.
+         *
+         * @param timeoutNs in nanoseconds after which a client is considered dead if a keep alive is not received.
+         * @return this for a fluent API.
+         */
+        public Context clientLivenessTimeoutNs(final long timeoutNs)
+        {
+            this.clientLivenessTimeoutNs = timeoutNs;
+            return this;
+        }
+
+        /**
+         * Time in nanoseconds after which a status message will be sent if data is flowing slowly.
+         *
+         * @return time in nanoseconds after which a status message will be sent if data is flowing slowly.
+         */
+        public long statusMessageTimeoutNs()
+        {
+            return statusMessageTimeoutNs;
+        }
+
+        /**
+         * Time in nanoseconds after which a status message will be sent if data is flowing slowly.
+         *
+         * @param statusMessageTimeoutNs after which a status message will be sent if data is flowing slowly.
+         * @return this for a fluent API.
+         */
+        public Context statusMessageTimeoutNs(final long statusMessageTimeoutNs)
+        {
+            this.statusMessageTimeoutNs = statusMessageTimeoutNs;
+            return this;
+        }
+
+        /**
+         * Does the timeout between status messages for an image adapt to its consumption rate and RTT, between
+         * {@link #statusMessageMinTimeoutNs()} and {@link #statusMessageMaxTimeoutNs()}, rather than being fixed at
+         * {@link #statusMessageTimeoutNs()}.
+         *
+         * @return true if the timeout between status messages adapts.
+         * @see Configuration#STATUS_MESSAGE_ADAPTIVE_PROP_NAME
+         */
+        public boolean statusMessageAdaptive()
+        {
+            return statusMessageAdaptive;
+        }
+
+        /**
+         * Does the timeout between status messages for an image adapt to its consumption rate and RTT, between
+         * {@link #statusMessageMinTimeoutNs()} and {@link #statusMessageMaxTimeoutNs()}, rather than being fixed at
+         * {@link #statusMessageTimeoutNs()}.
+         *
+         * @param statusMessageAdaptive true if the timeout between status messages adapts.
+         * @return this for a fluent API.
+         * @see Configuration#STATUS_MESSAGE_ADAPTIVE_PROP_NAME
+         */
+        public Context statusMessageAdaptive(final boolean statusMessageAdaptive)
+        {
+            this.statusMessageAdaptive = statusMessageAdaptive;
+            return this;
+        }
+
+        /**
+         * Min time in nanoseconds between status messages for an image consuming quickly when adaptive.
+         *
+         * @return min time in nanoseconds between status messages when adaptive.
+         * @see Configuration#STATUS_MESSAGE_MIN_TIMEOUT_PROP_NAME
+         */
+        public long statusMessageMinTimeoutNs()
+        {
+            return statusMessageMinTimeoutNs;
+        }
+
+        /**
+         * Min time in nanoseconds between status messages for an image consuming quickly when adaptive.
+         *
+         * @param statusMessageMinTimeoutNs between status messages when adaptive.
+         * @return this for a fluent API.
+         * @see Configuration#STATUS_MESSAGE_MIN_TIMEOUT_PROP_NAME
+         */
+        public Context statusMessageMinTimeoutNs(final long statusMessageMinTimeoutNs)
+        {
+            this.statusMessageMinTimeoutNs = statusMessageMinTimeoutNs;
+            return this;
+        }
+
+        /**
+         * Max time in nanoseconds between status messages for an image consuming slowly or idle when adaptive.
+         *
+         * @return max time in nanoseconds between status messages when adaptive.
+         * @see Configuration#STATUS_MESSAGE_MAX_TIMEOUT_PROP_NAME
+         */
+        public long statusMessageMaxTimeoutNs()
+        {
+            return statusMessageMaxTimeoutNs;
+        }
+
+        /**
+         * Max time in nanoseconds between status messages for an image consuming slowly or idle when adaptive.
+         *
+         * @param statusMessageMaxTimeoutNs between status messages when adaptive.
+         * @return this for a fluent API.
+         * @see Configuration#STATUS_MESSAGE_MAX_TIMEOUT_PROP_NAME
+         */
+        public Context statusMessageMaxTimeoutNs(final long statusMessageMaxTimeoutNs)
+        {
+            this.statusMessageMaxTimeoutNs = statusMessageMaxTimeoutNs;
+            return this;
+        }
+
+        /**
+         * Are status messages bound for the same control address on the same endpoint batched into one datagram by
+         * the {@link Receiver}.
+         *
+         * @return true if status messages are batched.
+         * @see Configuration#STATUS_MESSAGE_BATCH_PROP_NAME
+         */
+        public boolean statusMessageBatch()
+        {
+            return statusMessageBatch;
+        }
+
+        /**
+         * Are status messages bound for the same control address on the same endpoint batched into one datagram by
+         * the {@link Receiver}.
+         *
+         * @param statusMessageBatch true if status messages are batched.
+         * @return this for a fluent API.
+         * @see Configuration#STATUS_MESSAGE_BATCH_PROP_NAME
+         */
+        public Context statusMessageBatch(final boolean statusMessageBatch)
+        {
+            this.statusMessageBatch = statusMessageBatch;
+            return this;
+        }
+
+        /**
+         * Time in nanoseconds after which a freed counter may be reused.
+         *
+         * @return time in nanoseconds after which a freed counter may be reused.
+         */
+        public long counterFreeToReuseTimeoutNs()
+        {
+            return counterFreeToReuseTimeoutNs;
+        }
+
+        /**
+         * Time in nanoseconds after which a freed counter may be reused.
+         *
+         * @param counterFreeToReuseTimeoutNs after which a freed counter may be reused.
+         * @return this for a fluent API.
+         */
+        public Context counterFreeToReuseTimeoutNs(final long counterFreeToReuseTimeoutNs)
+        {
+            this.counterFreeToReuseTimeoutNs = counterFreeToReuseTimeoutNs;
+            return this;
+        }
+
+        /**
+         * Timeout in nanoseconds after which a publication will be unblocked if a offer is partially complete to allow
+         * other publishers to make progress.
+         *
+         * @return timeout in nanoseconds after which a publication will be unblocked.
+         */
+        public long publicationUnblockTimeoutNs()
+        {
+            return publicationUnblockTimeoutNs;
+        }
+
+        /**
+         * Timeout in nanoseconds after which a publication will be unblocked if a offer is partially complete to allow
+         * other publishers to make progress.
+         *
+         * @param timeoutNs in nanoseconds after which a publication will be unblocked.
+         * @return this for a fluent API.
+         */
+        public Context publicationUnblockTimeoutNs(final long timeoutNs)
+        {
+            this.publicationUnblockTimeoutNs = timeoutNs;
+            return this;
+        }
+
+        /**
+         * Timeout in nanoseconds after which a publication will be considered not connected if no status messages are
+         * received.
+         *
+         * @return timeout in nanoseconds after which a publication is considered not connected.
+         */
+        public long publicationConnectionTimeoutNs()
+        {
+            return publicationConnectionTimeoutNs;
+        }
+
+        /**
+         * Timeout in nanoseconds after which a publication will be considered not connected if no status messages are
+         * received.
+         *
+         * @param timeoutNs in nanoseconds after which a publication will be considered not connected.
+         * @return this for a fluent API.
+         */
+        public Context publicationConnectionTimeoutNs(final long timeoutNs)
+        {
+            this.publicationConnectionTimeoutNs = timeoutNs;
+            return this;
+        }
+
+        /**
+         * Does a spy subscription simulate a connection to a network publication.
+         *
+         * @return true if a spy subscription should simulate a connection to a network publication.
+         */
+        public boolean spiesSimulateConnection()
+        {
+            return spiesSimulateConnection;
+        }
+
+        /**
+         * Does a spy subscription simulate a connection to a network publication.
+         *
+         * @param spiesSimulateConnection true if a spy subscription simulates a connection to a network publication.
+         * @return this for a fluent API.
+         */
+        public Context spiesSimulateConnection(final boolean spiesSimulateConnection)
+        {
+            this.spiesSimulateConnection = spiesSimulateConnection;
+            return this;
+        }
+
+        /**
+         * Are log buffers allocated on a separate thread so the {@link DriverConductor} is not stalled while they are
+         * created and pre-touched. Ignored when running in {@link ThreadingMode#INVOKER}.
+         *
+         * @return true if log buffers are allocated on a separate thread.
+         * @see Configuration#ASYNC_LOG_ALLOCATION_PROP_NAME
+         */
+        public boolean asyncLogAllocation()
+        {
+            return asyncLogAllocation;
+        }
+
+        /**
+         * Are log buffers allocated on a separate thread so the {@link DriverConductor} is not stalled while they are
+         * created and pre-touched. Ignored when running in {@link ThreadingMode#INVOKER}.
+         *
+         * @param asyncLogAllocation true if log buffers are allocated on a separate thread.
+         * @return this for a fluent API.
+         * @see Configuration#ASYNC_LOG_ALLOCATION_PROP_NAME
+         */
+        public Context asyncLogAllocation(final boolean asyncLogAllocation)
+        {
+            this.asyncLogAllocation = asyncLogAllocation;
+            return this;
+        }
+
+        /**
+         * Number of pre-allocated log buffers to pool per term length as a comma separated list of
+         * termLength:count pairs. Pooled log buffers are zeroed and reused rather than created and deleted.
+         *
+         * @return number of pre-allocated log buffers to pool per term length.
+         * @see Configuration#LOG_POOL_SIZES_PROP_NAME
+         */
+        public String logPoolSizes()
+        {
+            return logPoolSizes;
+        }
+
+        /**
+         * Number of pre-allocated log buffers to pool per term length as a comma separated list of
+         * termLength:count pairs. Pooled log buffers are zeroed and reused rather than created and deleted.
+         *
+         * @param logPoolSizes number of pre-allocated log buffers to pool per term length.
+         * @return this for a fluent API.
+         * @see Configuration#LOG_POOL_SIZES_PROP_NAME
+         */
+        public Context logPoolSizes(final String logPoolSizes)
+        {
+            this.logPoolSizes = logPoolSizes;
+            return this;
+        }
+
+        /**
+         * Directory on a hugetlbfs, or tmpfs with huge pages, mount in which publication and image logs are placed
+         * rather than the aeron directory. Logs fall back to the aeron directory if huge pages are not available.
+         *
+         * @return directory in which logs are placed to be backed by huge pages, or null for the aeron directory.
+         * @see Configuration#LOG_HUGE_PAGES_DIR_PROP_NAME
+         */
+        public String logHugePagesDir()
+        {
+            return logHugePagesDir;
+        }
+
+        /**
+         * Directory on a hugetlbfs, or tmpfs with huge pages, mount in which publication and image logs are placed
+         * rather than the aeron directory. Logs fall back to the aeron directory if huge pages are not available.
+         *
+         * @param dirName in which logs are placed to be backed by huge pages, or null for the aeron directory.
+         * @return this for a fluent API.
+         * @see Configuration#LOG_HUGE_PAGES_DIR_PROP_NAME
+         */
+        public Context logHugePagesDir(final String dirName)
+        {
+            this.logHugePagesDir = dirName;
+            return this;
+        }
+
+        /**
+         * Page size of the huge pages directory to which logs are aligned.
+         *
+         * @return page size of the huge pages directory to which logs are aligned.
+         * @see Configuration#LOG_HUGE_PAGE_SIZE_PROP_NAME
+         */
+        public int logHugePageSize()
+        {
+            return logHugePageSize;
+        }
+
+        /**
+         * Page size of the huge pages directory to which logs are aligned.
+         *
+         * @param pageSize of the huge pages directory to which logs are aligned.
+         * @return this for a fluent API.
+         * @see Configuration#LOG_HUGE_PAGE_SIZE_PROP_NAME
+         */
+        public Context logHugePageSize(final int pageSize)
+        {
+            this.logHugePageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Default length for a term buffer on a network publication.
+         *
+         * @return default length for a term buffer on a network publication.
+         */
+        public int publicationTermBufferLength()
+        {
+            return publicationTermBufferLength;
+        }
+
+        /**
+         * Default length for a term buffer on a network publication.
+         * <p>
+         * This can be overridden on publication by using channel URI params.
+         *
+         * @param termBufferLength default length for a term buffer on a network publication.
+         * @return this for a fluent API.
+         */
+        public Context publicationTermBufferLength(final int termBufferLength)
+        {
+            this.publicationTermBufferLength = termBufferLength;
+            return this;
+        }
+
+        /**
+         * Default length for a term buffer on a IPC publication.
+         *
+         * @return default length for a term buffer on a IPC publication.
+         */
+        public int ipcTermBufferLength()
+        {
+            return ipcPublicationTermBufferLength;
+        }
+
+        /**
+         * Default length for a term buffer on a IPC publication.
+         * <p>
+         * This can be overridden on publication by using channel URI params.
+         *
+         * @param termBufferLength default length for a term buffer on a IPC publication.
+         * @return this for a fluent API.
+         */
+        public Context ipcTermBufferLength(final int termBufferLength)
+        {
+            this.ipcPublicationTermBufferLength = termBufferLength;
+            return this;
+        }
+
+        /**
+         * The initial window for in flight data on a connection which must be less than
+         * {@link Configuration#SOCKET_RCVBUF_LENGTH}. This needs to be configured for throughput respecting BDP.
+         *
+         * @return The initial window for in flight data on a connection
+         */
+        public int initialWindowLength()
+        {
+            return initialWindowLength;
+        }
+
+        /**
+         * The initial window for in flight data on a connection which must be less than
+         * {@link Configuration#SOCKET_RCVBUF_LENGTH}. This needs to be configured for throughput respecting BDP.
+         *
+         * @param initialWindowLength The initial window for in flight data on a connection
+         * @return this for a fluent API.
+         */
+        public Context initialWindowLength(final int initialWindowLength)
+        {
+            this.initialWindowLength = initialWindowLength;
+            return this;
+        }
+
+        /**
+         * MTU in bytes for datagrams sent to the network. Messages larger than this are fragmented.
+         * <p>
+         * Larger MTUs reduce system call overhead at the expense of possible increase in loss which
+         * will need to be recovered. If this is greater than the network MTU for UDP then the packet will be
+         * fragmented and can amplify the impact of loss.
+         *
+         * @return MTU in bytes for datagrams sent to the network.
+         */
+        public int mtuLength()
+        {
+            return mtuLength;
+        }
+
+        /**
+         * MTU in bytes for datagrams sent to the network. Messages larger than this are fragmented.
+         * <p>
+         * Larger MTUs reduce system call overhead at the expense of possible increase in loss which
+         * will need to be recovered. If this is greater than the network MTU for UDP then the packet will be
+         * fragmented and can amplify the impact of loss.
+         *
+         * @param mtuLength in bytes for datagrams sent to the network.
+         * @return this for a fluent API.
+         */
+        public Context mtuLength(final int mtuLength)
+        {
+            this.mtuLength = mtuLength;
+            return this;
+        }
+
+        /**
+         * MTU in bytes for datagrams sent over shared memory. Messages larger than this are fragmented.
+         * <p>
+         * Larger MTUs reduce fragmentation. If an IPC stream is recorded to be later sent over the network then
+         * then a large MTU may be an issue.
+         *
+         * @return MTU in bytes for message fragments.
+         */
+        public int ipcMtuLength()
+        {
+            return ipcMtuLength;
+        }
+
+        /**
+         * MTU in bytes for datagrams sent over shared memory. Messages larger than this are fragmented.
+         * <p>
+         * Larger MTUs reduce fragmentation. If an IPC stream is recorded to be later sent over the network then
+         * then a large MTU may be an issue.
+         *
+         * @param ipcMtuLength in bytes for message fragments.
+         * @return this for a fluent API.
+         */
+        public Context ipcMtuLength(final int ipcMtuLength)
+        {
+            this.ipcMtuLength = ipcMtuLength;
+            return this;
+        }
+
+        /**
+         * Max number of datagrams received from a transport in one poll by the {@link Receiver}.
+         * <p>
+         * A value greater than 1 drains datagrams into a ring of receive buffers before dispatching them.
+         *
+         * @return max number of datagrams received from a transport in one poll.
+         * @see Configuration#RECEIVE_BATCH_SIZE_PROP_NAME
+         */
+        public int receiveBatchSize()
+        {
+            return receiveBatchSize;
+        }
+
+        /**
+         * Max number of datagrams received from a transport in one poll by the {@link Receiver}.
+         * <p>
+         * A value greater than 1 drains datagrams into a ring of receive buffers before dispatching them.
+         *
+         * @param receiveBatchSize max number of datagrams received from a transport in one poll.
+         * @return this for a fluent API.
+         * @see Configuration#RECEIVE_BATCH_SIZE_PROP_NAME
+         */
+        public Context receiveBatchSize(final int receiveBatchSize)
+        {
+            this.receiveBatchSize = receiveBatchSize;
+            return this;
+        }
+
+        /**
+         * Does the {@link Receiver} sweep all transports with non-blocking reads, skipping those which are idle,
+         * rather than using a selector when there are many transports.
+         *
+         * @return true if the {@link Receiver} sweeps all transports with non-blocking reads.
+         * @see Configuration#RECEIVE_SWEEP_POLL_PROP_NAME
+         */
+        public boolean receiveSweepPoll()
+        {
+            return receiveSweepPoll;
+        }
+
+        /**
+         * Does the {@link Receiver} sweep all transports with non-blocking reads, skipping those which are idle,
+         * rather than using a selector when there are many transports.
+         *
+         * @param receiveSweepPoll true if the {@link Receiver} sweeps all transports with non-blocking reads.
+         * @return this for a fluent API.
+         * @see Configuration#RECEIVE_SWEEP_POLL_PROP_NAME
+         */
+        public Context receiveSweepPoll(final boolean receiveSweepPoll)
+        {
+            this.receiveSweepPoll = receiveSweepPoll;
+            return this;
+        }
+
+        /**
+         * Max number of polls an idle transport is skipped for when the {@link Receiver} sweeps transports.
+         *
+         * @return max number of polls an idle transport is skipped for.
+         * @see Configuration#RECEIVE_SWEEP_MAX_SKIP_PROP_NAME
+         */
+        public int receiveSweepMaxSkip()
+        {
+            return receiveSweepMaxSkip;
+        }
+
+        /**
+         * Max number of polls an idle transport is skipped for when the {@link Receiver} sweeps transports.
+         *
+         * @param receiveSweepMaxSkip max number of polls an idle transport is skipped for.
+         * @return this for a fluent API.
+         * @see Configuration#RECEIVE_SWEEP_MAX_SKIP_PROP_NAME
+         */
+        public Context receiveSweepMaxSkip(final int receiveSweepMaxSkip)
+        {
+            this.receiveSweepMaxSkip = receiveSweepMaxSkip;
+            return this;
+        }
+
+        /**
+         * Does the {@link Receiver} timestamp each packet on receipt so the delay until it is consumed and the
+         * inter-arrival jitter of each image are published as percentiles to counters.
+         *
+         * @return true if the {@link Receiver} timestamps each packet on receipt.
+         * @see Configuration#RECEIVE_TIMESTAMPS_PROP_NAME
+         * @see io.aeron.driver.status.ReceiveLatencyIndicator
+         */
+        public boolean receiveTimestamps()
+        {
+            return receiveTimestamps;
+        }
+
+        /**
+         * Does the {@link Receiver} timestamp each packet on receipt so the delay until it is consumed and the
+         * inter-arrival jitter of each image are published as percentiles to counters.
+         *
+         * @param receiveTimestamps true if the {@link Receiver} timestamps each packet on receipt.
+         * @return this for a fluent API.
+         * @see Configuration#RECEIVE_TIMESTAMPS_PROP_NAME
+         * @see io.aeron.driver.status.ReceiveLatencyIndicator
+         */
+        public Context receiveTimestamps(final boolean receiveTimestamps)
+        {
+            this.receiveTimestamps = receiveTimestamps;
+            return this;
+        }
+
+        /**
+         * Does the {@link Receiver} receive the body of in order data packets directly into the term buffer on unicast
+         * channels connected to a single source rather than copying them from a receive buffer.
+         *
+         * @return true if the {@link Receiver} receives the body of in order data packets in place.
+         * @see Configuration#RECEIVE_IN_PLACE_PROP_NAME
+         * @see io.aeron.CommonContext#SOURCE_PARAM_NAME
+         */
+        public boolean receiveInPlace()
+        {
+            return receiveInPlace;
+        }
+
+        /**
+         * Does the {@link Receiver} receive the body of in order data packets directly into the term buffer on unicast
+         * channels connected to a single source rather than copying them from a receive buffer.
+         *
+         * @param receiveInPlace true if the {@link Receiver} receives the body of in order data packets in place.
+         * @return this for a fluent API.
+         * @see Configuration#RECEIVE_IN_PLACE_PROP_NAME
+         * @see io.aeron.CommonContext#SOURCE_PARAM_NAME
+         */
+        public Context receiveInPlace(final boolean receiveInPlace)
+        {
+            this.receiveInPlace = receiveInPlace;
+            return this;
+        }
+
+        /**
+         * Interval in nanoseconds over which receive latency percentiles are published before being reset.
+         *
+         * @return interval in nanoseconds over which receive latency percentiles are published.
+         * @see Configuration#RECEIVE_LATENCY_INTERVAL_PROP_NAME
+         */
+        public long receiveLatencyIntervalNs()
+        {
+            return receiveLatencyIntervalNs;
+        }
+
+        /**
+         * Interval in nanoseconds over which receive latency percentiles are published before being reset.
+         *
+         * @param receiveLatencyIntervalNs over which receive latency percentiles are published.
+         * @return this for a fluent API.
+         * @see Configuration#RECEIVE_LATENCY_INTERVAL_PROP_NAME
+         */
+        public Context receiveLatencyIntervalNs(final long receiveLatencyIntervalNs)
+        {
+            this.receiveLatencyIntervalNs = receiveLatencyIntervalNs;
+            return this;
+        }
+
+        /**
+         * Number of {@link Receiver} agents which share the receive channel endpoints.
+         * <p>
+         * Each {@link ReceiveChannelEndpoint}, and the images it receives, is serviced by one shard which is chosen
+         * by the {@link CommonContext#RECEIVER_SHARD_PARAM_NAME} param of the channel or by hash of the channel.
+         * With {@link ThreadingMode#DEDICATED} each shard runs on its own thread.
+         *
+         * @return number of {@link Receiver} agents which share the receive channel endpoints.
+         * @see Configuration#RECEIVER_SHARD_COUNT_PROP_NAME
+         */
+        public int receiverShardCount()
+        {
+            return receiverShardCount;
+        }
+
+        /**
+         * Number of {@link Receiver} agents which share the receive channel endpoints.
+         * <p>
+         * Each {@link ReceiveChannelEndpoint}, and the images it receives, is serviced by one shard which is chosen
+         * by the {@link CommonContext#RECEIVER_SHARD_PARAM_NAME} param of the channel or by hash of the channel.
+         * With {@link ThreadingMode#DEDICATED} each shard runs on its own thread.
+         *
+         * @param receiverShardCount number of {@link Receiver} agents which share the receive channel endpoints.
          * @return this for a fluent API.
+         * @see Configuration#RECEIVER_SHARD_COUNT_PROP_NAME
          */
-        public Context publicationLingerTimeoutNs(final long timeoutNs)
+        public Context receiverShardCount(final int receiverShardCount)
         {
-            this.publicationLingerTimeoutNs = timeoutNs;
+            this.receiverShardCount = receiverShardCount;
             return this;
         }
 
         /**
-         * Time in nanoseconds after which a client is considered dead if a keep alive is not received.
+         * Number of {@link Sender} agents which share the send channel endpoints.
+         * <p>
+         * Each {@link SendChannelEndpoint}, and the publications sent on it, is serviced by one shard which is chosen
+         * by the {@link CommonContext#SENDER_SHARD_PARAM_NAME} param of the channel or by hash of the channel.
+         * With {@link ThreadingMode#DEDICATED} each shard runs on its own thread.
          *
-         * @return time in nanoseconds after which a client is considered dead if a keep alive is not received.
+         * @return number of {@link Sender} agents which share the send channel endpoints.
+         * @see Configuration#SENDER_SHARD_COUNT_PROP_NAME
          */
-        public long clientLivenessTimeoutNs()
+        public int senderShardCount()
         {
-            return clientLivenessTimeoutNs;
+            return senderShardCount;
         }
 
         /**
-         * Time in nanoseconds after which a client is considered dead if a keep alive is not received.
+         * Number of {@link Sender} agents which share the send channel endpoints.
+         * <p>
+         * Each {@link SendChannelEndpoint}, and the publications sent on it, is serviced by one shard which is chosen
+         * by the {@link CommonContext#SENDER_SHARD_PARAM_NAME} param of the channel or by hash of the channel.
+         * With {@link ThreadingMode#DEDICATED} each shard runs on its own thread.
          *
-         * @param timeoutNs in nanoseconds after which a client is considered dead if a keep alive is not received.
+         * @param senderShardCount number of {@link Sender} agents which share the send channel endpoints.
          * @return this for a fluent API.
+         * @see Configuration#SENDER_SHARD_COUNT_PROP_NAME
          */
-        public Context clientLivenessTimeoutNs(final long timeoutNs)
+        public Context senderShardCount(final int senderShardCount)
         {
-            this.clientLivenessTimeoutNs = timeoutNs;
+            this.senderShardCount = senderShardCount;
             return this;
         }
 
         /**
-         * Time in nanoseconds after which a status message will be sent if data is flowing slowly.
+         * Max number of gaps tracked per image and carried as ranges in a single NAK.
+         * <p>
+         * A value greater than 1 allows several gaps to be recovered in one NAK round trip. Senders which do not
+         * understand NAK ranges will only retransmit the first gap.
          *
-         * @return time in nanoseconds after which a status message will be sent if data is flowing slowly.
+         * @return max number of gaps tracked per image and carried as ranges in a single NAK.
+         * @see Configuration#NAK_MAX_GAPS_PROP_NAME
          */
-        public long statusMessageTimeoutNs()
+        public int nakMaxGaps()
         {
-            return statusMessageTimeoutNs;
+            return nakMaxGaps;
         }
 
         /**
-         * Time in nanoseconds after which a status message will be sent if data is flowing slowly.
+         * Max number of gaps tracked per image and carried as ranges in a single NAK.
+         * <p>
+         * A value greater than 1 allows several gaps to be recovered in one NAK round trip. Senders which do not
+         * understand NAK ranges will only retransmit the first gap.
          *
-         * @param statusMessageTimeoutNs after which a status message will be sent if data is flowing slowly.
+         * @param nakMaxGaps max number of gaps tracked per image and carried as ranges in a single NAK.
          * @return this for a fluent API.
+         * @see Configuration#NAK_MAX_GAPS_PROP_NAME
          */
-        public Context statusMessageTimeoutNs(final long statusMessageTimeoutNs)
+        public Context nakMaxGaps(final int nakMaxGaps)
         {
-            this.statusMessageTimeoutNs = statusMessageTimeoutNs;
+            this.nakMaxGaps = nakMaxGaps;
             return this;
         }
 
         /**
-         * Time in nanoseconds after which a freed counter may be reused.
+         * Maximum length in bytes of consumed log which is cleaned in a single duty cycle. A value of 0 cleans up to
+         * the end of the dirty term in one go.
          *
-         * @return time in nanoseconds after which a freed counter may be reused.
+         * @return maximum length in bytes of consumed log which is cleaned in a single duty cycle.
+         * @see Configuration#TERM_CLEAN_MAX_LENGTH_PROP_NAME
          */
-        public long counterFreeToReuseTimeoutNs()
+        public int termCleanMaxLength()
         {
-            return counterFreeToReuseTimeoutNs;
+            return termCleanMaxLength;
         }
 
         /**
-         * Time in nanoseconds after which a freed counter may be reused.
+         * Maximum length in bytes of consumed log which is cleaned in a single duty cycle. A value of 0 cleans up to
+         * the end of the dirty term in one go.
          *
-         * @param counterFreeToReuseTimeoutNs after which a freed counter may be reused.
+         * @param termCleanMaxLength in bytes which must be 0 or a multiple of the frame alignment.
          * @return this for a fluent API.
+         * @see Configuration#TERM_CLEAN_MAX_LENGTH_PROP_NAME
          */
-        public Context counterFreeToReuseTimeoutNs(final long counterFreeToReuseTimeoutNs)
+        public Context termCleanMaxLength(final int termCleanMaxLength)
         {
-            this.counterFreeToReuseTimeoutNs = counterFreeToReuseTimeoutNs;
+            this.termCleanMaxLength = termCleanMaxLength;
             return this;
         }
 
         /**
-         * Timeout in nanoseconds after which a publication will be unblocked if a offer is partially complete to allow
-         * other publishers to make progress.
+         * Max number of active retransmissions per {@link NetworkPublication}. NAKs received when this is reached
+         * are suppressed unless they can be coalesced with an active retransmission.
          *
-         * @return timeout in nanoseconds after which a publication will be unblocked.
+         * @return max number of active retransmissions per {@link NetworkPublication}.
+         * @see Configuration#MAX_RETRANSMITS_PROP_NAME
          */
-        public long publicationUnblockTimeoutNs()
+        public int maxRetransmits()
         {
-            return publicationUnblockTimeoutNs;
+            return maxRetransmits;
         }
 
         /**
-         * Timeout in nanoseconds after which a publication will be unblocked if a offer is partially complete to allow
-         * other publishers to make progress.
+         * Max number of active retransmissions per {@link NetworkPublication}. NAKs received when this is reached
+         * are suppressed unless they can be coalesced with an active retransmission.
          *
-         * @param timeoutNs in nanoseconds after which a publication will be unblocked.
+         * @param maxRetransmits max number of active retransmissions per {@link NetworkPublication}.
          * @return this for a fluent API.
+         * @see Configuration#MAX_RETRANSMITS_PROP_NAME
          */
-        public Context publicationUnblockTimeoutNs(final long timeoutNs)
+        public Context maxRetransmits(final int maxRetransmits)
         {
-            this.publicationUnblockTimeoutNs = timeoutNs;
+            this.maxRetransmits = maxRetransmits;
             return this;
         }
 
         /**
-         * Timeout in nanoseconds after which a publication will be considered not connected if no status messages are
-         * received.
+         * Max rate of retransmission in bytes per second for each {@link NetworkPublication} so that a storm of NAKs
+         * cannot starve the sending of new data. A value of 0 is unlimited.
          *
-         * @return timeout in nanoseconds after which a publication is considered not connected.
+         * @return max rate of retransmission in bytes per second for each {@link NetworkPublication}.
+         * @see Configuration#RETRANSMIT_RATE_PROP_NAME
          */
-        public long publicationConnectionTimeoutNs()
+        public long retransmitRate()
         {
-            return publicationConnectionTimeoutNs;
+            return retransmitRate;
         }
 
         /**
-         * Timeout in nanoseconds after which a publication will be considered not connected if no status messages are
-         * received.
+         * Max rate of retransmission in bytes per second for each {@link NetworkPublication} so that a storm of NAKs
+         * cannot starve the sending of new data. A value of 0 is unlimited.
          *
-         * @param timeoutNs in nanoseconds after which a publication will be considered not connected.
+         * @param retransmitRate max rate of retransmission in bytes per second for each {@link NetworkPublication}.
          * @return this for a fluent API.
+         * @see Configuration#RETRANSMIT_RATE_PROP_NAME
          */
-        public Context publicationConnectionTimeoutNs(final long timeoutNs)
+        public Context retransmitRate(final long retransmitRate)
         {
-            this.publicationConnectionTimeoutNs = timeoutNs;
+            this.retransmitRate = retransmitRate;
             return this;
         }
 
         /**
-         * Does a spy subscription simulate a connection to a network publication.
+         * Max number of datagrams sent by a {@link NetworkPublication} in one duty cycle of the {@link Sender}.
+         * <p>
+         * A value greater than 1 sends a batch of MTU sized datagrams, up to the sender limit, in one operation.
          *
-         * @return true if a spy subscription should simulate a connection to a network publication.
+         * @return max number of datagrams sent by a publication in one duty cycle.
+         * @see Configuration#SEND_BATCH_SIZE_PROP_NAME
          */
-        public boolean spiesSimulateConnection()
+        public int sendBatchSize()
         {
-            return spiesSimulateConnection;
+            return sendBatchSize;
         }
 
         /**
-         * Does a spy subscription simulate a connection to a network publication.
+         * Max number of datagrams sent by a {@link NetworkPublication} in one duty cycle of the {@link Sender}.
+         * <p>
+         * A value greater than 1 sends a batch of MTU sized datagrams, up to the sender limit, in one operation.
          *
-         * @param spiesSimulateConnection true if a spy subscription simulates a connection to a network publication.
+         * @param sendBatchSize max number of datagrams sent by a publication in one duty cycle.
          * @return this for a fluent API.
+         * @see Configuration#SEND_BATCH_SIZE_PROP_NAME
          */
-        public Context spiesSimulateConnection(final boolean spiesSimulateConnection)
+        public Context sendBatchSize(final int sendBatchSize)
         {
-            this.spiesSimulateConnection = spiesSimulateConnection;
+            this.sendBatchSize = sendBatchSize;
             return this;
         }
 
         /**
-         * Default length for a term buffer on a network publication.
+         * Default rate in bytes per second at which a {@link NetworkPublication} sends data so bursts do not
+         * overflow switch and receiver buffers. A value of 0 disables pacing.
          *
-         * @return default length for a term buffer on a network publication.
+         * @return default rate in bytes per second at which a {@link NetworkPublication} sends data.
+         * @see Configuration#PUBLICATION_PACING_RATE_PROP_NAME
+         * @see CommonContext#PACING_RATE_PARAM_NAME
          */
-        public int publicationTermBufferLength()
+        public long publicationPacingRate()
         {
-            return publicationTermBufferLength;
+            return publicationPacingRate;
         }
 
         /**
-         * Default length for a term buffer on a network publication.
-         * <p>
-         * This can be overridden on publication by using channel URI params.
+         * Default rate in bytes per second at which a {@link NetworkPublication} sends data so bursts do not
+         * overflow switch and receiver buffers. A value of 0 disables pacing.
          *
-         * @param termBufferLength default length for a term buffer on a network publication.
+         * @param pacingRate default rate in bytes per second at which a {@link NetworkPublication} sends data.
          * @return this for a fluent API.
+         * @see Configuration#PUBLICATION_PACING_RATE_PROP_NAME
+         * @see CommonContext#PACING_RATE_PARAM_NAME
          */
-        public Context publicationTermBufferLength(final int termBufferLength)
+        public Context publicationPacingRate(final long pacingRate)
         {
-            this.publicationTermBufferLength = termBufferLength;
+            this.publicationPacingRate = pacingRate;
             return this;
         }
 
         /**
-         * Default length for a term buffer on a IPC publication.
+         * Default burst in bytes which a paced {@link NetworkPublication} can send at once. A value of 0 allows 1ms
+         * of the pacing rate, and at least one MTU.
          *
-         * @return default length for a term buffer on a IPC publication.
+         * @return default burst in bytes which a paced {@link NetworkPublication} can send at once.
+         * @see Configuration#PUBLICATION_PACING_BURST_PROP_NAME
+         * @see CommonContext#PACING_BURST_PARAM_NAME
          */
-        public int ipcTermBufferLength()
+        public int publicationPacingBurst()
         {
-            return ipcPublicationTermBufferLength;
+            return publicationPacingBurst;
         }
 
         /**
-         * Default length for a term buffer on a IPC publication.
-         * <p>
-         * This can be overridden on publication by using channel URI params.
+         * Default burst in bytes which a paced {@link NetworkPublication} can send at once. A value of 0 allows 1ms
+         * of the pacing rate, and at least one MTU.
          *
-         * @param termBufferLength default length for a term buffer on a IPC publication.
+         * @param pacingBurst default burst in bytes which a paced {@link NetworkPublication} can send at once.
          * @return this for a fluent API.
+         * @see Configuration#PUBLICATION_PACING_BURST_PROP_NAME
+         * @see CommonContext#PACING_BURST_PARAM_NAME
          */
-        public Context ipcTermBufferLength(final int termBufferLength)
+        public Context publicationPacingBurst(final int pacingBurst)
         {
-            this.ipcPublicationTermBufferLength = termBufferLength;
+            this.publicationPacingBurst = pacingBurst;
             return this;
         }
 
         /**
-         * The initial window for in flight data on a connection which must be less than
-         * {@link Configuration#SOCKET_RCVBUF_LENGTH}. This needs to be configured for throughput respecting BDP.
+         * Number of priority classes by which the {@link Sender} serves network publications. Each duty cycle the
+         * publications of a higher class, with a lower number, are served before those of a lower class.
          *
-         * @return The initial window for in flight data on a connection
+         * @return number of priority classes by which the {@link Sender} serves network publications.
+         * @see Configuration#SENDER_PRIORITY_CLASSES_PROP_NAME
          */
-        public int initialWindowLength()
+        public int senderPriorityClasses()
         {
-            return initialWindowLength;
+            return senderPriorityClasses;
         }
 
         /**
-         * The initial window for in flight data on a connection which must be less than
-         * {@link Configuration#SOCKET_RCVBUF_LENGTH}. This needs to be configured for throughput respecting BDP.
+         * Number of priority classes by which the {@link Sender} serves network publications. Each duty cycle the
+         * publications of a higher class, with a lower number, are served before those of a lower class.
          *
-         * @param initialWindowLength The initial window for in flight data on a connection
+         * @param priorityClasses by which the {@link Sender} serves network publications.
          * @return this for a fluent API.
+         * @see Configuration#SENDER_PRIORITY_CLASSES_PROP_NAME
          */
-        public Context initialWindowLength(final int initialWindowLength)
+        public Context senderPriorityClasses(final int priorityClasses)
         {
-            this.initialWindowLength = initialWindowLength;
+            this.senderPriorityClasses = priorityClasses;
             return this;
         }
 
         /**
-         * MTU in bytes for datagrams sent to the network. Messages larger than this are fragmented.
-         * <p>
-         * Larger MTUs reduce system call overhead at the expense of possible increase in loss which
-         * will need to be recovered. If this is greater than the network MTU for UDP then the packet will be
-         * fragmented and can amplify the impact of loss.
+         * Default priority class of a {@link NetworkPublication} where 0 is the highest.
          *
-         * @return MTU in bytes for datagrams sent to the network.
+         * @return default priority class of a {@link NetworkPublication}.
+         * @see Configuration#PUBLICATION_PRIORITY_PROP_NAME
+         * @see CommonContext#PRIORITY_PARAM_NAME
          */
-        public int mtuLength()
+        public int publicationPriority()
         {
-            return mtuLength;
+            return publicationPriority;
         }
 
         /**
-         * MTU in bytes for datagrams sent to the network. Messages larger than this are fragmented.
-         * <p>
-         * Larger MTUs reduce system call overhead at the expense of possible increase in loss which
-         * will need to be recovered. If this is greater than the network MTU for UDP then the packet will be
-         * fragmented and can amplify the impact of loss.
+         * Default priority class of a {@link NetworkPublication} where 0 is the highest.
          *
-         * @param mtuLength in bytes for datagrams sent to the network.
+         * @param priority default priority class of a {@link NetworkPublication}.
          * @return this for a fluent API.
+         * @see Configuration#PUBLICATION_PRIORITY_PROP_NAME
+         * @see CommonContext#PRIORITY_PARAM_NAME
          */
-        public Context mtuLength(final int mtuLength)
+        public Context publicationPriority(final int priority)
         {
-            this.mtuLength = mtuLength;
+            this.publicationPriority = priority;
             return this;
         }
 
         /**
-         * MTU in bytes for datagrams sent over shared memory. Messages larger than this are fragmented.
-         * <p>
-         * Larger MTUs reduce fragmentation. If an IPC stream is recorded to be later sent over the network then
-         * then a large MTU may be an issue.
+         * Max bytes a {@link NetworkPublication} can send in one duty cycle of the {@link Sender} so a busy
+         * publication cannot starve the others. A value of 0 is unbounded, otherwise it is at least one MTU.
          *
-         * @return MTU in bytes for message fragments.
+         * @return max bytes a {@link NetworkPublication} can send in one duty cycle.
+         * @see Configuration#SENDER_QUANTUM_PROP_NAME
          */
-        public int ipcMtuLength()
+        public int senderQuantum()
         {
-            return ipcMtuLength;
+            return senderQuantum;
         }
 
         /**
-         * MTU in bytes for datagrams sent over shared memory. Messages larger than this are fragmented.
-         * <p>
-         * Larger MTUs reduce fragmentation. If an IPC stream is recorded to be later sent over the network then
-         * then a large MTU may be an issue.
+         * Max bytes a {@link NetworkPublication} can send in one duty cycle of the {@link Sender} so a busy
+         * publication cannot starve the others. A value of 0 is unbounded, otherwise it is at least one MTU.
          *
-         * @param ipcMtuLength in bytes for message fragments.
+         * @param senderQuantum max bytes a {@link NetworkPublication} can send in one duty cycle.
          * @return this for a fluent API.
+         * @see Configuration#SENDER_QUANTUM_PROP_NAME
          */
-        public Context ipcMtuLength(final int ipcMtuLength)
+        public Context senderQuantum(final int senderQuantum)
         {
-            this.ipcMtuLength = ipcMtuLength;
+            this.senderQuantum = senderQuantum;
             return this;
         }
 
@@ -1309,6 +2133,31 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Supplier of an {@link IdleStrategy} for each {@link Sender} shard when in {@link ThreadingMode#DEDICATED}.
+         * <p>
+         * Idle strategies may hold state so each shard needs its own instance. If not set then shards other than
+         * the first get the same stateless strategy as {@link #senderIdleStrategy()}, or one from configuration.
+         *
+         * @return supplier of an {@link IdleStrategy} for each {@link Sender} shard.
+         */
+        public Supplier<IdleStrategy> senderIdleStrategySupplier()
+        {
+            return senderIdleStrategySupplier;
+        }
+
+        /**
+         * Supplier of an {@link IdleStrategy} for each {@link Sender} shard when in {@link ThreadingMode#DEDICATED}.
+         *
+         * @param supplier of an {@link IdleStrategy} for each {@link Sender} shard.
+         * @return this for a fluent API.
+         */
+        public Context senderIdleStrategySupplier(final Supplier<IdleStrategy> supplier)
+        {
+            senderIdleStrategySupplier = supplier;
+            return this;
+        }
+
         /**
          * {@link IdleStrategy} to be used by the {@link Receiver} when in {@link ThreadingMode#DEDICATED}.
          *
@@ -1331,6 +2180,31 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Supplier of an {@link IdleStrategy} for each {@link Receiver} shard when in {@link ThreadingMode#DEDICATED}.
+         * <p>
+         * Idle strategies may hold state so each shard needs its own instance. If not set then shards other than
+         * the first get the same stateless strategy as {@link #receiverIdleStrategy()}, or one from configuration.
+         *
+         * @return supplier of an {@link IdleStrategy} for each {@link Receiver} shard.
+         */
+        public Supplier<IdleStrategy> receiverIdleStrategySupplier()
+        {
+            return receiverIdleStrategySupplier;
+        }
+
+        /**
+         * Supplier of an {@link IdleStrategy} for each {@link Receiver} shard when in {@link ThreadingMode#DEDICATED}.
+         *
+         * @param supplier of an {@link IdleStrategy} for each {@link Receiver} shard.
+         * @return this for a fluent API.
+         */
+        public Context receiverIdleStrategySupplier(final Supplier<IdleStrategy> supplier)
+        {
+            receiverIdleStrategySupplier = supplier;
+            return this;
+        }
+
         /**
          * {@link IdleStrategy} to be used by the {@link DriverConductor} when in {@link ThreadingMode#DEDICATED}
          * or {@link ThreadingMode#SHARED_NETWORK}.
@@ -1473,6 +2347,30 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * The thread local buffers and associated objects for sending setup, heartbeat, and RTT measurement frames
+         * for {@link NetworkPublication}s. Each sender shard has its own.
+         *
+         * @return thread local buffers and associated objects for {@link NetworkPublication}s.
+         */
+        public NetworkPublicationThreadLocals networkPublicationThreadLocals()
+        {
+            return networkPublicationThreadLocals;
+        }
+
+        /**
+         * The thread local buffers and associated objects for sending setup, heartbeat, and RTT measurement frames
+         * for {@link NetworkPublication}s. Each sender shard has its own.
+         *
+         * @param threadLocals for use by {@link NetworkPublication}s.
+         * @return this for a fluent API.
+         */
+        public Context networkPublicationThreadLocals(final NetworkPublicationThreadLocals threadLocals)
+        {
+            networkPublicationThreadLocals = threadLocals;
+            return this;
+        }
+
         /**
          * The temporary buffer than can be used to build up counter labels to avoid allocation.
          *
@@ -1872,6 +2770,50 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        Context receiverShardContext(final int shardIndex)
+        {
+            return 0 == shardIndex ? this : receiverShardContexts[shardIndex];
+        }
+
+        Context senderShardContext(final int shardIndex)
+        {
+            return 0 == shardIndex ? this : senderShardContexts[shardIndex];
+        }
+
+        Context receiverShardContexts(final Context[] receiverShardContexts)
+        {
+            this.receiverShardContexts = receiverShardContexts;
+            return this;
+        }
+
+        Context senderShardContexts(final Context[] senderShardContexts)
+        {
+            this.senderShardContexts = senderShardContexts;
+            return this;
+        }
+
+        AtomicCounter[] senderPriorityBytesSent()
+        {
+            return senderPriorityBytesSent;
+        }
+
+        AtomicCounter[] senderPriorityWaitTime()
+        {
+            return senderPriorityWaitTime;
+        }
+
+        Context senderPriorityBytesSent(final AtomicCounter[] senderPriorityBytesSent)
+        {
+            this.senderPriorityBytesSent = senderPriorityBytesSent;
+            return this;
+        }
+
+        Context senderPriorityWaitTime(final AtomicCounter[] senderPriorityWaitTime)
+        {
+            this.senderPriorityWaitTime = senderPriorityWaitTime;
+            return this;
+        }
+
         ReceiverProxy receiverProxy()
         {
             return receiverProxy;
@@ -1953,11 +2895,6 @@ public final class MediaDriver implements AutoCloseable
                 receiveChannelEndpointSupplier = Configuration.receiveChannelEndpointSupplier();
             }
 
-            if (null == dataTransportPoller)
-            {
-                dataTransportPoller = new DataTransportPoller();
-            }
-
             if (null == controlTransportPoller)
             {
                 controlTransportPoller = new ControlTransportPoller();
@@ -1993,6 +2930,11 @@ public final class MediaDriver implements AutoCloseable
                 receiveChannelEndpointThreadLocals = new ReceiveChannelEndpointThreadLocals(this);
             }
 
+            if (null == networkPublicationThreadLocals)
+            {
+                networkPublicationThreadLocals = new NetworkPublicationThreadLocals();
+            }
+
             if (null == congestionControlSupplier)
             {
                 congestionControlSupplier = Configuration.congestionControlSupplier();
@@ -2031,13 +2973,26 @@ public final class MediaDriver implements AutoCloseable
                 errorHandler = new LoggingErrorHandler(errorLog);
             }
 
+            receiverShardCommandQueues = newShardCommandQueues(receiverCommandQueue, receiverShardCount);
             receiverProxy = new ReceiverProxy(
-                threadingMode, receiverCommandQueue(), systemCounters.get(RECEIVER_PROXY_FAILS));
+                threadingMode, receiverShardCommandQueues, systemCounters.get(RECEIVER_PROXY_FAILS));
+            senderShardCommandQueues = newShardCommandQueues(senderCommandQueue, senderShardCount);
             senderProxy = new SenderProxy(
-                threadingMode, senderCommandQueue(), systemCounters.get(SENDER_PROXY_FAILS));
+                threadingMode, senderShardCommandQueues, systemCounters.get(SENDER_PROXY_FAILS));
             driverConductorProxy = new DriverConductorProxy(
                 threadingMode, driverCommandQueue(), systemCounters.get(CONDUCTOR_PROXY_FAILS));
 
+            if (null == dataTransportPoller)
+            {
+                dataTransportPoller = new DataTransportPoller(
+                    receiveBatchSize,
+                    systemCounters.get(RECEIVE_BATCHES),
+                    systemCounters.get(RECEIVE_BATCH_DATAGRAMS),
+                    receiveSweepPoll,
+                    receiveSweepMaxSkip,
+                    receiveTimestamps ? nanoClock : null);
+            }
+
             if (null == rawLogFactory)
             {
                 rawLogFactory = new RawLogFactory(
@@ -2045,7 +3000,14 @@ public final class MediaDriver implements AutoCloseable
                     filePageSize,
                     termBufferSparseFile,
                     performStorageChecks,
-                    errorLog);
+                    errorLog,
+                    logHugePagesDir,
+                    logHugePageSize,
+                    logPoolSizes,
+                    systemCounters.get(LOG_POOL_HITS),
+                    systemCounters.get(LOG_POOL_MISSES),
+                    nanoClock,
+                    clientLivenessTimeoutNs + publicationLingerTimeoutNs);
             }
 
             if (null == lossReport)
@@ -2056,6 +3018,115 @@ public final class MediaDriver implements AutoCloseable
             }
         }
 
+        @SuppressWarnings("unchecked")
+        private static OneToOneConcurrentArrayQueue<Runnable>[] newShardCommandQueues(
+            final OneToOneConcurrentArrayQueue<Runnable> firstQueue, final int shardCount)
+        {
+            final OneToOneConcurrentArrayQueue<Runnable>[] queues = new OneToOneConcurrentArrayQueue[shardCount];
+            queues[0] = firstQueue;
+
+            for (int i = 1; i < shardCount; i++)
+            {
+                queues[i] = new OneToOneConcurrentArrayQueue<>(CMD_QUEUE_CAPACITY);
+            }
+
+            return queues;
+        }
+
+        private void concludeReceiverShards()
+        {
+            receiverShardContexts = new Context[receiverShardCount];
+            receiverShardContexts[0] = this;
+
+            final StatusIndicator indicator = new UnsafeBufferStatusIndicator(
+                countersManager.valuesBuffer(), CONTROLLABLE_IDLE_STRATEGY.id());
+
+            for (int i = 1; i < receiverShardCount; i++)
+            {
+                final Context shardContext = clone();
+                shardContext.receiverCommandQueue = receiverShardCommandQueues[i];
+                shardContext.dataTransportPoller = new DataTransportPoller(
+                    receiveBatchSize,
+                    systemCounters.get(RECEIVE_BATCHES),
+                    systemCounters.get(RECEIVE_BATCH_DATAGRAMS),
+                    receiveSweepPoll,
+                    receiveSweepMaxSkip,
+                    receiveTimestamps ? nanoClock : null);
+                shardContext.receiveChannelEndpointThreadLocals = new ReceiveChannelEndpointThreadLocals(shardContext);
+
+                if (ThreadingMode.DEDICATED == threadingMode)
+                {
+                    shardContext.receiverIdleStrategy = shardIdleStrategy(
+                        receiverIdleStrategySupplier,
+                        isReceiverIdleStrategySupplied ? receiverIdleStrategy : null,
+                        () -> Configuration.receiverIdleStrategy(indicator),
+                        "receiverIdleStrategySupplier");
+                }
+
+                receiverShardContexts[i] = shardContext;
+            }
+        }
+
+        /**
+         * Idle strategy for a shard other than the first. Strategies which are stateless can be shared, otherwise a
+         * supplier is required as the shards must not share the state of a user supplied strategy.
+         */
+        private static IdleStrategy shardIdleStrategy(
+            final Supplier<IdleStrategy> supplier,
+            final IdleStrategy suppliedStrategy,
+            final Supplier<IdleStrategy> configuredStrategy,
+            final String supplierName)
+        {
+            if (null != supplier)
+            {
+                return supplier.get();
+            }
+
+            if (null == suppliedStrategy)
+            {
+                return configuredStrategy.get();
+            }
+
+            if (suppliedStrategy instanceof BusySpinIdleStrategy ||
+                suppliedStrategy instanceof NoOpIdleStrategy ||
+                suppliedStrategy instanceof YieldingIdleStrategy ||
+                suppliedStrategy instanceof SleepingIdleStrategy)
+            {
+                return suppliedStrategy;
+            }
+
+            throw new ConfigurationException(
+                supplierName + " must be set for each shard to have its own " + suppliedStrategy.getClass().getName());
+        }
+
+        private void concludeSenderShards()
+        {
+            senderShardContexts = new Context[senderShardCount];
+            senderShardContexts[0] = this;
+
+            final StatusIndicator indicator = new UnsafeBufferStatusIndicator(
+                countersManager.valuesBuffer(), CONTROLLABLE_IDLE_STRATEGY.id());
+
+            for (int i = 1; i < senderShardCount; i++)
+            {
+                final Context shardContext = clone();
+                shardContext.senderCommandQueue = senderShardCommandQueues[i];
+                shardContext.controlTransportPoller = new ControlTransportPoller();
+                shardContext.networkPublicationThreadLocals = new NetworkPublicationThreadLocals();
+
+                if (ThreadingMode.DEDICATED == threadingMode)
+                {
+                    shardContext.senderIdleStrategy = shardIdleStrategy(
+                        senderIdleStrategySupplier,
+                        isSenderIdleStrategySupplied ? senderIdleStrategy : null,
+                        () -> Configuration.senderIdleStrategy(indicator),
+                        "senderIdleStrategySupplier");
+                }
+
+                senderShardContexts[i] = shardContext;
+            }
+        }
+
         private void concludeCounters()
         {
             if (null == countersManager)
@@ -2099,6 +3170,20 @@ public final class MediaDriver implements AutoCloseable
             {
                 systemCounters = new SystemCounters(countersManager);
             }
+
+            if (senderPriorityClasses > 1 && null == senderPriorityBytesSent)
+            {
+                senderPriorityBytesSent = new AtomicCounter[senderPriorityClasses];
+                senderPriorityWaitTime = new AtomicCounter[senderPriorityClasses];
+
+                for (int i = 0; i < senderPriorityClasses; i++)
+                {
+                    senderPriorityBytesSent[i] = SenderPriorityCounter.allocate(
+                        countersManager, SenderPriorityCounter.BYTES_SENT_NAME, i);
+                    senderPriorityWaitTime[i] = SenderPriorityCounter.allocate(
+                        countersManager, SenderPriorityCounter.WAIT_TIME_NAME, i);
+                }
+            }
         }
 
         private void concludeIdleStrategies()
@@ -2121,14 +3206,18 @@ public final class MediaDriver implements AutoCloseable
                         conductorIdleStrategy = Configuration.conductorIdleStrategy(indicator);
                     }
 
+                    isSenderIdleStrategySupplied = null != senderIdleStrategy;
                     if (null == senderIdleStrategy)
                     {
-                        senderIdleStrategy = Configuration.senderIdleStrategy(indicator);
+                        senderIdleStrategy = null != senderIdleStrategySupplier ?
+                            senderIdleStrategySupplier.get() : Configuration.senderIdleStrategy(indicator);
                     }
 
+                    isReceiverIdleStrategySupplied = null != receiverIdleStrategy;
                     if (null == receiverIdleStrategy)
                     {
-                        receiverIdleStrategy = Configuration.receiverIdleStrategy(indicator);
+                        receiverIdleStrategy = null != receiverIdleStrategySupplier ?
+                            receiverIdleStrategySupplier.get() : Configuration.receiverIdleStrategy(indicator);
                     }
                     break;
 
@@ -21,6 +21,7 @@ import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.logbuffer.LogBufferUnblocker;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.NakFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
 import io.aeron.protocol.StatusMessageFlyweight;
@@ -102,7 +103,12 @@ public class NetworkPublication
     private final int termBufferLength;
     private final int termLengthMask;
     private final int mtuLength;
+    private final int sendBatchSize;
+    private final int sendQuantum;
+    private final int priority;
     private final int termWindowLength;
+    private final int termCleanMaxLength;
+    private final long cleanLimitLength;
     private final int sessionId;
     private final int streamId;
     private final boolean isExclusive;
@@ -116,6 +122,8 @@ public class NetworkPublication
 
     private final UnsafeBuffer[] termBuffers;
     private final ByteBuffer[] sendBuffers;
+    private final int[] batchDatagramOffsets;
+    private final int[] batchDatagramLengths;
     private final Position publisherPos;
     private final Position publisherLimit;
     private final Position senderPosition;
@@ -137,6 +145,12 @@ public class NetworkPublication
     private final AtomicCounter senderFlowControlLimits;
     private final AtomicCounter shortSends;
     private final AtomicCounter unblockedPublications;
+    private final AtomicCounter sendBatches;
+    private final AtomicCounter sendBatchDatagrams;
+    private final AtomicCounter pacedDeferredBytes;
+    private final FecEncoder fecEncoder;
+    private final SendPacer sendPacer;
+    private long pacedDeferredPosition;
 
     public NetworkPublication(
         final long registrationId,
@@ -152,6 +166,13 @@ public class NetworkPublication
         final int streamId,
         final int initialTermId,
         final int mtuLength,
+        final int sendBatchSize,
+        final int fecGroupSize,
+        final long pacingRate,
+        final int pacingBurst,
+        final int priority,
+        final int sendQuantum,
+        final int termCleanMaxLength,
         final SystemCounters systemCounters,
         final FlowControl flowControl,
         final RetransmitHandler retransmitHandler,
@@ -177,6 +198,9 @@ public class NetworkPublication
         this.publisherPos = publisherPos;
         this.publisherLimit = publisherLimit;
         this.mtuLength = mtuLength;
+        this.sendBatchSize = sendBatchSize;
+        this.sendQuantum = sendQuantum > 0 ? Math.max(sendQuantum, mtuLength) : Integer.MAX_VALUE;
+        this.priority = priority;
         this.initialTermId = initialTermId;
         this.sessionId = sessionId;
         this.streamId = streamId;
@@ -196,6 +220,16 @@ public class NetworkPublication
         retransmitsSent = systemCounters.get(RETRANSMITS_SENT);
         senderFlowControlLimits = systemCounters.get(SENDER_FLOW_CONTROL_LIMITS);
         unblockedPublications = systemCounters.get(UNBLOCKED_PUBLICATIONS);
+        sendBatches = systemCounters.get(SEND_BATCHES);
+        sendBatchDatagrams = systemCounters.get(SEND_BATCH_DATAGRAMS);
+        pacedDeferredBytes = systemCounters.get(PACED_DEFERRED_BYTES);
+
+        fecEncoder = fecGroupSize > 0 ?
+            new FecEncoder(fecGroupSize, mtuLength, sessionId, streamId, systemCounters) : null;
+        sendPacer = pacingRate > 0 ? new SendPacer(pacingRate, pacingBurst, mtuLength, nanoClock.nanoTime()) : null;
+
+        batchDatagramOffsets = new int[sendBatchSize];
+        batchDatagramLengths = new int[sendBatchSize];
 
         termBuffers = rawLog.termBuffers();
         sendBuffers = rawLog.sliceTerms();
@@ -212,6 +246,8 @@ public class NetworkPublication
 
         positionBitsToShift = LogBufferDescriptor.positionBitsToShift(termLength);
         termWindowLength = Configuration.publicationTermWindowLength(termLength);
+        this.termCleanMaxLength = Configuration.termCleanMaxLength(termLength, termCleanMaxLength);
+        cleanLimitLength = Configuration.cleanLimitLength(termLength);
 
         lastSenderPosition = senderPosition.get();
         cleanPosition = lastSenderPosition;
@@ -247,6 +283,16 @@ public class NetworkPublication
         return mtuLength;
     }
 
+    /**
+     * Priority class by which the {@link Sender} serves this publication where 0 is the highest.
+     *
+     * @return priority class by which the {@link Sender} serves this publication.
+     */
+    public int priority()
+    {
+        return priority;
+    }
+
     public long registrationId()
     {
         return registrationId;
@@ -351,7 +397,7 @@ public class NetworkPublication
             }
             while (remainingBytes > 0);
 
-            retransmitsSent.incrementOrdered();
+            retransmitsSent.increment();
         }
     }
 
@@ -387,6 +433,11 @@ public class NetworkPublication
         retransmitHandler.onNak(termId, termOffset, length, termBufferLength, this);
     }
 
+    public void onNak(final NakFlyweight msg, final int rangeCount)
+    {
+        retransmitHandler.onNak(msg, rangeCount, termBufferLength, this);
+    }
+
     public void onStatusMessage(final StatusMessageFlyweight msg, final InetSocketAddress srcAddress)
     {
         if (!hasReceivers)
@@ -468,9 +519,10 @@ public class NetworkPublication
             }
 
             final long proposedPublisherLimit = minConsumerPosition + termWindowLength;
-            if (publisherLimit.proposeMaxOrdered(proposedPublisherLimit))
+            workCount = cleanBuffer(proposedPublisherLimit);
+
+            if (publisherLimit.proposeMaxOrdered(Math.min(proposedPublisherLimit, cleanPosition + cleanLimitLength)))
             {
-                cleanBuffer(proposedPublisherLimit);
                 workCount = 1;
             }
         }
@@ -498,10 +550,17 @@ public class NetworkPublication
     private int sendData(final long nowNs, final long senderPosition, final int termOffset)
     {
         int bytesSent = 0;
-        final int availableWindow = (int)(senderLimit.get() - senderPosition);
-        if (availableWindow > 0)
+        final int availableWindow = Math.min((int)(senderLimit.get() - senderPosition), sendQuantum);
+        final int sendWindow = availableWindow > 0 && null != sendPacer ?
+            pacedSendWindow(nowNs, senderPosition, termOffset, availableWindow) : availableWindow;
+
+        if (sendWindow > 0 && sendBatchSize > 1)
         {
-            final int scanLimit = Math.min(availableWindow, mtuLength);
+            bytesSent = sendDataBatch(nowNs, senderPosition, termOffset, sendWindow);
+        }
+        else if (sendWindow > 0)
+        {
+            final int scanLimit = Math.min(sendWindow, mtuLength);
             final int activeIndex = indexByPosition(senderPosition, positionBitsToShift);
 
             final long scanOutcome = scanForAvailability(termBuffers[activeIndex], termOffset, scanLimit);
@@ -513,6 +572,16 @@ public class NetworkPublication
 
                 if (available == channelEndpoint.send(sendBuffer))
                 {
+                    if (null != fecEncoder)
+                    {
+                        fecEncoder.onDatagramSent(
+                            termBuffers[activeIndex],
+                            computeTermIdFromPosition(senderPosition, positionBitsToShift, initialTermId),
+                            termOffset,
+                            available,
+                            channelEndpoint);
+                    }
+
                     timeOfLastSendOrHeartbeatNs = nowNs;
                     trackSenderLimits = true;
 
@@ -525,10 +594,109 @@ public class NetworkPublication
                 }
             }
         }
-        else if (trackSenderLimits)
+        else if (availableWindow <= 0 && trackSenderLimits)
         {
             trackSenderLimits = false;
-            senderFlowControlLimits.incrementOrdered();
+            senderFlowControlLimits.increment();
+        }
+
+        if (bytesSent > 0 && null != sendPacer)
+        {
+            sendPacer.onBytesSent(bytesSent);
+        }
+
+        return bytesSent;
+    }
+
+    private int pacedSendWindow(
+        final long nowNs, final long senderPosition, final int termOffset, final int availableWindow)
+    {
+        final long budget = sendPacer.availableBytes(nowNs);
+        if (budget <= 0)
+        {
+            final int activeIndex = indexByPosition(senderPosition, positionBitsToShift);
+            final long scanOutcome = scanForAvailability(
+                termBuffers[activeIndex], termOffset, Math.min(availableWindow, mtuLength));
+            final long deferredPosition = senderPosition + available(scanOutcome);
+
+            if (deferredPosition > pacedDeferredPosition)
+            {
+                pacedDeferredBytes.getAndAdd(
+                    deferredPosition - Math.max(senderPosition, pacedDeferredPosition));
+                pacedDeferredPosition = deferredPosition;
+            }
+
+            return 0;
+        }
+
+        return (int)Math.min(availableWindow, Math.max(budget, mtuLength));
+    }
+
+    private int sendDataBatch(
+        final long nowNs, final long senderPosition, final int termOffset, final int availableWindow)
+    {
+        final int[] datagramOffsets = this.batchDatagramOffsets;
+        final int[] datagramLengths = this.batchDatagramLengths;
+        final int activeIndex = indexByPosition(senderPosition, positionBitsToShift);
+        final UnsafeBuffer termBuffer = termBuffers[activeIndex];
+        int remainingWindow = availableWindow;
+        int offset = termOffset;
+        int datagramCount = 0;
+
+        while (datagramCount < sendBatchSize && remainingWindow > 0 && offset < termBufferLength)
+        {
+            final long scanOutcome = scanForAvailability(termBuffer, offset, Math.min(remainingWindow, mtuLength));
+            final int available = available(scanOutcome);
+            if (available <= 0)
+            {
+                break;
+            }
+
+            datagramOffsets[datagramCount] = offset;
+            datagramLengths[datagramCount++] = available;
+
+            final int length = available + padding(scanOutcome);
+            offset += length;
+            remainingWindow -= length;
+        }
+
+        int bytesSent = 0;
+        if (datagramCount > 0)
+        {
+            final int datagramsSent = channelEndpoint.sendBatch(
+                sendBuffers[activeIndex], datagramOffsets, datagramLengths, datagramCount);
+
+            if (datagramsSent > 0)
+            {
+                for (int i = 0; i < datagramsSent; i++)
+                {
+                    bytesSent += datagramLengths[i];
+                }
+
+                if (null != fecEncoder)
+                {
+                    final int termId = computeTermIdFromPosition(senderPosition, positionBitsToShift, initialTermId);
+                    for (int i = 0; i < datagramsSent; i++)
+                    {
+                        fecEncoder.onDatagramSent(
+                            termBuffer, termId, datagramOffsets[i], datagramLengths[i], channelEndpoint);
+                    }
+                }
+
+                final int nextOffset = datagramsSent < datagramCount ? datagramOffsets[datagramsSent] : offset;
+
+                timeOfLastSendOrHeartbeatNs = nowNs;
+                trackSenderLimits = true;
+                this.senderPosition.setOrdered(senderPosition + (nextOffset - termOffset));
+
+                sendBatches.increment();
+                sendBatchDatagrams.getAndAdd(datagramsSent);
+            }
+
+            if (datagramsSent < datagramCount)
+            {
+                shortSends.increment();
+            }
         }
 
         return bytesSent;
@@ -571,6 +739,11 @@ public class NetworkPublication
 
         if (nowNs > (timeOfLastSendOrHeartbeatNs + PUBLICATION_HEARTBEAT_TIMEOUT_NS))
         {
+            if (null != fecEncoder)
+            {
+                fecEncoder.flush(channelEndpoint);
+            }
+
             heartbeatBuffer.clear();
             heartbeatDataHeader
                 .sessionId(sessionId)
@@ -586,13 +759,13 @@ public class NetworkPublication
             }
 
             timeOfLastSendOrHeartbeatNs = nowNs;
-            heartbeatsSent.incrementOrdered();
+            heartbeatsSent.increment();
         }
 
         return bytesSent;
     }
 
-    private void cleanBuffer(final long publisherLimit)
+    private int cleanBuffer(final long publisherLimit)
     {
         final long cleanPosition = this.cleanPosition;
         final long dirtyRange = publisherLimit - cleanPosition;
@@ -603,12 +776,16 @@ public class NetworkPublication
         {
             final UnsafeBuffer dirtyTerm = termBuffers[indexByPosition(cleanPosition, positionBitsToShift)];
             final int termOffset = (int)cleanPosition & termLengthMask;
-            final int bytesForCleaning = (int)(dirtyRange - reservedRange);
+            final int bytesForCleaning = (int)Math.min(dirtyRange - reservedRange, termCleanMaxLength);
             final int length = Math.min(bytesForCleaning, bufferCapacity - termOffset);
 
             dirtyTerm.setMemory(termOffset, length, (byte)0);
             this.cleanPosition = cleanPosition + length;
+
+            return 1;
         }
+
+        return 0;
     }
 
     private void checkForBlockedPublisher(final long producerPosition, final long senderPosition, final long timeNs)
@@ -25,6 +25,7 @@ import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.logbuffer.TermRebuilder;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import org.agrona.collections.ArrayUtil;
 import org.agrona.concurrent.EpochClock;
@@ -35,6 +36,7 @@ import org.agrona.concurrent.status.Position;
 import org.agrona.concurrent.status.ReadablePosition;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 import static io.aeron.driver.LossDetector.lossFound;
 import static io.aeron.driver.LossDetector.rebuildOffset;
@@ -42,6 +44,7 @@ import static io.aeron.driver.PublicationImage.State.ACTIVE;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
 import static io.aeron.logbuffer.TermGapFiller.tryFillGap;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
 import static org.agrona.UnsafeAccess.UNSAFE;
 
 class PublicationImagePadding1
@@ -56,6 +59,9 @@ class PublicationImageConductorFields extends PublicationImagePadding1
     protected ReadablePosition[] subscriberPositions;
     protected LossReport lossReport;
     protected LossReport.ReportEntry reportEntry;
+    protected long timeOfLastConsumptionSampleNs;
+    protected long lastConsumptionSamplePosition;
+    protected double consumptionBytesPerNs;
 }
 
 class PublicationImagePadding2 extends PublicationImageConductorFields
@@ -69,6 +75,8 @@ class PublicationImageReceiverFields extends PublicationImagePadding2
     protected boolean isEndOfStream = false;
     protected long lastPacketTimestampNs;
     protected DestinationImageControlAddress[] controlAddresses = new DestinationImageControlAddress[1];
+    protected FecDecoder fecDecoder;
+    protected long inPlaceReceivePosition;
 }
 
 class PublicationImagePadding3 extends PublicationImageReceiverFields
@@ -89,6 +97,8 @@ public class PublicationImage
         INIT, ACTIVE, INACTIVE, LINGER, DONE
     }
 
+    private static final double CONSUMPTION_RATE_WEIGHT = 0.25;
+
     private long timeOfLastStateChangeNs;
     private long lastLossChangeNumber = Aeron.NULL_VALUE;
     private long lastSmChangeNumber = Aeron.NULL_VALUE;
@@ -96,8 +106,13 @@ public class PublicationImage
     private volatile long beginLossChange = Aeron.NULL_VALUE;
     private volatile long endLossChange = Aeron.NULL_VALUE;
     private int lossTermId;
-    private int lossTermOffset;
-    private int lossLength;
+    private int lossGapCount;
+    private final int[] lossTermOffsets;
+    private final int[] lossLengths;
+    private final int[] nakTermOffsets;
+    private final int[] nakLengths;
+
+    private volatile long lossGapEndPosition = Aeron.NULL_VALUE;
 
     private volatile long beginSmChange = Aeron.NULL_VALUE;
     private volatile long endSmChange = Aeron.NULL_VALUE;
@@ -105,6 +120,7 @@ public class PublicationImage
     private int nextSmReceiverWindowLength;
 
     private long timeOfLastStatusMessageNs;
+    private volatile long lastRttNs;
 
     private final long correlationId;
     private final long imageLivenessTimeoutNs;
@@ -112,6 +128,8 @@ public class PublicationImage
     private final int streamId;
     private final int positionBitsToShift;
     private final int termLengthMask;
+    private final int termCleanMaxLength;
+    private final long cleanLimitLength;
     private final int initialTermId;
     private final boolean isReliable;
 
@@ -122,9 +140,11 @@ public class PublicationImage
     private final NanoClock cachedNanoClock;
     private final ReceiveChannelEndpoint channelEndpoint;
     private final UnsafeBuffer[] termBuffers;
+    private final ByteBuffer[] inPlaceTermSlices;
     private final Position hwmPosition;
     private final LossDetector lossDetector;
     private final CongestionControl congestionControl;
+    private final ReceiveLatency receiveLatency;
     private final Position rebuildPosition;
     private final InetSocketAddress sourceAddress;
     private final AtomicCounter heartbeatsReceived;
@@ -133,7 +153,11 @@ public class PublicationImage
     private final AtomicCounter flowControlUnderRuns;
     private final AtomicCounter flowControlOverRuns;
     private final AtomicCounter lossGapFills;
+    private final AtomicCounter retransmitRecoveries;
+    private final AtomicCounter lossGapCountIndicator;
+    private final AtomicCounter lossRecoveryLatencyIndicator;
     private final EpochClock cachedEpochClock;
+    private final SystemCounters systemCounters;
     private final RawLog rawLog;
 
     public PublicationImage(
@@ -149,9 +173,13 @@ public class PublicationImage
         final int initialTermOffset,
         final RawLog rawLog,
         final FeedbackDelayGenerator lossFeedbackDelayGenerator,
+        final int lossMaxGaps,
+        final int termCleanMaxLength,
         final ReadablePosition[] subscriberPositions,
         final Position hwmPosition,
         final Position rebuildPosition,
+        final AtomicCounter lossGapCountIndicator,
+        final AtomicCounter lossRecoveryLatencyIndicator,
         final NanoClock nanoClock,
         final NanoClock cachedNanoClock,
         final EpochClock cachedEpochClock,
@@ -159,7 +187,8 @@ public class PublicationImage
         final InetSocketAddress sourceAddress,
         final CongestionControl congestionControl,
         final LossReport lossReport,
-        final boolean isReliable)
+        final boolean isReliable,
+        final ReceiveLatency receiveLatency)
     {
         this.correlationId = correlationId;
         this.imageLivenessTimeoutNs = imageLivenessTimeoutNs;
@@ -170,11 +199,15 @@ public class PublicationImage
         this.subscriberPositions = subscriberPositions;
         this.hwmPosition = hwmPosition;
         this.rebuildPosition = rebuildPosition;
+        this.lossGapCountIndicator = lossGapCountIndicator;
+        this.lossRecoveryLatencyIndicator = lossRecoveryLatencyIndicator;
         this.sourceAddress = sourceAddress;
         this.initialTermId = initialTermId;
         this.congestionControl = congestionControl;
         this.lossReport = lossReport;
         this.isReliable = isReliable;
+        this.receiveLatency = receiveLatency;
+        this.systemCounters = systemCounters;
 
         heartbeatsReceived = systemCounters.get(HEARTBEATS_RECEIVED);
         statusMessagesSent = systemCounters.get(STATUS_MESSAGES_SENT);
@@ -182,6 +215,7 @@ public class PublicationImage
         flowControlUnderRuns = systemCounters.get(FLOW_CONTROL_UNDER_RUNS);
         flowControlOverRuns = systemCounters.get(FLOW_CONTROL_OVER_RUNS);
         lossGapFills = systemCounters.get(LOSS_GAP_FILLS);
+        retransmitRecoveries = systemCounters.get(RETRANSMIT_RECOVERIES);
 
         this.nanoClock = nanoClock;
         this.cachedNanoClock = cachedNanoClock;
@@ -194,17 +228,26 @@ public class PublicationImage
         controlAddresses[transportIndex] = new DestinationImageControlAddress(nowNs, controlAddress);
 
         termBuffers = rawLog.termBuffers();
-        lossDetector = new LossDetector(lossFeedbackDelayGenerator, this);
+        inPlaceTermSlices = channelEndpoint.isInPlaceReceive() ? rawLog.sliceTerms() : null;
+        lossDetector = new LossDetector(lossFeedbackDelayGenerator, this, lossMaxGaps);
+        lossTermOffsets = new int[lossMaxGaps];
+        lossLengths = new int[lossMaxGaps];
+        nakTermOffsets = new int[lossMaxGaps];
+        nakLengths = new int[lossMaxGaps];
 
         final int termLength = rawLog.termLength();
         termLengthMask = termLength - 1;
         positionBitsToShift = LogBufferDescriptor.positionBitsToShift(termLength);
+        this.termCleanMaxLength = Configuration.termCleanMaxLength(termLength, termCleanMaxLength);
+        cleanLimitLength = Configuration.cleanLimitLength(termLength);
 
         final long initialPosition = computePosition(
             activeTermId, initialTermOffset, positionBitsToShift, initialTermId);
         nextSmPosition = initialPosition;
         nextSmReceiverWindowLength = congestionControl.initialWindowLength();
         cleanPosition = initialPosition;
+        timeOfLastConsumptionSampleNs = nowNs;
+        lastConsumptionSamplePosition = initialPosition;
 
         hwmPosition.setOrdered(initialPosition);
         rebuildPosition.setOrdered(initialPosition);
@@ -217,12 +260,19 @@ public class PublicationImage
     {
         hwmPosition.close();
         rebuildPosition.close();
+        lossGapCountIndicator.close();
+        lossRecoveryLatencyIndicator.close();
         for (final ReadablePosition position : subscriberPositions)
         {
             position.close();
         }
 
         congestionControl.close();
+        if (null != receiveLatency)
+        {
+            receiveLatency.close();
+        }
+
         rawLog.close();
     }
 
@@ -294,25 +344,40 @@ public class PublicationImage
         beginLossChange = changeNumber;
 
         lossTermId = termId;
-        lossTermOffset = termOffset;
-        lossLength = length;
+        lossTermOffsets[0] = termOffset;
+        lossLengths[0] = length;
+        lossGapCount = 1;
 
         endLossChange = changeNumber;
 
-        if (null != reportEntry)
+        recordLoss(length);
+    }
+
+    /**
+     * Called from the {@link LossDetector} when multiple gaps are detected in the same scan by the
+     * {@link DriverConductor} thread.
+     *
+     * @see LossHandler
+     */
+    public void onGapsDetected(final int termId, final int[] termOffsets, final int[] lengths, final int gapCount)
+    {
+        final long changeNumber = beginLossChange + 1;
+
+        beginLossChange = changeNumber;
+
+        long bytesLost = 0;
+        lossTermId = termId;
+        for (int i = 0; i < gapCount; i++)
         {
-            reportEntry.recordObservation(length, cachedEpochClock.time());
+            lossTermOffsets[i] = termOffsets[i];
+            lossLengths[i] = lengths[i];
+            bytesLost += lengths[i];
         }
-        else if (null != lossReport)
-        {
-            reportEntry = lossReport.createEntry(
-                length, cachedEpochClock.time(), sessionId, streamId, channel(), sourceAddress.toString());
+        lossGapCount = gapCount;
 
-            if (null == reportEntry)
-            {
-                lossReport = null;
-            }
-        }
+        endLossChange = changeNumber;
+
+        recordLoss(bytesLost);
     }
 
     /**
@@ -388,6 +453,24 @@ public class PublicationImage
         updateControlAddress(transportIndex, remoteAddress, nanoClock.nanoTime());
     }
 
+    private void recordLoss(final long bytesLost)
+    {
+        if (null != reportEntry)
+        {
+            reportEntry.recordObservation(bytesLost, cachedEpochClock.time());
+        }
+        else if (null != lossReport)
+        {
+            reportEntry = lossReport.createEntry(
+                bytesLost, cachedEpochClock.time(), sessionId, streamId, channel(), sourceAddress.toString());
+
+            if (null == reportEntry)
+            {
+                lossReport = null;
+            }
+        }
+    }
+
     private void state(final State state)
     {
         timeOfLastStateChangeNs = cachedNanoClock.nanoTime();
@@ -414,6 +497,21 @@ public class PublicationImage
      * @param statusMessageTimeoutNs for sending of Status Messages.
      */
     final void trackRebuild(final long nowNs, final long statusMessageTimeoutNs)
+    {
+        trackRebuild(nowNs, statusMessageTimeoutNs, statusMessageTimeoutNs);
+    }
+
+    /**
+     * Called from the {@link DriverConductor} with a range the timeout for sending Status Messages adapts within. The
+     * timeout is half the time the consumption rate takes to use the receiver window less the RTT, so the sender
+     * gets a Status Message before it is blocked, and an idle image falls back to the max.
+     *
+     * @param nowNs                     in nanoseconds
+     * @param statusMessageMinTimeoutNs for sending of Status Messages when consumption is fast.
+     * @param statusMessageMaxTimeoutNs for sending of Status Messages when consumption is slow or idle.
+     */
+    final void trackRebuild(
+        final long nowNs, final long statusMessageMinTimeoutNs, final long statusMessageMaxTimeoutNs)
     {
         long minSubscriberPosition = Long.MAX_VALUE;
         long maxSubscriberPosition = Long.MIN_VALUE;
@@ -440,6 +538,9 @@ public class PublicationImage
         final int rebuildTermOffset = (int)rebuildPosition & termLengthMask;
         final long newRebuildPosition = (rebuildPosition - rebuildTermOffset) + rebuildOffset(scanOutcome);
         this.rebuildPosition.proposeMaxOrdered(newRebuildPosition);
+        lossGapEndPosition = lossDetector.activeGapsEndPosition(positionBitsToShift, initialTermId);
+        lossGapCountIndicator.setOrdered(lossDetector.activeGapCount());
+        lossRecoveryLatencyIndicator.setOrdered(lossDetector.lastRecoveryLatencyNs());
 
         final long ccOutcome = congestionControl.onTrackRebuild(
             nowNs,
@@ -450,18 +551,65 @@ public class PublicationImage
             newRebuildPosition,
             lossFound(scanOutcome));
 
-        final int window = CongestionControlUtil.receiverWindowLength(ccOutcome);
+        int window = CongestionControlUtil.receiverWindowLength(ccOutcome);
+        if (subscriberPositions.length > 0)
+        {
+            if (null != receiveLatency)
+            {
+                receiveLatency.onConsumed(minSubscriberPosition, nowNs);
+            }
+
+            cleanBufferTo(minSubscriberPosition - (termLengthMask + 1));
+            window = (int)Math.max(0, Math.min(window, (cleanPosition + cleanLimitLength) - minSubscriberPosition));
+        }
+
         final long threshold = CongestionControlUtil.positionThreshold(window);
 
+        final long statusMessageTimeoutNs = statusMessageMinTimeoutNs == statusMessageMaxTimeoutNs ?
+            statusMessageMinTimeoutNs :
+            adaptiveStatusMessageTimeoutNs(
+                nowNs, minSubscriberPosition, window, statusMessageMinTimeoutNs, statusMessageMaxTimeoutNs);
+
         if (CongestionControlUtil.shouldForceStatusMessage(ccOutcome) ||
             (nowNs > (timeOfLastStatusMessageNs + statusMessageTimeoutNs)) ||
             (minSubscriberPosition > (nextSmPosition + threshold)))
         {
             scheduleStatusMessage(nowNs, minSubscriberPosition, window);
-            cleanBufferTo(minSubscriberPosition - (termLengthMask + 1));
         }
     }
 
+    long adaptiveStatusMessageTimeoutNs(
+        final long nowNs,
+        final long consumptionPosition,
+        final int window,
+        final long minTimeoutNs,
+        final long maxTimeoutNs)
+    {
+        if (0 == subscriberPositions.length)
+        {
+            return maxTimeoutNs;
+        }
+
+        final long sampleDurationNs = nowNs - timeOfLastConsumptionSampleNs;
+        if (sampleDurationNs >= minTimeoutNs)
+        {
+            final long bytesConsumed = consumptionPosition - lastConsumptionSamplePosition;
+            final double sampleBytesPerNs = (double)bytesConsumed / sampleDurationNs;
+            consumptionBytesPerNs += (sampleBytesPerNs - consumptionBytesPerNs) * CONSUMPTION_RATE_WEIGHT;
+            timeOfLastConsumptionSampleNs = nowNs;
+            lastConsumptionSamplePosition = consumptionPosition;
+        }
+
+        if (consumptionBytesPerNs <= 0.0)
+        {
+            return maxTimeoutNs;
+        }
+
+        final double timeoutNs = ((window / consumptionBytesPerNs) - lastRttNs) / 2;
+
+        return (long)Math.max(minTimeoutNs, Math.min(maxTimeoutNs, timeoutNs));
+    }
+
     /**
      * Set state to {@link State#INACTIVE} if currently {@link State#ACTIVE}. Set by {@link Receiver}.
      */
@@ -494,11 +642,120 @@ public class PublicationImage
         final int length,
         final int transportIndex,
         final InetSocketAddress srcAddress)
+    {
+        return insertPacket(termId, termOffset, buffer, length, transportIndex, srcAddress, false);
+    }
+
+    /**
+     * Called from the {@link Receiver} thread to get a view of the active term from just after the header of the next
+     * in order packet, at the highest received position, so the body of that packet can be received in place.
+     * <p>
+     * The view only covers space which no subscriber can yet read as the frame length at the highest received position
+     * remains 0 until the header is committed by {@link #insertPacketInPlace}. It is only offered when the rest of the
+     * term can hold the largest datagram so nothing received is truncated.
+     *
+     * @return view of the term after the header of the next in order packet or null if not receiving in place.
+     */
+    public ByteBuffer inPlaceReceiveBuffer()
+    {
+        if (null == inPlaceTermSlices || ACTIVE != state)
+        {
+            return null;
+        }
+
+        final long position = hwmPosition.get();
+        final int termOffset = (int)position & termLengthMask;
+        final int index = indexByPosition(position, positionBitsToShift);
+
+        if (((termLengthMask + 1) - termOffset) < Configuration.MAX_UDP_PAYLOAD_LENGTH ||
+            0 != termBuffers[index].getInt(termOffset))
+        {
+            return null;
+        }
+
+        inPlaceReceivePosition = position;
+
+        final ByteBuffer termSlice = inPlaceTermSlices[index];
+        termSlice.limit(termOffset + Configuration.MAX_UDP_PAYLOAD_LENGTH).position(termOffset + HEADER_LENGTH);
+
+        return termSlice;
+    }
+
+    /**
+     * Is a packet, with its header received separately and its body received into the view returned from
+     * {@link #inPlaceReceiveBuffer()}, the next in order data packet for this image.
+     *
+     * @param header of the packet received.
+     * @param length of the packet including the header.
+     * @return true if the packet is the next in order data for this image and can be committed in place.
+     */
+    public boolean isInPlacePacket(final DataHeaderFlyweight header, final int length)
+    {
+        return length >= HEADER_LENGTH &&
+            DataHeaderFlyweight.CURRENT_VERSION == header.version() &&
+            DataHeaderFlyweight.HDR_TYPE_DATA == header.headerType() &&
+            header.frameLength() > 0 &&
+            header.sessionId() == sessionId &&
+            header.streamId() == streamId &&
+            computePosition(header.termId(), header.termOffset(), positionBitsToShift, initialTermId) ==
+            inPlaceReceivePosition;
+    }
+
+    /**
+     * Commit a packet which has had its body received in place by writing its header into the term, the same as
+     * inserting a packet from a receive buffer without copying the body.
+     *
+     * @param header         of the packet received which passed {@link #isInPlacePacket}.
+     * @param length         of the packet including the header.
+     * @param transportIndex from which the packet was received.
+     * @param srcAddress     from which the packet was received.
+     * @return number of bytes applied as a result of this insertion.
+     */
+    public int insertPacketInPlace(
+        final DataHeaderFlyweight header,
+        final int length,
+        final int transportIndex,
+        final InetSocketAddress srcAddress)
+    {
+        return insertPacket(header.termId(), header.termOffset(), header, length, transportIndex, srcAddress, true);
+    }
+
+    /**
+     * Abort a packet which had its body received in place but is not the next in order data for this image. The body
+     * is moved after the header in the buffer the header was received into, so the packet can be processed as if
+     * it had been received there, and the term is returned to being clean.
+     *
+     * @param buffer into which the header was received and which will have the body moved after it.
+     * @param length of the packet including the header.
+     */
+    public void abortInPlaceReceive(final UnsafeBuffer buffer, final int length)
+    {
+        final int bodyLength = length - HEADER_LENGTH;
+        if (bodyLength > 0)
+        {
+            final long position = inPlaceReceivePosition;
+            final UnsafeBuffer termBuffer = termBuffers[indexByPosition(position, positionBitsToShift)];
+            final int bodyOffset = ((int)position & termLengthMask) + HEADER_LENGTH;
+
+            buffer.putBytes(HEADER_LENGTH, termBuffer, bodyOffset, bodyLength);
+            termBuffer.setMemory(bodyOffset, bodyLength, (byte)0);
+        }
+    }
+
+    private int insertPacket(
+        final int termId,
+        final int termOffset,
+        final UnsafeBuffer buffer,
+        final int length,
+        final int transportIndex,
+        final InetSocketAddress srcAddress,
+        final boolean isInPlace)
     {
         final boolean isHeartbeat = DataHeaderFlyweight.isHeartbeat(buffer, length);
         final long packetPosition = computePosition(termId, termOffset, positionBitsToShift, initialTermId);
         final long proposedPosition = isHeartbeat ? packetPosition : packetPosition + length;
         final long windowPosition = nextSmPosition;
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(packetPosition, positionBitsToShift)];
 
         if (!isFlowControlUnderRun(windowPosition, packetPosition) &&
             !isFlowControlOverRun(windowPosition, proposedPosition))
@@ -511,22 +768,86 @@ public class PublicationImage
                     LogBufferDescriptor.endOfStreamPosition(rawLog.metaData(), packetPosition);
                 }
 
-                heartbeatsReceived.incrementOrdered();
+                heartbeatsReceived.increment();
+            }
+            else if (isInPlace)
+            {
+                termBuffer.putLong(termOffset + 24, buffer.getLong(24));
+                termBuffer.putLong(termOffset + 16, buffer.getLong(16));
+                termBuffer.putLong(termOffset + 8, buffer.getLong(8));
+
+                termBuffer.putLongOrdered(termOffset, buffer.getLong(0));
             }
             else
             {
-                final UnsafeBuffer termBuffer = termBuffers[indexByPosition(packetPosition, positionBitsToShift)];
+                if (packetPosition < lossGapEndPosition && 0 == termBuffer.getInt(termOffset))
+                {
+                    retransmitRecoveries.increment();
+                }
+
                 TermRebuilder.insert(termBuffer, termOffset, buffer, length);
             }
 
+            if (null != receiveLatency && !isHeartbeat && proposedPosition > hwmPosition.get())
+            {
+                receiveLatency.onPacket(proposedPosition, channelEndpoint.receiveTimestampNs());
+            }
+
             lastPacketTimestampNs = cachedNanoClock.nanoTime();
             hwmPosition.proposeMaxOrdered(proposedPosition);
             updateControlAddress(transportIndex, srcAddress, lastPacketTimestampNs);
         }
+        else if (isInPlace)
+        {
+            termBuffer.setMemory(termOffset + HEADER_LENGTH, length - HEADER_LENGTH, (byte)0);
+        }
 
         return length;
     }
 
+    /**
+     * Called from the {@link Receiver} thread when a FEC parity frame is received for the image.
+     *
+     * @param header of the parity frame.
+     * @param buffer containing the parity frame.
+     * @param length of the received packet.
+     */
+    void onFecMessage(final FecFlyweight header, final UnsafeBuffer buffer, final int length)
+    {
+        if (null == fecDecoder)
+        {
+            fecDecoder = new FecDecoder(
+                sessionId,
+                streamId,
+                initialTermId,
+                termLengthMask + 1,
+                positionBitsToShift,
+                LogBufferDescriptor.mtuLength(rawLog.metaData()),
+                systemCounters);
+        }
+
+        fecDecoder.onParityFrame(header, buffer, length, rebuildPosition.getVolatile());
+        lastPacketTimestampNs = cachedNanoClock.nanoTime();
+    }
+
+    /**
+     * Called from the {@link Receiver} thread to recover any missing datagrams from FEC parity frames before they
+     * are NAKed.
+     *
+     * @return number of work items processed.
+     */
+    int processPendingFec()
+    {
+        int workCount = 0;
+
+        if (null != fecDecoder)
+        {
+            workCount = fecDecoder.processPendingGroups(termBuffers, rebuildPosition.getVolatile(), hwmPosition);
+        }
+
+        return workCount;
+    }
+
     /**
      * To be called from the {@link Receiver} to see if a image should be retained.
      *
@@ -574,7 +895,7 @@ public class PublicationImage
                     channelEndpoint.sendStatusMessage(
                         controlAddresses, sessionId, streamId, termId, termOffset, receiverWindowLength, (byte)0);
 
-                    statusMessagesSent.incrementOrdered();
+                    statusMessagesSent.increment();
 
                     lastSmChangeNumber = changeNumber;
                 }
@@ -599,8 +920,12 @@ public class PublicationImage
         if (changeNumber != lastLossChangeNumber)
         {
             final int termId = lossTermId;
-            final int termOffset = lossTermOffset;
-            final int length = lossLength;
+            final int gapCount = Math.min(lossGapCount, nakTermOffsets.length);
+            for (int i = 0; i < gapCount; i++)
+            {
+                nakTermOffsets[i] = lossTermOffsets[i];
+                nakLengths[i] = lossLengths[i];
+            }
 
             UNSAFE.loadFence(); // LoadLoad required so previous loads don't move past version check below.
 
@@ -608,15 +933,28 @@ public class PublicationImage
             {
                 if (isReliable)
                 {
-                    channelEndpoint.sendNakMessage(controlAddresses, sessionId, streamId, termId, termOffset, length);
-                    nakMessagesSent.incrementOrdered();
+                    if (1 == gapCount)
+                    {
+                        channelEndpoint.sendNakMessage(
+                            controlAddresses, sessionId, streamId, termId, nakTermOffsets[0], nakLengths[0]);
+                    }
+                    else
+                    {
+                        channelEndpoint.sendNakMessage(
+                            controlAddresses, sessionId, streamId, termId, nakTermOffsets, nakLengths, gapCount);
+                    }
+
+                    nakMessagesSent.increment();
                 }
                 else
                 {
                     final UnsafeBuffer termBuffer = termBuffers[indexByTerm(initialTermId, termId)];
-                    if (tryFillGap(rawLog.metaData(), termBuffer, termId, termOffset, length))
+                    for (int i = 0; i < gapCount; i++)
                     {
-                        lossGapFills.incrementOrdered();
+                        if (tryFillGap(rawLog.metaData(), termBuffer, termId, nakTermOffsets[i], nakLengths[i]))
+                        {
+                            lossGapFills.increment();
+                        }
                     }
                 }
 
@@ -665,6 +1003,7 @@ public class PublicationImage
         final long nowNs = nanoClock.nanoTime();
         final long rttInNs = nowNs - header.echoTimestampNs() - header.receptionDelta();
 
+        lastRttNs = rttInNs;
         congestionControl.onRttMeasurement(nowNs, rttInNs, srcAddress);
     }
 
@@ -738,7 +1077,7 @@ public class PublicationImage
 
         if (isFlowControlUnderRun)
         {
-            flowControlUnderRuns.incrementOrdered();
+            flowControlUnderRuns.increment();
         }
 
         return isFlowControlUnderRun;
@@ -750,7 +1089,7 @@ public class PublicationImage
 
         if (isFlowControlOverRun)
         {
-            flowControlOverRuns.incrementOrdered();
+            flowControlOverRuns.increment();
         }
 
         return isFlowControlOverRun;
@@ -759,7 +1098,7 @@ public class PublicationImage
     private void cleanBufferTo(final long newCleanPosition)
     {
         final long cleanPosition = this.cleanPosition;
-        final int bytesForCleaning = (int)(newCleanPosition - cleanPosition);
+        final int bytesForCleaning = (int)Math.min(newCleanPosition - cleanPosition, termCleanMaxLength);
         final UnsafeBuffer dirtyTerm = termBuffers[indexByPosition(cleanPosition, positionBitsToShift)];
         final int termOffset = (int)cleanPosition & termLengthMask;
         final int length = Math.min(bytesForCleaning, dirtyTerm.capacity() - termOffset);
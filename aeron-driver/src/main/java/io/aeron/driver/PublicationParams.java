@@ -19,6 +19,7 @@ import io.aeron.driver.buffer.RawLog;
 import io.aeron.ChannelUri;
 import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.protocol.FecFlyweight;
 import org.agrona.SystemUtil;
 
 import static io.aeron.ChannelUri.INVALID_TAG;
@@ -30,6 +31,10 @@ final class PublicationParams
     long tag = ChannelUri.INVALID_TAG;
     int termLength;
     int mtuLength;
+    int fecGroupSize = 0;
+    long pacingRate;
+    int pacingBurst;
+    int priority;
     int initialTermId = 0;
     int termId = 0;
     int termOffset = 0;
@@ -43,6 +48,9 @@ final class PublicationParams
         termLength = isIpc ? context.ipcTermBufferLength() : context.publicationTermBufferLength();
         mtuLength = isIpc ? context.ipcMtuLength() : context.mtuLength();
         lingerTimeoutNs = context.publicationLingerTimeoutNs();
+        pacingRate = context.publicationPacingRate();
+        pacingBurst = context.publicationPacingBurst();
+        priority = context.publicationPriority();
     }
 
     private void getTag(final ChannelUri channelUri, final DriverConductor driverConductor)
@@ -80,6 +88,62 @@ final class PublicationParams
         }
     }
 
+    private void getFecGroupSize(final ChannelUri channelUri)
+    {
+        final String fecParam = channelUri.get(FEC_GROUP_SIZE_PARAM_NAME);
+        if (null != fecParam)
+        {
+            final int fecGroupSize = Integer.parseInt(fecParam);
+            if (fecGroupSize < 0 || fecGroupSize > FecFlyweight.MAX_DATAGRAM_COUNT)
+            {
+                throw new IllegalArgumentException(
+                    FEC_GROUP_SIZE_PARAM_NAME + "=" + fecGroupSize + " must be in range 0.." +
+                    FecFlyweight.MAX_DATAGRAM_COUNT);
+            }
+
+            if (FecFlyweight.computeFrameLength(fecGroupSize, mtuLength) > Configuration.MAX_UDP_PAYLOAD_LENGTH)
+            {
+                throw new IllegalArgumentException(
+                    FEC_GROUP_SIZE_PARAM_NAME + "=" + fecGroupSize + " parity frame too long for mtu=" + mtuLength);
+            }
+
+            this.fecGroupSize = fecGroupSize;
+        }
+    }
+
+    private void getPacing(final ChannelUri channelUri)
+    {
+        final String pacingRateParam = channelUri.get(PACING_RATE_PARAM_NAME);
+        if (null != pacingRateParam)
+        {
+            pacingRate = SystemUtil.parseSize(PACING_RATE_PARAM_NAME, pacingRateParam);
+        }
+
+        final String pacingBurstParam = channelUri.get(PACING_BURST_PARAM_NAME);
+        if (null != pacingBurstParam)
+        {
+            pacingBurst = (int)SystemUtil.parseSize(PACING_BURST_PARAM_NAME, pacingBurstParam);
+        }
+
+        Configuration.validatePublicationPacing(pacingRate, pacingBurst);
+    }
+
+    private void getPriority(final ChannelUri channelUri, final int priorityClasses)
+    {
+        final String priorityParam = channelUri.get(PRIORITY_PARAM_NAME);
+        if (null != priorityParam)
+        {
+            final int priority = Integer.parseInt(priorityParam);
+            if (priority < 0 || priority >= priorityClasses)
+            {
+                throw new IllegalArgumentException(
+                    PRIORITY_PARAM_NAME + "=" + priority + " must be in range 0.." + (priorityClasses - 1));
+            }
+
+            this.priority = priority;
+        }
+    }
+
     private void getLingerTimeoutNs(final ChannelUri channelUri)
     {
         final String lingerParam = channelUri.get(LINGER_PARAM_NAME);
@@ -204,6 +268,12 @@ final class PublicationParams
         params.getTermBufferLength(channelUri);
         params.getMtuLength(channelUri);
         params.getLingerTimeoutNs(channelUri);
+        if (!isIpc)
+        {
+            params.getFecGroupSize(channelUri);
+            params.getPacing(channelUri);
+            params.getPriority(channelUri, context.senderPriorityClasses());
+        }
 
         if (isExclusive)
         {
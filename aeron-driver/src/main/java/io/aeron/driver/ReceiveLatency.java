@@ -0,0 +1,180 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+import static io.aeron.driver.status.ReceiveLatencyIndicator.*;
+
+/**
+ * Receive side latency of a {@link PublicationImage} when receive timestamps are enabled.
+ * <p>
+ * The {@link Receiver} records the timestamp taken by the {@link io.aeron.driver.media.DataTransportPoller} for each
+ * packet which advances the image, into a histogram of inter-arrival jitter and into a side ring of position and
+ * timestamp. The {@link DriverConductor} drains the ring as the slowest subscriber position passes each position,
+ * recording the delay from receipt until consumption into a second histogram. This delay is to within a duty cycle
+ * of the conductor as subscriber positions are only observed when it tracks the image. Samples are dropped when the
+ * ring is full.
+ * <p>
+ * Each thread publishes the 50th and 99th percentiles and max of its histogram to counters and resets it after
+ * every interval.
+ */
+final class ReceiveLatency implements AutoCloseable
+{
+    private static final int RING_CAPACITY = 4096;
+    private static final int RING_MASK = RING_CAPACITY - 1;
+
+    private final long intervalNs;
+    private final long[] ringPositions = new long[RING_CAPACITY];
+    private final long[] ringTimestampsNs = new long[RING_CAPACITY];
+    private volatile long ringHead;
+    private volatile long ringTail;
+
+    private final LatencyHistogram delayHistogram = new LatencyHistogram();
+    private final AtomicCounter delayP50;
+    private final AtomicCounter delayP99;
+    private final AtomicCounter delayMax;
+    private long timeOfLastDelayPublishNs;
+
+    private final LatencyHistogram jitterHistogram = new LatencyHistogram();
+    private final AtomicCounter jitterP50;
+    private final AtomicCounter jitterP99;
+    private final AtomicCounter jitterMax;
+    private long timeOfLastJitterPublishNs;
+    private long lastArrivalNs;
+    private long lastInterArrivalNs = -1;
+
+    ReceiveLatency(
+        final MutableDirectBuffer tempBuffer,
+        final CountersManager countersManager,
+        final long registrationId,
+        final int sessionId,
+        final int streamId,
+        final String channel,
+        final long intervalNs,
+        final long nowNs)
+    {
+        this.intervalNs = intervalNs;
+        timeOfLastDelayPublishNs = nowNs;
+        timeOfLastJitterPublishNs = nowNs;
+
+        delayP50 = allocate(
+            tempBuffer, DELAY_P50_NAME, countersManager, registrationId, sessionId, streamId, channel);
+        delayP99 = allocate(
+            tempBuffer, DELAY_P99_NAME, countersManager, registrationId, sessionId, streamId, channel);
+        delayMax = allocate(
+            tempBuffer, DELAY_MAX_NAME, countersManager, registrationId, sessionId, streamId, channel);
+        jitterP50 = allocate(
+            tempBuffer, JITTER_P50_NAME, countersManager, registrationId, sessionId, streamId, channel);
+        jitterP99 = allocate(
+            tempBuffer, JITTER_P99_NAME, countersManager, registrationId, sessionId, streamId, channel);
+        jitterMax = allocate(
+            tempBuffer, JITTER_MAX_NAME, countersManager, registrationId, sessionId, streamId, channel);
+    }
+
+    public void close()
+    {
+        delayP50.close();
+        delayP99.close();
+        delayMax.close();
+        jitterP50.close();
+        jitterP99.close();
+        jitterMax.close();
+    }
+
+    /**
+     * Called from the {@link Receiver} thread when a packet advances the image.
+     *
+     * @param position    of the end of the packet in the stream.
+     * @param timestampNs at which the packet was received.
+     */
+    void onPacket(final long position, final long timestampNs)
+    {
+        if (0 != lastArrivalNs)
+        {
+            final long interArrivalNs = timestampNs - lastArrivalNs;
+            if (-1 != lastInterArrivalNs)
+            {
+                jitterHistogram.record(Math.abs(interArrivalNs - lastInterArrivalNs));
+            }
+
+            lastInterArrivalNs = interArrivalNs;
+        }
+
+        lastArrivalNs = timestampNs;
+
+        final long tail = ringTail;
+        if ((tail - ringHead) < RING_CAPACITY)
+        {
+            final int index = (int)tail & RING_MASK;
+            ringPositions[index] = position;
+            ringTimestampsNs[index] = timestampNs;
+            ringTail = tail + 1;
+        }
+
+        if ((timestampNs - timeOfLastJitterPublishNs) >= intervalNs)
+        {
+            publish(jitterHistogram, jitterP50, jitterP99, jitterMax);
+            timeOfLastJitterPublishNs = timestampNs;
+        }
+    }
+
+    /**
+     * Called from the {@link DriverConductor} with the position the slowest subscriber has consumed up to.
+     *
+     * @param position consumed by the slowest subscriber.
+     * @param nowNs    current time.
+     */
+    void onConsumed(final long position, final long nowNs)
+    {
+        final long tail = ringTail;
+        long head = ringHead;
+
+        while (head < tail)
+        {
+            final int index = (int)head & RING_MASK;
+            if (ringPositions[index] > position)
+            {
+                break;
+            }
+
+            delayHistogram.record(nowNs - ringTimestampsNs[index]);
+            head++;
+        }
+
+        ringHead = head;
+
+        if ((nowNs - timeOfLastDelayPublishNs) >= intervalNs)
+        {
+            publish(delayHistogram, delayP50, delayP99, delayMax);
+            timeOfLastDelayPublishNs = nowNs;
+        }
+    }
+
+    private static void publish(
+        final LatencyHistogram histogram,
+        final AtomicCounter p50,
+        final AtomicCounter p99,
+        final AtomicCounter max)
+    {
+        p50.setOrdered(histogram.valueAtPercentile(50.0));
+        p99.setOrdered(histogram.valueAtPercentile(99.0));
+        max.setOrdered(histogram.maxValue());
+        histogram.reset();
+    }
+}
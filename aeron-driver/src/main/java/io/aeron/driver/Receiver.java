@@ -18,6 +18,7 @@ package io.aeron.driver;
 import io.aeron.driver.media.DataTransportPoller;
 import io.aeron.driver.media.ReceiveChannelEndpoint;
 import io.aeron.driver.media.ReceiveDestinationUdpTransport;
+import io.aeron.driver.media.StatusMessageBatch;
 import io.aeron.driver.media.UdpChannel;
 import org.agrona.CloseHelper;
 import org.agrona.collections.ArrayListUtil;
@@ -45,6 +46,8 @@ public class Receiver implements Agent
     private final ArrayList<PublicationImage> publicationImages = new ArrayList<>();
     private final ArrayList<PendingSetupMessageFromSource> pendingSetupMessages = new ArrayList<>();
     private final DriverConductorProxy conductorProxy;
+    private final StatusMessageBatch statusMessageBatch;
+    private final boolean isSharded;
 
     public Receiver(final MediaDriver.Context ctx)
     {
@@ -53,6 +56,8 @@ public class Receiver implements Agent
         totalBytesReceived = ctx.systemCounters().get(BYTES_RECEIVED);
         nanoClock = ctx.cachedNanoClock();
         conductorProxy = ctx.driverConductorProxy();
+        statusMessageBatch = ctx.receiveChannelEndpointThreadLocals().statusMessageBatch();
+        isSharded = ctx.receiverShardCount() > 1;
     }
 
     public void onClose()
@@ -69,7 +74,14 @@ public class Receiver implements Agent
     {
         int workCount = commandQueue.drain(Runnable::run, Configuration.COMMAND_DRAIN_LIMIT);
         final int bytesReceived = dataTransportPoller.pollTransports();
-        totalBytesReceived.getAndAddOrdered(bytesReceived);
+        if (isSharded)
+        {
+            totalBytesReceived.getAndAdd(bytesReceived);
+        }
+        else
+        {
+            totalBytesReceived.getAndAddOrdered(bytesReceived);
+        }
         final long nowNs = nanoClock.nanoTime();
 
         final ArrayList<PublicationImage> publicationImages = this.publicationImages;
@@ -79,6 +91,7 @@ public class Receiver implements Agent
             if (image.hasActivityAndNotEndOfStream(nowNs))
             {
                 workCount += image.sendPendingStatusMessage();
+                workCount += image.processPendingFec();
                 workCount += image.processPendingLoss();
                 workCount += image.initiateAnyRttMeasurements(nowNs);
             }
@@ -89,6 +102,11 @@ public class Receiver implements Agent
             }
         }
 
+        if (null != statusMessageBatch)
+        {
+            workCount += statusMessageBatch.flush();
+        }
+
         checkPendingSetupMessages(nowNs);
 
         return workCount + bytesReceived;
@@ -27,151 +27,221 @@ import static io.aeron.driver.ThreadingMode.SHARED;
 
 /**
  * Proxy for offering into the {@link Receiver} Thread's command queue.
+ * <p>
+ * When the receiver is sharded then commands are routed to the shard which services the
+ * {@link ReceiveChannelEndpoint} as given by {@link ReceiveChannelEndpoint#receiverShardIndex()}. Subscription and
+ * lifecycle commands for an endpoint which is fanned in are routed to each of its
+ * {@link ReceiveChannelEndpoint#fanInEndpoints()}.
  */
 public class ReceiverProxy
 {
     private final ThreadingMode threadingMode;
-    private final Queue<Runnable> commandQueue;
+    private final Queue<Runnable>[] commandQueues;
+    private final Receiver[] receivers;
     private final AtomicCounter failCount;
 
-    private Receiver receiver;
-
+    @SuppressWarnings("unchecked")
     public ReceiverProxy(
         final ThreadingMode threadingMode, final Queue<Runnable> commandQueue, final AtomicCounter failCount)
+    {
+        this(threadingMode, new Queue[]{ commandQueue }, failCount);
+    }
+
+    public ReceiverProxy(
+        final ThreadingMode threadingMode, final Queue<Runnable>[] commandQueues, final AtomicCounter failCount)
     {
         this.threadingMode = threadingMode;
-        this.commandQueue = commandQueue;
+        this.commandQueues = commandQueues;
+        this.receivers = new Receiver[commandQueues.length];
         this.failCount = failCount;
     }
 
     public void receiver(final Receiver receiver)
     {
-        this.receiver = receiver;
+        receivers[0] = receiver;
     }
 
     public Receiver receiver()
     {
-        return receiver;
+        return receivers[0];
+    }
+
+    public void receiver(final int shardIndex, final Receiver receiver)
+    {
+        receivers[shardIndex] = receiver;
+    }
+
+    public Receiver receiver(final int shardIndex)
+    {
+        return receivers[shardIndex];
     }
 
     public void addSubscription(final ReceiveChannelEndpoint mediaEndpoint, final int streamId)
     {
-        if (notConcurrent())
+        for (final ReceiveChannelEndpoint endpoint : mediaEndpoint.fanInEndpoints())
         {
-            receiver.onAddSubscription(mediaEndpoint, streamId);
-        }
-        else
-        {
-            offer(() -> receiver.onAddSubscription(mediaEndpoint, streamId));
+            final int shardIndex = endpoint.receiverShardIndex();
+            final Receiver receiver = receivers[shardIndex];
+
+            if (notConcurrent())
+            {
+                receiver.onAddSubscription(endpoint, streamId);
+            }
+            else
+            {
+                offer(shardIndex, () -> receiver.onAddSubscription(endpoint, streamId));
+            }
         }
     }
 
     public void addSubscription(final ReceiveChannelEndpoint mediaEndpoint, final int streamId, final int sessionId)
     {
-        if (notConcurrent())
+        for (final ReceiveChannelEndpoint endpoint : mediaEndpoint.fanInEndpoints())
         {
-            receiver.onAddSubscription(mediaEndpoint, streamId, sessionId);
-        }
-        else
-        {
-            offer(() -> receiver.onAddSubscription(mediaEndpoint, streamId, sessionId));
+            final int shardIndex = endpoint.receiverShardIndex();
+            final Receiver receiver = receivers[shardIndex];
+
+            if (notConcurrent())
+            {
+                receiver.onAddSubscription(endpoint, streamId, sessionId);
+            }
+            else
+            {
+                offer(shardIndex, () -> receiver.onAddSubscription(endpoint, streamId, sessionId));
+            }
         }
     }
 
     public void removeSubscription(final ReceiveChannelEndpoint mediaEndpoint, final int streamId)
     {
-        if (notConcurrent())
+        for (final ReceiveChannelEndpoint endpoint : mediaEndpoint.fanInEndpoints())
         {
-            receiver.onRemoveSubscription(mediaEndpoint, streamId);
-        }
-        else
-        {
-            offer(() -> receiver.onRemoveSubscription(mediaEndpoint, streamId));
+            final int shardIndex = endpoint.receiverShardIndex();
+            final Receiver receiver = receivers[shardIndex];
+
+            if (notConcurrent())
+            {
+                receiver.onRemoveSubscription(endpoint, streamId);
+            }
+            else
+            {
+                offer(shardIndex, () -> receiver.onRemoveSubscription(endpoint, streamId));
+            }
         }
     }
 
     public void removeSubscription(final ReceiveChannelEndpoint mediaEndpoint, final int streamId, final int sessionId)
     {
-        if (notConcurrent())
+        for (final ReceiveChannelEndpoint endpoint : mediaEndpoint.fanInEndpoints())
         {
-            receiver.onRemoveSubscription(mediaEndpoint, streamId, sessionId);
-        }
-        else
-        {
-            offer(() -> receiver.onRemoveSubscription(mediaEndpoint, streamId, sessionId));
+            final int shardIndex = endpoint.receiverShardIndex();
+            final Receiver receiver = receivers[shardIndex];
+
+            if (notConcurrent())
+            {
+                receiver.onRemoveSubscription(endpoint, streamId, sessionId);
+            }
+            else
+            {
+                offer(shardIndex, () -> receiver.onRemoveSubscription(endpoint, streamId, sessionId));
+            }
         }
     }
 
     public void newPublicationImage(final ReceiveChannelEndpoint channelEndpoint, final PublicationImage image)
     {
+        final int shardIndex = channelEndpoint.receiverShardIndex();
+        final Receiver receiver = receivers[shardIndex];
+
         if (notConcurrent())
         {
             receiver.onNewPublicationImage(channelEndpoint, image);
         }
         else
         {
-            offer(() -> receiver.onNewPublicationImage(channelEndpoint, image));
+            offer(shardIndex, () -> receiver.onNewPublicationImage(channelEndpoint, image));
         }
     }
 
     public void registerReceiveChannelEndpoint(final ReceiveChannelEndpoint channelEndpoint)
     {
-        if (notConcurrent())
-        {
-            receiver.onRegisterReceiveChannelEndpoint(channelEndpoint);
-        }
-        else
+        for (final ReceiveChannelEndpoint endpoint : channelEndpoint.fanInEndpoints())
         {
-            offer(() -> receiver.onRegisterReceiveChannelEndpoint(channelEndpoint));
+            final int shardIndex = endpoint.receiverShardIndex();
+            final Receiver receiver = receivers[shardIndex];
+
+            if (notConcurrent())
+            {
+                receiver.onRegisterReceiveChannelEndpoint(endpoint);
+            }
+            else
+            {
+                offer(shardIndex, () -> receiver.onRegisterReceiveChannelEndpoint(endpoint));
+            }
         }
     }
 
     public void closeReceiveChannelEndpoint(final ReceiveChannelEndpoint channelEndpoint)
     {
-        if (notConcurrent())
+        for (final ReceiveChannelEndpoint endpoint : channelEndpoint.fanInEndpoints())
         {
-            receiver.onCloseReceiveChannelEndpoint(channelEndpoint);
-        }
-        else
-        {
-            offer(() -> receiver.onCloseReceiveChannelEndpoint(channelEndpoint));
+            final int shardIndex = endpoint.receiverShardIndex();
+            final Receiver receiver = receivers[shardIndex];
+
+            if (notConcurrent())
+            {
+                receiver.onCloseReceiveChannelEndpoint(endpoint);
+            }
+            else
+            {
+                offer(shardIndex, () -> receiver.onCloseReceiveChannelEndpoint(endpoint));
+            }
         }
     }
 
     public void removeCoolDown(final ReceiveChannelEndpoint channelEndpoint, final int sessionId, final int streamId)
     {
+        final int shardIndex = channelEndpoint.receiverShardIndex();
+        final Receiver receiver = receivers[shardIndex];
+
         if (notConcurrent())
         {
             receiver.onRemoveCoolDown(channelEndpoint, sessionId, streamId);
         }
         else
         {
-            offer(() -> receiver.onRemoveCoolDown(channelEndpoint, sessionId, streamId));
+            offer(shardIndex, () -> receiver.onRemoveCoolDown(channelEndpoint, sessionId, streamId));
         }
     }
 
     public void addDestination(
         final ReceiveChannelEndpoint channelEndpoint, final ReceiveDestinationUdpTransport transport)
     {
+        final int shardIndex = channelEndpoint.receiverShardIndex();
+        final Receiver receiver = receivers[shardIndex];
+
         if (notConcurrent())
         {
             receiver.onAddDestination(channelEndpoint, transport);
         }
         else
         {
-            offer(() -> receiver.onAddDestination(channelEndpoint, transport));
+            offer(shardIndex, () -> receiver.onAddDestination(channelEndpoint, transport));
         }
     }
 
     public void removeDestination(final ReceiveChannelEndpoint channelEndpoint, final UdpChannel udpChannel)
     {
+        final int shardIndex = channelEndpoint.receiverShardIndex();
+        final Receiver receiver = receivers[shardIndex];
+
         if (notConcurrent())
         {
             receiver.onRemoveDestination(channelEndpoint, udpChannel);
         }
         else
         {
-            offer(() -> receiver.onRemoveDestination(channelEndpoint, udpChannel));
+            offer(shardIndex, () -> receiver.onRemoveDestination(channelEndpoint, udpChannel));
         }
     }
 
@@ -180,8 +250,9 @@ public class ReceiverProxy
         return threadingMode == SHARED || threadingMode == INVOKER;
     }
 
-    private void offer(final Runnable cmd)
+    private void offer(final int shardIndex, final Runnable cmd)
     {
+        final Queue<Runnable> commandQueue = commandQueues[shardIndex];
         while (!commandQueue.offer(cmd))
         {
             failCount.incrementOrdered();
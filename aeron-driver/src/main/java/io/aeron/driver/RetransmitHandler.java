@@ -17,29 +17,45 @@ package io.aeron.driver;
 
 import io.aeron.driver.status.SystemCounters;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.NakFlyweight;
 import org.agrona.collections.BiInt2ObjectMap;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.concurrent.NanoClock;
 
+import java.util.concurrent.TimeUnit;
+
 import static io.aeron.driver.Configuration.MAX_RETRANSMITS_DEFAULT;
+import static io.aeron.driver.Configuration.RETRANSMIT_RATE_DEFAULT;
 import static io.aeron.driver.RetransmitHandler.State.DELAYED;
 import static io.aeron.driver.RetransmitHandler.State.LINGERING;
 import static io.aeron.driver.status.SystemCounterDescriptor.INVALID_PACKETS;
+import static io.aeron.driver.status.SystemCounterDescriptor.RETRANSMITS_COALESCED;
+import static io.aeron.driver.status.SystemCounterDescriptor.RETRANSMITS_SUPPRESSED;
 
 /**
  * Tracking and handling of retransmit request, NAKs, for senders, and receivers.
  * <p>
- * A max number of retransmits is permitted by {@link Configuration#MAX_RETRANSMITS_DEFAULT}. Additional received NAKs
- * will be ignored if this maximum is reached.
+ * A max number of retransmits is permitted, defaulting to {@link Configuration#MAX_RETRANSMITS_DEFAULT}. NAKs which
+ * overlap an active retransmit are coalesced into it. When the maximum is reached a NAK adjacent to a delayed
+ * retransmit will extend it, otherwise the NAK is suppressed. Retransmits can be limited to a rate in bytes per
+ * second, with those exceeding the budget being suppressed, so the NAK will need to be repeated by the receiver.
  */
 public class RetransmitHandler
 {
+    private static final long BUDGET_PERIOD_NS = TimeUnit.SECONDS.toNanos(1);
+
     private final BiInt2ObjectMap<RetransmitAction> activeRetransmitsMap = new BiInt2ObjectMap<>();
-    private final RetransmitAction[] retransmitActionPool = new RetransmitAction[MAX_RETRANSMITS_DEFAULT];
+    private final RetransmitAction[] retransmitActionPool;
+    private final int maxRetransmits;
+    private final long retransmitRate;
+    private long retransmitBudget;
+    private long budgetUpdateNs;
     private final NanoClock nanoClock;
     private final FeedbackDelayGenerator delayGenerator;
     private final FeedbackDelayGenerator lingerTimeoutGenerator;
     private final AtomicCounter invalidPackets;
+    private final AtomicCounter retransmitsSuppressed;
+    private final AtomicCounter retransmitsCoalesced;
 
     /**
      * Create a retransmit handler.
@@ -54,13 +70,47 @@ public class RetransmitHandler
         final SystemCounters systemCounters,
         final FeedbackDelayGenerator delayGenerator,
         final FeedbackDelayGenerator lingerTimeoutGenerator)
+    {
+        this(
+            nanoClock,
+            systemCounters,
+            delayGenerator,
+            lingerTimeoutGenerator,
+            MAX_RETRANSMITS_DEFAULT,
+            RETRANSMIT_RATE_DEFAULT);
+    }
+
+    /**
+     * Create a retransmit handler.
+     *
+     * @param nanoClock              used to determine time
+     * @param systemCounters         for recording significant events.
+     * @param delayGenerator         to use for delay determination
+     * @param lingerTimeoutGenerator to use for linger timeout
+     * @param maxRetransmits         which can be active at the same time.
+     * @param retransmitRate         max in bytes per second, or 0 for unlimited.
+     */
+    public RetransmitHandler(
+        final NanoClock nanoClock,
+        final SystemCounters systemCounters,
+        final FeedbackDelayGenerator delayGenerator,
+        final FeedbackDelayGenerator lingerTimeoutGenerator,
+        final int maxRetransmits,
+        final long retransmitRate)
     {
         this.nanoClock = nanoClock;
         this.invalidPackets = systemCounters.get(INVALID_PACKETS);
+        this.retransmitsSuppressed = systemCounters.get(RETRANSMITS_SUPPRESSED);
+        this.retransmitsCoalesced = systemCounters.get(RETRANSMITS_COALESCED);
         this.delayGenerator = delayGenerator;
         this.lingerTimeoutGenerator = lingerTimeoutGenerator;
+        this.maxRetransmits = maxRetransmits;
+        this.retransmitRate = retransmitRate;
+        this.retransmitBudget = retransmitRate;
+        this.budgetUpdateNs = nanoClock.nanoTime();
 
-        for (int i = 0; i < MAX_RETRANSMITS_DEFAULT; i++)
+        retransmitActionPool = new RetransmitAction[maxRetransmits];
+        for (int i = 0; i < maxRetransmits; i++)
         {
             retransmitActionPool[i] = new RetransmitAction();
         }
@@ -84,30 +134,69 @@ public class RetransmitHandler
     {
         if (!isInvalid(termOffset, termLength))
         {
-            if (null == activeRetransmitsMap.get(termId, termOffset) &&
-                activeRetransmitsMap.size() < MAX_RETRANSMITS_DEFAULT)
+            final int nakLength = Math.min(length, termLength - termOffset);
+            if (coalesce(termId, termOffset, nakLength, activeRetransmitsMap.size() >= maxRetransmits))
             {
-                final RetransmitAction action = assignRetransmitAction();
-                action.termId = termId;
-                action.termOffset = termOffset;
-                action.length = Math.min(length, termLength - termOffset);
-
-                final long delay = determineRetransmitDelay();
-                if (0 == delay)
+                retransmitsCoalesced.increment();
+            }
+            else if (null == activeRetransmitsMap.get(termId, termOffset))
+            {
+                if (activeRetransmitsMap.size() < maxRetransmits)
                 {
-                    retransmitSender.resend(termId, termOffset, action.length);
-                    action.linger(determineLingerTimeout(), nanoClock.nanoTime());
+                    final RetransmitAction action = assignRetransmitAction();
+                    action.termId = termId;
+                    action.termOffset = termOffset;
+                    action.length = nakLength;
+
+                    final long nowNs = nanoClock.nanoTime();
+                    final long delay = determineRetransmitDelay();
+                    if (0 == delay)
+                    {
+                        if (consumeBudget(nowNs, action.length))
+                        {
+                            retransmitSender.resend(termId, termOffset, action.length);
+                            action.linger(determineLingerTimeout(), nowNs);
+                            activeRetransmitsMap.put(termId, termOffset, action);
+                        }
+                        else
+                        {
+                            action.cancel();
+                            retransmitsSuppressed.increment();
+                        }
+                    }
+                    else
+                    {
+                        action.delay(delay, nowNs);
+                        activeRetransmitsMap.put(termId, termOffset, action);
+                    }
                 }
                 else
                 {
-                    action.delay(delay, nanoClock.nanoTime());
+                    retransmitsSuppressed.increment();
                 }
-
-                activeRetransmitsMap.put(termId, termOffset, action);
             }
         }
     }
 
+    /**
+     * Called on reception of a NAK carrying multiple ranges in the same term to start retransmits handling for each.
+     *
+     * @param msg              for the NAK which contains the ranges
+     * @param rangeCount       of the ranges in the NAK
+     * @param termLength       of the term buffer.
+     * @param retransmitSender to call if an immediate retransmit is required
+     */
+    public void onNak(
+        final NakFlyweight msg, final int rangeCount, final int termLength, final RetransmitSender retransmitSender)
+    {
+        final int termId = msg.termId();
+
+        for (int i = 0; i < rangeCount; i++)
+        {
+            onNak(termId, msg.rangeTermOffset(i), msg.rangeLength(i), termLength, retransmitSender);
+        }
+    }
+
     /**
      * Called to indicate a retransmission is received that may obviate the need to send one ourselves.
      * <p>
@@ -142,8 +231,17 @@ public class RetransmitHandler
             {
                 if (DELAYED == action.state && nowNs > action.expireNs)
                 {
-                    retransmitSender.resend(action.termId, action.termOffset, action.length);
-                    action.linger(determineLingerTimeout(), nanoClock.nanoTime());
+                    if (consumeBudget(nowNs, action.length))
+                    {
+                        retransmitSender.resend(action.termId, action.termOffset, action.length);
+                        action.linger(determineLingerTimeout(), nanoClock.nanoTime());
+                    }
+                    else
+                    {
+                        action.cancel();
+                        activeRetransmitsMap.remove(action.termId, action.termOffset);
+                        retransmitsSuppressed.increment();
+                    }
                 }
                 else if (LINGERING == action.state && nowNs > action.expireNs)
                 {
@@ -154,6 +252,75 @@ public class RetransmitHandler
         }
     }
 
+    private boolean coalesce(final int termId, final int termOffset, final int length, final boolean isAtLimit)
+    {
+        final int endOffset = termOffset + length;
+
+        for (final RetransmitAction action : retransmitActionPool)
+        {
+            if (State.INACTIVE == action.state || termId != action.termId)
+            {
+                continue;
+            }
+
+            final int actionEndOffset = action.termOffset + action.length;
+            final boolean isOverlapping = termOffset < actionEndOffset && endOffset > action.termOffset;
+            final boolean isAdjacent = termOffset == actionEndOffset || endOffset == action.termOffset;
+
+            if (DELAYED == action.state && (isOverlapping || (isAtLimit && isAdjacent)))
+            {
+                final int coalescedOffset = Math.min(termOffset, action.termOffset);
+                if (coalescedOffset != action.termOffset)
+                {
+                    if (null != activeRetransmitsMap.get(termId, coalescedOffset))
+                    {
+                        continue;
+                    }
+
+                    activeRetransmitsMap.remove(termId, action.termOffset);
+                    activeRetransmitsMap.put(termId, coalescedOffset, action);
+                }
+
+                action.length = Math.max(endOffset, actionEndOffset) - coalescedOffset;
+                action.termOffset = coalescedOffset;
+
+                return true;
+            }
+
+            if (LINGERING == action.state && termOffset >= action.termOffset && endOffset <= actionEndOffset)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean consumeBudget(final long nowNs, final int length)
+    {
+        if (0 == retransmitRate)
+        {
+            return true;
+        }
+
+        final long elapsedNs = Math.min(nowNs - budgetUpdateNs, BUDGET_PERIOD_NS);
+        final long replenished = (long)(retransmitRate * ((double)elapsedNs / BUDGET_PERIOD_NS));
+        if (replenished > 0)
+        {
+            retransmitBudget = Math.min(retransmitBudget + replenished, retransmitRate);
+            budgetUpdateNs = nowNs;
+        }
+
+        if (retransmitBudget <= 0)
+        {
+            return false;
+        }
+
+        retransmitBudget -= length;
+
+        return true;
+    }
+
     private boolean isInvalid(final int termOffset, final int termLength)
     {
         final boolean isInvalid = (termOffset > (termLength - DataHeaderFlyweight.HEADER_LENGTH)) || (termOffset < 0);
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Token bucket which paces the rate at which a {@link NetworkPublication} sends data so that bursts do not
+ * overflow switch and receiver buffers.
+ * <p>
+ * Tokens are bytes which accumulate at the pacing rate up to the burst. A send may take the bucket into debt so
+ * that a whole datagram can always be sent once any budget is available.
+ */
+class SendPacer
+{
+    private final long rate;
+    private final long burst;
+    private long tokens;
+    private long lastUpdateNs;
+
+    /**
+     * Construct a pacer for a given rate and burst.
+     *
+     * @param rate      in bytes per second.
+     * @param burst     in bytes which can be sent at once, or 0 for 1ms of the rate.
+     * @param mtuLength of the publication which is the minimum burst.
+     * @param nowNs     current time in nanoseconds.
+     */
+    SendPacer(final long rate, final int burst, final int mtuLength, final long nowNs)
+    {
+        this.rate = rate;
+        this.burst = Math.max(mtuLength, 0 == burst ? rate / 1000 : burst);
+        this.tokens = this.burst;
+        this.lastUpdateNs = nowNs;
+    }
+
+    /**
+     * Bytes which can be sent now after replenishing the bucket for elapsed time.
+     *
+     * @param nowNs current time in nanoseconds.
+     * @return bytes which can be sent now, which may be negative when in debt.
+     */
+    long availableBytes(final long nowNs)
+    {
+        final long elapsedNs = nowNs - lastUpdateNs;
+        final long increment = (long)((double)elapsedNs * rate / SECONDS.toNanos(1));
+        if (increment > 0)
+        {
+            tokens = Math.min(burst, tokens + increment);
+            lastUpdateNs = nowNs;
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Take bytes sent from the bucket.
+     *
+     * @param bytesSent to be taken from the bucket.
+     */
+    void onBytesSent(final int bytesSent)
+    {
+        tokens -= bytesSent;
+    }
+}
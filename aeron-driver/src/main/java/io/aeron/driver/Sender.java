@@ -60,6 +60,9 @@ public class Sender extends SenderRhsPadding implements Agent
     private final AtomicCounter totalBytesSent;
     private final NanoClock nanoClock;
     private final DriverConductorProxy conductorProxy;
+    private final boolean isSharded;
+    private final PriorityClass[] priorityClasses;
+    private final NanoClock waitClock;
 
     private NetworkPublication[] networkPublications = EMPTY_PUBLICATIONS;
 
@@ -72,6 +75,23 @@ public class Sender extends SenderRhsPadding implements Agent
         this.statusMessageReadTimeoutNs = ctx.statusMessageTimeoutNs() / 2;
         this.dutyCycleRatio = Configuration.sendToStatusMessagePollRatio();
         this.conductorProxy = ctx.driverConductorProxy();
+        this.isSharded = ctx.senderShardCount() > 1;
+        this.waitClock = ctx.nanoClock();
+
+        final int priorityClassCount = ctx.senderPriorityClasses();
+        if (priorityClassCount > 1)
+        {
+            priorityClasses = new PriorityClass[priorityClassCount];
+            for (int i = 0; i < priorityClassCount; i++)
+            {
+                priorityClasses[i] = new PriorityClass(
+                    ctx.senderPriorityBytesSent()[i], ctx.senderPriorityWaitTime()[i]);
+            }
+        }
+        else
+        {
+            priorityClasses = null;
+        }
     }
 
     public void onClose()
@@ -117,12 +137,24 @@ public class Sender extends SenderRhsPadding implements Agent
     public void onNewNetworkPublication(final NetworkPublication publication)
     {
         networkPublications = ArrayUtil.add(networkPublications, publication);
+        if (null != priorityClasses)
+        {
+            final PriorityClass priorityClass = priorityClasses[publication.priority()];
+            priorityClass.publications = ArrayUtil.add(priorityClass.publications, publication);
+        }
+
         publication.channelEndpoint().registerForSend(publication);
     }
 
     public void onRemoveNetworkPublication(final NetworkPublication publication)
     {
         networkPublications = ArrayUtil.remove(networkPublications, publication);
+        if (null != priorityClasses)
+        {
+            final PriorityClass priorityClass = priorityClasses[publication.priority()];
+            priorityClass.publications = ArrayUtil.remove(priorityClass.publications, publication);
+        }
+
         publication.channelEndpoint().unregisterForSend(publication);
         publication.senderRelease();
     }
@@ -138,16 +170,82 @@ public class Sender extends SenderRhsPadding implements Agent
     }
 
     private int doSend(final long nowNs)
+    {
+        final int bytesSent;
+        if (null == priorityClasses)
+        {
+            final NetworkPublication[] publications = this.networkPublications;
+            int startingIndex = roundRobinIndex++;
+            if (startingIndex >= publications.length)
+            {
+                roundRobinIndex = startingIndex = 0;
+            }
+
+            bytesSent = send(publications, startingIndex, nowNs);
+        }
+        else
+        {
+            bytesSent = sendByPriority(nowNs);
+        }
+
+        add(totalBytesSent, bytesSent);
+
+        return bytesSent;
+    }
+
+    private int sendByPriority(final long nowNs)
     {
         int bytesSent = 0;
-        final NetworkPublication[] publications = this.networkPublications;
-        final int length = publications.length;
+        long waitNs = 0;
+        final long cycleStartNs = waitClock.nanoTime();
 
-        int startingIndex = roundRobinIndex++;
-        if (startingIndex >= length)
+        for (final PriorityClass priorityClass : priorityClasses)
         {
-            roundRobinIndex = startingIndex = 0;
+            final NetworkPublication[] publications = priorityClass.publications;
+            if (publications.length > 0)
+            {
+                if (waitNs > 0)
+                {
+                    add(priorityClass.waitTime, waitNs);
+                }
+
+                int startingIndex = priorityClass.roundRobinIndex++;
+                if (startingIndex >= publications.length)
+                {
+                    priorityClass.roundRobinIndex = startingIndex = 0;
+                }
+
+                final int classBytesSent = send(publications, startingIndex, nowNs);
+                if (classBytesSent > 0)
+                {
+                    add(priorityClass.bytesSent, classBytesSent);
+                    bytesSent += classBytesSent;
+
+                    // only a class which sent can have kept the classes below it waiting so only then read the clock
+                    waitNs = waitClock.nanoTime() - cycleStartNs;
+                }
+            }
+        }
+
+        return bytesSent;
+    }
+
+    private void add(final AtomicCounter counter, final long delta)
+    {
+        if (isSharded)
+        {
+            counter.getAndAdd(delta);
         }
+        else
+        {
+            counter.getAndAddOrdered(delta);
+        }
+    }
+
+    private static int send(final NetworkPublication[] publications, final int startingIndex, final long nowNs)
+    {
+        int bytesSent = 0;
+        final int length = publications.length;
 
         for (int i = startingIndex; i < length; i++)
         {
@@ -159,8 +257,23 @@ public class Sender extends SenderRhsPadding implements Agent
             bytesSent += publications[i].send(nowNs);
         }
 
-        totalBytesSent.getAndAddOrdered(bytesSent);
-
         return bytesSent;
     }
+
+    /**
+     * Publications of a priority class which are served round robin after those of higher classes each duty cycle.
+     */
+    private static final class PriorityClass
+    {
+        final AtomicCounter bytesSent;
+        final AtomicCounter waitTime;
+        NetworkPublication[] publications = EMPTY_PUBLICATIONS;
+        int roundRobinIndex = 0;
+
+        PriorityClass(final AtomicCounter bytesSent, final AtomicCounter waitTime)
+        {
+            this.bytesSent = bytesSent;
+            this.waitTime = waitTime;
+        }
+    }
 }
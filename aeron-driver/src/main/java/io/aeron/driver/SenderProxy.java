@@ -26,96 +26,130 @@ import static io.aeron.driver.ThreadingMode.SHARED;
 
 /**
  * Proxy for offering into the Sender Thread's command queue.
+ * <p>
+ * When the sender is sharded then commands are routed to the shard which services the
+ * {@link SendChannelEndpoint} as given by {@link SendChannelEndpoint#senderShardIndex()}.
  */
 public class SenderProxy
 {
     private final ThreadingMode threadingMode;
-    private final Queue<Runnable> commandQueue;
+    private final Queue<Runnable>[] commandQueues;
+    private final Sender[] senders;
     private final AtomicCounter failCount;
-    private Sender sender;
 
+    @SuppressWarnings("unchecked")
     public SenderProxy(
         final ThreadingMode threadingMode, final Queue<Runnable> commandQueue, final AtomicCounter failCount)
+    {
+        this(threadingMode, new Queue[]{ commandQueue }, failCount);
+    }
+
+    public SenderProxy(
+        final ThreadingMode threadingMode, final Queue<Runnable>[] commandQueues, final AtomicCounter failCount)
     {
         this.threadingMode = threadingMode;
-        this.commandQueue = commandQueue;
+        this.commandQueues = commandQueues;
+        this.senders = new Sender[commandQueues.length];
         this.failCount = failCount;
     }
 
     public void sender(final Sender sender)
     {
-        this.sender = sender;
+        senders[0] = sender;
+    }
+
+    public void sender(final int shardIndex, final Sender sender)
+    {
+        senders[shardIndex] = sender;
     }
 
     public void registerSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
     {
+        final int shardIndex = channelEndpoint.senderShardIndex();
+        final Sender sender = senders[shardIndex];
+
         if (notConcurrent())
         {
             sender.onRegisterSendChannelEndpoint(channelEndpoint);
         }
         else
         {
-            offer(() -> sender.onRegisterSendChannelEndpoint(channelEndpoint));
+            offer(shardIndex, () -> sender.onRegisterSendChannelEndpoint(channelEndpoint));
         }
     }
 
     public void closeSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
     {
+        final int shardIndex = channelEndpoint.senderShardIndex();
+        final Sender sender = senders[shardIndex];
+
         if (notConcurrent())
         {
             sender.onCloseSendChannelEndpoint(channelEndpoint);
         }
         else
         {
-            offer(() -> sender.onCloseSendChannelEndpoint(channelEndpoint));
+            offer(shardIndex, () -> sender.onCloseSendChannelEndpoint(channelEndpoint));
         }
     }
 
     public void removeNetworkPublication(final NetworkPublication publication)
     {
+        final int shardIndex = publication.channelEndpoint().senderShardIndex();
+        final Sender sender = senders[shardIndex];
+
         if (notConcurrent())
         {
             sender.onRemoveNetworkPublication(publication);
         }
         else
         {
-            offer(() -> sender.onRemoveNetworkPublication(publication));
+            offer(shardIndex, () -> sender.onRemoveNetworkPublication(publication));
         }
     }
 
     public void newNetworkPublication(final NetworkPublication publication)
     {
+        final int shardIndex = publication.channelEndpoint().senderShardIndex();
+        final Sender sender = senders[shardIndex];
+
         if (notConcurrent())
         {
             sender.onNewNetworkPublication(publication);
         }
         else
         {
-            offer(() -> sender.onNewNetworkPublication(publication));
+            offer(shardIndex, () -> sender.onNewNetworkPublication(publication));
         }
     }
 
     public void addDestination(final SendChannelEndpoint channelEndpoint, final InetSocketAddress address)
     {
+        final int shardIndex = channelEndpoint.senderShardIndex();
+        final Sender sender = senders[shardIndex];
+
         if (notConcurrent())
         {
             sender.onAddDestination(channelEndpoint, address);
         }
         else
         {
-            offer(() -> sender.onAddDestination(channelEndpoint, address));
+            offer(shardIndex, () -> sender.onAddDestination(channelEndpoint, address));
         }
     }
 
     public void removeDestination(final SendChannelEndpoint channelEndpoint, final InetSocketAddress address)
     {
+        final int shardIndex = channelEndpoint.senderShardIndex();
+        final Sender sender = senders[shardIndex];
+
         if (notConcurrent())
         {
             sender.onRemoveDestination(channelEndpoint, address);
         }
         else
         {
-            offer(() -> sender.onRemoveDestination(channelEndpoint, address));
+            offer(shardIndex, () -> sender.onRemoveDestination(channelEndpoint, address));
         }
     }
 
@@ -124,8 +158,9 @@ public class SenderProxy
         return threadingMode == SHARED || threadingMode == INVOKER;
     }
 
-    private void offer(final Runnable cmd)
+    private void offer(final int shardIndex, final Runnable cmd)
     {
+        final Queue<Runnable> commandQueue = commandQueues[shardIndex];
         while (!commandQueue.offer(cmd))
         {
             failCount.incrementOrdered();
@@ -38,4 +38,11 @@ public interface Subscribable
      * @param subscriberPosition to be identified by.
      */
     void removeSubscriber(ReadablePosition subscriberPosition);
+
+    /**
+     * Stream id of the source which subscribers are matched against.
+     *
+     * @return stream id of the source.
+     */
+    int streamId();
 }
@@ -184,7 +184,7 @@ class NetworkSubscriptionLink extends SubscriptionLink
 
     public boolean matches(final PublicationImage image)
     {
-        return image.channelEndpoint() == this.channelEndpoint &&
+        return image.channelEndpoint().primaryEndpoint() == this.channelEndpoint &&
             image.streamId() == this.streamId &&
             isWildcardOrSessionIdMatch(image.sessionId());
     }
@@ -202,7 +202,7 @@ class NetworkSubscriptionLink extends SubscriptionLink
 
     public boolean matches(final ReceiveChannelEndpoint channelEndpoint, final int streamId, final int sessionId)
     {
-        return channelEndpoint == this.channelEndpoint &&
+        return channelEndpoint.primaryEndpoint() == this.channelEndpoint &&
             streamId == this.streamId &&
             isWildcardOrSessionIdMatch(sessionId);
     }
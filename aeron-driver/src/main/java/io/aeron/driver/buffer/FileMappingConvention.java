@@ -25,14 +25,17 @@ import java.io.File;
  * Root directory is the {@link io.aeron.CommonContext#AERON_DIR_PROP_NAME}.
  * Source publications are under "${aeron.dir}/publications"
  * Rebuilt publications are under "${aeron.dir}/images"
+ * Pooled logs waiting for reuse are under "${aeron.dir}/pool"
  */
 class FileMappingConvention
 {
     public static final String PUBLICATIONS = "publications";
     public static final String IMAGES = "images";
+    public static final String POOL = "pool";
 
     private final File publicationsDir;
     private final File imagesDir;
+    private final File poolDir;
 
     FileMappingConvention(final String dataDirName)
     {
@@ -41,6 +44,7 @@ class FileMappingConvention
 
         publicationsDir = new File(dataDir, PUBLICATIONS);
         imagesDir = new File(dataDir, IMAGES);
+        poolDir = new File(dataDir, POOL);
     }
 
     /**
@@ -63,6 +67,16 @@ class FileMappingConvention
         return imagesDir;
     }
 
+    /**
+     * Get the directory used for pooled files which are waiting to be reused.
+     *
+     * @return the directory used for pooled files.
+     */
+    public File poolDir()
+    {
+        return poolDir;
+    }
+
     public static File streamLocation(
         final File rootDir,
         final String channel,
@@ -77,4 +91,11 @@ class FileMappingConvention
 
         return new File(rootDir, fileName);
     }
+
+    public static File poolLocation(final File rootDir, final int termLength, final int index)
+    {
+        final String fileName = Integer.toHexString(termLength) + '-' + Integer.toHexString(index) + ".logbuffer";
+
+        return new File(rootDir, fileName);
+    }
 }
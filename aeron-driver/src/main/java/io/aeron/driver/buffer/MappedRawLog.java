@@ -44,11 +44,16 @@ class MappedRawLog implements RawLog
     private static final FileAttribute<?>[] NO_ATTRIBUTES = new FileAttribute[0];
 
     private final int termLength;
+    private final int pageSize;
     private final UnsafeBuffer[] termBuffers = new UnsafeBuffer[PARTITION_COUNT];
-    private final File logFile;
+    private File logFile;
+    private final File poolFile;
+    private final RawLogPool pool;
     private final MappedByteBuffer[] mappedBuffers;
     private final UnsafeBuffer logMetaDataBuffer;
     private final DistinctErrorLog errorLog;
+    private long releasedNs;
+    private boolean isClosed = false;
 
     MappedRawLog(
         final File location,
@@ -56,10 +61,24 @@ class MappedRawLog implements RawLog
         final int termLength,
         final int filePageSize,
         final DistinctErrorLog errorLog)
+    {
+        this(location, useSparseFiles, termLength, filePageSize, errorLog, null);
+    }
+
+    MappedRawLog(
+        final File location,
+        final boolean useSparseFiles,
+        final int termLength,
+        final int filePageSize,
+        final DistinctErrorLog errorLog,
+        final RawLogPool pool)
     {
         this.termLength = termLength;
+        this.pageSize = filePageSize;
         this.errorLog = errorLog;
         this.logFile = location;
+        this.poolFile = location;
+        this.pool = pool;
 
         final EnumSet<StandardOpenOption> options = useSparseFiles ? SPARSE_FILE_OPTIONS : FILE_OPTIONS;
 
@@ -125,7 +144,29 @@ class MappedRawLog implements RawLog
         return termLength;
     }
 
+    public int pageSize()
+    {
+        return pageSize;
+    }
+
     public void close()
+    {
+        if (isClosed)
+        {
+            return;
+        }
+
+        isClosed = true;
+        if (null == pool || !pool.release(this))
+        {
+            free();
+        }
+    }
+
+    /**
+     * Unmap and delete the file regardless of whether the log belongs to a pool.
+     */
+    void free()
     {
         for (final MappedByteBuffer buffer : mappedBuffers)
         {
@@ -177,6 +218,74 @@ class MappedRawLog implements RawLog
         return logFile.getAbsolutePath();
     }
 
+    /**
+     * The location in the pool directory to which the file is returned when released.
+     *
+     * @return location in the pool directory to which the file is returned when released.
+     */
+    File poolFile()
+    {
+        return poolFile;
+    }
+
+    /**
+     * Rename the file to a new location while keeping it mapped.
+     *
+     * @param location to which the file is renamed.
+     * @return true if the file was renamed otherwise false.
+     */
+    boolean moveTo(final File location)
+    {
+        if (logFile.renameTo(location))
+        {
+            logFile = location;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Time in nanoseconds at which the log was released to the pool.
+     *
+     * @return time in nanoseconds at which the log was released to the pool.
+     */
+    long releasedNs()
+    {
+        return releasedNs;
+    }
+
+    /**
+     * Set the time in nanoseconds at which the log was released to the pool.
+     *
+     * @param releasedNs time in nanoseconds at which the log was released to the pool.
+     */
+    void releasedNs(final long releasedNs)
+    {
+        this.releasedNs = releasedNs;
+    }
+
+    /**
+     * Mark the log as open again when it is acquired from the pool so it can be closed once more.
+     */
+    void reopen()
+    {
+        isClosed = false;
+    }
+
+    /**
+     * Zero the terms and metadata so the log can be reused for a new stream.
+     */
+    void zero()
+    {
+        for (final UnsafeBuffer termBuffer : termBuffers)
+        {
+            termBuffer.setMemory(0, termLength, (byte)0);
+        }
+
+        logMetaDataBuffer.setMemory(0, LOG_META_DATA_LENGTH, (byte)0);
+    }
+
     private static void allocatePages(final MappedByteBuffer buffer, final int length, final int pageSize)
     {
         for (int i = 0; i < length; i += pageSize)
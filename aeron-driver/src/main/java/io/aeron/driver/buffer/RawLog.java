@@ -32,6 +32,13 @@ public interface RawLog extends AutoCloseable
      */
     int termLength();
 
+    /**
+     * The page size in bytes to which the log file is aligned.
+     *
+     * @return the page size in bytes to which the log file is aligned.
+     */
+    int pageSize();
+
     /**
      * An array of term buffer partitions.
      *
@@ -18,28 +18,46 @@ package io.aeron.driver.buffer;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import org.agrona.IoUtil;
 import org.agrona.LangUtil;
+import org.agrona.concurrent.NanoClock;
 import org.agrona.concurrent.errors.DistinctErrorLog;
+import org.agrona.concurrent.status.AtomicCounter;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
 
 import static io.aeron.driver.Configuration.LOW_FILE_STORE_WARNING_THRESHOLD;
 import static io.aeron.driver.buffer.FileMappingConvention.streamLocation;
 import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MAX_LENGTH;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.*;
 
 /**
  * Factory for creating {@link RawLog}s in the source publications or publication images directories as appropriate.
+ * <p>
+ * When pool sizes are configured then logs of a pooled term length are taken from a pool of pre-allocated logs and
+ * returned to it on close, falling back to creating a new log when the pool is exhausted.
+ * <p>
+ * When a huge pages directory is configured, and huge pages can be mapped from it, then logs are placed there and
+ * aligned to the huge page size. If a log cannot be mapped from huge pages it falls back to the aeron directory.
  */
 public class RawLogFactory
 {
+    private static final String HUGE_PAGES_PROBE_FILE = "huge-pages-probe";
+
     private final int filePageSize;
+    private final int logPageSize;
     private final boolean useSparseFiles;
     private final boolean checkStorage;
     private final DistinctErrorLog errorLog;
     private final File publicationsDir;
     private final File imagesDir;
+    private final File fallbackPublicationsDir;
+    private final File fallbackImagesDir;
     private final FileStore fileStore;
+    private final RawLogPool pool;
 
     public RawLogFactory(
         final String dataDirectoryName,
@@ -47,6 +65,24 @@ public class RawLogFactory
         final boolean useSparseFiles,
         final boolean checkStorage,
         final DistinctErrorLog errorLog)
+    {
+        this(
+            dataDirectoryName, filePageSize, useSparseFiles, checkStorage, errorLog, null, 0, "", null, null, null, 0);
+    }
+
+    public RawLogFactory(
+        final String dataDirectoryName,
+        final int filePageSize,
+        final boolean useSparseFiles,
+        final boolean checkStorage,
+        final DistinctErrorLog errorLog,
+        final String hugePagesDirName,
+        final int hugePageSize,
+        final String logPoolSizes,
+        final AtomicCounter poolHits,
+        final AtomicCounter poolMisses,
+        final NanoClock nanoClock,
+        final long poolReuseDelayNs)
     {
         this.useSparseFiles = useSparseFiles;
         this.filePageSize = filePageSize;
@@ -54,18 +90,45 @@ public class RawLogFactory
         this.errorLog = errorLog;
 
         final FileMappingConvention fileMappingConvention = new FileMappingConvention(dataDirectoryName);
-        publicationsDir = fileMappingConvention.publicationsDir();
-        imagesDir = fileMappingConvention.imagesDir();
+        FileMappingConvention logMappingConvention = fileMappingConvention;
+        String logDirectoryName = dataDirectoryName;
+        int logPageSize = filePageSize;
+
+        final File hugePagesDataDir = hugePagesDataDir(hugePagesDirName, dataDirectoryName);
+        if (null != hugePagesDataDir && isHugePagesAvailable(hugePagesDataDir, hugePageSize, errorLog))
+        {
+            logDirectoryName = hugePagesDataDir.getAbsolutePath();
+            logMappingConvention = new FileMappingConvention(logDirectoryName);
+            logPageSize = hugePageSize;
+        }
+
+        this.logPageSize = logPageSize;
+        publicationsDir = logMappingConvention.publicationsDir();
+        imagesDir = logMappingConvention.imagesDir();
 
         IoUtil.ensureDirectoryExists(publicationsDir, FileMappingConvention.PUBLICATIONS);
         IoUtil.ensureDirectoryExists(imagesDir, FileMappingConvention.IMAGES);
 
+        if (logMappingConvention != fileMappingConvention)
+        {
+            fallbackPublicationsDir = fileMappingConvention.publicationsDir();
+            fallbackImagesDir = fileMappingConvention.imagesDir();
+
+            IoUtil.ensureDirectoryExists(fallbackPublicationsDir, FileMappingConvention.PUBLICATIONS);
+            IoUtil.ensureDirectoryExists(fallbackImagesDir, FileMappingConvention.IMAGES);
+        }
+        else
+        {
+            fallbackPublicationsDir = null;
+            fallbackImagesDir = null;
+        }
+
         FileStore fs = null;
         try
         {
             if (checkStorage)
             {
-                fs = Files.getFileStore(Paths.get(dataDirectoryName));
+                fs = Files.getFileStore(Paths.get(logDirectoryName));
             }
         }
         catch (final IOException ex)
@@ -74,6 +137,31 @@ public class RawLogFactory
         }
 
         fileStore = fs;
+
+        final RawLogPool rawLogPool = null == logPoolSizes || logPoolSizes.trim().isEmpty() ?
+            null :
+            new RawLogPool(
+                logMappingConvention.poolDir(),
+                logPoolSizes,
+                logPageSize,
+                errorLog,
+                poolHits,
+                poolMisses,
+                nanoClock,
+                poolReuseDelayNs);
+
+        pool = null != rawLogPool && !rawLogPool.isEmpty() ? rawLogPool : null;
+    }
+
+    /**
+     * Free the logs held in the pool. Logs closed after this are deleted rather than returned to the pool.
+     */
+    public void close()
+    {
+        if (null != pool)
+        {
+            pool.close();
+        }
     }
 
     /**
@@ -93,7 +181,8 @@ public class RawLogFactory
         final long correlationId,
         final int termBufferLength)
     {
-        return newInstance(publicationsDir, channel, sessionId, streamId, correlationId, termBufferLength);
+        return newInstance(
+            publicationsDir, fallbackPublicationsDir, channel, sessionId, streamId, correlationId, termBufferLength);
     }
 
     /**
@@ -113,7 +202,8 @@ public class RawLogFactory
         final long correlationId,
         final int termBufferLength)
     {
-        return newInstance(imagesDir, channel, sessionId, streamId, correlationId, termBufferLength);
+        return newInstance(
+            imagesDir, fallbackImagesDir, channel, sessionId, streamId, correlationId, termBufferLength);
     }
 
     /**
@@ -128,11 +218,13 @@ public class RawLogFactory
     public RawLog newIpcPublication(
         final int sessionId, final int streamId, final long correlationId, final int termBufferLength)
     {
-        return newInstance(publicationsDir, "ipc", sessionId, streamId, correlationId, termBufferLength);
+        return newInstance(
+            publicationsDir, fallbackPublicationsDir, "ipc", sessionId, streamId, correlationId, termBufferLength);
     }
 
     private RawLog newInstance(
         final File rootDir,
+        final File fallbackRootDir,
         final String channel,
         final int sessionId,
         final int streamId,
@@ -141,20 +233,101 @@ public class RawLogFactory
     {
         validateTermBufferLength(termBufferLength);
 
+        final File location = streamLocation(rootDir, channel, sessionId, streamId, correlationId);
+
+        if (null != pool)
+        {
+            final RawLog rawLog = pool.acquire(termBufferLength, location);
+            if (null != rawLog)
+            {
+                return rawLog;
+            }
+        }
+
         if (checkStorage)
         {
             checkStorage(termBufferLength);
         }
 
-        final File location = streamLocation(rootDir, channel, sessionId, streamId, correlationId);
+        if (null == fallbackRootDir)
+        {
+            return new MappedRawLog(location, useSparseFiles, termBufferLength, logPageSize, errorLog);
+        }
+
+        try
+        {
+            return new MappedRawLog(location, useSparseFiles, termBufferLength, logPageSize, errorLog);
+        }
+        catch (final IllegalStateException ex)
+        {
+            errorLog.record(ex);
+            if (location.exists() && !location.delete())
+            {
+                errorLog.record(new IllegalStateException("Unable to delete " + location));
+            }
+        }
+
+        final File fallbackLocation = streamLocation(fallbackRootDir, channel, sessionId, streamId, correlationId);
+
+        return new MappedRawLog(fallbackLocation, useSparseFiles, termBufferLength, filePageSize, errorLog);
+    }
+
+    /**
+     * The directory within the huge pages directory in which the logs for a driver are placed. It is named after the
+     * aeron directory so drivers sharing a huge pages mount do not collide, and should be deleted with it.
+     *
+     * @param hugePagesDirName  of the huge pages mount, may be null or empty if not used.
+     * @param dataDirectoryName of the aeron directory for the driver.
+     * @return the directory for the logs of the driver within the huge pages directory or null if not used.
+     */
+    public static File hugePagesDataDir(final String hugePagesDirName, final String dataDirectoryName)
+    {
+        if (null == hugePagesDirName || hugePagesDirName.isEmpty())
+        {
+            return null;
+        }
 
-        return new MappedRawLog(location, useSparseFiles, termBufferLength, filePageSize, errorLog);
+        return new File(hugePagesDirName, new File(dataDirectoryName).getName());
+    }
+
+    private static boolean isHugePagesAvailable(
+        final File hugePagesDataDir, final int hugePageSize, final DistinctErrorLog errorLog)
+    {
+        final File probeFile = new File(hugePagesDataDir, HUGE_PAGES_PROBE_FILE);
+
+        try
+        {
+            IoUtil.ensureDirectoryExists(hugePagesDataDir, "huge pages directory");
+
+            try (FileChannel channel = FileChannel.open(probeFile.toPath(), CREATE, READ, WRITE))
+            {
+                final MappedByteBuffer buffer = channel.map(READ_WRITE, 0, hugePageSize);
+                buffer.put(0, (byte)0);
+                IoUtil.unmap(buffer);
+            }
+
+            return true;
+        }
+        catch (final Exception ex)
+        {
+            errorLog.record(new IllegalStateException(
+                "Huge pages not available in " + hugePagesDataDir + " so logs will use the aeron directory", ex));
+
+            return false;
+        }
+        finally
+        {
+            if (probeFile.exists() && !probeFile.delete())
+            {
+                errorLog.record(new IllegalStateException("Unable to delete " + probeFile));
+            }
+        }
     }
 
     private void checkStorage(final int termBufferLength)
     {
         final long usableSpace = getUsableSpace();
-        final long logLength = LogBufferDescriptor.computeLogLength(termBufferLength, filePageSize);
+        final long logLength = LogBufferDescriptor.computeLogLength(termBufferLength, logPageSize);
 
         if (usableSpace <= LOW_FILE_STORE_WARNING_THRESHOLD)
         {
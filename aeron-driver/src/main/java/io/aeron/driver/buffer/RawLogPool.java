@@ -0,0 +1,188 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.buffer;
+
+import io.aeron.driver.exceptions.ConfigurationException;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import org.agrona.IoUtil;
+import org.agrona.SystemUtil;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.errors.DistinctErrorLog;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.io.File;
+
+import static io.aeron.driver.Configuration.LOG_POOL_SIZES_PROP_NAME;
+import static io.aeron.driver.buffer.FileMappingConvention.poolLocation;
+
+/**
+ * Pool of pre-allocated and pre-faulted {@link MappedRawLog}s per term length which are renamed into place when
+ * acquired and renamed back into the pool directory when released, rather than created and deleted each time.
+ * <p>
+ * Logs are released on the conductor thread and may be acquired on the log allocator thread so the pool for each
+ * term length is a concurrent queue. A released log is zeroed when next acquired so the cost is not paid on release.
+ * <p>
+ * Only logs created by the pool are returned to it so the number in circulation never exceeds the configured count.
+ * <p>
+ * A released log is not reused until a delay has passed, which should be at least the client liveness timeout plus
+ * the linger timeout, so that a client which still has the file of a previous stream mapped cannot alias the log of
+ * a new stream. Logs are acquired by a single thread and are reused in the order they were released.
+ */
+class RawLogPool
+{
+    private final Int2ObjectHashMap<ManyToManyConcurrentArrayQueue<MappedRawLog>> logsByTermLengthMap =
+        new Int2ObjectHashMap<>();
+    private final AtomicCounter hits;
+    private final AtomicCounter misses;
+    private final NanoClock nanoClock;
+    private final long reuseDelayNs;
+    private boolean isClosed = false;
+
+    RawLogPool(
+        final File poolDir,
+        final String poolSizes,
+        final int filePageSize,
+        final DistinctErrorLog errorLog,
+        final AtomicCounter hits,
+        final AtomicCounter misses,
+        final NanoClock nanoClock,
+        final long reuseDelayNs)
+    {
+        this.hits = hits;
+        this.misses = misses;
+        this.nanoClock = nanoClock;
+        this.reuseDelayNs = reuseDelayNs;
+
+        IoUtil.delete(poolDir, true);
+        IoUtil.ensureDirectoryExists(poolDir, FileMappingConvention.POOL);
+
+        for (final String entry : poolSizes.split(","))
+        {
+            if (entry.trim().isEmpty())
+            {
+                continue;
+            }
+
+            final String[] parts = entry.split(":");
+            if (2 != parts.length)
+            {
+                throw new ConfigurationException("invalid " + LOG_POOL_SIZES_PROP_NAME + " entry: " + entry);
+            }
+
+            final int termLength = (int)SystemUtil.parseSize(LOG_POOL_SIZES_PROP_NAME, parts[0].trim());
+            final int count = Integer.parseInt(parts[1].trim());
+            LogBufferDescriptor.checkTermLength(termLength);
+
+            if (count < 1 || logsByTermLengthMap.containsKey(termLength))
+            {
+                throw new ConfigurationException("invalid " + LOG_POOL_SIZES_PROP_NAME + " entry: " + entry);
+            }
+
+            final ManyToManyConcurrentArrayQueue<MappedRawLog> logs =
+                new ManyToManyConcurrentArrayQueue<>(Math.max(2, count));
+            logsByTermLengthMap.put(termLength, logs);
+
+            final long availableNs = nanoClock.nanoTime() - reuseDelayNs;
+            for (int i = 0; i < count; i++)
+            {
+                final File location = poolLocation(poolDir, termLength, i);
+                final MappedRawLog log = new MappedRawLog(location, false, termLength, filePageSize, errorLog, this);
+                log.releasedNs(availableNs);
+                logs.offer(log);
+            }
+        }
+    }
+
+    /**
+     * Is the pool configured for any term lengths.
+     *
+     * @return true if the pool is configured for any term lengths.
+     */
+    boolean isEmpty()
+    {
+        return logsByTermLengthMap.isEmpty();
+    }
+
+    /**
+     * Acquire a zeroed log, which was released at least the reuse delay ago, from the pool and move it to a location.
+     *
+     * @param termLength of the log required.
+     * @param location   to which the file is moved.
+     * @return the log if available otherwise null.
+     */
+    RawLog acquire(final int termLength, final File location)
+    {
+        final ManyToManyConcurrentArrayQueue<MappedRawLog> logs = logsByTermLengthMap.get(termLength);
+        final MappedRawLog log = null != logs ? logs.peek() : null;
+
+        if (null == log || nanoClock.nanoTime() - log.releasedNs() < reuseDelayNs)
+        {
+            misses.increment();
+            return null;
+        }
+
+        logs.poll();
+        if (!log.moveTo(location))
+        {
+            log.free();
+            misses.increment();
+            return null;
+        }
+
+        log.zero();
+        log.reopen();
+        hits.increment();
+
+        return log;
+    }
+
+    /**
+     * Return a log to the pool.
+     *
+     * @param log to be returned.
+     * @return true if the log was returned to the pool otherwise false and the caller should free it.
+     */
+    boolean release(final MappedRawLog log)
+    {
+        if (isClosed || !log.moveTo(log.poolFile()))
+        {
+            return false;
+        }
+
+        log.releasedNs(nanoClock.nanoTime());
+
+        return logsByTermLengthMap.get(log.termLength()).offer(log);
+    }
+
+    /**
+     * Free all logs in the pool. Logs released after close are freed by the caller.
+     */
+    void close()
+    {
+        isClosed = true;
+
+        for (final ManyToManyConcurrentArrayQueue<MappedRawLog> logs : logsByTermLengthMap.values())
+        {
+            MappedRawLog log;
+            while (null != (log = logs.poll()))
+            {
+                log.free();
+            }
+        }
+    }
+}
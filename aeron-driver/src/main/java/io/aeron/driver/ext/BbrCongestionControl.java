@@ -0,0 +1,335 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import io.aeron.Aeron;
+import io.aeron.driver.CongestionControl;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.media.UdpChannel;
+import io.aeron.driver.status.PerImageIndicator;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.driver.CongestionControlUtil.packOutcome;
+
+/**
+ * BBR style congestion control manipulation of the receiver window length based on estimates of the bottleneck
+ * bandwidth and min RTT rather than loss.
+ * <p>
+ * <a target="_blank" href="https://queue.acm.org/detail.cfm?id=3022184">
+ *     https://queue.acm.org/detail.cfm?id=3022184</a>
+ * <p>
+ * The bottleneck bandwidth is the max delivery rate to the image in the last few rounds, where a round is one min RTT,
+ * and the window is the bandwidth delay product (BDP) scaled by a gain which depends on the mode:
+ * <ul>
+ *     <li>STARTUP: gain of 2/ln(2) until the bandwidth stops growing by 25% for 3 rounds.</li>
+ *     <li>DRAIN: gain of ln(2)/2 for a round to drain the queue built up during startup.</li>
+ *     <li>PROBE_BW: cycle gains of 1.25, 0.75, then 1 for 6 rounds to probe for more bandwidth.</li>
+ *     <li>PROBE_RTT: window of 4 MTUs when the min RTT has not been refreshed within the window of time.</li>
+ * </ul>
+ * Loss does not reduce the window so lossy links which are not congested keep their throughput.
+ */
+public class BbrCongestionControl implements CongestionControl
+{
+    private static final long INITIAL_RTT_NS = BbrCongestionControlConfiguration.INITIAL_RTT_NS;
+    private static final long MIN_RTT_WINDOW_NS = BbrCongestionControlConfiguration.MIN_RTT_WINDOW_NS;
+    private static final long PROBE_RTT_DURATION_NS = BbrCongestionControlConfiguration.PROBE_RTT_DURATION_NS;
+    private static final int BANDWIDTH_FILTER_ROUNDS = BbrCongestionControlConfiguration.BANDWIDTH_FILTER_ROUNDS;
+
+    private static final long RTT_MEASUREMENT_TIMEOUT_NS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SECOND_IN_NS = TimeUnit.SECONDS.toNanos(1);
+    private static final long RTT_MAX_TIMEOUT_NS = SECOND_IN_NS;
+    private static final long MIN_ROUND_DURATION_NS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int MAX_OUTSTANDING_RTT_MEASUREMENTS = 1;
+
+    private static final double STARTUP_GAIN = 2.0 / Math.log(2.0);
+    private static final double DRAIN_GAIN = 1.0 / STARTUP_GAIN;
+    private static final double[] PROBE_BW_GAINS = { 1.25, 0.75, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0 };
+    private static final double FULL_BANDWIDTH_GROWTH = 1.25;
+    private static final int FULL_BANDWIDTH_ROUNDS = 3;
+    private static final int INITIAL_WINDOW_MTUS = 10;
+    private static final int MIN_WINDOW_MTUS = 4;
+
+    enum Mode
+    {
+        STARTUP, DRAIN, PROBE_BW, PROBE_RTT
+    }
+
+    private final int initialWindow;
+    private final int minWindow;
+    private final int maxWindow;
+    private final long[] bandwidthSamples;
+
+    private Mode mode = Mode.STARTUP;
+    private long roundCount = 0;
+    private long roundStartNs;
+    private long roundStartPosition = Aeron.NULL_VALUE;
+    private long bottleneckBandwidth = 0;
+    private long fullBandwidth = 0;
+    private int fullBandwidthRounds = 0;
+    private int probeBwCycleIndex = 0;
+    private long probeRttEndNs;
+    private long lastProbeRttNs;
+    private int window;
+
+    private long lastRttTimestampNs = 0;
+    private int outstandingRttMeasurements = 0;
+    private volatile long minRttNs;
+    private volatile long minRttTimestampNs;
+
+    private final AtomicCounter bandwidthIndicator;
+    private final AtomicCounter minRttIndicator;
+    private final AtomicCounter pacingRateIndicator;
+    private final AtomicCounter windowIndicator;
+
+    BbrCongestionControl(
+        final long registrationId,
+        final UdpChannel udpChannel,
+        final int streamId,
+        final int sessionId,
+        final int termLength,
+        final int senderMtuLength,
+        final NanoClock clock,
+        final MediaDriver.Context context,
+        final CountersManager countersManager)
+    {
+        BbrCongestionControlConfiguration.validateBandwidthFilterRounds(BANDWIDTH_FILTER_ROUNDS);
+        bandwidthSamples = new long[BANDWIDTH_FILTER_ROUNDS];
+
+        maxWindow = Math.max(senderMtuLength, Math.min(termLength / 2, context.initialWindowLength()));
+        minWindow = Math.min(maxWindow, MIN_WINDOW_MTUS * senderMtuLength);
+        initialWindow = Math.min(maxWindow, INITIAL_WINDOW_MTUS * senderMtuLength);
+        window = initialWindow;
+
+        final long nowNs = clock.nanoTime();
+        roundStartNs = nowNs;
+        lastProbeRttNs = nowNs;
+        minRttNs = INITIAL_RTT_NS;
+        minRttTimestampNs = nowNs;
+
+        final String channel = udpChannel.originalUriString();
+        bandwidthIndicator = PerImageIndicator.allocate(
+            context.tempBuffer(), "rcv-cc-bbr-btlbw", countersManager, registrationId, sessionId, streamId, channel);
+        minRttIndicator = PerImageIndicator.allocate(
+            context.tempBuffer(), "rcv-cc-bbr-min-rtt", countersManager, registrationId, sessionId, streamId, channel);
+        pacingRateIndicator = PerImageIndicator.allocate(
+            context.tempBuffer(), "rcv-cc-bbr-pacing", countersManager, registrationId, sessionId, streamId, channel);
+        windowIndicator = PerImageIndicator.allocate(
+            context.tempBuffer(), "rcv-cc-bbr-wnd", countersManager, registrationId, sessionId, streamId, channel);
+
+        bandwidthIndicator.setOrdered(0);
+        minRttIndicator.setOrdered(INITIAL_RTT_NS);
+        pacingRateIndicator.setOrdered(0);
+        windowIndicator.setOrdered(window);
+    }
+
+    public boolean shouldMeasureRtt(final long nowNs)
+    {
+        if (outstandingRttMeasurements > 0 && nowNs > (lastRttTimestampNs + RTT_MAX_TIMEOUT_NS))
+        {
+            outstandingRttMeasurements = 0;
+        }
+
+        return outstandingRttMeasurements < MAX_OUTSTANDING_RTT_MEASUREMENTS &&
+            nowNs > (lastRttTimestampNs + RTT_MEASUREMENT_TIMEOUT_NS);
+    }
+
+    public void onRttMeasurementSent(final long nowNs)
+    {
+        lastRttTimestampNs = nowNs;
+        outstandingRttMeasurements++;
+    }
+
+    public void onRttMeasurement(final long nowNs, final long rttNs, final InetSocketAddress srcAddress)
+    {
+        if (outstandingRttMeasurements > 0)
+        {
+            outstandingRttMeasurements--;
+        }
+
+        lastRttTimestampNs = nowNs;
+
+        if (rttNs > 0 && (rttNs <= minRttNs || nowNs > (minRttTimestampNs + MIN_RTT_WINDOW_NS)))
+        {
+            minRttNs = rttNs;
+            minRttTimestampNs = nowNs;
+            minRttIndicator.setOrdered(rttNs);
+        }
+    }
+
+    public long onTrackRebuild(
+        final long nowNs,
+        final long newConsumptionPosition,
+        final long lastSmPosition,
+        final long hwmPosition,
+        final long startingRebuildPosition,
+        final long endingRebuildPosition,
+        final boolean lossOccurred)
+    {
+        final Mode initialMode = mode;
+        final long minRttNs = this.minRttNs;
+
+        if (Aeron.NULL_VALUE == roundStartPosition)
+        {
+            roundStartPosition = startingRebuildPosition;
+        }
+
+        if (nowNs - roundStartNs >= Math.max(minRttNs, MIN_ROUND_DURATION_NS))
+        {
+            onRoundEnd(nowNs, endingRebuildPosition);
+        }
+
+        if (Mode.PROBE_RTT == mode)
+        {
+            if (nowNs > probeRttEndNs)
+            {
+                mode = Mode.PROBE_BW;
+                lastProbeRttNs = nowNs;
+            }
+        }
+        else if (nowNs > (Math.max(minRttTimestampNs, lastProbeRttNs) + MIN_RTT_WINDOW_NS))
+        {
+            mode = Mode.PROBE_RTT;
+            probeRttEndNs = nowNs + Math.max(PROBE_RTT_DURATION_NS, minRttNs);
+        }
+
+        final double gain = gain();
+        final int window = computeWindow(gain, minRttNs);
+        if (window != this.window)
+        {
+            this.window = window;
+            windowIndicator.setOrdered(window);
+            pacingRateIndicator.setOrdered((long)(gain * bottleneckBandwidth));
+        }
+
+        return packOutcome(window, initialMode != mode);
+    }
+
+    public int initialWindowLength()
+    {
+        return initialWindow;
+    }
+
+    Mode mode()
+    {
+        return mode;
+    }
+
+    public void close()
+    {
+        CloseHelper.close(bandwidthIndicator);
+        CloseHelper.close(minRttIndicator);
+        CloseHelper.close(pacingRateIndicator);
+        CloseHelper.close(windowIndicator);
+    }
+
+    private void onRoundEnd(final long nowNs, final long position)
+    {
+        final long elapsedNs = nowNs - roundStartNs;
+        final long deliveredBytes = position - roundStartPosition;
+        final long deliveryRate = (deliveredBytes * SECOND_IN_NS) / elapsedNs;
+
+        roundStartNs = nowNs;
+        roundStartPosition = position;
+
+        // a round which did not deliver at least half the window is limited by the application rather than network
+        final boolean isApplicationLimited = deliveredBytes < (window / 2);
+        if (!isApplicationLimited || deliveryRate > bottleneckBandwidth)
+        {
+            bandwidthSamples[(int)(roundCount++ % BANDWIDTH_FILTER_ROUNDS)] = deliveryRate;
+
+            long maxRate = 0;
+            for (final long sample : bandwidthSamples)
+            {
+                maxRate = Math.max(maxRate, sample);
+            }
+
+            if (maxRate != bottleneckBandwidth)
+            {
+                bottleneckBandwidth = maxRate;
+                bandwidthIndicator.setOrdered(maxRate);
+            }
+        }
+
+        switch (mode)
+        {
+            case STARTUP:
+                if (bottleneckBandwidth >= fullBandwidth * FULL_BANDWIDTH_GROWTH)
+                {
+                    fullBandwidth = bottleneckBandwidth;
+                    fullBandwidthRounds = 0;
+                }
+                else if (++fullBandwidthRounds >= FULL_BANDWIDTH_ROUNDS)
+                {
+                    mode = Mode.DRAIN;
+                }
+                break;
+
+            case DRAIN:
+                mode = Mode.PROBE_BW;
+                probeBwCycleIndex = 0;
+                break;
+
+            case PROBE_BW:
+                probeBwCycleIndex = (probeBwCycleIndex + 1) % PROBE_BW_GAINS.length;
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    private double gain()
+    {
+        switch (mode)
+        {
+            case STARTUP:
+                return STARTUP_GAIN;
+
+            case DRAIN:
+                return DRAIN_GAIN;
+
+            case PROBE_BW:
+                return PROBE_BW_GAINS[probeBwCycleIndex];
+
+            default:
+                return 1.0;
+        }
+    }
+
+    private int computeWindow(final double gain, final long minRttNs)
+    {
+        if (Mode.PROBE_RTT == mode)
+        {
+            return minWindow;
+        }
+
+        if (0 == bottleneckBandwidth)
+        {
+            return initialWindow;
+        }
+
+        final double bdp = (double)bottleneckBandwidth * ((double)minRttNs / SECOND_IN_NS);
+        final long window = (long)(gain * bdp);
+
+        return (int)Math.min(maxWindow, Math.max(Mode.STARTUP == mode ? initialWindow : minWindow, window));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import io.aeron.driver.exceptions.ConfigurationException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration options to be applied when {@link BbrCongestionControl} is loaded.
+ */
+public class BbrCongestionControlConfiguration
+{
+    /**
+     * Property name for initial RTT in nanoseconds used until the first RTT measurement is received.
+     */
+    public static final String INITIAL_RTT_NS_PROP_NAME = "aeron.BbrCongestionControl.initialRtt";
+
+    /**
+     * Default initial RTT in nanoseconds.
+     */
+    public static final long INITIAL_RTT_NS_DEFAULT = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Property name for the window of time in nanoseconds over which the min RTT is tracked before it expires and
+     * the RTT is probed by draining the window.
+     */
+    public static final String MIN_RTT_WINDOW_NS_PROP_NAME = "aeron.BbrCongestionControl.minRttWindow";
+
+    /**
+     * Default window of time in nanoseconds over which the min RTT is tracked.
+     */
+    public static final long MIN_RTT_WINDOW_NS_DEFAULT = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Property name for the duration in nanoseconds for which the window is reduced when probing the RTT.
+     */
+    public static final String PROBE_RTT_DURATION_NS_PROP_NAME = "aeron.BbrCongestionControl.probeRttDuration";
+
+    /**
+     * Default duration in nanoseconds for which the window is reduced when probing the RTT.
+     */
+    public static final long PROBE_RTT_DURATION_NS_DEFAULT = TimeUnit.MILLISECONDS.toNanos(200);
+
+    /**
+     * Property name for the number of rounds, each of one min RTT, over which the max delivery rate is tracked as the
+     * estimate of the bottleneck bandwidth.
+     */
+    public static final String BANDWIDTH_FILTER_ROUNDS_PROP_NAME = "aeron.BbrCongestionControl.bandwidthFilterRounds";
+
+    /**
+     * Default number of rounds over which the max delivery rate is tracked.
+     */
+    public static final int BANDWIDTH_FILTER_ROUNDS_DEFAULT = 10;
+
+    public static final long INITIAL_RTT_NS = Long.getLong(INITIAL_RTT_NS_PROP_NAME, INITIAL_RTT_NS_DEFAULT);
+    public static final long MIN_RTT_WINDOW_NS = Long.getLong(MIN_RTT_WINDOW_NS_PROP_NAME, MIN_RTT_WINDOW_NS_DEFAULT);
+    public static final long PROBE_RTT_DURATION_NS = Long.getLong(
+        PROBE_RTT_DURATION_NS_PROP_NAME, PROBE_RTT_DURATION_NS_DEFAULT);
+    public static final int BANDWIDTH_FILTER_ROUNDS = Integer.getInteger(
+        BANDWIDTH_FILTER_ROUNDS_PROP_NAME, BANDWIDTH_FILTER_ROUNDS_DEFAULT);
+
+    /**
+     * Validate that the number of rounds over which the max delivery rate is tracked is at least one.
+     *
+     * @param bandwidthFilterRounds to be validated.
+     * @throws ConfigurationException if the number of rounds is not valid.
+     */
+    public static void validateBandwidthFilterRounds(final int bandwidthFilterRounds)
+    {
+        if (bandwidthFilterRounds < 1)
+        {
+            throw new ConfigurationException("bandwidthFilterRounds must be >= 1: " + bandwidthFilterRounds);
+        }
+    }
+}
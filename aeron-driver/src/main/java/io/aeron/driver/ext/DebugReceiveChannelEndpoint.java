@@ -79,6 +79,16 @@ public class DebugReceiveChannelEndpoint extends ReceiveChannelEndpoint
         return result;
     }
 
+    /**
+     * Data packets are never received in place so they all pass through {@link #onDataPacket} where loss is applied.
+     *
+     * @return false.
+     */
+    public boolean isInPlaceReceive()
+    {
+        return false;
+    }
+
     public int onDataPacket(
         final DataHeaderFlyweight header,
         final UnsafeBuffer buffer,
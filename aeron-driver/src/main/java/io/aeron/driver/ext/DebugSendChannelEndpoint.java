@@ -73,6 +73,26 @@ public class DebugSendChannelEndpoint extends SendChannelEndpoint
         return result;
     }
 
+    public int sendBatch(
+        final ByteBuffer buffer, final int[] datagramOffsets, final int[] datagramLengths, final int datagramCount)
+    {
+        int datagramsSent = 0;
+
+        for (; datagramsSent < datagramCount; datagramsSent++)
+        {
+            final int offset = datagramOffsets[datagramsSent];
+            final int length = datagramLengths[datagramsSent];
+            buffer.limit(offset + length).position(offset);
+
+            if (length != send(buffer))
+            {
+                break;
+            }
+        }
+
+        return datagramsSent;
+    }
+
     public void onStatusMessage(
         final StatusMessageFlyweight msg,
         final UnsafeBuffer buffer,
@@ -29,10 +29,12 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 
+import static io.aeron.logbuffer.FrameDescriptor.frameLength;
 import static io.aeron.logbuffer.FrameDescriptor.frameType;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_NAK;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_RTTM;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_SM;
+import static io.aeron.protocol.StatusMessageFlyweight.HEADER_LENGTH;
 import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
 
 /**
@@ -150,7 +152,7 @@ public class ControlTransportPoller extends UdpTransportPoller
                 }
                 else if (HDR_TYPE_SM == frameType)
                 {
-                    channelEndpoint.onStatusMessage(statusMessage, unsafeBuffer, byteReceived, srcAddress);
+                    onStatusMessages(channelEndpoint, byteReceived, srcAddress);
                 }
                 else if (HDR_TYPE_RTTM == frameType)
                 {
@@ -161,4 +163,30 @@ public class ControlTransportPoller extends UdpTransportPoller
 
         return byteReceived;
     }
+
+    private void onStatusMessages(
+        final SendChannelEndpoint channelEndpoint, final int length, final InetSocketAddress srcAddress)
+    {
+        if (frameLength(unsafeBuffer, 0) >= length)
+        {
+            channelEndpoint.onStatusMessage(statusMessage, unsafeBuffer, length, srcAddress);
+            return;
+        }
+
+        int offset = 0;
+        while ((offset + HEADER_LENGTH) <= length && HDR_TYPE_SM == frameType(unsafeBuffer, offset))
+        {
+            final int frameLength = frameLength(unsafeBuffer, offset);
+            if (frameLength < HEADER_LENGTH || (offset + frameLength) > length)
+            {
+                break;
+            }
+
+            statusMessage.wrap(unsafeBuffer, offset, frameLength);
+            channelEndpoint.onStatusMessage(statusMessage, unsafeBuffer, frameLength, srcAddress);
+            offset += frameLength;
+        }
+
+        statusMessage.wrap(unsafeBuffer);
+    }
 }
@@ -16,12 +16,16 @@
 package io.aeron.driver.media;
 
 import io.aeron.driver.Configuration;
+import io.aeron.driver.PublicationImage;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
 import org.agrona.LangUtil;
 import org.agrona.collections.ArrayUtil;
+import org.agrona.concurrent.NanoClock;
 import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -35,24 +39,114 @@ import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
 
 /**
  * Encapsulates the polling of a number of {@link UdpChannelTransport}s using whatever means provides the lowest latency.
+ * <p>
+ * When the receive batch size is greater than 1 then up to that many datagrams are drained from each readable
+ * transport into a pre-allocated ring of receive buffers before being dispatched in a tight loop.
+ * <p>
+ * When sweeping, every transport is read with a non-blocking receive rather than using the selector once there are
+ * many transports. A transport which has nothing to read is skipped for an exponentially increasing number of
+ * polls, up to a max, so the cost of idle transports is amortised while active ones are read every poll.
+ * <p>
+ * When given a clock for receive timestamps each datagram is timestamped as it is received and the timestamp is
+ * available from {@link ReceiveChannelEndpoint#receiveTimestampNs()} while it is dispatched.
+ * <p>
+ * A transport for an endpoint which receives in place is read with a scattering read which takes the header into a
+ * receive buffer and the body directly into the term of the image which last had data, at its highest received
+ * position. When the header shows it is the next in order packet for that image only the header is written to the
+ * term, otherwise the body is moved back into the receive buffer and the datagram is dispatched as normal.
  */
 public class DataTransportPoller extends UdpTransportPoller
 {
-    private final ByteBuffer byteBuffer;
-    private final UnsafeBuffer unsafeBuffer;
-    private final DataHeaderFlyweight dataMessage;
-    private final SetupFlyweight setupMessage;
-    private final RttMeasurementFlyweight rttMeasurement;
+    private final int receiveBatchSize;
+    private final ReceiveBuffer[] receiveBuffers;
+    private final AtomicCounter receiveBatches;
+    private final AtomicCounter receiveBatchDatagrams;
+    private final boolean isSweep;
+    private final int sweepMaxSkip;
+    private final NanoClock receiveTimestampClock;
+    private long datagramsReceived;
+    private final ByteBuffer[] inPlaceBuffers = new ByteBuffer[2];
     private ChannelAndTransport[] channelAndTransports = new ChannelAndTransport[0];
 
     public DataTransportPoller()
     {
-        byteBuffer = NetworkUtil.allocateDirectAlignedAndPadded(
-            Configuration.MAX_UDP_PAYLOAD_LENGTH, CACHE_LINE_LENGTH * 2);
-        unsafeBuffer = new UnsafeBuffer(byteBuffer);
-        dataMessage = new DataHeaderFlyweight(unsafeBuffer);
-        setupMessage = new SetupFlyweight(unsafeBuffer);
-        rttMeasurement = new RttMeasurementFlyweight(unsafeBuffer);
+        this(1, null, null);
+    }
+
+    /**
+     * Construct a poller which will receive up to a batch of datagrams from each transport per poll.
+     *
+     * @param receiveBatchSize      max number of datagrams to be received from a transport in one poll.
+     * @param receiveBatches        counter for the number of non-empty batches received, may be null if batch is 1.
+     * @param receiveBatchDatagrams counter for the number of datagrams received in batches, may be null if batch is 1.
+     */
+    public DataTransportPoller(
+        final int receiveBatchSize, final AtomicCounter receiveBatches, final AtomicCounter receiveBatchDatagrams)
+    {
+        this(receiveBatchSize, receiveBatches, receiveBatchDatagrams, false, 0);
+    }
+
+    /**
+     * Construct a poller which will receive up to a batch of datagrams from each transport per poll and optionally
+     * sweep all transports rather than use the selector.
+     *
+     * @param receiveBatchSize      max number of datagrams to be received from a transport in one poll.
+     * @param receiveBatches        counter for the number of non-empty batches received, may be null if batch is 1.
+     * @param receiveBatchDatagrams counter for the number of datagrams received in batches, may be null if batch is 1.
+     * @param isSweep               true if all transports are swept with non-blocking reads.
+     * @param sweepMaxSkip          max number of polls an idle transport is skipped for when sweeping.
+     */
+    public DataTransportPoller(
+        final int receiveBatchSize,
+        final AtomicCounter receiveBatches,
+        final AtomicCounter receiveBatchDatagrams,
+        final boolean isSweep,
+        final int sweepMaxSkip)
+    {
+        this(receiveBatchSize, receiveBatches, receiveBatchDatagrams, isSweep, sweepMaxSkip, null);
+    }
+
+    /**
+     * Construct a poller which will receive up to a batch of datagrams from each transport per poll, optionally
+     * sweep all transports rather than use the selector, and optionally timestamp each datagram on receipt.
+     *
+     * @param receiveBatchSize      max number of datagrams to be received from a transport in one poll.
+     * @param receiveBatches        counter for the number of non-empty batches received, may be null if batch is 1.
+     * @param receiveBatchDatagrams counter for the number of datagrams received in batches, may be null if batch is 1.
+     * @param isSweep               true if all transports are swept with non-blocking reads.
+     * @param sweepMaxSkip          max number of polls an idle transport is skipped for when sweeping.
+     * @param receiveTimestampClock for timestamping each datagram on receipt or null to not timestamp.
+     */
+    public DataTransportPoller(
+        final int receiveBatchSize,
+        final AtomicCounter receiveBatches,
+        final AtomicCounter receiveBatchDatagrams,
+        final boolean isSweep,
+        final int sweepMaxSkip,
+        final NanoClock receiveTimestampClock)
+    {
+        this.receiveTimestampClock = receiveTimestampClock;
+        this.receiveBatchSize = receiveBatchSize;
+        this.receiveBatches = receiveBatches;
+        this.receiveBatchDatagrams = receiveBatchDatagrams;
+        this.isSweep = isSweep;
+        this.sweepMaxSkip = sweepMaxSkip;
+
+        receiveBuffers = new ReceiveBuffer[receiveBatchSize];
+        for (int i = 0; i < receiveBatchSize; i++)
+        {
+            receiveBuffers[i] = new ReceiveBuffer();
+        }
+    }
+
+    /**
+     * The max number of datagrams received from a transport in one poll.
+     *
+     * @return max number of datagrams received from a transport in one poll.
+     */
+    public int receiveBatchSize()
+    {
+        return receiveBatchSize;
     }
 
     public void close()
@@ -68,6 +162,11 @@ public class DataTransportPoller extends UdpTransportPoller
 
     public int pollTransports()
     {
+        if (isSweep)
+        {
+            return sweepTransports();
+        }
+
         int bytesReceived = 0;
         try
         {
@@ -149,48 +248,208 @@ public class DataTransportPoller extends UdpTransportPoller
         }
     }
 
+    private int sweepTransports()
+    {
+        int bytesReceived = 0;
+
+        for (final ChannelAndTransport channelAndTransport : channelAndTransports)
+        {
+            if (channelAndTransport.skipCount > 0)
+            {
+                channelAndTransport.skipCount--;
+                continue;
+            }
+
+            final long datagramsReceived = this.datagramsReceived;
+            bytesReceived += poll(channelAndTransport);
+
+            if (datagramsReceived == this.datagramsReceived)
+            {
+                final int skip = Math.min(sweepMaxSkip, Math.max(1, channelAndTransport.skip << 1));
+                channelAndTransport.skip = skip;
+                channelAndTransport.skipCount = skip;
+            }
+            else
+            {
+                channelAndTransport.skip = 0;
+            }
+        }
+
+        return bytesReceived;
+    }
+
     private int poll(final ChannelAndTransport channelAndTransport)
+    {
+        if (channelAndTransport.isInPlace)
+        {
+            final PublicationImage image = channelAndTransport.channelEndpoint.inPlaceReceiveImage();
+            final ByteBuffer termBuffer = null != image ? image.inPlaceReceiveBuffer() : null;
+
+            if (null != termBuffer)
+            {
+                return pollInPlace(channelAndTransport, image, termBuffer);
+            }
+        }
+
+        if (1 == receiveBatchSize)
+        {
+            int bytesReceived = 0;
+            final ReceiveBuffer receiveBuffer = receiveBuffers[0];
+            final InetSocketAddress srcAddress = channelAndTransport.transport.receive(receiveBuffer.byteBuffer);
+
+            if (null != srcAddress)
+            {
+                datagramsReceived++;
+                receiveBuffer.timestampNs = null != receiveTimestampClock ? receiveTimestampClock.nanoTime() : 0;
+                bytesReceived = dispatch(channelAndTransport, receiveBuffer, srcAddress);
+            }
+
+            return bytesReceived;
+        }
+
+        return pollBatch(channelAndTransport);
+    }
+
+    private int pollInPlace(
+        final ChannelAndTransport channelAndTransport, final PublicationImage image, final ByteBuffer termBuffer)
+    {
+        int bytesReceived = 0;
+        final ReceiveBuffer receiveBuffer = receiveBuffers[0];
+        final ByteBuffer byteBuffer = receiveBuffer.byteBuffer;
+        final ByteBuffer[] inPlaceBuffers = this.inPlaceBuffers;
+
+        byteBuffer.clear().limit(DataHeaderFlyweight.HEADER_LENGTH);
+        inPlaceBuffers[0] = byteBuffer;
+        inPlaceBuffers[1] = termBuffer;
+
+        final int length = channelAndTransport.transport.receive(inPlaceBuffers);
+        if (length > 0)
+        {
+            datagramsReceived++;
+            receiveBuffer.timestampNs = null != receiveTimestampClock ? receiveTimestampClock.nanoTime() : 0;
+
+            final InetSocketAddress srcAddress = channelAndTransport.srcAddress;
+            final DataHeaderFlyweight header = receiveBuffer.dataMessage;
+
+            if (image.isInPlacePacket(header, length))
+            {
+                channelAndTransport.channelEndpoint.receiveTimestampNs(receiveBuffer.timestampNs);
+                bytesReceived = image.insertPacketInPlace(
+                    header, length, channelAndTransport.transportIndex, srcAddress);
+            }
+            else
+            {
+                image.abortInPlaceReceive(receiveBuffer.unsafeBuffer, length);
+                byteBuffer.limit(byteBuffer.capacity()).position(length);
+                bytesReceived = dispatch(channelAndTransport, receiveBuffer, srcAddress);
+            }
+        }
+
+        return bytesReceived;
+    }
+
+    private int pollBatch(final ChannelAndTransport channelAndTransport)
+    {
+        final ReceiveBuffer[] receiveBuffers = this.receiveBuffers;
+        final UdpChannelTransport transport = channelAndTransport.transport;
+        int datagramCount = 0;
+
+        for (final int batchSize = receiveBatchSize; datagramCount < batchSize; datagramCount++)
+        {
+            final ReceiveBuffer receiveBuffer = receiveBuffers[datagramCount];
+            final InetSocketAddress srcAddress = transport.receive(receiveBuffer.byteBuffer);
+            if (null == srcAddress)
+            {
+                break;
+            }
+
+            receiveBuffer.srcAddress = srcAddress;
+            receiveBuffer.timestampNs = null != receiveTimestampClock ? receiveTimestampClock.nanoTime() : 0;
+        }
+
+        int bytesReceived = 0;
+        if (datagramCount > 0)
+        {
+            datagramsReceived += datagramCount;
+            for (int i = 0; i < datagramCount; i++)
+            {
+                final ReceiveBuffer receiveBuffer = receiveBuffers[i];
+                final InetSocketAddress srcAddress = receiveBuffer.srcAddress;
+                receiveBuffer.srcAddress = null;
+
+                bytesReceived += dispatch(channelAndTransport, receiveBuffer, srcAddress);
+            }
+
+            receiveBatches.increment();
+            receiveBatchDatagrams.getAndAdd(datagramCount);
+        }
+
+        return bytesReceived;
+    }
+
+    private static int dispatch(
+        final ChannelAndTransport channelAndTransport,
+        final ReceiveBuffer receiveBuffer,
+        final InetSocketAddress srcAddress)
     {
         int bytesReceived = 0;
         final ReceiveChannelEndpoint channelEndpoint = channelAndTransport.channelEndpoint;
-        final InetSocketAddress srcAddress = channelAndTransport.transport.receive(byteBuffer);
         final int transportIndex = channelAndTransport.transportIndex;
+        final UnsafeBuffer unsafeBuffer = receiveBuffer.unsafeBuffer;
+        final int length = receiveBuffer.byteBuffer.position();
 
-        if (null != srcAddress)
+        if (channelEndpoint.isValidFrame(unsafeBuffer, length))
         {
-            final int length = byteBuffer.position();
+            channelEndpoint.receiveHook(unsafeBuffer, length, srcAddress);
+            channelEndpoint.receiveTimestampNs(receiveBuffer.timestampNs);
 
-            if (channelEndpoint.isValidFrame(unsafeBuffer, length))
+            final int frameType = frameType(unsafeBuffer, 0);
+            if (HDR_TYPE_DATA == frameType || HDR_TYPE_PAD == frameType)
             {
-                channelEndpoint.receiveHook(unsafeBuffer, length, srcAddress);
-
-                final int frameType = frameType(unsafeBuffer, 0);
-                if (HDR_TYPE_DATA == frameType || HDR_TYPE_PAD == frameType)
-                {
-                    bytesReceived = channelEndpoint.onDataPacket(
-                        dataMessage, unsafeBuffer, length, srcAddress, transportIndex);
-                }
-                else if (HDR_TYPE_SETUP == frameType)
-                {
-                    channelEndpoint.onSetupMessage(
-                        setupMessage, unsafeBuffer, length, srcAddress, transportIndex);
-                }
-                else if (HDR_TYPE_RTTM == frameType)
-                {
-                    channelEndpoint.onRttMeasurement(
-                        rttMeasurement, unsafeBuffer, length, srcAddress, transportIndex);
-                }
+                bytesReceived = channelEndpoint.onDataPacket(
+                    receiveBuffer.dataMessage, unsafeBuffer, length, srcAddress, transportIndex);
+            }
+            else if (HDR_TYPE_SETUP == frameType)
+            {
+                channelEndpoint.onSetupMessage(
+                    receiveBuffer.setupMessage, unsafeBuffer, length, srcAddress, transportIndex);
+            }
+            else if (HDR_TYPE_RTTM == frameType)
+            {
+                channelEndpoint.onRttMeasurement(
+                    receiveBuffer.rttMeasurement, unsafeBuffer, length, srcAddress, transportIndex);
+            }
+            else if (HDR_TYPE_FEC == frameType)
+            {
+                channelEndpoint.onFecMessage(receiveBuffer.fecMessage, unsafeBuffer, length, srcAddress);
             }
         }
 
         return bytesReceived;
     }
 
+    private static class ReceiveBuffer
+    {
+        private final ByteBuffer byteBuffer = NetworkUtil.allocateDirectAlignedAndPadded(
+            Configuration.MAX_UDP_PAYLOAD_LENGTH, CACHE_LINE_LENGTH * 2);
+        private final UnsafeBuffer unsafeBuffer = new UnsafeBuffer(byteBuffer);
+        private final DataHeaderFlyweight dataMessage = new DataHeaderFlyweight(unsafeBuffer);
+        private final SetupFlyweight setupMessage = new SetupFlyweight(unsafeBuffer);
+        private final RttMeasurementFlyweight rttMeasurement = new RttMeasurementFlyweight(unsafeBuffer);
+        private final FecFlyweight fecMessage = new FecFlyweight(unsafeBuffer);
+        private InetSocketAddress srcAddress;
+        private long timestampNs;
+    }
+
     private static class ChannelAndTransport
     {
         private final ReceiveChannelEndpoint channelEndpoint;
         private final UdpChannelTransport transport;
         private final int transportIndex;
+        private final boolean isInPlace;
+        private final InetSocketAddress srcAddress;
+        private int skip;
+        private int skipCount;
 
         ChannelAndTransport(
             final ReceiveChannelEndpoint channelEndpoint, final UdpChannelTransport transport, final int transportIndex)
@@ -198,6 +457,8 @@ public class DataTransportPoller extends UdpTransportPoller
             this.channelEndpoint = channelEndpoint;
             this.transport = transport;
             this.transportIndex = transportIndex;
+            this.isInPlace = channelEndpoint.isInPlaceReceive() && channelEndpoint == transport;
+            this.srcAddress = channelEndpoint.udpChannel().remoteSource();
         }
     }
 }
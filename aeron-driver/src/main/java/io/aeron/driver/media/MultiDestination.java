@@ -34,6 +34,14 @@ abstract class MultiDestination
     abstract int send(
         DatagramChannel datagramChannel, ByteBuffer buffer, SendChannelEndpoint channelEndpoint, int bytesToSend);
 
+    abstract int sendBatch(
+        DatagramChannel datagramChannel,
+        ByteBuffer buffer,
+        SendChannelEndpoint channelEndpoint,
+        int[] datagramOffsets,
+        int[] datagramLengths,
+        int datagramCount);
+
     abstract void onStatusMessage(StatusMessageFlyweight msg, InetSocketAddress address);
 
     abstract boolean isManualControlMode();
@@ -67,6 +75,32 @@ abstract class MultiDestination
 
         return bytesSent;
     }
+
+    static int sendBatch(
+        final DatagramChannel datagramChannel,
+        final ByteBuffer buffer,
+        final SendChannelEndpoint channelEndpoint,
+        final int[] datagramOffsets,
+        final int[] datagramLengths,
+        final int datagramCount,
+        final InetSocketAddress destination)
+    {
+        int datagramsSent = 0;
+
+        for (; datagramsSent < datagramCount; datagramsSent++)
+        {
+            final int offset = datagramOffsets[datagramsSent];
+            final int length = datagramLengths[datagramsSent];
+            buffer.limit(offset + length);
+
+            if (length != send(datagramChannel, buffer, channelEndpoint, length, offset, destination))
+            {
+                break;
+            }
+        }
+
+        return datagramsSent;
+    }
 }
 
 class DynamicMultiDestination extends MultiDestination
@@ -141,6 +175,44 @@ class DynamicMultiDestination extends MultiDestination
         return minBytesSent;
     }
 
+    int sendBatch(
+        final DatagramChannel datagramChannel,
+        final ByteBuffer buffer,
+        final SendChannelEndpoint channelEndpoint,
+        final int[] datagramOffsets,
+        final int[] datagramLengths,
+        final int datagramCount)
+    {
+        final long nowNs = nanoClock.nanoTime();
+        final ArrayList<Destination> destinations = this.destinations;
+        int minDatagramsSent = datagramCount;
+
+        for (int lastIndex = destinations.size() - 1, i = lastIndex; i >= 0; i--)
+        {
+            final Destination destination = destinations.get(i);
+
+            if (nowNs > (destination.timeOfLastActivityNs + destinationTimeoutNs))
+            {
+                ArrayListUtil.fastUnorderedRemove(destinations, i, lastIndex--);
+            }
+            else
+            {
+                minDatagramsSent = Math.min(
+                    minDatagramsSent,
+                    sendBatch(
+                        datagramChannel,
+                        buffer,
+                        channelEndpoint,
+                        datagramOffsets,
+                        datagramLengths,
+                        datagramCount,
+                        destination.address));
+            }
+        }
+
+        return minDatagramsSent;
+    }
+
     void addDestination(final InetSocketAddress address)
     {
     }
@@ -200,6 +272,33 @@ class ManualMultiDestination extends MultiDestination
         return minBytesSent;
     }
 
+    int sendBatch(
+        final DatagramChannel datagramChannel,
+        final ByteBuffer buffer,
+        final SendChannelEndpoint channelEndpoint,
+        final int[] datagramOffsets,
+        final int[] datagramLengths,
+        final int datagramCount)
+    {
+        int minDatagramsSent = datagramCount;
+
+        for (final InetSocketAddress destination : destinations)
+        {
+            minDatagramsSent = Math.min(
+                minDatagramsSent,
+                sendBatch(
+                    datagramChannel,
+                    buffer,
+                    channelEndpoint,
+                    datagramOffsets,
+                    datagramLengths,
+                    datagramCount,
+                    destination));
+        }
+
+        return minDatagramsSent;
+    }
+
     void addDestination(final InetSocketAddress address)
     {
         final int length = destinations.length;
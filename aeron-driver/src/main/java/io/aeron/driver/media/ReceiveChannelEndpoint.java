@@ -53,13 +53,23 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
     private final ByteBuffer rttMeasurementBuffer;
     private final RttMeasurementFlyweight rttMeasurementFlyweight;
     private final AtomicCounter shortSends;
+    private final AtomicCounter statusMessagePacketsSent;
     private final AtomicCounter possibleTtlAsymmetry;
     private final AtomicCounter statusIndicator;
     private final Int2IntCounterMap refCountByStreamIdMap = new Int2IntCounterMap(0);
     private final Long2LongCounterMap refCountByStreamIdAndSessionIdMap = new Long2LongCounterMap(0);
     private final MultiRcvDestination multiRcvDestination;
+    private final StatusMessageBatch statusMessageBatch;
 
     private final long receiverId;
+    private final boolean isInPlaceReceive;
+    private boolean hasInPlaceReceiveImage;
+    private int inPlaceReceiveSessionId;
+    private int inPlaceReceiveStreamId;
+    private int receiverShardIndex;
+    private long receiveTimestampNs;
+    private ReceiveChannelEndpoint primaryEndpoint = this;
+    private ReceiveChannelEndpoint[] fanInEndpoints;
 
     public ReceiveChannelEndpoint(
         final UdpChannel udpChannel,
@@ -71,7 +81,7 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
             udpChannel,
             udpChannel.remoteData(),
             udpChannel.remoteData(),
-            null,
+            udpChannel.remoteSource(),
             context.errorLog(),
             context.systemCounters().get(INVALID_PACKETS));
 
@@ -79,6 +89,7 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         this.statusIndicator = statusIndicator;
 
         shortSends = context.systemCounters().get(SHORT_SENDS);
+        statusMessagePacketsSent = context.systemCounters().get(STATUS_MESSAGE_PACKETS_SENT);
         possibleTtlAsymmetry = context.systemCounters().get(POSSIBLE_TTL_ASYMMETRY);
 
         final ReceiveChannelEndpointThreadLocals threadLocals = context.receiveChannelEndpointThreadLocals();
@@ -88,7 +99,10 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         nakFlyweight = threadLocals.nakFlyweight();
         rttMeasurementBuffer = threadLocals.rttMeasurementBuffer();
         rttMeasurementFlyweight = threadLocals.rttMeasurementFlyweight();
+        statusMessageBatch = threadLocals.statusMessageBatch();
         receiverId = threadLocals.receiverId();
+        isInPlaceReceive = context.receiveInPlace() && null != udpChannel.remoteSource();
+        fanInEndpoints = new ReceiveChannelEndpoint[]{ this };
 
         final String mode = udpChannel.channelUri().get(CommonContext.MDC_CONTROL_MODE_PARAM_NAME);
         if (CommonContext.MDC_CONTROL_MODE_MANUAL.equals(mode))
@@ -128,6 +142,88 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         return bytesSent;
     }
 
+    /**
+     * Index of the receiver shard which services this endpoint.
+     *
+     * @return index of the receiver shard which services this endpoint.
+     */
+    public int receiverShardIndex()
+    {
+        return receiverShardIndex;
+    }
+
+    /**
+     * Index of the receiver shard which services this endpoint, set on creation by the conductor.
+     *
+     * @param receiverShardIndex of the receiver shard which services this endpoint.
+     */
+    public void receiverShardIndex(final int receiverShardIndex)
+    {
+        this.receiverShardIndex = receiverShardIndex;
+    }
+
+    /**
+     * Fan in the receipt of this unicast endpoint across a group of endpoints, each on its own receiver shard, which
+     * bind their own socket to the same address with SO_REUSEPORT so the kernel spreads publishers across them.
+     * <p>
+     * The first of the group should be this endpoint which is the primary to which subscriptions are linked. All
+     * share the same status indicator but each has its own {@link DataPacketDispatcher} so an image is only touched
+     * by the receiver shard of the endpoint on which its setup arrived.
+     *
+     * @param endpoints in the group including this endpoint first.
+     */
+    public void fanIn(final ReceiveChannelEndpoint[] endpoints)
+    {
+        fanInEndpoints = endpoints;
+        for (final ReceiveChannelEndpoint endpoint : endpoints)
+        {
+            endpoint.primaryEndpoint = this;
+            endpoint.isReusePort = true;
+        }
+    }
+
+    /**
+     * The endpoints across which receipt of this endpoint is fanned in, or just this endpoint when not fanned in.
+     *
+     * @return the endpoints across which receipt of this endpoint is fanned in.
+     * @see #fanIn(ReceiveChannelEndpoint[])
+     */
+    public ReceiveChannelEndpoint[] fanInEndpoints()
+    {
+        return fanInEndpoints;
+    }
+
+    /**
+     * The primary endpoint of a fanned in group to which subscriptions are linked, or this endpoint when not fanned in.
+     *
+     * @return the primary endpoint of a fanned in group.
+     * @see #fanIn(ReceiveChannelEndpoint[])
+     */
+    public ReceiveChannelEndpoint primaryEndpoint()
+    {
+        return primaryEndpoint;
+    }
+
+    /**
+     * Timestamp at which the datagram currently being dispatched was received, if receive timestamps are enabled.
+     *
+     * @return timestamp at which the datagram currently being dispatched was received or 0 if not enabled.
+     */
+    public long receiveTimestampNs()
+    {
+        return receiveTimestampNs;
+    }
+
+    /**
+     * Timestamp at which the datagram about to be dispatched was received, set by the {@link DataTransportPoller}.
+     *
+     * @param receiveTimestampNs at which the datagram about to be dispatched was received.
+     */
+    public void receiveTimestampNs(final long receiveTimestampNs)
+    {
+        this.receiveTimestampNs = receiveTimestampNs;
+    }
+
     public String originalUriString()
     {
         return udpChannel().originalUriString();
@@ -140,6 +236,11 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
 
     public void indicateActive()
     {
+        if (this != primaryEndpoint)
+        {
+            return;
+        }
+
         final long currentStatus = statusIndicator.get();
         if (currentStatus != ChannelEndpointStatus.INITIALIZING)
         {
@@ -192,7 +293,7 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
 
     public void possibleTtlAsymmetryEncountered()
     {
-        possibleTtlAsymmetry.incrementOrdered();
+        possibleTtlAsymmetry.increment();
     }
 
     public int incRefToStream(final int streamId)
@@ -358,7 +459,38 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         final InetSocketAddress srcAddress,
         final int transportIndex)
     {
-        return dispatcher.onDataPacket(this, header, buffer, length, srcAddress, transportIndex);
+        final int bytesReceived = dispatcher.onDataPacket(this, header, buffer, length, srcAddress, transportIndex);
+
+        if (isInPlaceReceive && bytesReceived > 0)
+        {
+            hasInPlaceReceiveImage = true;
+            inPlaceReceiveSessionId = header.sessionId();
+            inPlaceReceiveStreamId = header.streamId();
+        }
+
+        return bytesReceived;
+    }
+
+    /**
+     * Is the endpoint connected to a single source so the body of in order data packets can be received directly
+     * into the term buffer of the image they are for.
+     *
+     * @return true if the body of in order data packets can be received in place.
+     */
+    public boolean isInPlaceReceive()
+    {
+        return isInPlaceReceive;
+    }
+
+    /**
+     * The image which last had data inserted on this endpoint and so is most likely to be the destination of the
+     * next data packet received when receiving in place.
+     *
+     * @return the image which last had data inserted or null if none or it has since been removed.
+     */
+    public PublicationImage inPlaceReceiveImage()
+    {
+        return hasInPlaceReceiveImage ? dispatcher.image(inPlaceReceiveSessionId, inPlaceReceiveStreamId) : null;
     }
 
     public void onSetupMessage(
@@ -385,6 +517,15 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         }
     }
 
+    public void onFecMessage(
+        final FecFlyweight header, final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
+    {
+        if (length >= FecFlyweight.HEADER_LENGTH)
+        {
+            dispatcher.onFecMessage(header, buffer, length);
+        }
+    }
+
     public void sendSetupElicitingStatusMessage(
         final int transportIndex, final InetSocketAddress controlAddress, final int sessionId, final int streamId)
     {
@@ -446,7 +587,35 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
                 .receiverWindowLength(window)
                 .flags(flags);
 
-            send(smBuffer, StatusMessageFlyweight.HEADER_LENGTH, controlAddresses);
+            if (null != statusMessageBatch && null == multiRcvDestination)
+            {
+                statusMessageBatch.add(this, controlAddresses[0].address, smBuffer);
+            }
+            else
+            {
+                send(smBuffer, StatusMessageFlyweight.HEADER_LENGTH, controlAddresses);
+                statusMessagePacketsSent.increment();
+            }
+        }
+    }
+
+    /**
+     * Send a datagram of Status Messages which have been batched for a control address.
+     *
+     * @param buffer         containing the Status Messages from its position to its limit.
+     * @param controlAddress to send the Status Messages to.
+     */
+    void sendStatusMessageBatch(final ByteBuffer buffer, final InetSocketAddress controlAddress)
+    {
+        if (!isClosed)
+        {
+            final int bytesToSend = buffer.remaining();
+            if (bytesToSend != sendTo(buffer, controlAddress))
+            {
+                shortSends.increment();
+            }
+
+            statusMessagePacketsSent.increment();
         }
     }
 
@@ -460,18 +629,60 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
     {
         if (!isClosed)
         {
-            nakBuffer.clear();
+            nakBuffer.clear().limit(NakFlyweight.HEADER_LENGTH);
             nakFlyweight
                 .streamId(streamId)
                 .sessionId(sessionId)
                 .termId(termId)
                 .termOffset(termOffset)
-                .length(length);
+                .length(length)
+                .frameLength(NakFlyweight.HEADER_LENGTH);
 
             send(nakBuffer, NakFlyweight.HEADER_LENGTH, controlAddresses);
         }
     }
 
+    /**
+     * Send a NAK carrying a range for each gap in the same term.
+     *
+     * @param controlAddresses to send the NAK to.
+     * @param sessionId        of the image.
+     * @param streamId         of the image.
+     * @param termId           in which the gaps occur.
+     * @param termOffsets      of the beginning of each gap.
+     * @param lengths          of each gap.
+     * @param gapCount         number of gaps to be sent which must be no greater than
+     *                         {@link NakFlyweight#MAX_RANGE_COUNT}.
+     */
+    public void sendNakMessage(
+        final DestinationImageControlAddress[] controlAddresses,
+        final int sessionId,
+        final int streamId,
+        final int termId,
+        final int[] termOffsets,
+        final int[] lengths,
+        final int gapCount)
+    {
+        if (!isClosed)
+        {
+            final int frameLength = NakFlyweight.frameLengthForRanges(gapCount);
+
+            nakBuffer.clear().limit(frameLength);
+            nakFlyweight
+                .streamId(streamId)
+                .sessionId(sessionId)
+                .termId(termId)
+                .frameLength(frameLength);
+
+            for (int i = 0; i < gapCount; i++)
+            {
+                nakFlyweight.range(i, termOffsets[i], lengths[i]);
+            }
+
+            send(nakBuffer, frameLength, controlAddresses);
+        }
+    }
+
     public void sendRttMeasurement(
         final DestinationImageControlAddress[] controlAddresses,
         final int sessionId,
@@ -39,6 +39,7 @@ public class ReceiveChannelEndpointThreadLocals
     private final NakFlyweight nakFlyweight;
     private final ByteBuffer rttMeasurementBuffer;
     private final RttMeasurementFlyweight rttMeasurementFlyweight;
+    private final StatusMessageBatch statusMessageBatch;
     private final long receiverId;
 
     public ReceiveChannelEndpointThreadLocals(final MediaDriver.Context context)
@@ -47,7 +48,7 @@ public class ReceiveChannelEndpointThreadLocals
         final int smLength = StatusMessageFlyweight.HEADER_LENGTH + applicationSpecificFeedback.length;
         final int bufferLength =
             BitUtil.align(smLength, CACHE_LINE_LENGTH) +
-            BitUtil.align(NakFlyweight.HEADER_LENGTH, CACHE_LINE_LENGTH) +
+            BitUtil.align(NakFlyweight.MAX_LENGTH, CACHE_LINE_LENGTH) +
             BitUtil.align(RttMeasurementFlyweight.HEADER_LENGTH, CACHE_LINE_LENGTH);
 
         final UUID uuid = UUID.randomUUID();
@@ -60,15 +61,17 @@ public class ReceiveChannelEndpointThreadLocals
         statusMessageFlyweight = new StatusMessageFlyweight(smBuffer);
 
         final int nakMessageOffset = BitUtil.align(smLength, 32);
-        byteBuffer.limit(nakMessageOffset + NakFlyweight.HEADER_LENGTH).position(nakMessageOffset);
+        byteBuffer.limit(nakMessageOffset + NakFlyweight.MAX_LENGTH).position(nakMessageOffset);
         nakBuffer = byteBuffer.slice();
         nakFlyweight = new NakFlyweight(nakBuffer);
 
-        final int rttMeasurementOffset = nakMessageOffset + BitUtil.align(NakFlyweight.HEADER_LENGTH, 32);
+        final int rttMeasurementOffset = nakMessageOffset + BitUtil.align(NakFlyweight.MAX_LENGTH, 32);
         byteBuffer.limit(rttMeasurementOffset + RttMeasurementFlyweight.HEADER_LENGTH).position(rttMeasurementOffset);
         rttMeasurementBuffer = byteBuffer.slice();
         rttMeasurementFlyweight = new RttMeasurementFlyweight(rttMeasurementBuffer);
 
+        statusMessageBatch = context.statusMessageBatch() ? new StatusMessageBatch(context.mtuLength()) : null;
+
         statusMessageFlyweight
             .applicationSpecificFeedback(applicationSpecificFeedback, 0, applicationSpecificFeedback.length)
             .receiverId(receiverId)
@@ -118,6 +121,17 @@ public class ReceiveChannelEndpointThreadLocals
         return rttMeasurementFlyweight;
     }
 
+    /**
+     * Batch of Status Messages shared by the endpoints of a {@link io.aeron.driver.Receiver}.
+     *
+     * @return batch of Status Messages or null if they are not batched.
+     * @see io.aeron.driver.MediaDriver.Context#statusMessageBatch()
+     */
+    public StatusMessageBatch statusMessageBatch()
+    {
+        return statusMessageBatch;
+    }
+
     public long receiverId()
     {
         return receiverId;
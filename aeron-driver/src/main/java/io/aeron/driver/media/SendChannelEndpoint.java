@@ -51,6 +51,7 @@ public class SendChannelEndpoint extends UdpChannelTransport
     private final AtomicCounter statusMessagesReceived;
     private final AtomicCounter nakMessagesReceived;
     private final AtomicCounter statusIndicator;
+    private int senderShardIndex;
 
     public SendChannelEndpoint(
         final UdpChannel udpChannel, final AtomicCounter statusIndicator, final MediaDriver.Context context)
@@ -114,6 +115,26 @@ public class SendChannelEndpoint extends UdpChannelTransport
         }
     }
 
+    /**
+     * Index of the sender shard which services this endpoint.
+     *
+     * @return index of the sender shard which services this endpoint.
+     */
+    public int senderShardIndex()
+    {
+        return senderShardIndex;
+    }
+
+    /**
+     * Index of the sender shard which services this endpoint, set on creation by the conductor.
+     *
+     * @param senderShardIndex of the sender shard which services this endpoint.
+     */
+    public void senderShardIndex(final int senderShardIndex)
+    {
+        this.senderShardIndex = senderShardIndex;
+    }
+
     public String originalUriString()
     {
         return udpChannel().originalUriString();
@@ -214,6 +235,62 @@ public class SendChannelEndpoint extends UdpChannelTransport
         return bytesSent;
     }
 
+    /**
+     * Send a batch of datagrams, which lie within a {@link ByteBuffer}, to connected address or each destination.
+     * <p>
+     * For multi-destination-cast the batch is sent to one destination in full before moving to the next.
+     *
+     * @param buffer          containing the datagrams to send.
+     * @param datagramOffsets at which each datagram begins in the buffer.
+     * @param datagramLengths of each datagram in the buffer.
+     * @param datagramCount   of datagrams in the batch.
+     * @return number of datagrams, from the start of the batch, which have been sent in full.
+     */
+    public int sendBatch(
+        final ByteBuffer buffer, final int[] datagramOffsets, final int[] datagramLengths, final int datagramCount)
+    {
+        int datagramsSent = 0;
+
+        if (null != sendDatagramChannel)
+        {
+            if (null == multiDestination)
+            {
+                for (; datagramsSent < datagramCount; datagramsSent++)
+                {
+                    final int offset = datagramOffsets[datagramsSent];
+                    final int length = datagramLengths[datagramsSent];
+                    buffer.limit(offset + length).position(offset);
+
+                    int bytesSent = 0;
+                    try
+                    {
+                        sendHook(buffer, connectAddress);
+                        bytesSent = sendDatagramChannel.write(buffer);
+                    }
+                    catch (final PortUnreachableException | ClosedChannelException | NotYetConnectedException ignore)
+                    {
+                    }
+                    catch (final IOException ex)
+                    {
+                        sendError(length, ex, connectAddress);
+                    }
+
+                    if (length != bytesSent)
+                    {
+                        break;
+                    }
+                }
+            }
+            else
+            {
+                datagramsSent = multiDestination.sendBatch(
+                    sendDatagramChannel, buffer, this, datagramOffsets, datagramLengths, datagramCount);
+            }
+        }
+
+        return datagramsSent;
+    }
+
     public void onStatusMessage(
         final StatusMessageFlyweight msg,
         final UnsafeBuffer buffer,
@@ -231,7 +308,7 @@ public class SendChannelEndpoint extends UdpChannelTransport
             if (0 == sessionId && 0 == streamId && SEND_SETUP_FLAG == (msg.flags() & SEND_SETUP_FLAG))
             {
                 publicationBySessionAndStreamId.forEach(NetworkPublication::triggerSendSetupFrame);
-                statusMessagesReceived.incrementOrdered();
+                statusMessagesReceived.increment();
             }
         }
 
@@ -246,7 +323,7 @@ public class SendChannelEndpoint extends UdpChannelTransport
                 publication.onStatusMessage(msg, srcAddress);
             }
 
-            statusMessagesReceived.incrementOrdered();
+            statusMessagesReceived.increment();
         }
     }
 
@@ -260,8 +337,17 @@ public class SendChannelEndpoint extends UdpChannelTransport
 
         if (null != publication)
         {
-            publication.onNak(msg.termId(), msg.termOffset(), msg.length());
-            nakMessagesReceived.incrementOrdered();
+            final int rangeCount = NakFlyweight.rangeCount(Math.min(msg.frameLength(), length));
+            if (1 == rangeCount)
+            {
+                publication.onNak(msg.termId(), msg.termOffset(), msg.length());
+            }
+            else
+            {
+                publication.onNak(msg, rangeCount);
+            }
+
+            nakMessagesReceived.increment();
         }
     }
 
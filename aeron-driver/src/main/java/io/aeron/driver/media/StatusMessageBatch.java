@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+
+/**
+ * Status Messages from the images of a {@link io.aeron.driver.Receiver} which are bound for the same control address
+ * from the same endpoint, appended back to back so they are sent in one datagram. The batch is sent when a Status
+ * Message for a different endpoint or address is added, when full, or when flushed at the end of a duty cycle.
+ * <p>
+ * The {@link ControlTransportPoller} of a sender reads each Status Message from a datagram in turn.
+ */
+public class StatusMessageBatch
+{
+    private final ByteBuffer buffer;
+    private ReceiveChannelEndpoint channelEndpoint;
+    private InetSocketAddress controlAddress;
+
+    public StatusMessageBatch(final int capacity)
+    {
+        buffer = NetworkUtil.allocateDirectAlignedAndPadded(capacity, CACHE_LINE_LENGTH);
+    }
+
+    /**
+     * Add a Status Message to the batch, sending the existing batch first if it is for a different endpoint or
+     * address or does not have room.
+     *
+     * @param channelEndpoint from which the Status Message will be sent.
+     * @param controlAddress  to which the Status Message will be sent.
+     * @param statusMessage   to be copied from its position to its limit.
+     */
+    void add(
+        final ReceiveChannelEndpoint channelEndpoint,
+        final InetSocketAddress controlAddress,
+        final ByteBuffer statusMessage)
+    {
+        if (channelEndpoint != this.channelEndpoint ||
+            !controlAddress.equals(this.controlAddress) ||
+            buffer.remaining() < statusMessage.remaining())
+        {
+            flush();
+            this.channelEndpoint = channelEndpoint;
+            this.controlAddress = controlAddress;
+        }
+
+        buffer.put(statusMessage);
+    }
+
+    /**
+     * Send any Status Messages in the batch.
+     *
+     * @return number of work items processed.
+     */
+    public int flush()
+    {
+        int workCount = 0;
+
+        if (buffer.position() > 0)
+        {
+            buffer.flip();
+            channelEndpoint.sendStatusMessageBatch(buffer, controlAddress);
+            workCount = 1;
+        }
+
+        buffer.clear();
+        channelEndpoint = null;
+        controlAddress = null;
+
+        return workCount;
+    }
+}
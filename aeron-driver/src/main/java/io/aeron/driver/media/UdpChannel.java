@@ -54,6 +54,7 @@ public final class UdpChannel
     private final InetSocketAddress localData;
     private final InetSocketAddress remoteControl;
     private final InetSocketAddress localControl;
+    private final InetSocketAddress remoteSource;
     private final String uriStr;
     private final String canonicalForm;
     private final NetworkInterface localInterface;
@@ -72,6 +73,7 @@ public final class UdpChannel
         localData = context.localData;
         remoteControl = context.remoteControl;
         localControl = context.localControl;
+        remoteSource = context.remoteSource;
         uriStr = context.uriStr;
         canonicalForm = context.canonicalForm;
         localInterface = context.localInterface;
@@ -96,6 +98,7 @@ public final class UdpChannel
 
             InetSocketAddress endpointAddress = getEndpointAddress(channelUri);
             final InetSocketAddress explicitControlAddress = getExplicitControlAddress(channelUri);
+            final InetSocketAddress sourceAddress = getSourceAddress(channelUri);
 
             final String tagIdStr = channelUri.channelTag();
             final String controlMode = channelUri.get(CommonContext.MDC_CONTROL_MODE_PARAM_NAME);
@@ -118,6 +121,11 @@ public final class UdpChannel
                 throw new UnknownHostException("could not resolve control address: " + explicitControlAddress);
             }
 
+            if (null != sourceAddress && sourceAddress.isUnresolved())
+            {
+                throw new UnknownHostException("could not resolve source address: " + sourceAddress);
+            }
+
             final Context context = new Context()
                 .uriStr(channelUriString)
                 .channelUri(channelUri)
@@ -133,6 +141,12 @@ public final class UdpChannel
                 endpointAddress = new InetSocketAddress("0.0.0.0", 0);
             }
 
+            if (null != sourceAddress &&
+                (endpointAddress.getAddress().isMulticastAddress() || null != explicitControlAddress))
+            {
+                throw new IllegalArgumentException("source address is only supported for unicast endpoints");
+            }
+
             if (endpointAddress.getAddress().isMulticastAddress())
             {
                 final InetSocketAddress controlAddress = getMulticastControlAddress(endpointAddress);
@@ -178,6 +192,7 @@ public final class UdpChannel
                     .remoteDataAddress(endpointAddress)
                     .localControlAddress(localAddress)
                     .localDataAddress(localAddress)
+                    .remoteSourceAddress(sourceAddress)
                     .protocolFamily(getProtocolFamily(endpointAddress.getAddress()))
                     .canonicalForm(canonicalise(localAddress, endpointAddress) + uniqueCanonicalFormSuffix);
             }
@@ -277,6 +292,16 @@ public final class UdpChannel
         return localControl;
     }
 
+    /**
+     * Remote source address a unicast channel is connected to receive from.
+     *
+     * @return remote source address or null if datagrams are received from any source.
+     */
+    public InetSocketAddress remoteSource()
+    {
+        return remoteSource;
+    }
+
     /**
      * Get the {@link ChannelUri} for this channel.
      *
@@ -479,6 +504,17 @@ public final class UdpChannel
         return null;
     }
 
+    private static InetSocketAddress getSourceAddress(final ChannelUri uri)
+    {
+        final String sourceValue = uri.get(CommonContext.SOURCE_PARAM_NAME);
+        if (null != sourceValue)
+        {
+            return SocketAddressUtil.parse(sourceValue);
+        }
+
+        return null;
+    }
+
     private static int getMulticastTtl(final ChannelUri uri)
     {
         final String ttlValue = uri.get(CommonContext.TTL_PARAM_NAME);
@@ -602,6 +638,7 @@ public final class UdpChannel
         InetSocketAddress localData;
         InetSocketAddress remoteControl;
         InetSocketAddress localControl;
+        InetSocketAddress remoteSource;
         String uriStr;
         String canonicalForm;
         NetworkInterface localInterface;
@@ -642,6 +679,12 @@ public final class UdpChannel
             return this;
         }
 
+        Context remoteSourceAddress(final InetSocketAddress remoteSource)
+        {
+            this.remoteSource = remoteSource;
+            return this;
+        }
+
         Context canonicalForm(final String canonicalForm)
         {
             this.canonicalForm = canonicalForm;
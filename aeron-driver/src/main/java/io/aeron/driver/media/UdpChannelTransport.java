@@ -27,6 +27,7 @@ import org.agrona.concurrent.status.AtomicCounter;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.PortUnreachableException;
+import java.net.SocketOption;
 import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
@@ -39,6 +40,8 @@ import static java.net.StandardSocketOptions.SO_SNDBUF;
 
 public abstract class UdpChannelTransport implements AutoCloseable
 {
+    private static final SocketOption<Boolean> SO_REUSEPORT = reusePortOption();
+
     protected final UdpChannel udpChannel;
     protected final AtomicCounter invalidPackets;
     protected final DistinctErrorLog errorLog;
@@ -52,6 +55,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
     protected DatagramChannel receiveDatagramChannel;
     protected int multicastTtl = 0;
     protected boolean isClosed = false;
+    protected boolean isReusePort = false;
 
     public UdpChannelTransport(
         final UdpChannel udpChannel,
@@ -81,6 +85,16 @@ public abstract class UdpChannelTransport implements AutoCloseable
         throw new RuntimeException("failed to send packet of " + bytesToSend + " bytes to " + destination, ex);
     }
 
+    /**
+     * Is SO_REUSEPORT available as a standard socket option in the running JVM, which it is from Java 9.
+     *
+     * @return true if SO_REUSEPORT is available as a standard socket option.
+     */
+    public static boolean isReusePortSupported()
+    {
+        return null != SO_REUSEPORT;
+    }
+
     /**
      * Create the underlying channel for reading and writing.
      *
@@ -113,6 +127,11 @@ public abstract class UdpChannelTransport implements AutoCloseable
             }
             else
             {
+                if (isReusePort)
+                {
+                    sendDatagramChannel.setOption(SO_REUSEPORT, true);
+                }
+
                 sendDatagramChannel.bind(bindAddress);
             }
 
@@ -308,4 +327,43 @@ public abstract class UdpChannelTransport implements AutoCloseable
 
         return address;
     }
+
+    /**
+     * Receive a datagram from the media layer on a connected channel, scattered in order across a number of buffers
+     * so parts of it can land directly where they are needed.
+     *
+     * @param buffers into which the datagram will be received.
+     * @return the length of the datagram received or 0 if none is available.
+     */
+    public int receive(final ByteBuffer[] buffers)
+    {
+        long bytesReceived = 0;
+        try
+        {
+            bytesReceived = receiveDatagramChannel.read(buffers);
+        }
+        catch (final PortUnreachableException | ClosedChannelException ignored)
+        {
+            // do nothing
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return (int)Math.max(0, bytesReceived);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SocketOption<Boolean> reusePortOption()
+    {
+        try
+        {
+            return (SocketOption<Boolean>)StandardSocketOptions.class.getField("SO_REUSEPORT").get(null);
+        }
+        catch (final ReflectiveOperationException ignore)
+        {
+            return null;
+        }
+    }
 }
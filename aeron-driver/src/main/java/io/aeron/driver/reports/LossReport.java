@@ -117,7 +117,8 @@ public class LossReport
     /**
      * Create a new entry for recording loss on a given stream.
      * <p>
-     * If not space is remaining in the error report then null is returned.
+     * If not space is remaining in the error report then null is returned. Entries may be created concurrently
+     * when the receiver is sharded across threads.
      *
      * @param initialBytesLost on the stream.
      * @param timestampMs      at which the first loss was observed.
@@ -127,7 +128,7 @@ public class LossReport
      * @param source           of the stream.
      * @return a new record or null if the error log has insufficient space.
      */
-    public ReportEntry createEntry(
+    public synchronized ReportEntry createEntry(
         final long initialBytesLost,
         final long timestampMs,
         final int sessionId,
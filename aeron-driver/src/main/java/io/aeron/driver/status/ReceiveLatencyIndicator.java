@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.status;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+/**
+ * Allocates {@link AtomicCounter}s for the percentiles of receive side latency of a
+ * {@link io.aeron.driver.PublicationImage} which are published when receive timestamps are enabled.
+ * <p>
+ * The name at the start of the label, up to the ':', identifies which percentile the counter holds.
+ */
+public class ReceiveLatencyIndicator
+{
+    /**
+     * Type id of a receive latency indicator.
+     */
+    public static final int RECEIVE_LATENCY_TYPE_ID = 13;
+
+    /**
+     * Name of the indicator for the 50th percentile of delay from receipt of a packet until it is consumed.
+     */
+    public static final String DELAY_P50_NAME = "rcv-delay-p50-ns";
+
+    /**
+     * Name of the indicator for the 99th percentile of delay from receipt of a packet until it is consumed.
+     */
+    public static final String DELAY_P99_NAME = "rcv-delay-p99-ns";
+
+    /**
+     * Name of the indicator for the max delay from receipt of a packet until it is consumed.
+     */
+    public static final String DELAY_MAX_NAME = "rcv-delay-max-ns";
+
+    /**
+     * Name of the indicator for the 50th percentile of inter-arrival jitter of packets.
+     */
+    public static final String JITTER_P50_NAME = "rcv-jitter-p50-ns";
+
+    /**
+     * Name of the indicator for the 99th percentile of inter-arrival jitter of packets.
+     */
+    public static final String JITTER_P99_NAME = "rcv-jitter-p99-ns";
+
+    /**
+     * Name of the indicator for the max inter-arrival jitter of packets.
+     */
+    public static final String JITTER_MAX_NAME = "rcv-jitter-max-ns";
+
+    /**
+     * Allocate a receive latency indicator for a {@link io.aeron.driver.PublicationImage}.
+     *
+     * @param tempBuffer      to be used for labels and key.
+     * @param name            of the counter for the label.
+     * @param countersManager from which to allocated the underlying storage.
+     * @param registrationId  to be associated with the counter.
+     * @param sessionId       for the stream of messages.
+     * @param streamId        for the stream of messages.
+     * @param channel         for the stream of messages.
+     * @return a new {@link AtomicCounter} for tracking the indicator.
+     */
+    public static AtomicCounter allocate(
+        final MutableDirectBuffer tempBuffer,
+        final String name,
+        final CountersManager countersManager,
+        final long registrationId,
+        final int sessionId,
+        final int streamId,
+        final String channel)
+    {
+        final int counterId = StreamPositionCounter.allocateCounterId(
+            tempBuffer, name, RECEIVE_LATENCY_TYPE_ID, countersManager, registrationId, sessionId, streamId, channel);
+
+        return new AtomicCounter(countersManager.valuesBuffer(), counterId, countersManager);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.status;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+/**
+ * Counters for a priority class of the {@link io.aeron.driver.Sender} which track the bytes sent by the publications
+ * of the class and the time spent waiting, in nanoseconds, for higher classes to be served each duty cycle.
+ * <p>
+ * The key is the priority class number where 0 is the highest.
+ */
+public class SenderPriorityCounter
+{
+    /**
+     * Type id of a sender priority class counter.
+     */
+    public static final int SENDER_PRIORITY_TYPE_ID = 14;
+
+    /**
+     * Human readable name for the bytes sent by a priority class.
+     */
+    public static final String BYTES_SENT_NAME = "snd-priority-bytes";
+
+    /**
+     * Human readable name for the time in nanoseconds a priority class waited to be served.
+     */
+    public static final String WAIT_TIME_NAME = "snd-priority-wait-ns";
+
+    /**
+     * Offset in the key meta data for the priority class.
+     */
+    public static final int PRIORITY_CLASS_OFFSET = 0;
+
+    public static AtomicCounter allocate(
+        final CountersManager countersManager, final String name, final int priorityClass)
+    {
+        return countersManager.newCounter(
+            name + ": class=" + priorityClass,
+            SENDER_PRIORITY_TYPE_ID,
+            (buffer) -> buffer.putInt(PRIORITY_CLASS_OFFSET, priorityClass));
+    }
+}
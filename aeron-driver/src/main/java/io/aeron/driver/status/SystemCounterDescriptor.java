@@ -45,7 +45,22 @@ public enum SystemCounterDescriptor
     UNBLOCKED_COMMANDS(20, "Unblocked Control Commands"),
     POSSIBLE_TTL_ASYMMETRY(21, "Possible TTL Asymmetry"),
     CONTROLLABLE_IDLE_STRATEGY(22, "ControllableIdleStrategy status"),
-    LOSS_GAP_FILLS(23, "Loss gap fills");
+    LOSS_GAP_FILLS(23, "Loss gap fills"),
+    RECEIVE_BATCHES(24, "Receive batches"),
+    RECEIVE_BATCH_DATAGRAMS(25, "Datagrams received in batches"),
+    SEND_BATCHES(26, "Send batches"),
+    SEND_BATCH_DATAGRAMS(27, "Datagrams sent in batches"),
+    RETRANSMITS_SUPPRESSED(28, "Retransmits suppressed"),
+    RETRANSMITS_COALESCED(29, "Retransmits coalesced"),
+    FEC_FRAMES_SENT(30, "FEC parity frames sent"),
+    FEC_RECOVERIES(31, "Datagrams recovered by FEC"),
+    RETRANSMIT_RECOVERIES(32, "Datagrams recovered by retransmit"),
+    PACED_DEFERRED_BYTES(33, "Bytes deferred by send pacing"),
+    LOG_ALLOCATION_TIME_NS(34, "Log buffer allocation total ns"),
+    LOG_ALLOCATION_MAX_NS(35, "Log buffer allocation max ns"),
+    LOG_POOL_HITS(36, "Log buffer pool hits"),
+    LOG_POOL_MISSES(37, "Log buffer pool misses"),
+    STATUS_MESSAGE_PACKETS_SENT(38, "Status Message datagrams sent");
 
     /**
      * All system counters have the same type id, i.e. system counters are the same type. Other types can exist.
@@ -23,6 +23,7 @@ import io.aeron.driver.buffer.RawLogFactory;
 import io.aeron.driver.media.ReceiveChannelEndpoint;
 import io.aeron.driver.media.ReceiveChannelEndpointThreadLocals;
 import io.aeron.driver.media.UdpChannel;
+import io.aeron.driver.media.UdpChannelTransport;
 import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.HeaderWriter;
 import io.aeron.logbuffer.LogBufferDescriptor;
@@ -35,6 +36,7 @@ import org.agrona.concurrent.ringbuffer.RingBuffer;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.concurrent.status.CountersManager;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -44,6 +46,7 @@ import org.mockito.stubbing.Answer;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 import java.util.function.LongConsumer;
@@ -107,6 +110,7 @@ public class DriverConductorTest
 
     private DriverProxy driverProxy;
 
+    private MediaDriver.Context ctx;
     private DriverConductor driverConductor;
 
     private final Answer<Void> closeChannelEndpointAnswer = (invocation) ->
@@ -140,7 +144,7 @@ public class DriverConductorTest
         spyCountersManager = spy(new CountersManager(
             new UnsafeBuffer(ByteBuffer.allocateDirect(BUFFER_LENGTH * 2)), counterBuffer, StandardCharsets.US_ASCII));
 
-        final MediaDriver.Context ctx = new MediaDriver.Context()
+        ctx = new MediaDriver.Context()
             .tempBuffer(new UnsafeBuffer(new byte[METADATA_LENGTH]))
             .publicationTermBufferLength(TERM_BUFFER_LENGTH)
             .ipcTermBufferLength(TERM_BUFFER_LENGTH)
@@ -170,7 +174,8 @@ public class DriverConductorTest
             .senderProxy(senderProxy)
             .driverConductorProxy(driverConductorProxy)
             .clientLivenessTimeoutNs(CLIENT_LIVENESS_TIMEOUT_NS)
-            .receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(ctx));
+            .receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(ctx))
+            .networkPublicationThreadLocals(new NetworkPublicationThreadLocals());
 
         driverProxy = new DriverProxy(fromClientCommands, fromClientCommands.nextCorrelationId());
         driverConductor = new DriverConductor(ctx);
@@ -202,6 +207,52 @@ public class DriverConductorTest
             anyLong(), anyLong(), eq(STREAM_ID_1), anyInt(), any(), anyInt(), anyInt(), eq(false));
     }
 
+    @Test
+    public void shouldUseThreadLocalsOfSenderShardForNetworkPublication()
+    {
+        final NetworkPublicationThreadLocals shardZeroThreadLocals = spy(new NetworkPublicationThreadLocals());
+        final NetworkPublicationThreadLocals shardOneThreadLocals = spy(new NetworkPublicationThreadLocals());
+        final MediaDriver.Context shardOneContext = ctx.clone().networkPublicationThreadLocals(shardOneThreadLocals);
+        ctx.senderShardCount(2)
+            .networkPublicationThreadLocals(shardZeroThreadLocals)
+            .senderShardContexts(new MediaDriver.Context[]{ ctx, shardOneContext });
+
+        driverProxy.addPublication(CHANNEL_4000 + "|sender-shard=0", STREAM_ID_1);
+        driverProxy.addPublication(CHANNEL_4001 + "|sender-shard=1", STREAM_ID_1);
+        driverConductor.doWork();
+
+        final ArgumentCaptor<NetworkPublication> captor = ArgumentCaptor.forClass(NetworkPublication.class);
+        verify(senderProxy, times(2)).newNetworkPublication(captor.capture());
+        assertThat(captor.getAllValues().get(0).channelEndpoint().senderShardIndex(), is(0));
+        assertThat(captor.getAllValues().get(1).channelEndpoint().senderShardIndex(), is(1));
+
+        verify(shardZeroThreadLocals, times(1)).heartbeatBuffer();
+        verify(shardOneThreadLocals, times(1)).heartbeatBuffer();
+        assertNotSame(shardZeroThreadLocals.heartbeatBuffer(), shardOneThreadLocals.heartbeatBuffer());
+    }
+
+    @Test
+    public void shouldDeferSharedPublicationUntilAsyncLogAllocationCompletes()
+    {
+        driverConductor = new DriverConductor(ctx.asyncLogAllocation(true));
+
+        driverProxy.addPublication(CHANNEL_4000, STREAM_ID_1);
+        driverProxy.addPublication(CHANNEL_4000, STREAM_ID_1);
+
+        driverConductor.doWork();
+
+        verify(senderProxy, never()).newNetworkPublication(any());
+        verify(mockClientProxy, never()).onPublicationReady(
+            anyLong(), anyLong(), anyInt(), anyInt(), any(), anyInt(), anyInt(), anyBoolean());
+
+        driverConductor.logAllocator().doWork();
+        driverConductor.doWork();
+
+        verify(senderProxy, times(1)).newNetworkPublication(any());
+        verify(mockClientProxy, times(2)).onPublicationReady(
+            anyLong(), anyLong(), eq(STREAM_ID_1), anyInt(), any(), anyInt(), anyInt(), eq(false));
+    }
+
     @Test
     public void shouldBeAbleToAddPublicationForReplay()
     {
@@ -1181,6 +1232,69 @@ public class DriverConductorTest
         verify(mockClientProxy).onError(eq(id2), any(ErrorCode.class), anyString());
     }
 
+    @Test
+    public void shouldErrorWhenFanInExceedsReceiverShardCount()
+    {
+        final long id = driverProxy.addSubscription(CHANNEL_4000 + "|fan-in=2", STREAM_ID_1);
+        driverConductor.doWork();
+
+        verify(receiverProxy, never()).registerReceiveChannelEndpoint(any());
+        verify(mockClientProxy).onError(eq(id), any(ErrorCode.class), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRegisterAndCloseFanInEndpointOnEachReceiverShard()
+    {
+        Assume.assumeTrue(UdpChannelTransport.isReusePortSupported());
+
+        final int shardCount = 2;
+        final Queue<Runnable>[] commandQueues = new Queue[shardCount];
+        final Receiver[] receivers = new Receiver[shardCount];
+        final MediaDriver.Context[] shardContexts = new MediaDriver.Context[shardCount];
+        final ReceiverProxy shardedReceiverProxy =
+            new ReceiverProxy(ThreadingMode.SHARED, commandQueues, mock(AtomicCounter.class));
+
+        for (int i = 0; i < shardCount; i++)
+        {
+            commandQueues[i] = new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY);
+            receivers[i] = mock(Receiver.class);
+            shardedReceiverProxy.receiver(i, receivers[i]);
+            shardContexts[i] = 0 == i ?
+                ctx : ctx.clone().receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(ctx));
+        }
+
+        ctx.receiverShardCount(shardCount).receiverShardContexts(shardContexts);
+        driverConductor = new DriverConductor(ctx.receiverProxy(shardedReceiverProxy));
+
+        final long id = driverProxy.addSubscription(CHANNEL_4000 + "|fan-in=" + shardCount, STREAM_ID_1);
+        driverConductor.doWork();
+
+        final ReceiveChannelEndpoint[] endpoints = new ReceiveChannelEndpoint[shardCount];
+        for (int i = 0; i < shardCount; i++)
+        {
+            final ArgumentCaptor<ReceiveChannelEndpoint> captor = ArgumentCaptor.forClass(ReceiveChannelEndpoint.class);
+            verify(receivers[i], times(1)).onRegisterReceiveChannelEndpoint(captor.capture());
+            endpoints[i] = captor.getValue();
+
+            assertThat(endpoints[i].receiverShardIndex(), is(i));
+            verify(receivers[i], times(1)).onAddSubscription(endpoints[i], STREAM_ID_1);
+        }
+
+        assertNotSame(endpoints[0], endpoints[1]);
+        assertArrayEquals(endpoints, endpoints[0].fanInEndpoints());
+        verify(mockClientProxy).onSubscriptionReady(eq(id), anyInt());
+
+        driverProxy.removeSubscription(id);
+        driverConductor.doWork();
+
+        for (int i = 0; i < shardCount; i++)
+        {
+            verify(receivers[i], times(1)).onRemoveSubscription(endpoints[i], STREAM_ID_1);
+            verify(receivers[i], times(1)).onCloseReceiveChannelEndpoint(endpoints[i]);
+        }
+    }
+
     @Test
     public void shouldErrorWhenConflictingDefaultReliableSubscriptionAdded()
     {
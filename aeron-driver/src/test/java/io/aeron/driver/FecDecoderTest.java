@@ -0,0 +1,217 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.SendChannelEndpoint;
+import io.aeron.driver.status.SystemCounters;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.AtomicLongPosition;
+import org.agrona.concurrent.status.Position;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.logbuffer.LogBufferDescriptor.computePosition;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.*;
+
+public class FecDecoderTest
+{
+    private static final int TERM_BUFFER_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int POSITION_BITS_TO_SHIFT = LogBufferDescriptor.positionBitsToShift(TERM_BUFFER_LENGTH);
+    private static final int MTU_LENGTH = 1408;
+    private static final int SESSION_ID = 0x5E55101D;
+    private static final int STREAM_ID = 0xC400E;
+    private static final int INITIAL_TERM_ID = 7;
+    private static final int[] DATAGRAM_LENGTHS = { 64, 128, 96 };
+
+    private final UnsafeBuffer senderTermBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_BUFFER_LENGTH));
+    private final UnsafeBuffer[] receiverTermBuffers = new UnsafeBuffer[LogBufferDescriptor.PARTITION_COUNT];
+    private final UnsafeBuffer parityFrame = new UnsafeBuffer(ByteBuffer.allocateDirect(MTU_LENGTH * 2));
+    private final FecFlyweight parityHeader = new FecFlyweight(parityFrame);
+    private final SystemCounters systemCounters = mock(SystemCounters.class);
+    private final SendChannelEndpoint sendChannelEndpoint = mock(SendChannelEndpoint.class);
+    private final Position hwmPosition = new AtomicLongPosition();
+    private int parityFrameLength;
+
+    @Before
+    public void before()
+    {
+        when(systemCounters.get(any())).thenReturn(mock(AtomicCounter.class));
+        when(sendChannelEndpoint.send(any())).thenAnswer(
+            (invocation) ->
+            {
+                final ByteBuffer buffer = invocation.getArgument(0);
+                parityFrameLength = buffer.remaining();
+                parityFrame.putBytes(0, buffer, buffer.position(), parityFrameLength);
+
+                return parityFrameLength;
+            });
+
+        for (int i = 0; i < receiverTermBuffers.length; i++)
+        {
+            receiverTermBuffers[i] = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_BUFFER_LENGTH));
+        }
+
+        int termOffset = 0;
+        for (final int length : DATAGRAM_LENGTHS)
+        {
+            putSenderFrame(termOffset, length);
+            termOffset += length;
+        }
+    }
+
+    @Test
+    public void shouldSendParityFrameWhenGroupIsFull()
+    {
+        encodeGroup(DATAGRAM_LENGTHS.length);
+
+        verify(sendChannelEndpoint).send(any());
+        assertThat(parityHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_FEC));
+        assertThat(parityHeader.termId(), is(INITIAL_TERM_ID));
+        assertThat(parityHeader.termOffset(), is(0));
+        assertThat(parityHeader.datagramCount(), is(DATAGRAM_LENGTHS.length));
+        assertThat(parityHeader.parityLength(), is(128));
+        assertThat(parityFrameLength, is(FecFlyweight.computeFrameLength(DATAGRAM_LENGTHS.length, 128)));
+    }
+
+    @Test
+    public void shouldRecoverSingleMissingDatagram()
+    {
+        encodeGroup(DATAGRAM_LENGTHS.length);
+        receive(0);
+        receive(2);
+
+        final FecDecoder decoder = newDecoder();
+        decoder.onParityFrame(parityHeader, parityFrame, parityFrameLength, 0);
+
+        assertThat(decoder.processPendingGroups(receiverTermBuffers, 0, hwmPosition), is(1));
+        assertThat(receiverTermBuffers[0].getInt(DATAGRAM_LENGTHS[0]), is(DATAGRAM_LENGTHS[1]));
+        for (int i = 0; i < DATAGRAM_LENGTHS[1]; i++)
+        {
+            final int index = DATAGRAM_LENGTHS[0] + i;
+            assertThat(receiverTermBuffers[0].getByte(index), is(senderTermBuffer.getByte(index)));
+        }
+    }
+
+    @Test
+    public void shouldWaitWhileMoreThanOneDatagramIsMissing()
+    {
+        encodeGroup(DATAGRAM_LENGTHS.length);
+        receive(0);
+
+        final FecDecoder decoder = newDecoder();
+        decoder.onParityFrame(parityHeader, parityFrame, parityFrameLength, 0);
+
+        assertThat(decoder.processPendingGroups(receiverTermBuffers, 0, hwmPosition), is(0));
+
+        receive(1);
+
+        assertThat(decoder.processPendingGroups(receiverTermBuffers, 0, hwmPosition), is(1));
+        assertThat(receiverTermBuffers[0].getInt(DATAGRAM_LENGTHS[0] + DATAGRAM_LENGTHS[1]), is(DATAGRAM_LENGTHS[2]));
+    }
+
+    @Test
+    public void shouldWaitWhileDatagramIsPartiallyFilledByRetransmit()
+    {
+        final int firstFrameLength = DATAGRAM_LENGTHS[1] / 2;
+        final int secondFrameOffset = DATAGRAM_LENGTHS[0] + firstFrameLength;
+        putSenderFrame(DATAGRAM_LENGTHS[0], firstFrameLength);
+        putSenderFrame(secondFrameOffset, DATAGRAM_LENGTHS[1] - firstFrameLength);
+
+        encodeGroup(DATAGRAM_LENGTHS.length);
+        receive(0);
+        receiverTermBuffers[0].putBytes(DATAGRAM_LENGTHS[0], senderTermBuffer, DATAGRAM_LENGTHS[0], firstFrameLength);
+
+        final FecDecoder decoder = newDecoder();
+        decoder.onParityFrame(parityHeader, parityFrame, parityFrameLength, 0);
+
+        final int missingOffset = DATAGRAM_LENGTHS[0] + DATAGRAM_LENGTHS[1];
+        assertThat(decoder.processPendingGroups(receiverTermBuffers, 0, hwmPosition), is(0));
+        assertThat(receiverTermBuffers[0].getInt(missingOffset), is(0));
+
+        receiverTermBuffers[0].putBytes(
+            secondFrameOffset, senderTermBuffer, secondFrameOffset, DATAGRAM_LENGTHS[1] - firstFrameLength);
+
+        assertThat(decoder.processPendingGroups(receiverTermBuffers, 0, hwmPosition), is(1));
+        assertThat(receiverTermBuffers[0].getInt(missingOffset), is(DATAGRAM_LENGTHS[2]));
+    }
+
+    private void putSenderFrame(final int termOffset, final int length)
+    {
+        for (int i = DataHeaderFlyweight.HEADER_LENGTH; i < length; i++)
+        {
+            senderTermBuffer.putByte(termOffset + i, (byte)(termOffset + i));
+        }
+
+        final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+        dataHeader.wrap(senderTermBuffer, termOffset, length);
+        dataHeader
+            .termOffset(termOffset)
+            .sessionId(SESSION_ID)
+            .streamId(STREAM_ID)
+            .termId(INITIAL_TERM_ID)
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags((short)DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+            .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+            .frameLength(length);
+    }
+
+    private FecDecoder newDecoder()
+    {
+        return new FecDecoder(
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            TERM_BUFFER_LENGTH,
+            POSITION_BITS_TO_SHIFT,
+            MTU_LENGTH,
+            systemCounters);
+    }
+
+    private void encodeGroup(final int groupSize)
+    {
+        final FecEncoder encoder = new FecEncoder(groupSize, MTU_LENGTH, SESSION_ID, STREAM_ID, systemCounters);
+
+        int termOffset = 0;
+        for (final int length : DATAGRAM_LENGTHS)
+        {
+            encoder.onDatagramSent(senderTermBuffer, INITIAL_TERM_ID, termOffset, length, sendChannelEndpoint);
+            termOffset += length;
+        }
+    }
+
+    private void receive(final int datagramIndex)
+    {
+        int termOffset = 0;
+        for (int i = 0; i < datagramIndex; i++)
+        {
+            termOffset += DATAGRAM_LENGTHS[i];
+        }
+
+        final int length = DATAGRAM_LENGTHS[datagramIndex];
+        receiverTermBuffers[0].putBytes(termOffset, senderTermBuffer, termOffset, length);
+        hwmPosition.proposeMax(
+            computePosition(INITIAL_TERM_ID, termOffset + length, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID));
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.aeron.driver;
 
+import io.aeron.driver.buffer.RawLog;
 import io.aeron.driver.buffer.RawLogFactory;
 import io.aeron.driver.status.SystemCounters;
 import org.junit.Before;
@@ -24,6 +25,7 @@ import io.aeron.DriverProxy;
 import org.agrona.concurrent.*;
 import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
 import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.agrona.concurrent.status.AtomicLongPosition;
 import org.agrona.concurrent.status.CountersManager;
 import org.agrona.concurrent.status.Position;
 import org.agrona.concurrent.status.UnsafeBufferPosition;
@@ -31,10 +33,13 @@ import org.agrona.concurrent.status.UnsafeBufferPosition;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
 import static org.agrona.concurrent.status.CountersReader.METADATA_LENGTH;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
@@ -125,4 +130,70 @@ public class IpcPublicationTest
 
         assertThat(publisherLimit.get(), is(greaterThan(0L)));
     }
+
+    @Test
+    public void shouldCapPublisherLimitAtCleanPositionAndCatchUpCleaningOverDutyCycles()
+    {
+        final int termLength = TERM_MIN_LENGTH;
+        final int termCleanMaxLength = 1024;
+        final long cleanLimitLength = Configuration.cleanLimitLength(termLength);
+        final int termWindowLength = Configuration.ipcPublicationTermWindowLength(termLength);
+        final RawLog rawLog = LogBufferHelper.newTestLogBuffers(termLength);
+        for (final UnsafeBuffer termBuffer : rawLog.termBuffers())
+        {
+            termBuffer.setMemory(0, termLength, (byte)1);
+        }
+
+        final Position publisherLimit = new AtomicLongPosition();
+        final Position subscriberPosition = new AtomicLongPosition();
+        final IpcPublication publication = new IpcPublication(
+            1,
+            101,
+            1,
+            STREAM_ID,
+            mock(Position.class),
+            publisherLimit,
+            rawLog,
+            Configuration.PUBLICATION_UNBLOCK_TIMEOUT_NS,
+            Configuration.PUBLICATION_LINGER_NS,
+            termCleanMaxLength,
+            currentTime,
+            mock(SystemCounters.class),
+            false);
+
+        final long consumerPosition = 2L * termLength;
+        publication.addSubscriber(subscriberPosition);
+        subscriberPosition.setOrdered(consumerPosition);
+
+        publication.updatePublisherLimit();
+
+        assertThat(publisherLimit.get(), is(termCleanMaxLength + cleanLimitLength));
+        assertThat(rawLog.termBuffers()[0].getByte(termCleanMaxLength - 1), is((byte)0));
+        assertThat(rawLog.termBuffers()[0].getByte(termCleanMaxLength), is((byte)1));
+
+        long cleanPosition = termCleanMaxLength;
+        long lastLimit = publisherLimit.get();
+        while (cleanPosition < consumerPosition)
+        {
+            publication.updatePublisherLimit();
+            cleanPosition += termCleanMaxLength;
+
+            final long limit = publisherLimit.get();
+            assertThat(limit, lessThanOrEqualTo(cleanPosition + cleanLimitLength));
+            assertThat(limit, greaterThanOrEqualTo(lastLimit));
+            lastLimit = limit;
+        }
+
+        for (int i = 0; i < 2; i++)
+        {
+            final UnsafeBuffer termBuffer = rawLog.termBuffers()[i];
+            for (int offset = 0; offset < termLength; offset++)
+            {
+                assertThat(termBuffer.getByte(offset), is((byte)0));
+            }
+        }
+
+        assertThat(rawLog.termBuffers()[2].getByte(0), is((byte)1));
+        assertThat(publisherLimit.get(), greaterThan(consumerPosition + termWindowLength - (termWindowLength / 8)));
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertEquals;
+
+public class LatencyHistogramTest
+{
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void shouldHaveContiguousBuckets()
+    {
+        final int maxIndex = LatencyHistogram.index(Long.MAX_VALUE);
+
+        for (int i = 1; i <= maxIndex; i++)
+        {
+            final long lowestValue = LatencyHistogram.highestEquivalentValue(i - 1) + 1;
+
+            assertEquals(i, LatencyHistogram.index(lowestValue));
+            assertEquals(i, LatencyHistogram.index(LatencyHistogram.highestEquivalentValue(i)));
+        }
+
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalentValue(maxIndex));
+    }
+
+    @Test
+    public void shouldReportPercentilesWithinBucketPrecision()
+    {
+        for (long value = 1; value <= 10_000; value++)
+        {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(10_000, histogram.totalCount());
+        assertEquals(10_000_000, histogram.maxValue());
+
+        final long p50 = histogram.valueAtPercentile(50);
+        assertThat(p50, greaterThanOrEqualTo(5_000_000L));
+        assertThat(p50, lessThanOrEqualTo(5_625_000L));
+
+        final long p99 = histogram.valueAtPercentile(99);
+        assertThat(p99, greaterThanOrEqualTo(9_900_000L));
+        assertThat(p99, lessThanOrEqualTo(10_000_000L));
+    }
+
+    @Test
+    public void shouldRecordNegativeValuesAsZeroAndReset()
+    {
+        histogram.record(-5);
+
+        assertEquals(1, histogram.totalCount());
+        assertEquals(0, histogram.valueAtPercentile(100));
+
+        histogram.reset();
+
+        assertEquals(0, histogram.totalCount());
+        assertEquals(0, histogram.maxValue());
+        assertEquals(0, histogram.valueAtPercentile(50));
+    }
+}
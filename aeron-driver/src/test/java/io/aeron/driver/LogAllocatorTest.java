@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.buffer.RawLog;
+import io.aeron.driver.exceptions.ControlProtocolException;
+import io.aeron.driver.status.SystemCounters;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class LogAllocatorTest
+{
+    private final SystemCounters systemCounters = mock(SystemCounters.class);
+    private final OneToOneConcurrentArrayQueue<Runnable> conductorQueue = new OneToOneConcurrentArrayQueue<>(2);
+    private final List<RawLog> allocatedLogs = new ArrayList<>();
+    private final List<Exception> errors = new ArrayList<>();
+    private final Consumer<RawLog> onAllocated = allocatedLogs::add;
+    private final Consumer<Exception> onError = errors::add;
+    private LogAllocator logAllocator;
+
+    @Before
+    public void before()
+    {
+        when(systemCounters.get(any())).thenReturn(mock(AtomicCounter.class));
+        logAllocator = new LogAllocator(true, conductorQueue, System::nanoTime, systemCounters);
+    }
+
+    @Test
+    public void shouldRejectRequestWithErrorWhenRequestQueueIsFull()
+    {
+        for (int i = 0; i < Configuration.CMD_QUEUE_CAPACITY; i++)
+        {
+            logAllocator.allocate(() -> mock(RawLog.class), onAllocated, onError);
+        }
+
+        assertTrue(errors.isEmpty());
+
+        logAllocator.allocate(() -> mock(RawLog.class), onAllocated, onError);
+
+        assertEquals(1, errors.size());
+        assertThat(errors.get(0), instanceOf(ControlProtocolException.class));
+    }
+
+    @Test
+    public void shouldRetainCompletionsWithoutBlockingWhenConductorQueueIsFull()
+    {
+        final int requestCount = 4;
+        for (int i = 0; i < requestCount; i++)
+        {
+            logAllocator.allocate(() -> mock(RawLog.class), onAllocated, onError);
+        }
+
+        logAllocator.doWork();
+        assertEquals(conductorQueue.capacity(), conductorQueue.size());
+
+        while (allocatedLogs.size() < requestCount)
+        {
+            conductorQueue.drain(Runnable::run);
+            logAllocator.doWork();
+        }
+
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void shouldCloseLogsOfCompletionsNotRunOnClose()
+    {
+        final RawLog pendingLog = mock(RawLog.class);
+        final RawLog queuedLog = mock(RawLog.class);
+        final RawLog[] logs = { queuedLog, queuedLog, pendingLog };
+        for (final RawLog log : logs)
+        {
+            logAllocator.allocate(() -> log, onAllocated, onError);
+        }
+
+        logAllocator.doWork();
+        logAllocator.onClose();
+        conductorQueue.drain(LogAllocator::abortIfCompletion);
+
+        verify(pendingLog).close();
+        verify(queuedLog, times(2)).close();
+        assertTrue(allocatedLogs.isEmpty());
+    }
+}
@@ -21,6 +21,7 @@ import org.agrona.concurrent.UnsafeBuffer;
 import java.nio.ByteBuffer;
 
 import static io.aeron.logbuffer.LogBufferDescriptor.LOG_META_DATA_LENGTH;
+import static io.aeron.logbuffer.LogBufferDescriptor.PAGE_MIN_SIZE;
 import static io.aeron.logbuffer.LogBufferDescriptor.PARTITION_COUNT;
 
 public class LogBufferHelper
@@ -43,6 +44,11 @@ public class LogBufferHelper
                 return termBuffers[0].capacity();
             }
 
+            public int pageSize()
+            {
+                return PAGE_MIN_SIZE;
+            }
+
             public UnsafeBuffer[] termBuffers()
             {
                 return termBuffers;
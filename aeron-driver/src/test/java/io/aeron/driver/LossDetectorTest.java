@@ -17,6 +17,7 @@ package io.aeron.driver;
 
 import io.aeron.logbuffer.LogBufferDescriptor;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.logbuffer.TermRebuilder;
@@ -27,6 +28,8 @@ import org.agrona.concurrent.UnsafeBuffer;
 import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.*;
 import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
 import static io.aeron.logbuffer.LogBufferDescriptor.computePosition;
@@ -292,6 +295,77 @@ public class LossDetectorTest
         verifyNoMoreInteractions(lossHandler);
     }
 
+    @Test
+    public void shouldNakMultipleGapsTogetherAndTrackRecovery()
+    {
+        lossDetector = new LossDetector(DELAY_GENERATOR_WITH_IMMEDIATE, lossHandler, 4);
+
+        final long rebuildPosition = ACTIVE_TERM_POSITION;
+        final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 5);
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(2));
+        insertDataFrame(offsetOfMessage(4));
+
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+
+        final ArgumentCaptor<int[]> termOffsets = ArgumentCaptor.forClass(int[].class);
+        final ArgumentCaptor<int[]> lengths = ArgumentCaptor.forClass(int[].class);
+        verify(lossHandler).onGapsDetected(eq(TERM_ID), termOffsets.capture(), lengths.capture(), eq(2));
+        assertThat(termOffsets.getValue()[0], is(offsetOfMessage(1)));
+        assertThat(termOffsets.getValue()[1], is(offsetOfMessage(3)));
+        assertThat(lengths.getValue()[0], is(gapLength()));
+        assertThat(lengths.getValue()[1], is(gapLength()));
+        assertThat(lossDetector.activeGapCount(), is(2));
+
+        currentTime = TimeUnit.MILLISECONDS.toNanos(5);
+        insertDataFrame(offsetOfMessage(1));
+        insertDataFrame(offsetOfMessage(3));
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+
+        assertThat(lossDetector.activeGapCount(), is(0));
+        assertThat(lossDetector.lastRecoveryLatencyNs(), is(currentTime));
+    }
+
+    @Test
+    public void shouldNotMeasureRecoveryOfGapDroppedWhenEarlierGapSplitAtMaxGaps()
+    {
+        lossDetector = new LossDetector(DELAY_GENERATOR_WITH_IMMEDIATE, lossHandler, 2);
+
+        final long rebuildPosition = ACTIVE_TERM_POSITION;
+        final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 7);
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(4));
+        insertDataFrame(offsetOfMessage(6));
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+
+        assertThat(lossDetector.activeGapCount(), is(2));
+
+        currentTime = TimeUnit.MILLISECONDS.toNanos(1);
+        insertDataFrame(offsetOfMessage(2));
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+
+        assertThat(lossDetector.activeGapCount(), is(2));
+        assertThat(lossDetector.lastRecoveryLatencyNs(), is(0L));
+
+        currentTime = TimeUnit.MILLISECONDS.toNanos(5);
+        insertDataFrame(offsetOfMessage(1));
+        insertDataFrame(offsetOfMessage(3));
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+
+        assertThat(lossDetector.activeGapCount(), is(1));
+        assertThat(lossDetector.lastRecoveryLatencyNs(), is(currentTime));
+
+        final long lastRecoveryLatencyNs = currentTime;
+        currentTime = TimeUnit.MILLISECONDS.toNanos(7);
+        insertDataFrame(offsetOfMessage(5));
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+
+        assertThat(lossDetector.activeGapCount(), is(0));
+        assertThat(lossDetector.lastRecoveryLatencyNs(), is(lastRecoveryLatencyNs));
+    }
+
     private LossDetector getLossHandlerWithImmediate()
     {
         return new LossDetector(DELAY_GENERATOR_WITH_IMMEDIATE, lossHandler);
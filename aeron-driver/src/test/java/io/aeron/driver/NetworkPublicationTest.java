@@ -0,0 +1,411 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.buffer.RawLog;
+import io.aeron.driver.media.SendChannelEndpoint;
+import io.aeron.driver.status.SystemCounters;
+import io.aeron.logbuffer.HeaderWriter;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.logbuffer.TermAppender;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.StatusMessageFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.AtomicLongPosition;
+import org.agrona.concurrent.status.Position;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.driver.status.SystemCounterDescriptor.PACED_DEFERRED_BYTES;
+import static io.aeron.driver.status.SystemCounterDescriptor.SEND_BATCHES;
+import static io.aeron.driver.status.SystemCounterDescriptor.SEND_BATCH_DATAGRAMS;
+import static io.aeron.driver.status.SystemCounterDescriptor.SHORT_SENDS;
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NetworkPublicationTest
+{
+    private static final int TERM_BUFFER_LENGTH = TERM_MIN_LENGTH;
+    private static final int TERM_CLEAN_MAX_LENGTH = 1024;
+    private static final int MTU_LENGTH = 4096;
+    private static final int SESSION_ID = 1;
+    private static final int STREAM_ID = 10;
+    private static final int INITIAL_TERM_ID = 3;
+    private static final long CLEAN_LIMIT_LENGTH = Configuration.cleanLimitLength(TERM_BUFFER_LENGTH);
+    private static final int TERM_WINDOW_LENGTH = Configuration.publicationTermWindowLength(TERM_BUFFER_LENGTH);
+    private static final int ALIGNED_FRAME_LENGTH = 1024;
+    private static final int PAYLOAD_LENGTH = ALIGNED_FRAME_LENGTH - DataHeaderFlyweight.HEADER_LENGTH;
+    private static final long PACING_RATE = MTU_LENGTH * 1000L;
+
+    private final SystemCounters mockSystemCounters = mock(SystemCounters.class);
+    private final FlowControl mockFlowControl = mock(FlowControl.class);
+    private final SendChannelEndpoint mockSendChannelEndpoint = mock(SendChannelEndpoint.class);
+    private final AtomicCounter mockPacedDeferredBytes = mock(AtomicCounter.class);
+    private final AtomicCounter mockShortSends = mock(AtomicCounter.class);
+    private final AtomicCounter mockSendBatches = mock(AtomicCounter.class);
+    private final AtomicCounter mockSendBatchDatagrams = mock(AtomicCounter.class);
+    private final RawLog rawLog = LogBufferHelper.newTestLogBuffers(TERM_BUFFER_LENGTH);
+    private final Position publisherLimit = new AtomicLongPosition();
+    private final Position senderPosition = new AtomicLongPosition();
+    private final Position senderLimit = new AtomicLongPosition();
+    private final HeaderWriter headerWriter = HeaderWriter.newInstance(
+        DataHeaderFlyweight.createDefaultHeader(SESSION_ID, STREAM_ID, INITIAL_TERM_ID));
+    private final UnsafeBuffer payload = new UnsafeBuffer(ByteBuffer.allocateDirect(PAYLOAD_LENGTH));
+    private final List<String> sentBatches = new ArrayList<>();
+
+    private long currentTime = 0;
+    private int datagramsSentPerBatch = Integer.MAX_VALUE;
+    private NetworkPublication publication;
+
+    @Before
+    public void setUp()
+    {
+        when(mockSystemCounters.get(any())).thenReturn(mock(AtomicCounter.class));
+        when(mockSystemCounters.get(PACED_DEFERRED_BYTES)).thenReturn(mockPacedDeferredBytes);
+        when(mockSystemCounters.get(SHORT_SENDS)).thenReturn(mockShortSends);
+        when(mockSystemCounters.get(SEND_BATCHES)).thenReturn(mockSendBatches);
+        when(mockSystemCounters.get(SEND_BATCH_DATAGRAMS)).thenReturn(mockSendBatchDatagrams);
+        when(mockFlowControl.onIdle(anyLong(), anyLong(), anyLong(), anyBoolean())).thenAnswer(
+            (invocation) -> invocation.<Long>getArgument(1));
+        when(mockFlowControl.onStatusMessage(any(), any(), anyLong(), anyInt(), anyInt(), anyLong()))
+            .thenReturn(0L);
+        when(mockSendChannelEndpoint.send(any())).thenAnswer(
+            (invocation) -> invocation.<ByteBuffer>getArgument(0).remaining());
+        when(mockSendChannelEndpoint.sendBatch(any(), any(), any(), anyInt())).thenAnswer(
+            (invocation) ->
+            {
+                final int[] datagramOffsets = invocation.getArgument(1);
+                final int[] datagramLengths = invocation.getArgument(2);
+                final int datagramCount = invocation.getArgument(3);
+                final StringBuilder builder = new StringBuilder();
+
+                for (int i = 0; i < datagramCount; i++)
+                {
+                    builder.append(i > 0 ? "," : "").append(datagramOffsets[i]).append(':').append(datagramLengths[i]);
+                }
+
+                sentBatches.add(builder.toString());
+
+                return Math.min(datagramCount, datagramsSentPerBatch);
+            });
+
+        LogBufferDescriptor.initialiseTailWithTermId(rawLog.metaData(), 0, INITIAL_TERM_ID);
+
+        publication = newPublication(1, 0, 0, 0);
+        publication.onStatusMessage(mock(StatusMessageFlyweight.class), new InetSocketAddress("localhost", 40123));
+    }
+
+    @Test
+    public void shouldCapPublisherLimitAtCleanPositionPlusCleanLimitLength()
+    {
+        fillTerms();
+        senderPosition.setOrdered(3L * TERM_BUFFER_LENGTH);
+
+        publication.updatePublisherLimit();
+
+        assertThat(publisherLimit.get(), is(TERM_CLEAN_MAX_LENGTH + CLEAN_LIMIT_LENGTH));
+        assertCleaned(0, TERM_CLEAN_MAX_LENGTH);
+    }
+
+    @Test
+    public void shouldCatchUpCleaningOverSuccessiveDutyCycles()
+    {
+        final long senderPosition = 3L * TERM_BUFFER_LENGTH;
+        final long expectedLimit = senderPosition + TERM_WINDOW_LENGTH;
+        final long expectedCleanPosition = expectedLimit - (2L * TERM_BUFFER_LENGTH);
+        fillTerms();
+        this.senderPosition.setOrdered(senderPosition);
+
+        long lastLimit = 0;
+        long cleanPosition = 0;
+        while (cleanPosition < expectedCleanPosition)
+        {
+            publication.updatePublisherLimit();
+            cleanPosition += TERM_CLEAN_MAX_LENGTH;
+
+            final long limit = publisherLimit.get();
+            assertThat(limit, lessThanOrEqualTo(cleanPosition + CLEAN_LIMIT_LENGTH));
+            assertThat(limit, greaterThanOrEqualTo(lastLimit));
+            lastLimit = limit;
+        }
+
+        assertThat(publisherLimit.get(), is(expectedLimit));
+        assertCleaned(0, (int)expectedCleanPosition);
+
+        publication.updatePublisherLimit();
+
+        assertThat(rawLog.termBuffers()[1].getByte((int)expectedCleanPosition - TERM_BUFFER_LENGTH), is((byte)1));
+    }
+
+    @Test
+    public void shouldBoundBytesSentPerDutyCycleBySendQuantum()
+    {
+        publication = newPublication(16, 0, 0, MTU_LENGTH * 2);
+        appendMessages(32);
+
+        assertThat(publication.send(currentTime), is(MTU_LENGTH * 2));
+        assertThat(senderPosition.get(), is((long)MTU_LENGTH * 2));
+
+        assertThat(publication.send(currentTime), is(MTU_LENGTH * 2));
+        assertThat(senderPosition.get(), is((long)MTU_LENGTH * 4));
+    }
+
+    @Test
+    public void shouldSendAtLeastOneMtuPerDutyCycleWhenSendQuantumIsLessThanMtu()
+    {
+        publication = newPublication(16, 0, 0, MTU_LENGTH / 4);
+        appendMessages(32);
+
+        assertThat(publication.send(currentTime), is(MTU_LENGTH));
+        assertThat(senderPosition.get(), is((long)MTU_LENGTH));
+    }
+
+    @Test
+    public void shouldSendFullBatchWhenSendQuantumIsNotSet()
+    {
+        publication = newPublication(16, 0, 0, 0);
+        appendMessages(32);
+
+        assertThat(publication.send(currentTime), is(32 * ALIGNED_FRAME_LENGTH));
+        assertThat(senderPosition.get(), is(32L * ALIGNED_FRAME_LENGTH));
+    }
+
+    @Test
+    public void shouldLimitSendWindowToPacingBudget()
+    {
+        publication = newPublication(16, PACING_RATE, MTU_LENGTH * 2, 0);
+        appendMessages(32);
+
+        assertThat(publication.send(currentTime), is(MTU_LENGTH * 2));
+        assertThat(publication.send(currentTime), is(0));
+        assertThat(senderPosition.get(), is((long)MTU_LENGTH * 2));
+
+        currentTime += TimeUnit.MILLISECONDS.toNanos(1);
+
+        assertThat(publication.send(currentTime), is(MTU_LENGTH));
+        assertThat(senderPosition.get(), is((long)MTU_LENGTH * 3));
+    }
+
+    @Test
+    public void shouldCountBytesDeferredByPacingOnce()
+    {
+        publication = newPublication(16, PACING_RATE, MTU_LENGTH, 0);
+        appendMessages(32);
+
+        publication.send(currentTime);
+        publication.send(currentTime);
+        publication.send(currentTime);
+
+        verify(mockPacedDeferredBytes, times(1)).getAndAdd(MTU_LENGTH);
+    }
+
+    @Test
+    public void shouldSendWholeMtuWhenAnyPacingBudgetIsAvailable()
+    {
+        publication = newPublication(16, PACING_RATE, MTU_LENGTH, 0);
+        appendMessages(32);
+
+        assertThat(publication.send(currentTime), is(MTU_LENGTH));
+
+        currentTime += TimeUnit.MICROSECONDS.toNanos(1);
+
+        assertThat(publication.send(currentTime), is(MTU_LENGTH));
+
+        currentTime += TimeUnit.MICROSECONDS.toNanos(500);
+
+        assertThat(publication.send(currentTime), is(0));
+        assertThat(senderPosition.get(), is((long)MTU_LENGTH * 2));
+    }
+
+    @Test
+    public void shouldNotPaceWhenPacingRateIsNotSet()
+    {
+        publication = newPublication(16, 0, 0, 0);
+        appendMessages(32);
+
+        assertThat(publication.send(currentTime), is(32 * ALIGNED_FRAME_LENGTH));
+        verify(mockPacedDeferredBytes, never()).getAndAdd(anyLong());
+    }
+
+    @Test
+    public void shouldSendMtuDatagramsInSingleBatch()
+    {
+        publication = newPublication(4, 0, 0, 0);
+        appendMessages(32);
+
+        assertThat(publication.send(currentTime), is(MTU_LENGTH * 4));
+        assertThat(senderPosition.get(), is((long)MTU_LENGTH * 4));
+        assertThat(sentBatches, contains("0:4096,4096:4096,8192:4096,12288:4096"));
+
+        verify(mockSendBatches).increment();
+        verify(mockSendBatchDatagrams).getAndAdd(4);
+        verify(mockShortSends, never()).increment();
+        verify(mockSendChannelEndpoint, never()).send(any());
+    }
+
+    @Test
+    public void shouldTrimLastDatagramOfBatchToSenderLimit()
+    {
+        publication = newPublication(4, 0, 0, 0);
+        senderLimit.setOrdered((MTU_LENGTH * 2) + (ALIGNED_FRAME_LENGTH * 2));
+        appendMessages(32);
+
+        assertThat(publication.send(currentTime), is((MTU_LENGTH * 2) + (ALIGNED_FRAME_LENGTH * 2)));
+        assertThat(sentBatches, contains("0:4096,4096:4096,8192:2048"));
+    }
+
+    @Test
+    public void shouldEndBatchAtEndOfTerm()
+    {
+        publication = newPublication(4, 0, 0, 0);
+        senderLimit.setOrdered(TERM_BUFFER_LENGTH * 2L);
+        appendMessages(TERM_BUFFER_LENGTH / ALIGNED_FRAME_LENGTH);
+        senderPosition.setOrdered(TERM_BUFFER_LENGTH - (ALIGNED_FRAME_LENGTH * 6));
+
+        assertThat(publication.send(currentTime), is(ALIGNED_FRAME_LENGTH * 6));
+        assertThat(senderPosition.get(), is((long)TERM_BUFFER_LENGTH));
+        assertThat(sentBatches, contains("59392:4096,63488:2048"));
+    }
+
+    @Test
+    public void shouldAdvanceSenderPositionToFirstUnsentDatagramOfPartialBatch()
+    {
+        publication = newPublication(4, 0, 0, 0);
+        appendMessages(32);
+        datagramsSentPerBatch = 2;
+
+        assertThat(publication.send(currentTime), is(MTU_LENGTH * 2));
+        assertThat(senderPosition.get(), is((long)MTU_LENGTH * 2));
+        verify(mockShortSends).increment();
+        verify(mockSendBatchDatagrams).getAndAdd(2);
+
+        datagramsSentPerBatch = Integer.MAX_VALUE;
+
+        assertThat(publication.send(currentTime), is(MTU_LENGTH * 4));
+        assertThat(senderPosition.get(), is((long)MTU_LENGTH * 6));
+        assertThat(sentBatches, contains(
+            "0:4096,4096:4096,8192:4096,12288:4096",
+            "8192:4096,12288:4096,16384:4096,20480:4096"));
+    }
+
+    @Test
+    public void shouldNotAdvanceSenderPositionWhenNoDatagramOfBatchIsSent()
+    {
+        publication = newPublication(4, 0, 0, 0);
+        appendMessages(32);
+        datagramsSentPerBatch = 0;
+
+        assertThat(publication.send(currentTime), is(0));
+        assertThat(senderPosition.get(), is(0L));
+        verify(mockShortSends).increment();
+        verify(mockSendBatches, never()).increment();
+    }
+
+    @Test
+    public void shouldNotSendBatchWhenNoDataIsAvailable()
+    {
+        publication = newPublication(4, 0, 0, 0);
+
+        publication.send(currentTime);
+
+        assertThat(sentBatches, empty());
+        verify(mockSendBatches, never()).increment();
+    }
+
+    private NetworkPublication newPublication(
+        final int sendBatchSize, final long pacingRate, final int pacingBurst, final int sendQuantum)
+    {
+        senderLimit.setOrdered(TERM_BUFFER_LENGTH);
+
+        return new NetworkPublication(
+            1,
+            101,
+            mockSendChannelEndpoint,
+            () -> currentTime,
+            rawLog,
+            mock(Position.class),
+            publisherLimit,
+            senderPosition,
+            senderLimit,
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            MTU_LENGTH,
+            sendBatchSize,
+            0,
+            pacingRate,
+            pacingBurst,
+            0,
+            sendQuantum,
+            TERM_CLEAN_MAX_LENGTH,
+            mockSystemCounters,
+            mockFlowControl,
+            mock(RetransmitHandler.class),
+            new NetworkPublicationThreadLocals(),
+            Configuration.PUBLICATION_UNBLOCK_TIMEOUT_NS,
+            Configuration.PUBLICATION_CONNECTION_TIMEOUT_NS,
+            Configuration.PUBLICATION_LINGER_NS,
+            false,
+            false);
+    }
+
+    private void appendMessages(final int count)
+    {
+        final TermAppender termAppender = new TermAppender(rawLog.termBuffers()[0], rawLog.metaData(), 0);
+        for (int i = 0; i < count; i++)
+        {
+            termAppender.appendUnfragmentedMessage(headerWriter, payload, 0, PAYLOAD_LENGTH, null, INITIAL_TERM_ID);
+        }
+    }
+
+    private void fillTerms()
+    {
+        for (final UnsafeBuffer termBuffer : rawLog.termBuffers())
+        {
+            termBuffer.setMemory(0, TERM_BUFFER_LENGTH, (byte)1);
+        }
+    }
+
+    private void assertCleaned(final long fromPosition, final int length)
+    {
+        for (long position = fromPosition; position < fromPosition + length; position++)
+        {
+            final UnsafeBuffer termBuffer = rawLog.termBuffers()[(int)(position / TERM_BUFFER_LENGTH) % 3];
+            assertThat(termBuffer.getByte((int)(position % TERM_BUFFER_LENGTH)), is((byte)0));
+        }
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.buffer.RawLog;
+import io.aeron.driver.media.ReceiveChannelEndpoint;
+import io.aeron.driver.reports.LossReport;
+import io.aeron.driver.status.SystemCounters;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.RttMeasurementFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.AtomicLongPosition;
+import org.agrona.concurrent.status.Position;
+import org.agrona.concurrent.status.ReadablePosition;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.logbuffer.LogBufferDescriptor.PARTITION_COUNT;
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_DATA;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_SETUP;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PublicationImageTest
+{
+    private static final int TERM_BUFFER_LENGTH = TERM_MIN_LENGTH;
+    private static final int TERM_CLEAN_MAX_LENGTH = 1024;
+    private static final int WINDOW_LENGTH = TERM_BUFFER_LENGTH / 2;
+    private static final long CLEAN_LIMIT_LENGTH = Configuration.cleanLimitLength(TERM_BUFFER_LENGTH);
+    private static final long STATUS_MESSAGE_TIMEOUT_NS = Configuration.STATUS_MESSAGE_TIMEOUT_DEFAULT_NS;
+    private static final long SM_MIN_TIMEOUT_NS = 1L << 20;
+    private static final long SM_MAX_TIMEOUT_NS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int SESSION_ID = 1;
+    private static final int STREAM_ID = 10;
+    private static final int INITIAL_TERM_ID = 3;
+    private static final int IN_PLACE_TERM_LENGTH = TERM_MIN_LENGTH * 4;
+    private static final int FRAME_LENGTH = 128;
+    private static final byte BODY_BYTE = 7;
+    private static final InetSocketAddress SOURCE_ADDRESS = new InetSocketAddress("localhost", 45679);
+
+    private final SystemCounters mockSystemCounters = mock(SystemCounters.class);
+    private final ReceiveChannelEndpoint mockChannelEndpoint = mock(ReceiveChannelEndpoint.class);
+    private final CongestionControl mockCongestionControl = mock(CongestionControl.class);
+    private final RawLog rawLog = LogBufferHelper.newTestLogBuffers(TERM_BUFFER_LENGTH);
+    private final Position subscriberPosition = new AtomicLongPosition();
+    private final Position hwmPosition = new AtomicLongPosition();
+    private final Position rebuildPosition = new AtomicLongPosition();
+    private final ReceiveChannelEndpoint mockInPlaceChannelEndpoint = mock(ReceiveChannelEndpoint.class);
+    private final RawLog inPlaceRawLog = LogBufferHelper.newTestLogBuffers(IN_PLACE_TERM_LENGTH);
+    private final UnsafeBuffer headerBuffer = new UnsafeBuffer(
+        ByteBuffer.allocateDirect(Configuration.MAX_UDP_PAYLOAD_LENGTH));
+    private final DataHeaderFlyweight header = new DataHeaderFlyweight(headerBuffer);
+
+    private long currentTime = 0;
+    private PublicationImage image;
+
+    @Before
+    public void setUp()
+    {
+        when(mockSystemCounters.get(any())).thenReturn(mock(AtomicCounter.class));
+        when(mockCongestionControl.initialWindowLength()).thenReturn(WINDOW_LENGTH);
+        when(mockInPlaceChannelEndpoint.isInPlaceReceive()).thenReturn(true);
+        when(mockCongestionControl.onTrackRebuild(
+            anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyBoolean()))
+            .thenReturn(CongestionControlUtil.packOutcome(WINDOW_LENGTH, false));
+
+        image = newImage(rawLog, mockChannelEndpoint, new ReadablePosition[]{ subscriberPosition });
+        image.activate();
+    }
+
+    @Test
+    public void shouldCapReceiverWindowAtCleanPositionAndCatchUpCleaningOverDutyCycles()
+    {
+        final long consumedPosition = (PARTITION_COUNT + 1L) * TERM_BUFFER_LENGTH;
+        final long expectedCleanPosition = consumedPosition - TERM_BUFFER_LENGTH;
+        final int dutyCycles = (int)(expectedCleanPosition / TERM_CLEAN_MAX_LENGTH);
+        for (final UnsafeBuffer termBuffer : rawLog.termBuffers())
+        {
+            termBuffer.setMemory(0, TERM_BUFFER_LENGTH, (byte)1);
+        }
+
+        subscriberPosition.setOrdered(consumedPosition);
+        hwmPosition.setOrdered(consumedPosition);
+        rebuildPosition.setOrdered(consumedPosition);
+
+        for (int i = 0; i < dutyCycles; i++)
+        {
+            currentTime += STATUS_MESSAGE_TIMEOUT_NS + 1;
+            image.trackRebuild(currentTime, STATUS_MESSAGE_TIMEOUT_NS);
+            image.sendPendingStatusMessage();
+
+            if (0 == i)
+            {
+                assertThat(rawLog.termBuffers()[0].getByte(TERM_CLEAN_MAX_LENGTH - 1), is((byte)0));
+                assertThat(rawLog.termBuffers()[0].getByte(TERM_CLEAN_MAX_LENGTH), is((byte)1));
+            }
+        }
+
+        final ArgumentCaptor<Integer> windowCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(mockChannelEndpoint, times(dutyCycles)).sendStatusMessage(
+            any(), eq(SESSION_ID), eq(STREAM_ID), anyInt(), anyInt(), windowCaptor.capture(), anyShort());
+
+        final List<Integer> windows = windowCaptor.getAllValues();
+        for (int i = 0; i < dutyCycles; i++)
+        {
+            final long cleanPosition = (i + 1L) * TERM_CLEAN_MAX_LENGTH;
+            final long expectedWindow = Math.max(
+                0, Math.min(WINDOW_LENGTH, (cleanPosition + CLEAN_LIMIT_LENGTH) - consumedPosition));
+
+            assertThat(consumedPosition + windows.get(i), lessThanOrEqualTo(cleanPosition + CLEAN_LIMIT_LENGTH));
+            assertThat((long)windows.get(i), is(expectedWindow));
+        }
+
+        assertThat(windows.get(dutyCycles - 1), is(WINDOW_LENGTH));
+
+        for (final UnsafeBuffer termBuffer : rawLog.termBuffers())
+        {
+            for (int offset = 0; offset < TERM_BUFFER_LENGTH; offset++)
+            {
+                assertThat(termBuffer.getByte(offset), is((byte)0));
+            }
+        }
+    }
+
+    @Test
+    public void shouldUseMaxStatusMessageTimeoutWithoutSubscribers()
+    {
+        final PublicationImage image = newImage(rawLog, mockChannelEndpoint, new ReadablePosition[0]);
+
+        assertThat(image.adaptiveStatusMessageTimeoutNs(
+            SM_MIN_TIMEOUT_NS, 1L << 30, WINDOW_LENGTH, SM_MIN_TIMEOUT_NS, SM_MAX_TIMEOUT_NS), is(SM_MAX_TIMEOUT_NS));
+    }
+
+    @Test
+    public void shouldUseMaxStatusMessageTimeoutWhenNotConsuming()
+    {
+        assertThat(image.adaptiveStatusMessageTimeoutNs(
+            SM_MIN_TIMEOUT_NS, 0, WINDOW_LENGTH, SM_MIN_TIMEOUT_NS, SM_MAX_TIMEOUT_NS), is(SM_MAX_TIMEOUT_NS));
+    }
+
+    @Test
+    public void shouldClampStatusMessageTimeoutToMaxWhenConsumingSlowly()
+    {
+        assertThat(image.adaptiveStatusMessageTimeoutNs(
+            SM_MIN_TIMEOUT_NS, 1, WINDOW_LENGTH, SM_MIN_TIMEOUT_NS, SM_MAX_TIMEOUT_NS), is(SM_MAX_TIMEOUT_NS));
+    }
+
+    @Test
+    public void shouldClampStatusMessageTimeoutToMinWhenConsumingFast()
+    {
+        assertThat(image.adaptiveStatusMessageTimeoutNs(
+            SM_MIN_TIMEOUT_NS, 1L << 30, WINDOW_LENGTH, SM_MIN_TIMEOUT_NS, SM_MAX_TIMEOUT_NS), is(SM_MIN_TIMEOUT_NS));
+    }
+
+    @Test
+    public void shouldAdaptStatusMessageTimeoutToHalfTheTimeToConsumeWindow()
+    {
+        final long bytesConsumed = WINDOW_LENGTH;
+        final double bytesPerNs = ((double)bytesConsumed / SM_MIN_TIMEOUT_NS) * 0.25;
+        final long expectedTimeoutNs = (long)((WINDOW_LENGTH / bytesPerNs) / 2);
+
+        assertThat(image.adaptiveStatusMessageTimeoutNs(
+            SM_MIN_TIMEOUT_NS, bytesConsumed, WINDOW_LENGTH, SM_MIN_TIMEOUT_NS, SM_MAX_TIMEOUT_NS),
+            is(expectedTimeoutNs));
+    }
+
+    @Test
+    public void shouldTakeRttFromAdaptedStatusMessageTimeout()
+    {
+        final long rttNs = SM_MIN_TIMEOUT_NS;
+        final RttMeasurementFlyweight rttMeasurement = mock(RttMeasurementFlyweight.class);
+        when(rttMeasurement.echoTimestampNs()).thenReturn(0L);
+        when(rttMeasurement.receptionDelta()).thenReturn(0L);
+        currentTime = rttNs;
+        image.onRttMeasurement(rttMeasurement, 0, SOURCE_ADDRESS);
+
+        final long bytesConsumed = WINDOW_LENGTH;
+        final double bytesPerNs = ((double)bytesConsumed / SM_MIN_TIMEOUT_NS) * 0.25;
+        final long expectedTimeoutNs = (long)(((WINDOW_LENGTH / bytesPerNs) - rttNs) / 2);
+
+        assertThat(image.adaptiveStatusMessageTimeoutNs(
+            SM_MIN_TIMEOUT_NS, bytesConsumed, WINDOW_LENGTH, SM_MIN_TIMEOUT_NS, SM_MAX_TIMEOUT_NS),
+            is(expectedTimeoutNs));
+    }
+
+    @Test
+    public void shouldOfferInPlaceReceiveBufferAfterHeaderAtHighestReceivedPosition()
+    {
+        final PublicationImage image = newInPlaceImage();
+        hwmPosition.setOrdered(FRAME_LENGTH);
+
+        final ByteBuffer termSlice = image.inPlaceReceiveBuffer();
+
+        assertThat(termSlice.position(), is(FRAME_LENGTH + HEADER_LENGTH));
+        assertThat(termSlice.limit(), is(FRAME_LENGTH + Configuration.MAX_UDP_PAYLOAD_LENGTH));
+    }
+
+    @Test
+    public void shouldNotOfferInPlaceReceiveBufferWhenNotActive()
+    {
+        final PublicationImage image = newImage(
+            inPlaceRawLog, mockInPlaceChannelEndpoint, new ReadablePosition[]{ subscriberPosition });
+
+        assertNull(image.inPlaceReceiveBuffer());
+    }
+
+    @Test
+    public void shouldNotOfferInPlaceReceiveBufferWhenFrameAlreadyReceivedAtHighestPosition()
+    {
+        final PublicationImage image = newInPlaceImage();
+        inPlaceRawLog.termBuffers()[0].putInt(0, FRAME_LENGTH);
+
+        assertNull(image.inPlaceReceiveBuffer());
+    }
+
+    @Test
+    public void shouldNotOfferInPlaceReceiveBufferWhenRestOfTermCannotHoldLargestDatagram()
+    {
+        final PublicationImage image = newInPlaceImage();
+        hwmPosition.setOrdered(IN_PLACE_TERM_LENGTH - Configuration.MAX_UDP_PAYLOAD_LENGTH + FRAME_ALIGNMENT);
+
+        assertNull(image.inPlaceReceiveBuffer());
+    }
+
+    @Test
+    public void shouldCommitInOrderPacketReceivedInPlace()
+    {
+        final PublicationImage image = newInPlaceImage();
+
+        receiveInPlace(image.inPlaceReceiveBuffer(), HDR_TYPE_DATA, SESSION_ID, 0);
+
+        assertTrue(image.isInPlacePacket(header, FRAME_LENGTH));
+        assertThat(image.insertPacketInPlace(header, FRAME_LENGTH, 0, SOURCE_ADDRESS), is(FRAME_LENGTH));
+
+        final UnsafeBuffer termBuffer = inPlaceRawLog.termBuffers()[0];
+        assertThat(termBuffer.getInt(0), is(FRAME_LENGTH));
+        assertThat(termBuffer.getInt(DataHeaderFlyweight.SESSION_ID_FIELD_OFFSET), is(SESSION_ID));
+        assertThat(termBuffer.getByte(HEADER_LENGTH), is(BODY_BYTE));
+        assertThat(termBuffer.getByte(FRAME_LENGTH - 1), is(BODY_BYTE));
+        assertThat(hwmPosition.get(), is((long)FRAME_LENGTH));
+    }
+
+    @Test
+    public void shouldAbortOutOfOrderPacketReceivedInPlaceAndFallBackToCopy()
+    {
+        final PublicationImage image = newInPlaceImage();
+        final int termOffset = FRAME_LENGTH * 2;
+
+        receiveInPlace(image.inPlaceReceiveBuffer(), HDR_TYPE_DATA, SESSION_ID, termOffset);
+
+        assertFalse(image.isInPlacePacket(header, FRAME_LENGTH));
+        image.abortInPlaceReceive(headerBuffer, FRAME_LENGTH);
+        assertBodyMovedAndTermClean();
+
+        assertThat(image.insertPacket(
+            INITIAL_TERM_ID, termOffset, headerBuffer, FRAME_LENGTH, 0, SOURCE_ADDRESS), is(FRAME_LENGTH));
+
+        final UnsafeBuffer termBuffer = inPlaceRawLog.termBuffers()[0];
+        assertThat(termBuffer.getInt(0), is(0));
+        assertThat(termBuffer.getInt(termOffset), is(FRAME_LENGTH));
+        assertThat(termBuffer.getByte(termOffset + HEADER_LENGTH), is(BODY_BYTE));
+        assertThat(hwmPosition.get(), is((long)termOffset + FRAME_LENGTH));
+    }
+
+    @Test
+    public void shouldAbortPacketForOtherSessionReceivedInPlace()
+    {
+        final PublicationImage image = newInPlaceImage();
+
+        receiveInPlace(image.inPlaceReceiveBuffer(), HDR_TYPE_DATA, SESSION_ID + 1, 0);
+
+        assertFalse(image.isInPlacePacket(header, FRAME_LENGTH));
+        image.abortInPlaceReceive(headerBuffer, FRAME_LENGTH);
+        assertBodyMovedAndTermClean();
+    }
+
+    @Test
+    public void shouldAbortControlFrameReceivedInPlace()
+    {
+        final PublicationImage image = newInPlaceImage();
+
+        receiveInPlace(image.inPlaceReceiveBuffer(), HDR_TYPE_SETUP, SESSION_ID, 0);
+
+        assertFalse(image.isInPlacePacket(header, FRAME_LENGTH));
+        image.abortInPlaceReceive(headerBuffer, FRAME_LENGTH);
+        assertBodyMovedAndTermClean();
+    }
+
+    @Test
+    public void shouldZeroBodyReceivedInPlaceOnFlowControlOverRun()
+    {
+        final PublicationImage image = newInPlaceImage();
+        final int termOffset = WINDOW_LENGTH * 2;
+        hwmPosition.setOrdered(termOffset);
+
+        receiveInPlace(image.inPlaceReceiveBuffer(), HDR_TYPE_DATA, SESSION_ID, termOffset);
+
+        assertTrue(image.isInPlacePacket(header, FRAME_LENGTH));
+        assertThat(image.insertPacketInPlace(header, FRAME_LENGTH, 0, SOURCE_ADDRESS), is(FRAME_LENGTH));
+
+        final UnsafeBuffer termBuffer = inPlaceRawLog.termBuffers()[0];
+        for (int offset = termOffset; offset < termOffset + FRAME_LENGTH; offset++)
+        {
+            assertThat(termBuffer.getByte(offset), is((byte)0));
+        }
+
+        assertThat(hwmPosition.get(), is((long)termOffset));
+    }
+
+    private PublicationImage newInPlaceImage()
+    {
+        final PublicationImage image = newImage(
+            inPlaceRawLog, mockInPlaceChannelEndpoint, new ReadablePosition[]{ subscriberPosition });
+        image.activate();
+
+        return image;
+    }
+
+    private void receiveInPlace(final ByteBuffer termSlice, final int type, final int sessionId, final int termOffset)
+    {
+        header.frameLength(FRAME_LENGTH);
+        header.version(DataHeaderFlyweight.CURRENT_VERSION);
+        header.headerType(type);
+        header.sessionId(sessionId).streamId(STREAM_ID).termId(INITIAL_TERM_ID).termOffset(termOffset);
+
+        for (int i = HEADER_LENGTH; i < FRAME_LENGTH; i++)
+        {
+            termSlice.put(BODY_BYTE);
+        }
+    }
+
+    private void assertBodyMovedAndTermClean()
+    {
+        for (int offset = HEADER_LENGTH; offset < FRAME_LENGTH; offset++)
+        {
+            assertThat(headerBuffer.getByte(offset), is(BODY_BYTE));
+        }
+
+        final UnsafeBuffer termBuffer = inPlaceRawLog.termBuffers()[0];
+        for (int offset = 0; offset < Configuration.MAX_UDP_PAYLOAD_LENGTH; offset++)
+        {
+            assertThat(termBuffer.getByte(offset), is((byte)0));
+        }
+    }
+
+    private PublicationImage newImage(
+        final RawLog rawLog, final ReceiveChannelEndpoint channelEndpoint, final ReadablePosition[] subscriberPositions)
+    {
+        return new PublicationImage(
+            1,
+            Configuration.IMAGE_LIVENESS_TIMEOUT_NS,
+            channelEndpoint,
+            0,
+            SOURCE_ADDRESS,
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            INITIAL_TERM_ID,
+            0,
+            rawLog,
+            mock(FeedbackDelayGenerator.class),
+            1,
+            TERM_CLEAN_MAX_LENGTH,
+            subscriberPositions,
+            hwmPosition,
+            rebuildPosition,
+            mock(AtomicCounter.class),
+            mock(AtomicCounter.class),
+            () -> currentTime,
+            () -> currentTime,
+            () -> 0L,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            mockCongestionControl,
+            mock(LossReport.class),
+            true,
+            null);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.ReceiveChannelEndpoint;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class ReceiverProxyTest
+{
+    private static final int SHARD_COUNT = 3;
+    private static final int STREAM_ID = 10;
+    private static final int SESSION_ID = 100;
+
+    @SuppressWarnings("unchecked")
+    private final Queue<Runnable>[] commandQueues = new Queue[SHARD_COUNT];
+    private final Receiver[] receivers = new Receiver[SHARD_COUNT];
+    private ReceiverProxy receiverProxy;
+
+    @Before
+    public void before()
+    {
+        for (int i = 0; i < SHARD_COUNT; i++)
+        {
+            commandQueues[i] = new OneToOneConcurrentArrayQueue<>(16);
+        }
+
+        receiverProxy = new ReceiverProxy(ThreadingMode.DEDICATED, commandQueues, mock(AtomicCounter.class));
+
+        for (int i = 0; i < SHARD_COUNT; i++)
+        {
+            receivers[i] = mock(Receiver.class);
+            receiverProxy.receiver(i, receivers[i]);
+        }
+    }
+
+    @Test
+    public void shouldRouteEndpointAndImageCommandsToShardOfEndpoint()
+    {
+        final ReceiveChannelEndpoint endpoint = newEndpoint(2);
+        final PublicationImage image = mock(PublicationImage.class);
+
+        receiverProxy.registerReceiveChannelEndpoint(endpoint);
+        receiverProxy.addSubscription(endpoint, STREAM_ID);
+        receiverProxy.newPublicationImage(endpoint, image);
+
+        assertCommandCounts(0, 0, 3);
+        runCommands();
+
+        verify(receivers[2]).onRegisterReceiveChannelEndpoint(endpoint);
+        verify(receivers[2]).onAddSubscription(endpoint, STREAM_ID);
+        verify(receivers[2]).onNewPublicationImage(endpoint, image);
+        verifyZeroInteractions(receivers[0], receivers[1]);
+    }
+
+    @Test
+    public void shouldRouteSubscriptionCommandsToEachFanInEndpointShard()
+    {
+        final ReceiveChannelEndpoint endpointOne = newEndpoint(0);
+        final ReceiveChannelEndpoint endpointTwo = newEndpoint(1);
+        final ReceiveChannelEndpoint[] fanInEndpoints = { endpointOne, endpointTwo };
+        when(endpointOne.fanInEndpoints()).thenReturn(fanInEndpoints);
+
+        receiverProxy.addSubscription(endpointOne, STREAM_ID);
+
+        assertCommandCounts(1, 1, 0);
+        runCommands();
+
+        verify(receivers[0]).onAddSubscription(endpointOne, STREAM_ID);
+        verify(receivers[1]).onAddSubscription(endpointTwo, STREAM_ID);
+        verifyZeroInteractions(receivers[2]);
+    }
+
+    @Test
+    public void shouldRegisterAndCloseEachFanInEndpointOnItsShard()
+    {
+        final ReceiveChannelEndpoint[] fanInEndpoints = newFanInEndpoints(1, 2, 0);
+        final ReceiveChannelEndpoint endpoint = fanInEndpoints[0];
+
+        receiverProxy.registerReceiveChannelEndpoint(endpoint);
+
+        assertCommandCounts(1, 1, 1);
+        runCommands();
+
+        verify(receivers[1]).onRegisterReceiveChannelEndpoint(fanInEndpoints[0]);
+        verify(receivers[2]).onRegisterReceiveChannelEndpoint(fanInEndpoints[1]);
+        verify(receivers[0]).onRegisterReceiveChannelEndpoint(fanInEndpoints[2]);
+
+        receiverProxy.closeReceiveChannelEndpoint(endpoint);
+
+        assertCommandCounts(1, 1, 1);
+        runCommands();
+
+        verify(receivers[1]).onCloseReceiveChannelEndpoint(fanInEndpoints[0]);
+        verify(receivers[2]).onCloseReceiveChannelEndpoint(fanInEndpoints[1]);
+        verify(receivers[0]).onCloseReceiveChannelEndpoint(fanInEndpoints[2]);
+        verifyNoMoreInteractions((Object[])receivers);
+    }
+
+    @Test
+    public void shouldRouteSessionSpecificSubscriptionCommandsToEachFanInEndpointShard()
+    {
+        final ReceiveChannelEndpoint[] fanInEndpoints = newFanInEndpoints(0, 1);
+        final ReceiveChannelEndpoint endpoint = fanInEndpoints[0];
+
+        receiverProxy.addSubscription(endpoint, STREAM_ID, SESSION_ID);
+        receiverProxy.removeSubscription(endpoint, STREAM_ID, SESSION_ID);
+        receiverProxy.removeSubscription(endpoint, STREAM_ID);
+
+        assertCommandCounts(3, 3, 0);
+        runCommands();
+
+        for (int i = 0; i < fanInEndpoints.length; i++)
+        {
+            verify(receivers[i]).onAddSubscription(fanInEndpoints[i], STREAM_ID, SESSION_ID);
+            verify(receivers[i]).onRemoveSubscription(fanInEndpoints[i], STREAM_ID, SESSION_ID);
+            verify(receivers[i]).onRemoveSubscription(fanInEndpoints[i], STREAM_ID);
+        }
+
+        verifyZeroInteractions(receivers[2]);
+    }
+
+    @Test
+    public void shouldInvokeEachFanInEndpointShardDirectlyWhenNotConcurrent()
+    {
+        receiverProxy = new ReceiverProxy(ThreadingMode.SHARED, commandQueues, mock(AtomicCounter.class));
+        for (int i = 0; i < SHARD_COUNT; i++)
+        {
+            receiverProxy.receiver(i, receivers[i]);
+        }
+
+        final ReceiveChannelEndpoint[] fanInEndpoints = newFanInEndpoints(0, 1, 2);
+
+        receiverProxy.registerReceiveChannelEndpoint(fanInEndpoints[0]);
+
+        assertCommandCounts(0, 0, 0);
+        for (int i = 0; i < SHARD_COUNT; i++)
+        {
+            verify(receivers[i]).onRegisterReceiveChannelEndpoint(fanInEndpoints[i]);
+        }
+    }
+
+    private ReceiveChannelEndpoint[] newFanInEndpoints(final int... shardIndexes)
+    {
+        final ReceiveChannelEndpoint[] endpoints = new ReceiveChannelEndpoint[shardIndexes.length];
+        for (int i = 0; i < shardIndexes.length; i++)
+        {
+            endpoints[i] = newEndpoint(shardIndexes[i]);
+        }
+
+        when(endpoints[0].fanInEndpoints()).thenReturn(endpoints);
+
+        return endpoints;
+    }
+
+    private ReceiveChannelEndpoint newEndpoint(final int shardIndex)
+    {
+        final ReceiveChannelEndpoint endpoint = mock(ReceiveChannelEndpoint.class);
+        when(endpoint.receiverShardIndex()).thenReturn(shardIndex);
+        when(endpoint.fanInEndpoints()).thenReturn(new ReceiveChannelEndpoint[]{ endpoint });
+
+        return endpoint;
+    }
+
+    private void assertCommandCounts(final int... counts)
+    {
+        for (int i = 0; i < SHARD_COUNT; i++)
+        {
+            assertEquals(counts[i], commandQueues[i].size());
+        }
+    }
+
+    private void runCommands()
+    {
+        for (final Queue<Runnable> commandQueue : commandQueues)
+        {
+            Runnable command;
+            while (null != (command = commandQueue.poll()))
+            {
+                command.run();
+            }
+        }
+    }
+}
@@ -186,9 +186,13 @@ public class ReceiverTest
             INITIAL_TERM_OFFSET,
             rawLog,
             mockFeedbackDelayGenerator,
+            1,
+            Configuration.TERM_CLEAN_MAX_LENGTH,
             POSITIONS,
             mockHighestReceivedPosition,
             mockRebuildPosition,
+            mock(AtomicCounter.class),
+            mock(AtomicCounter.class),
             nanoClock,
             nanoClock,
             epochClock,
@@ -196,7 +200,8 @@ public class ReceiverTest
             SOURCE_ADDRESS,
             congestionControl,
             lossReport,
-            true);
+            true,
+            null);
 
         final int messagesRead = toConductorQueue.drain((e) ->
         {
@@ -258,9 +263,13 @@ public class ReceiverTest
                 INITIAL_TERM_OFFSET,
                 rawLog,
                 mockFeedbackDelayGenerator,
+                1,
+                Configuration.TERM_CLEAN_MAX_LENGTH,
                 POSITIONS,
                 mockHighestReceivedPosition,
                 mockRebuildPosition,
+                mock(AtomicCounter.class),
+                mock(AtomicCounter.class),
                 nanoClock,
                 nanoClock,
                 epochClock,
@@ -268,7 +277,8 @@ public class ReceiverTest
                 SOURCE_ADDRESS,
                 congestionControl,
                 lossReport,
-                true);
+                true,
+                null);
 
             receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
         });
@@ -328,9 +338,13 @@ public class ReceiverTest
                 INITIAL_TERM_OFFSET,
                 rawLog,
                 mockFeedbackDelayGenerator,
+                1,
+                Configuration.TERM_CLEAN_MAX_LENGTH,
                 POSITIONS,
                 mockHighestReceivedPosition,
                 mockRebuildPosition,
+                mock(AtomicCounter.class),
+                mock(AtomicCounter.class),
                 nanoClock,
                 nanoClock,
                 epochClock,
@@ -338,7 +352,8 @@ public class ReceiverTest
                 SOURCE_ADDRESS,
                 congestionControl,
                 lossReport,
-                true);
+                true,
+                null);
 
             receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
         });
@@ -401,9 +416,13 @@ public class ReceiverTest
                 INITIAL_TERM_OFFSET,
                 rawLog,
                 mockFeedbackDelayGenerator,
+                1,
+                Configuration.TERM_CLEAN_MAX_LENGTH,
                 POSITIONS,
                 mockHighestReceivedPosition,
                 mockRebuildPosition,
+                mock(AtomicCounter.class),
+                mock(AtomicCounter.class),
                 nanoClock,
                 nanoClock,
                 epochClock,
@@ -411,7 +430,8 @@ public class ReceiverTest
                 SOURCE_ADDRESS,
                 congestionControl,
                 lossReport,
-                true);
+                true,
+                null);
 
             receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
         });
@@ -478,9 +498,13 @@ public class ReceiverTest
                 initialTermOffset,
                 rawLog,
                 mockFeedbackDelayGenerator,
+                1,
+                Configuration.TERM_CLEAN_MAX_LENGTH,
                 POSITIONS,
                 mockHighestReceivedPosition,
                 mockRebuildPosition,
+                mock(AtomicCounter.class),
+                mock(AtomicCounter.class),
                 nanoClock,
                 nanoClock,
                 epochClock,
@@ -488,7 +512,8 @@ public class ReceiverTest
                 SOURCE_ADDRESS,
                 congestionControl,
                 lossReport,
-                true);
+                true,
+                null);
 
             receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
         });
@@ -240,6 +240,124 @@ public class SelectorAndTransportTest
         assertThat(dataHeadersReceived.get(), is(1));
     }
 
+    @Test(timeout = 1000)
+    public void shouldReceiveBatchOfDataFramesUnicastFromSourceToReceiver()
+    {
+        final AtomicInteger dataHeadersReceived = new AtomicInteger(0);
+        final AtomicCounter mockReceiveBatches = mock(AtomicCounter.class);
+        final AtomicCounter mockReceiveBatchDatagrams = mock(AtomicCounter.class);
+
+        doAnswer(
+            (invocation) ->
+            {
+                dataHeadersReceived.incrementAndGet();
+                return null;
+            })
+            .when(mockDispatcher).onDataPacket(
+            any(ReceiveChannelEndpoint.class),
+            any(DataHeaderFlyweight.class),
+            any(UnsafeBuffer.class),
+            anyInt(),
+            any(InetSocketAddress.class),
+            anyInt());
+
+        dataTransportPoller.close();
+        dataTransportPoller = new DataTransportPoller(4, mockReceiveBatches, mockReceiveBatchDatagrams);
+
+        receiveChannelEndpoint = new ReceiveChannelEndpoint(
+            RCV_DST, mockDispatcher, mockReceiveStatusIndicator, context);
+        sendChannelEndpoint = new SendChannelEndpoint(SRC_DST, mockSendStatusIndicator, context);
+
+        receiveChannelEndpoint.openDatagramChannel(mockReceiveStatusIndicator);
+        receiveChannelEndpoint.registerForRead(dataTransportPoller);
+        sendChannelEndpoint.openDatagramChannel(mockSendStatusIndicator);
+        sendChannelEndpoint.registerForRead(controlTransportPoller);
+
+        encodeDataHeader.wrap(buffer);
+        encodeDataHeader
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+            .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+            .frameLength(FRAME_LENGTH);
+        encodeDataHeader
+            .sessionId(SESSION_ID)
+            .streamId(STREAM_ID)
+            .termId(TERM_ID);
+
+        processLoop(dataTransportPoller, 5);
+
+        final int datagramCount = 3;
+        for (int i = 0; i < datagramCount; i++)
+        {
+            byteBuffer.position(0).limit(FRAME_LENGTH);
+            sendChannelEndpoint.send(byteBuffer);
+        }
+
+        while (dataHeadersReceived.get() < datagramCount)
+        {
+            processLoop(dataTransportPoller, 1);
+        }
+
+        assertThat(dataHeadersReceived.get(), is(datagramCount));
+        verify(mockReceiveBatches, atLeastOnce()).incrementOrdered();
+        verify(mockReceiveBatchDatagrams, atLeastOnce()).getAndAddOrdered(anyLong());
+    }
+
+    @Test(timeout = 1000)
+    public void shouldSweepIdleTransportAndReceiveDataFrame()
+    {
+        final AtomicInteger dataHeadersReceived = new AtomicInteger(0);
+
+        doAnswer(
+            (invocation) ->
+            {
+                dataHeadersReceived.incrementAndGet();
+                return null;
+            })
+            .when(mockDispatcher).onDataPacket(
+            any(ReceiveChannelEndpoint.class),
+            any(DataHeaderFlyweight.class),
+            any(UnsafeBuffer.class),
+            anyInt(),
+            any(InetSocketAddress.class),
+            anyInt());
+
+        dataTransportPoller.close();
+        dataTransportPoller = new DataTransportPoller(1, null, null, true, 4);
+
+        receiveChannelEndpoint = new ReceiveChannelEndpoint(
+            RCV_DST, mockDispatcher, mockReceiveStatusIndicator, context);
+        sendChannelEndpoint = new SendChannelEndpoint(SRC_DST, mockSendStatusIndicator, context);
+
+        receiveChannelEndpoint.openDatagramChannel(mockReceiveStatusIndicator);
+        receiveChannelEndpoint.registerForRead(dataTransportPoller);
+        sendChannelEndpoint.openDatagramChannel(mockSendStatusIndicator);
+        sendChannelEndpoint.registerForRead(controlTransportPoller);
+
+        encodeDataHeader.wrap(buffer);
+        encodeDataHeader
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+            .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+            .frameLength(FRAME_LENGTH);
+        encodeDataHeader
+            .sessionId(SESSION_ID)
+            .streamId(STREAM_ID)
+            .termId(TERM_ID);
+
+        processLoop(dataTransportPoller, 20);
+
+        byteBuffer.position(0).limit(FRAME_LENGTH);
+        sendChannelEndpoint.send(byteBuffer);
+
+        while (dataHeadersReceived.get() < 1)
+        {
+            processLoop(dataTransportPoller, 1);
+        }
+
+        assertThat(dataHeadersReceived.get(), is(1));
+    }
+
     @Test(timeout = 1000)
     public void shouldHandleSmFrameFromReceiverToSender()
     {
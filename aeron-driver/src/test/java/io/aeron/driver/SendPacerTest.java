@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class SendPacerTest
+{
+    private static final int MTU_LENGTH = 1024;
+    private static final long RATE = 1_000_000;
+    private static final long MICROSECOND_NS = TimeUnit.MICROSECONDS.toNanos(1);
+
+    @Test
+    public void shouldStartWithFullBurst()
+    {
+        final SendPacer pacer = new SendPacer(RATE, MTU_LENGTH * 4, MTU_LENGTH, 0);
+
+        assertThat(pacer.availableBytes(0), is(MTU_LENGTH * 4L));
+    }
+
+    @Test
+    public void shouldRefillAtRateOverTime()
+    {
+        final SendPacer pacer = new SendPacer(RATE, MTU_LENGTH * 4, MTU_LENGTH, 0);
+        pacer.onBytesSent(MTU_LENGTH * 4);
+
+        assertThat(pacer.availableBytes(0), is(0L));
+        assertThat(pacer.availableBytes(500 * MICROSECOND_NS), is(500L));
+        assertThat(pacer.availableBytes(1500 * MICROSECOND_NS), is(1500L));
+    }
+
+    @Test
+    public void shouldAccumulateElapsedTimeUntilAtLeastOneByteIsAvailable()
+    {
+        final SendPacer pacer = new SendPacer(1000, MTU_LENGTH, MTU_LENGTH, 0);
+        pacer.onBytesSent(MTU_LENGTH);
+
+        assertThat(pacer.availableBytes(500 * MICROSECOND_NS), is(0L));
+        assertThat(pacer.availableBytes(1000 * MICROSECOND_NS), is(1L));
+    }
+
+    @Test
+    public void shouldCapRefillAtBurst()
+    {
+        final SendPacer pacer = new SendPacer(RATE, MTU_LENGTH * 4, MTU_LENGTH, 0);
+        pacer.onBytesSent(MTU_LENGTH);
+
+        assertThat(pacer.availableBytes(TimeUnit.SECONDS.toNanos(1)), is(MTU_LENGTH * 4L));
+    }
+
+    @Test
+    public void shouldRepayDebtBeforeBytesBecomeAvailable()
+    {
+        final SendPacer pacer = new SendPacer(RATE, MTU_LENGTH, MTU_LENGTH, 0);
+        pacer.onBytesSent(MTU_LENGTH * 2);
+
+        assertThat(pacer.availableBytes(0), is((long)-MTU_LENGTH));
+        assertThat(pacer.availableBytes(500 * MICROSECOND_NS), is(500L - MTU_LENGTH));
+        assertThat(pacer.availableBytes(MTU_LENGTH * MICROSECOND_NS), is(0L));
+    }
+
+    @Test
+    public void shouldUseMtuAsMinimumBurst()
+    {
+        final SendPacer pacer = new SendPacer(RATE, MTU_LENGTH / 2, MTU_LENGTH, 0);
+
+        assertThat(pacer.availableBytes(TimeUnit.SECONDS.toNanos(1)), is((long)MTU_LENGTH));
+    }
+
+    @Test
+    public void shouldDefaultBurstToOneMillisecondOfRate()
+    {
+        final long rate = MTU_LENGTH * 10_000L;
+        final SendPacer pacer = new SendPacer(rate, 0, MTU_LENGTH, 0);
+
+        assertThat(pacer.availableBytes(TimeUnit.SECONDS.toNanos(1)), is(rate / 1000));
+    }
+}
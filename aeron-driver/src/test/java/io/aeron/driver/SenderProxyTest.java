@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.SendChannelEndpoint;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class SenderProxyTest
+{
+    private static final int SHARD_COUNT = 3;
+
+    @SuppressWarnings("unchecked")
+    private final Queue<Runnable>[] commandQueues = new Queue[SHARD_COUNT];
+    private final Sender[] senders = new Sender[SHARD_COUNT];
+    private SenderProxy senderProxy;
+
+    @Before
+    public void before()
+    {
+        for (int i = 0; i < SHARD_COUNT; i++)
+        {
+            commandQueues[i] = new OneToOneConcurrentArrayQueue<>(16);
+        }
+
+        senderProxy = new SenderProxy(ThreadingMode.DEDICATED, commandQueues, mock(AtomicCounter.class));
+
+        for (int i = 0; i < SHARD_COUNT; i++)
+        {
+            senders[i] = mock(Sender.class);
+            senderProxy.sender(i, senders[i]);
+        }
+    }
+
+    @Test
+    public void shouldRouteEndpointAndPublicationCommandsToShardOfEndpoint()
+    {
+        final SendChannelEndpoint endpoint = mock(SendChannelEndpoint.class);
+        when(endpoint.senderShardIndex()).thenReturn(1);
+        final NetworkPublication publication = mock(NetworkPublication.class);
+        when(publication.channelEndpoint()).thenReturn(endpoint);
+        final InetSocketAddress address = new InetSocketAddress("localhost", 40123);
+
+        senderProxy.registerSendChannelEndpoint(endpoint);
+        senderProxy.newNetworkPublication(publication);
+        senderProxy.addDestination(endpoint, address);
+
+        assertEquals(0, commandQueues[0].size());
+        assertEquals(3, commandQueues[1].size());
+        assertEquals(0, commandQueues[2].size());
+
+        Runnable command;
+        while (null != (command = commandQueues[1].poll()))
+        {
+            command.run();
+        }
+
+        verify(senders[1]).onRegisterSendChannelEndpoint(endpoint);
+        verify(senders[1]).onNewNetworkPublication(publication);
+        verify(senders[1]).onAddDestination(endpoint, address);
+        verifyZeroInteractions(senders[0], senders[2]);
+    }
+
+    @Test
+    public void shouldRouteToSenderDirectlyWhenNotConcurrent()
+    {
+        final SenderProxy sharedSenderProxy =
+            new SenderProxy(ThreadingMode.SHARED, commandQueues, mock(AtomicCounter.class));
+        sharedSenderProxy.sender(2, senders[2]);
+        final SendChannelEndpoint endpoint = mock(SendChannelEndpoint.class);
+        when(endpoint.senderShardIndex()).thenReturn(2);
+
+        sharedSenderProxy.registerSendChannelEndpoint(endpoint);
+
+        verify(senders[2]).onRegisterSendChannelEndpoint(endpoint);
+        assertEquals(0, commandQueues[2].size());
+    }
+}
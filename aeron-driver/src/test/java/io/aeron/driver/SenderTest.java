@@ -19,6 +19,7 @@ import io.aeron.driver.buffer.RawLog;
 import io.aeron.driver.media.ControlTransportPoller;
 import io.aeron.driver.media.SendChannelEndpoint;
 import io.aeron.driver.media.UdpChannel;
+import io.aeron.driver.status.SenderPriorityCounter;
 import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.HeaderWriter;
 import io.aeron.logbuffer.LogBufferDescriptor;
@@ -33,6 +34,7 @@ import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.concurrent.status.AtomicLongPosition;
+import org.agrona.concurrent.status.CountersManager;
 import org.agrona.concurrent.status.Position;
 import org.junit.After;
 import org.junit.Before;
@@ -41,13 +43,17 @@ import org.mockito.stubbing.Answer;
 
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 
 import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
 import static io.aeron.logbuffer.LogBufferDescriptor.PARTITION_COUNT;
 import static org.agrona.BitUtil.align;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.*;
@@ -65,6 +71,11 @@ public class SenderTest
         SESSION_ID, STREAM_ID, INITIAL_TERM_ID);
     private static final int FRAME_LENGTH = HEADER.capacity() + PAYLOAD.length;
     private static final int ALIGNED_FRAME_LENGTH = align(FRAME_LENGTH, FRAME_ALIGNMENT);
+    private static final int PRIORITY_CLASSES = 2;
+    private static final int PRIORITY_DATAGRAM_LENGTH = ALIGNED_FRAME_LENGTH * 4;
+    private static final int PRIORITY_MESSAGE_COUNT = 64;
+    private static final long SEND_DURATION_NS = 100;
+    private static final int COUNTERS_BUFFER_LENGTH = 16 * 1024;
 
     private final ControlTransportPoller mockTransportPoller = mock(ControlTransportPoller.class);
 
@@ -78,6 +89,9 @@ public class SenderTest
     private final RetransmitHandler mockRetransmitHandler = mock(RetransmitHandler.class);
 
     private long currentTimestamp = 0;
+    private long waitTimestamp = 0;
+    private final AtomicCounter[] priorityBytesSent = new AtomicCounter[PRIORITY_CLASSES];
+    private final AtomicCounter[] priorityWaitTime = new AtomicCounter[PRIORITY_CLASSES];
 
     private final Queue<ByteBuffer> receivedFrames = new ArrayDeque<>();
 
@@ -146,6 +160,13 @@ public class SenderTest
             STREAM_ID,
             INITIAL_TERM_ID,
             MAX_FRAME_LENGTH,
+            1,
+            0,
+            0,
+            0,
+            0,
+            0,
+            Configuration.TERM_CLEAN_MAX_LENGTH,
             mockSystemCounters,
             flowControl,
             mockRetransmitHandler,
@@ -496,6 +517,169 @@ public class SenderTest
         assertThat(dataHeader.termOffset(), is(offsetOfMessage(2)));
     }
 
+    @Test
+    public void shouldServePriorityClassesInStrictOrderAndRoundRobinWithinClass()
+    {
+        final Sender prioritySender = newPrioritySender();
+        final List<String> sends = new ArrayList<>();
+
+        prioritySender.onNewNetworkPublication(newPriorityPublication(1, "low", sends));
+        prioritySender.onNewNetworkPublication(newPriorityPublication(0, "high-a", sends));
+        prioritySender.onNewNetworkPublication(newPriorityPublication(0, "high-b", sends));
+
+        prioritySender.doWork();
+        assertThat(sends, contains("high-a", "high-b", "low"));
+
+        sends.clear();
+        prioritySender.doWork();
+        assertThat(sends, contains("high-b", "high-a", "low"));
+
+        sends.clear();
+        prioritySender.doWork();
+        assertThat(sends, contains("high-a", "high-b", "low"));
+    }
+
+    @Test
+    public void shouldCountBytesSentAndTimeWaitedByPriorityClass()
+    {
+        final Sender prioritySender = newPrioritySender();
+        final List<String> sends = new ArrayList<>();
+
+        prioritySender.onNewNetworkPublication(newPriorityPublication(0, "high-a", sends));
+        prioritySender.onNewNetworkPublication(newPriorityPublication(0, "high-b", sends));
+        prioritySender.onNewNetworkPublication(newPriorityPublication(1, "low", sends));
+
+        prioritySender.doWork();
+
+        assertThat(priorityBytesSent[0].get(), is(2L * PRIORITY_DATAGRAM_LENGTH));
+        assertThat(priorityBytesSent[1].get(), is((long)PRIORITY_DATAGRAM_LENGTH));
+        assertThat(priorityWaitTime[0].get(), is(0L));
+        assertThat(priorityWaitTime[1].get(), is(2L * SEND_DURATION_NS));
+
+        prioritySender.doWork();
+
+        assertThat(priorityBytesSent[0].get(), is(4L * PRIORITY_DATAGRAM_LENGTH));
+        assertThat(priorityWaitTime[0].get(), is(0L));
+        assertThat(priorityWaitTime[1].get(), is(4L * SEND_DURATION_NS));
+    }
+
+    @Test
+    public void shouldNotCountWaitTimeWhenHigherClassHasNothingToSend()
+    {
+        final Sender prioritySender = newPrioritySender();
+        final List<String> sends = new ArrayList<>();
+
+        prioritySender.onNewNetworkPublication(newPriorityPublication(0, "idle", sends, 0));
+        prioritySender.onNewNetworkPublication(newPriorityPublication(1, "low", sends));
+
+        prioritySender.doWork();
+
+        assertThat(sends, contains("low"));
+        assertThat(priorityWaitTime[1].get(), is(0L));
+    }
+
+    private Sender newPrioritySender()
+    {
+        final CountersManager countersManager = new CountersManager(
+            new UnsafeBuffer(ByteBuffer.allocateDirect(COUNTERS_BUFFER_LENGTH * 2)),
+            new UnsafeBuffer(ByteBuffer.allocateDirect(COUNTERS_BUFFER_LENGTH)),
+            StandardCharsets.US_ASCII);
+
+        for (int i = 0; i < PRIORITY_CLASSES; i++)
+        {
+            priorityBytesSent[i] = SenderPriorityCounter.allocate(
+                countersManager, SenderPriorityCounter.BYTES_SENT_NAME, i);
+            priorityWaitTime[i] = SenderPriorityCounter.allocate(
+                countersManager, SenderPriorityCounter.WAIT_TIME_NAME, i);
+        }
+
+        return new Sender(
+            new MediaDriver.Context()
+                .cachedEpochClock(new CachedEpochClock())
+                .cachedNanoClock(new CachedNanoClock())
+                .controlTransportPoller(mockTransportPoller)
+                .systemCounters(mockSystemCounters)
+                .senderCommandQueue(new OneToOneConcurrentArrayQueue<>(1024))
+                .senderPriorityClasses(PRIORITY_CLASSES)
+                .senderPriorityBytesSent(priorityBytesSent)
+                .senderPriorityWaitTime(priorityWaitTime)
+                .nanoClock(() -> waitTimestamp));
+    }
+
+    private NetworkPublication newPriorityPublication(final int priority, final String name, final List<String> sends)
+    {
+        return newPriorityPublication(priority, name, sends, PRIORITY_MESSAGE_COUNT);
+    }
+
+    private NetworkPublication newPriorityPublication(
+        final int priority, final String name, final List<String> sends, final int messageCount)
+    {
+        final RawLog rawLog = LogBufferHelper.newTestLogBuffers(TERM_BUFFER_LENGTH);
+        LogBufferDescriptor.initialiseTailWithTermId(rawLog.metaData(), 0, INITIAL_TERM_ID);
+
+        final TermAppender termAppender = new TermAppender(rawLog.termBuffers()[0], rawLog.metaData(), 0);
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(PAYLOAD.length));
+        buffer.putBytes(0, PAYLOAD);
+        for (int i = 0; i < messageCount; i++)
+        {
+            termAppender.appendUnfragmentedMessage(headerWriter, buffer, 0, PAYLOAD.length, null, INITIAL_TERM_ID);
+        }
+
+        final SendChannelEndpoint endpoint = mock(SendChannelEndpoint.class);
+        when(endpoint.udpChannel()).thenReturn(udpChannel);
+        when(endpoint.send(any())).thenAnswer(
+            (invocation) ->
+            {
+                final ByteBuffer sendBuffer = invocation.getArgument(0);
+                final int length = sendBuffer.remaining();
+                if (PRIORITY_DATAGRAM_LENGTH == length)
+                {
+                    sends.add(name);
+                    waitTimestamp += SEND_DURATION_NS;
+                }
+
+                return length;
+            });
+
+        final FlowControl mockFlowControl = mock(FlowControl.class);
+        when(mockFlowControl.onIdle(anyLong(), anyLong(), anyLong(), anyBoolean()))
+            .thenAnswer((invocation) -> invocation.getArgument(1));
+
+        final Position senderLimit = new AtomicLongPosition();
+        senderLimit.setOrdered(TERM_BUFFER_LENGTH);
+
+        return new NetworkPublication(
+            1,
+            101,
+            endpoint,
+            () -> currentTimestamp,
+            rawLog,
+            mock(Position.class),
+            mock(Position.class),
+            new AtomicLongPosition(),
+            senderLimit,
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            PRIORITY_DATAGRAM_LENGTH,
+            1,
+            0,
+            0,
+            0,
+            priority,
+            0,
+            Configuration.TERM_CLEAN_MAX_LENGTH,
+            mockSystemCounters,
+            mockFlowControl,
+            mockRetransmitHandler,
+            new NetworkPublicationThreadLocals(),
+            Configuration.PUBLICATION_UNBLOCK_TIMEOUT_NS,
+            Configuration.PUBLICATION_CONNECTION_TIMEOUT_NS,
+            Configuration.PUBLICATION_LINGER_NS,
+            false,
+            false);
+    }
+
     private int offsetOfMessage(final int offset)
     {
         return (offset - 1) * align(HEADER.capacity() + PAYLOAD.length, FRAME_ALIGNMENT);
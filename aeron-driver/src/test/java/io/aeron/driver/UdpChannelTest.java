@@ -87,6 +87,21 @@ public class UdpChannelTest
         assertThat(udpChannel.remoteControl(), is(new InetSocketAddress("localhost", 40124)));
     }
 
+    @Test
+    public void shouldParseSourceAddressForUnicast()
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?endpoint=localhost:40124|source=localhost:40125");
+
+        assertThat(udpChannel.remoteData(), is(new InetSocketAddress("localhost", 40124)));
+        assertThat(udpChannel.remoteSource(), is(new InetSocketAddress("localhost", 40125)));
+    }
+
+    @Test(expected = InvalidChannelException.class)
+    public void shouldThrowExceptionForSourceAddressWithMulticast()
+    {
+        UdpChannel.parse("aeron:udp?interface=localhost|endpoint=224.10.9.9:40124|source=localhost:40125");
+    }
+
     @Test(expected = InvalidChannelException.class)
     public void shouldThrowExceptionForIncorrectScheme()
     {
@@ -16,20 +16,25 @@
 package io.aeron.driver.buffer;
 
 import io.aeron.driver.Configuration;
+import io.aeron.driver.MediaDriver;
 import io.aeron.driver.media.UdpChannel;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import org.agrona.IoUtil;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.errors.DistinctErrorLog;
+import org.agrona.concurrent.status.AtomicCounter;
 import org.junit.*;
 
 import java.io.*;
 
 import static io.aeron.logbuffer.LogBufferDescriptor.PARTITION_COUNT;
 import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MAX_LENGTH;
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertThat;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.*;
 
 public class RawLogFactoryTest
 {
@@ -42,7 +47,10 @@ public class RawLogFactoryTest
     private static final int PAGE_SIZE = 4 * 1024;
     private static final boolean PRE_ZERO_LOG = false;
     private static final boolean PERFORM_STORAGE_CHECKS = false;
+    private static final long POOL_REUSE_DELAY_NS = 10_000_000_000L;
+    private static final int HUGE_PAGE_SIZE = 2 * 1024 * 1024;
     private RawLogFactory rawLogFactory;
+    private long nowNs = 0;
     private UdpChannel udpChannel = UdpChannel.parse(CHANNEL);
 
     @Before
@@ -127,4 +135,149 @@ public class RawLogFactoryTest
         final int imageTermBufferMaxLength = TERM_MAX_LENGTH + 1;
         rawLogFactory.newNetworkedImage(canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID, imageTermBufferMaxLength);
     }
+
+    @Test
+    public void shouldReuseZeroedLogFromPool()
+    {
+        final AtomicCounter hits = mock(AtomicCounter.class);
+        final AtomicCounter misses = mock(AtomicCounter.class);
+        final RawLogFactory pooledRawLogFactory = new RawLogFactory(
+            DATA_DIR.getAbsolutePath(),
+            PAGE_SIZE,
+            PRE_ZERO_LOG,
+            PERFORM_STORAGE_CHECKS,
+            mock(DistinctErrorLog.class),
+            null,
+            0,
+            "64k:1",
+            hits,
+            misses,
+            () -> nowNs,
+            POOL_REUSE_DELAY_NS);
+
+        final String canonicalForm = udpChannel.canonicalForm();
+        final RawLog rawLog = pooledRawLogFactory.newNetworkPublication(
+            canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID, TERM_MIN_LENGTH);
+        final String firstFileName = rawLog.fileName();
+        rawLog.termBuffers()[0].putByte(0, (byte)7);
+        rawLog.metaData().putByte(0, (byte)7);
+
+        final RawLog unpooledRawLog = pooledRawLogFactory.newNetworkPublication(
+            canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID + 1, TERM_MIN_LENGTH);
+        verify(misses).increment();
+        unpooledRawLog.close();
+
+        rawLog.close();
+        rawLog.close();
+        assertThat(new File(firstFileName).exists(), is(false));
+
+        final RawLog quarantinedRawLog = pooledRawLogFactory.newNetworkedImage(
+            canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID + 2, TERM_MIN_LENGTH);
+        assertThat(quarantinedRawLog, is(not(rawLog)));
+        verify(misses, times(2)).increment();
+        quarantinedRawLog.close();
+
+        nowNs += POOL_REUSE_DELAY_NS;
+        final RawLog reusedRawLog = pooledRawLogFactory.newNetworkedImage(
+            canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID + 3, TERM_MIN_LENGTH);
+
+        assertThat(reusedRawLog, is(rawLog));
+        assertThat(reusedRawLog.fileName(), is(not(firstFileName)));
+        assertThat(new File(reusedRawLog.fileName()).exists(), is(true));
+        assertThat(reusedRawLog.termBuffers()[0].getByte(0), is((byte)0));
+        assertThat(reusedRawLog.metaData().getByte(0), is((byte)0));
+        verify(hits, times(2)).increment();
+
+        final RawLog unpooledAfterDoubleCloseRawLog = pooledRawLogFactory.newNetworkedImage(
+            canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID + 4, TERM_MIN_LENGTH);
+        assertThat(unpooledAfterDoubleCloseRawLog, is(not(rawLog)));
+        verify(misses, times(3)).increment();
+        unpooledAfterDoubleCloseRawLog.close();
+
+        reusedRawLog.close();
+        pooledRawLogFactory.close();
+    }
+
+    @Test
+    public void shouldFallBackToAeronDirectoryWhenHugePagesNotAvailable() throws IOException
+    {
+        final File notADirectory = new File(IoUtil.tmpDirName(), "notHugePagesDir");
+        final DistinctErrorLog errorLog = mock(DistinctErrorLog.class);
+
+        try
+        {
+            assertThat(notADirectory.createNewFile() || notADirectory.isFile(), is(true));
+
+            final RawLogFactory hugePagesRawLogFactory = new RawLogFactory(
+                DATA_DIR.getAbsolutePath(),
+                PAGE_SIZE,
+                PRE_ZERO_LOG,
+                PERFORM_STORAGE_CHECKS,
+                errorLog,
+                notADirectory.getAbsolutePath(),
+                HUGE_PAGE_SIZE,
+                "",
+                null,
+                null,
+                null,
+                0);
+
+            final RawLog rawLog = hugePagesRawLogFactory.newNetworkPublication(
+                udpChannel.canonicalForm(), SESSION_ID, STREAM_ID, CREATION_ID, TERM_MIN_LENGTH);
+
+            verify(errorLog).record(any(IllegalStateException.class));
+            assertThat(rawLog.fileName(), startsWith(DATA_DIR.getAbsolutePath()));
+            assertThat(rawLog.pageSize(), is(PAGE_SIZE));
+
+            rawLog.close();
+        }
+        finally
+        {
+            IoUtil.delete(notADirectory, true);
+        }
+    }
+
+    @Test
+    public void shouldDeleteHugePagesDataDirWithAeronDirectory()
+    {
+        final File aeronDir = new File(DATA_DIR, "aeron");
+        final File hugePagesDir = new File(IoUtil.tmpDirName(), "hugePagesDir");
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .aeronDirectoryName(aeronDir.getAbsolutePath())
+            .logHugePagesDir(hugePagesDir.getAbsolutePath());
+        ctx.concludeAeronDirectory();
+
+        try
+        {
+            final RawLogFactory hugePagesRawLogFactory = new RawLogFactory(
+                aeronDir.getAbsolutePath(),
+                PAGE_SIZE,
+                PRE_ZERO_LOG,
+                PERFORM_STORAGE_CHECKS,
+                mock(DistinctErrorLog.class),
+                hugePagesDir.getAbsolutePath(),
+                HUGE_PAGE_SIZE,
+                "",
+                null,
+                null,
+                null,
+                0);
+
+            final File hugePagesDataDir = RawLogFactory.hugePagesDataDir(
+                hugePagesDir.getAbsolutePath(), aeronDir.getAbsolutePath());
+            final RawLog rawLog = hugePagesRawLogFactory.newNetworkPublication(
+                udpChannel.canonicalForm(), SESSION_ID, STREAM_ID, CREATION_ID, TERM_MIN_LENGTH);
+            assertThat(rawLog.fileName(), startsWith(hugePagesDataDir.getAbsolutePath()));
+            rawLog.close();
+
+            ctx.deleteAeronDirectory();
+
+            assertThat(aeronDir.exists(), is(false));
+            assertThat(hugePagesDataDir.exists(), is(false));
+        }
+        finally
+        {
+            IoUtil.delete(hugePagesDir, true);
+        }
+    }
 }
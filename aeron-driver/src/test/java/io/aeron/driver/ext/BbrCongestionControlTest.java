@@ -0,0 +1,228 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.exceptions.ConfigurationException;
+import io.aeron.driver.media.UdpChannel;
+import org.agrona.collections.MutableInteger;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
+import org.agrona.concurrent.status.CountersReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.driver.CongestionControlUtil.receiverWindowLength;
+import static io.aeron.driver.CongestionControlUtil.shouldForceStatusMessage;
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+import static org.agrona.concurrent.status.CountersReader.METADATA_LENGTH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class BbrCongestionControlTest
+{
+    private static final int BUFFER_LENGTH = 16 * 1024;
+    private static final int TERM_LENGTH = TERM_MIN_LENGTH * 16;
+    private static final int MTU_LENGTH = 1024;
+    private static final int INITIAL_WINDOW_LENGTH = 128 * 1024;
+    private static final long ROUND_NS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int BYTES_PER_ROUND = 64 * 1024;
+    private static final long BANDWIDTH = BYTES_PER_ROUND * 1000L;
+    private static final double BDP = (double)BANDWIDTH *
+        ((double)BbrCongestionControlConfiguration.INITIAL_RTT_NS / TimeUnit.SECONDS.toNanos(1));
+
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(ByteBuffer.allocateDirect(BUFFER_LENGTH * 2)),
+        new UnsafeBuffer(ByteBuffer.allocateDirect(BUFFER_LENGTH)),
+        StandardCharsets.US_ASCII);
+    private final MediaDriver.Context context = new MediaDriver.Context()
+        .tempBuffer(new UnsafeBuffer(new byte[METADATA_LENGTH]))
+        .initialWindowLength(INITIAL_WINDOW_LENGTH);
+
+    private long nowNs = 0;
+    private long position = 0;
+    private BbrCongestionControl congestionControl;
+
+    @Before
+    public void setUp()
+    {
+        congestionControl = new BbrCongestionControl(
+            1,
+            UdpChannel.parse("aeron:udp?endpoint=localhost:40123"),
+            10,
+            1,
+            TERM_LENGTH,
+            MTU_LENGTH,
+            () -> nowNs,
+            context,
+            countersManager);
+    }
+
+    @After
+    public void tearDown()
+    {
+        congestionControl.close();
+    }
+
+    @Test
+    public void shouldStartWithInitialWindowInStartup()
+    {
+        assertThat(congestionControl.initialWindowLength(), is(10 * MTU_LENGTH));
+        assertThat(congestionControl.mode(), is(BbrCongestionControl.Mode.STARTUP));
+        assertThat(counterValue("rcv-cc-bbr-wnd"), is(10L * MTU_LENGTH));
+    }
+
+    @Test
+    public void shouldMeasureFirstRoundFromStartingRebuildPosition()
+    {
+        nowNs += ROUND_NS;
+        congestionControl.onTrackRebuild(nowNs, 0, 0, BYTES_PER_ROUND, 0, BYTES_PER_ROUND, false);
+
+        assertThat(counterValue("rcv-cc-bbr-btlbw"), is(BANDWIDTH));
+    }
+
+    @Test
+    public void shouldStayInStartupWhileBandwidthGrows()
+    {
+        int bytesPerRound = BYTES_PER_ROUND;
+        for (int i = 0; i < 6; i++)
+        {
+            trackRound(bytesPerRound);
+            bytesPerRound *= 2;
+        }
+
+        assertThat(congestionControl.mode(), is(BbrCongestionControl.Mode.STARTUP));
+    }
+
+    @Test
+    public void shouldDrainThenProbeBandwidthOnceBandwidthStopsGrowing()
+    {
+        trackRound(BYTES_PER_ROUND);
+        trackRound(BYTES_PER_ROUND);
+        trackRound(BYTES_PER_ROUND);
+
+        assertThat(congestionControl.mode(), is(BbrCongestionControl.Mode.STARTUP));
+
+        final long drainOutcome = trackRound(BYTES_PER_ROUND);
+
+        assertThat(congestionControl.mode(), is(BbrCongestionControl.Mode.DRAIN));
+        assertThat(shouldForceStatusMessage(drainOutcome), is(true));
+        assertThat(receiverWindowLength(drainOutcome), is(4 * MTU_LENGTH));
+
+        final long probeOutcome = trackRound(BYTES_PER_ROUND);
+
+        assertThat(congestionControl.mode(), is(BbrCongestionControl.Mode.PROBE_BW));
+        assertThat(shouldForceStatusMessage(probeOutcome), is(true));
+        assertThat(receiverWindowLength(probeOutcome), is(expectedWindow(1.25)));
+        assertThat(counterValue("rcv-cc-bbr-pacing"), is((long)(1.25 * BANDWIDTH)));
+
+        final long drainQueueOutcome = trackRound(BYTES_PER_ROUND);
+
+        assertThat(shouldForceStatusMessage(drainQueueOutcome), is(false));
+        assertThat(receiverWindowLength(drainQueueOutcome), is(expectedWindow(0.75)));
+        assertThat(counterValue("rcv-cc-bbr-pacing"), is((long)(0.75 * BANDWIDTH)));
+
+        final long cruiseOutcome = trackRound(BYTES_PER_ROUND);
+
+        assertThat(receiverWindowLength(cruiseOutcome), is(expectedWindow(1.0)));
+        assertThat(counterValue("rcv-cc-bbr-pacing"), is(BANDWIDTH));
+        assertThat(counterValue("rcv-cc-bbr-btlbw"), is(BANDWIDTH));
+    }
+
+    @Test
+    public void shouldNotLowerBandwidthEstimateForApplicationLimitedRounds()
+    {
+        trackRound(BYTES_PER_ROUND);
+        trackRound(1024);
+        trackRound(1024);
+
+        assertThat(counterValue("rcv-cc-bbr-btlbw"), is(BANDWIDTH));
+    }
+
+    @Test
+    public void shouldProbeRttWithMinWindowWhenMinRttExpires()
+    {
+        trackRound(BYTES_PER_ROUND);
+
+        nowNs += BbrCongestionControlConfiguration.MIN_RTT_WINDOW_NS;
+        final long probeRttOutcome = trackRound(BYTES_PER_ROUND);
+
+        assertThat(congestionControl.mode(), is(BbrCongestionControl.Mode.PROBE_RTT));
+        assertThat(shouldForceStatusMessage(probeRttOutcome), is(true));
+        assertThat(receiverWindowLength(probeRttOutcome), is(4 * MTU_LENGTH));
+
+        nowNs += BbrCongestionControlConfiguration.PROBE_RTT_DURATION_NS;
+        final long probeBwOutcome = trackRound(BYTES_PER_ROUND);
+
+        assertThat(congestionControl.mode(), is(BbrCongestionControl.Mode.PROBE_BW));
+        assertThat(shouldForceStatusMessage(probeBwOutcome), is(true));
+    }
+
+    @Test
+    public void shouldTrackMinRttFromMeasurements()
+    {
+        final long rttNs = BbrCongestionControlConfiguration.INITIAL_RTT_NS / 2;
+
+        assertThat(congestionControl.shouldMeasureRtt(TimeUnit.MILLISECONDS.toNanos(20)), is(true));
+        congestionControl.onRttMeasurementSent(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(congestionControl.shouldMeasureRtt(TimeUnit.MILLISECONDS.toNanos(40)), is(false));
+
+        congestionControl.onRttMeasurement(TimeUnit.MILLISECONDS.toNanos(21), rttNs, null);
+        congestionControl.onRttMeasurement(TimeUnit.MILLISECONDS.toNanos(22), rttNs * 2, null);
+
+        assertThat(counterValue("rcv-cc-bbr-min-rtt"), is(rttNs));
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldRejectZeroBandwidthFilterRounds()
+    {
+        BbrCongestionControlConfiguration.validateBandwidthFilterRounds(0);
+    }
+
+    private long trackRound(final int bytes)
+    {
+        final long startingPosition = position;
+        nowNs += ROUND_NS;
+        position += bytes;
+
+        return congestionControl.onTrackRebuild(nowNs, position, position, position, startingPosition, position, false);
+    }
+
+    private int expectedWindow(final double gain)
+    {
+        return (int)Math.max(4 * MTU_LENGTH, (long)(gain * BDP));
+    }
+
+    private long counterValue(final String name)
+    {
+        final MutableInteger id = new MutableInteger(-1);
+        countersManager.forEach(
+            (counterId, label) ->
+            {
+                if (label.startsWith(name))
+                {
+                    id.value = counterId;
+                }
+            });
+
+        return countersManager.valuesBuffer().getLongVolatile(CountersReader.counterOffset(id.value));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.media.UdpChannel;
+import io.aeron.driver.status.SystemCounters;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DebugSendChannelEndpointTest
+{
+    private static final InetSocketAddress RECEIVER_ADDRESS = new InetSocketAddress("localhost", 40134);
+    private static final InetSocketAddress OTHER_RECEIVER_ADDRESS = new InetSocketAddress("localhost", 40135);
+    private static final int DATAGRAM_LENGTH = 64;
+    private static final int DATAGRAM_COUNT = 3;
+    private static final int[] DATAGRAM_OFFSETS = { 0, DATAGRAM_LENGTH, DATAGRAM_LENGTH * 2 };
+    private static final int[] DATAGRAM_LENGTHS = { DATAGRAM_LENGTH, DATAGRAM_LENGTH, DATAGRAM_LENGTH };
+    private static final byte DROPPED_DATAGRAM = 2;
+    private static final long RECEIVE_TIMEOUT_MS = 5_000;
+
+    private final SystemCounters mockSystemCounters = mock(SystemCounters.class);
+    private final AtomicCounter mockStatusIndicator = mock(AtomicCounter.class);
+    private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(DATAGRAM_LENGTH * DATAGRAM_COUNT);
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(DATAGRAM_LENGTH * 2);
+    private final MediaDriver.Context context = new MediaDriver.Context().systemCounters(mockSystemCounters);
+    private final LossGenerator dataLossGenerator =
+        (address, buffer, length) -> DROPPED_DATAGRAM == buffer.getByte(0);
+
+    private DatagramChannel receiverChannel;
+    private DatagramChannel otherReceiverChannel;
+    private DebugSendChannelEndpoint sendChannelEndpoint;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        when(mockSystemCounters.get(any())).thenReturn(mock(AtomicCounter.class));
+
+        receiverChannel = openReceiverChannel(RECEIVER_ADDRESS);
+        otherReceiverChannel = openReceiverChannel(OTHER_RECEIVER_ADDRESS);
+
+        for (int i = 0; i < DATAGRAM_COUNT; i++)
+        {
+            for (int j = 0; j < DATAGRAM_LENGTH; j++)
+            {
+                sendBuffer.put((i * DATAGRAM_LENGTH) + j, (byte)(i + 1));
+            }
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        CloseHelper.close(sendChannelEndpoint);
+        CloseHelper.close(receiverChannel);
+        CloseHelper.close(otherReceiverChannel);
+    }
+
+    @Test
+    public void shouldCountDroppedDatagramAsSentAndContinueBatch() throws IOException
+    {
+        openSendChannelEndpoint("aeron:udp?endpoint=localhost:40134");
+
+        assertThat(sendBatch(), is(DATAGRAM_COUNT));
+
+        assertThat(receiveDatagram(receiverChannel), is(1));
+        assertThat(receiveDatagram(receiverChannel), is(3));
+    }
+
+    @Test
+    public void shouldDropDatagramForEveryManualDestination() throws IOException
+    {
+        openSendChannelEndpoint("aeron:udp?control=localhost:40136|control-mode=manual");
+        sendChannelEndpoint.addDestination(RECEIVER_ADDRESS);
+        sendChannelEndpoint.addDestination(OTHER_RECEIVER_ADDRESS);
+
+        assertThat(sendBatch(), is(DATAGRAM_COUNT));
+
+        assertThat(receiveDatagram(receiverChannel), is(1));
+        assertThat(receiveDatagram(receiverChannel), is(3));
+        assertThat(receiveDatagram(otherReceiverChannel), is(1));
+        assertThat(receiveDatagram(otherReceiverChannel), is(3));
+    }
+
+    private void openSendChannelEndpoint(final String channel)
+    {
+        sendChannelEndpoint = new DebugSendChannelEndpoint(
+            UdpChannel.parse(channel), mockStatusIndicator, context, dataLossGenerator, mock(LossGenerator.class));
+        sendChannelEndpoint.openDatagramChannel(mockStatusIndicator);
+    }
+
+    private int sendBatch()
+    {
+        return sendChannelEndpoint.sendBatch(sendBuffer, DATAGRAM_OFFSETS, DATAGRAM_LENGTHS, DATAGRAM_COUNT);
+    }
+
+    private int receiveDatagram(final DatagramChannel channel) throws IOException
+    {
+        final long deadlineMs = System.currentTimeMillis() + RECEIVE_TIMEOUT_MS;
+        receiveBuffer.clear();
+
+        while (null == channel.receive(receiveBuffer))
+        {
+            if (System.currentTimeMillis() > deadlineMs)
+            {
+                throw new IllegalStateException("datagram not received");
+            }
+
+            Thread.yield();
+        }
+
+        assertThat(receiveBuffer.position(), is(DATAGRAM_LENGTH));
+
+        return receiveBuffer.get(0);
+    }
+
+    private static DatagramChannel openReceiverChannel(final InetSocketAddress address) throws IOException
+    {
+        final DatagramChannel channel = DatagramChannel.open();
+        channel.bind(address);
+        channel.configureBlocking(false);
+
+        return channel;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import io.aeron.protocol.HeaderFlyweight;
+import io.aeron.protocol.StatusMessageFlyweight;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.aeron.protocol.StatusMessageFlyweight.HEADER_LENGTH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ControlTransportPollerTest
+{
+    private static final InetSocketAddress SRC_ADDRESS = new InetSocketAddress("localhost", 40123);
+
+    private final SendChannelEndpoint endpoint = mock(SendChannelEndpoint.class);
+    private final UnsafeBuffer datagram = new UnsafeBuffer(ByteBuffer.allocateDirect(HEADER_LENGTH * 4));
+    private final StatusMessageFlyweight statusMessage = new StatusMessageFlyweight();
+    private final List<String> statusMessages = new ArrayList<>();
+    private final ControlTransportPoller poller = new ControlTransportPoller();
+    private DatagramChannel channel;
+    private int datagramLength;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        channel = DatagramChannel.open();
+        channel.configureBlocking(false);
+
+        when(endpoint.receiveDatagramChannel()).thenReturn(channel);
+        when(endpoint.isValidFrame(any(), anyInt())).thenReturn(true);
+        when(endpoint.receive(any(ByteBuffer.class))).then(
+            (invocation) ->
+            {
+                final ByteBuffer buffer = invocation.getArgument(0);
+                final byte[] bytes = new byte[datagramLength];
+                datagram.getBytes(0, bytes);
+                buffer.clear();
+                buffer.put(bytes);
+
+                return SRC_ADDRESS;
+            });
+
+        doAnswer(
+            (invocation) ->
+            {
+                final StatusMessageFlyweight msg = invocation.getArgument(0);
+                final int length = invocation.getArgument(2);
+                statusMessages.add(msg.sessionId() + ":" + length);
+
+                return null;
+            })
+            .when(endpoint).onStatusMessage(any(), any(), anyInt(), any());
+
+        poller.registerForRead(endpoint);
+    }
+
+    @After
+    public void tearDown()
+    {
+        CloseHelper.close(poller);
+        CloseHelper.close(channel);
+    }
+
+    @Test
+    public void shouldDispatchSingleStatusMessage()
+    {
+        putStatusMessage(0, 1);
+        datagramLength = HEADER_LENGTH;
+
+        poller.pollTransports();
+
+        assertThat(statusMessages, contains("1:" + HEADER_LENGTH));
+    }
+
+    @Test
+    public void shouldDispatchEachStatusMessageInBatchedDatagram()
+    {
+        putStatusMessage(0, 1);
+        putStatusMessage(HEADER_LENGTH, 2);
+        putStatusMessage(HEADER_LENGTH * 2, 3);
+        datagramLength = HEADER_LENGTH * 3;
+
+        poller.pollTransports();
+
+        assertThat(statusMessages, contains("1:" + HEADER_LENGTH, "2:" + HEADER_LENGTH, "3:" + HEADER_LENGTH));
+    }
+
+    @Test
+    public void shouldIgnoreTruncatedTrailingStatusMessage()
+    {
+        putStatusMessage(0, 1);
+        putStatusMessage(HEADER_LENGTH, 2);
+        putStatusMessage(HEADER_LENGTH * 2, 3);
+        datagramLength = (HEADER_LENGTH * 3) - 8;
+
+        poller.pollTransports();
+
+        assertThat(statusMessages, contains("1:" + HEADER_LENGTH, "2:" + HEADER_LENGTH));
+    }
+
+    @Test
+    public void shouldIgnoreTrailingBytesTooShortForHeader()
+    {
+        putStatusMessage(0, 1);
+        putStatusMessage(HEADER_LENGTH, 2);
+        datagramLength = (HEADER_LENGTH * 2) + 8;
+
+        poller.pollTransports();
+
+        assertThat(statusMessages, contains("1:" + HEADER_LENGTH, "2:" + HEADER_LENGTH));
+    }
+
+    @Test
+    public void shouldStopAtTrailingFrameWhichIsNotStatusMessage()
+    {
+        putStatusMessage(0, 1);
+        putStatusMessage(HEADER_LENGTH, 2);
+        putStatusMessage(HEADER_LENGTH * 2, 3);
+        statusMessage.headerType(HeaderFlyweight.HDR_TYPE_NAK);
+        datagramLength = HEADER_LENGTH * 3;
+
+        poller.pollTransports();
+
+        assertThat(statusMessages, contains("1:" + HEADER_LENGTH, "2:" + HEADER_LENGTH));
+    }
+
+    @Test
+    public void shouldStopAtTrailingFrameWithGarbageLength()
+    {
+        putStatusMessage(0, 1);
+        putStatusMessage(HEADER_LENGTH, 2);
+        putStatusMessage(HEADER_LENGTH * 2, 3);
+        statusMessage.frameLength(4);
+        datagramLength = HEADER_LENGTH * 3;
+
+        poller.pollTransports();
+
+        assertThat(statusMessages, contains("1:" + HEADER_LENGTH, "2:" + HEADER_LENGTH));
+    }
+
+    private void putStatusMessage(final int offset, final int sessionId)
+    {
+        statusMessage.wrap(datagram, offset, HEADER_LENGTH);
+        statusMessage
+            .sessionId(sessionId)
+            .frameLength(HEADER_LENGTH)
+            .headerType(HeaderFlyweight.HDR_TYPE_SM)
+            .version(HeaderFlyweight.CURRENT_VERSION);
+    }
+}
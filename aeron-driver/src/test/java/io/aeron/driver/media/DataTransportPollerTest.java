@@ -0,0 +1,174 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import io.aeron.driver.PublicationImage;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DataTransportPollerTest
+{
+    private static final UdpChannel UDP_CHANNEL = UdpChannel.parse(
+        "aeron:udp?endpoint=localhost:40124|source=localhost:40125");
+    private static final int FRAME_LENGTH = 128;
+    private static final int TERM_OFFSET = 1024;
+    private static final byte BODY_BYTE = 7;
+
+    private final ReceiveChannelEndpoint endpoint = mock(ReceiveChannelEndpoint.class);
+    private final PublicationImage image = mock(PublicationImage.class);
+    private final UnsafeBuffer datagram = new UnsafeBuffer(ByteBuffer.allocateDirect(FRAME_LENGTH));
+    private final DataHeaderFlyweight header = new DataHeaderFlyweight(datagram);
+    private final ByteBuffer termBuffer = ByteBuffer.allocateDirect(TERM_OFFSET * 2);
+    private final DataTransportPoller poller = new DataTransportPoller();
+    private DatagramChannel channel;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        channel = DatagramChannel.open();
+        channel.configureBlocking(false);
+
+        header.frameLength(FRAME_LENGTH);
+        header.version(HeaderFlyweight.CURRENT_VERSION);
+        header.headerType(HeaderFlyweight.HDR_TYPE_DATA);
+        datagram.setMemory(HEADER_LENGTH, FRAME_LENGTH - HEADER_LENGTH, BODY_BYTE);
+        termBuffer.limit(TERM_OFFSET + FRAME_LENGTH).position(TERM_OFFSET + HEADER_LENGTH);
+
+        when(endpoint.isInPlaceReceive()).thenReturn(true);
+        when(endpoint.udpChannel()).thenReturn(UDP_CHANNEL);
+        when(endpoint.receiveDatagramChannel()).thenReturn(channel);
+        when(endpoint.isValidFrame(any(), anyInt())).thenReturn(true);
+        when(endpoint.inPlaceReceiveImage()).thenReturn(image);
+        when(image.inPlaceReceiveBuffer()).thenReturn(termBuffer);
+        when(endpoint.receive(any(ByteBuffer[].class))).then(
+            (invocation) ->
+            {
+                final ByteBuffer[] buffers = invocation.getArgument(0);
+                final byte[] bytes = new byte[FRAME_LENGTH];
+                datagram.getBytes(0, bytes);
+
+                final int headerLength = Math.min(buffers[0].remaining(), FRAME_LENGTH);
+                buffers[0].put(bytes, 0, headerLength);
+                buffers[1].put(bytes, headerLength, FRAME_LENGTH - headerLength);
+
+                return FRAME_LENGTH;
+            });
+        when(endpoint.onDataPacket(any(), any(), anyInt(), any(), anyInt())).thenReturn(FRAME_LENGTH);
+
+        poller.registerForRead(endpoint);
+    }
+
+    @After
+    public void tearDown()
+    {
+        CloseHelper.close(poller);
+        CloseHelper.close(channel);
+    }
+
+    @Test
+    public void shouldReceiveBodyInPlaceAndCommitInOrderPacket()
+    {
+        when(image.isInPlacePacket(any(), eq(FRAME_LENGTH))).thenReturn(true);
+        when(image.insertPacketInPlace(any(), eq(FRAME_LENGTH), eq(0), any())).thenReturn(FRAME_LENGTH);
+
+        assertThat(poller.pollTransports(), is(FRAME_LENGTH));
+
+        verify(image).insertPacketInPlace(any(), eq(FRAME_LENGTH), eq(0), eq(UDP_CHANNEL.remoteSource()));
+        verify(image, never()).abortInPlaceReceive(any(), anyInt());
+        verify(endpoint, never()).onDataPacket(any(), any(), anyInt(), any(), anyInt());
+
+        for (int i = TERM_OFFSET + HEADER_LENGTH; i < TERM_OFFSET + FRAME_LENGTH; i++)
+        {
+            assertThat(termBuffer.get(i), is(BODY_BYTE));
+        }
+    }
+
+    @Test
+    public void shouldAbortAndDispatchPacketWhichIsNotInOrderForImage()
+    {
+        when(image.isInPlacePacket(any(), eq(FRAME_LENGTH))).thenReturn(false);
+
+        assertThat(poller.pollTransports(), is(FRAME_LENGTH));
+
+        final InOrder inOrder = inOrder(image, endpoint);
+        inOrder.verify(image).abortInPlaceReceive(any(), eq(FRAME_LENGTH));
+        inOrder.verify(endpoint).onDataPacket(
+            any(), any(), eq(FRAME_LENGTH), eq(UDP_CHANNEL.remoteSource()), eq(0));
+        verify(image, never()).insertPacketInPlace(any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void shouldAbortAndDispatchControlFrameReceivedInPlace()
+    {
+        header.headerType(HeaderFlyweight.HDR_TYPE_SETUP);
+        when(image.isInPlacePacket(any(), eq(FRAME_LENGTH))).thenReturn(false);
+
+        poller.pollTransports();
+
+        final InOrder inOrder = inOrder(image, endpoint);
+        inOrder.verify(image).abortInPlaceReceive(any(), eq(FRAME_LENGTH));
+        inOrder.verify(endpoint).onSetupMessage(
+            any(), any(), eq(FRAME_LENGTH), eq(UDP_CHANNEL.remoteSource()), eq(0));
+        verify(endpoint, never()).onDataPacket(any(), any(), anyInt(), any(), anyInt());
+    }
+
+    @Test
+    public void shouldReceiveIntoReceiveBufferWhenImageCannotReceiveInPlace()
+    {
+        final InetSocketAddress srcAddress = UDP_CHANNEL.remoteSource();
+        when(image.inPlaceReceiveBuffer()).thenReturn(null);
+        when(endpoint.receive(any(ByteBuffer.class))).then(
+            (invocation) ->
+            {
+                final ByteBuffer buffer = invocation.getArgument(0);
+                final byte[] bytes = new byte[FRAME_LENGTH];
+                datagram.getBytes(0, bytes);
+                buffer.clear();
+                buffer.put(bytes);
+
+                return srcAddress;
+            });
+
+        assertThat(poller.pollTransports(), is(FRAME_LENGTH));
+
+        verify(endpoint, never()).receive(any(ByteBuffer[].class));
+        verify(endpoint).onDataPacket(any(), any(), eq(FRAME_LENGTH), eq(srcAddress), eq(0));
+        verify(image, never()).abortInPlaceReceive(any(), anyInt());
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.status.SystemCounters;
+import io.aeron.protocol.StatusMessageFlyweight;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.CachedNanoClock;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SendChannelEndpointTest
+{
+    private static final InetSocketAddress RECEIVER_ADDRESS = new InetSocketAddress("localhost", 40131);
+    private static final InetSocketAddress OTHER_RECEIVER_ADDRESS = new InetSocketAddress("localhost", 40132);
+    private static final String CONTROL = "localhost:40133";
+    private static final int DATAGRAM_LENGTH = 64;
+    private static final int DATAGRAM_COUNT = 3;
+    private static final int[] DATAGRAM_OFFSETS = { 0, DATAGRAM_LENGTH, DATAGRAM_LENGTH * 2 };
+    private static final int[] DATAGRAM_LENGTHS = { DATAGRAM_LENGTH, DATAGRAM_LENGTH, DATAGRAM_LENGTH };
+    private static final long RECEIVE_TIMEOUT_MS = 5_000;
+
+    private final SystemCounters mockSystemCounters = mock(SystemCounters.class);
+    private final AtomicCounter mockStatusIndicator = mock(AtomicCounter.class);
+    private final CachedNanoClock nanoClock = new CachedNanoClock();
+    private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(DATAGRAM_LENGTH * DATAGRAM_COUNT);
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(DATAGRAM_LENGTH * 2);
+    private final MediaDriver.Context context = new MediaDriver.Context()
+        .systemCounters(mockSystemCounters)
+        .cachedNanoClock(nanoClock);
+
+    private DatagramChannel receiverChannel;
+    private DatagramChannel otherReceiverChannel;
+    private SendChannelEndpoint sendChannelEndpoint;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        when(mockSystemCounters.get(any())).thenReturn(mock(AtomicCounter.class));
+
+        receiverChannel = openReceiverChannel(RECEIVER_ADDRESS);
+        otherReceiverChannel = openReceiverChannel(OTHER_RECEIVER_ADDRESS);
+
+        for (int i = 0; i < DATAGRAM_COUNT; i++)
+        {
+            for (int j = 0; j < DATAGRAM_LENGTH; j++)
+            {
+                sendBuffer.put((i * DATAGRAM_LENGTH) + j, (byte)(i + 1));
+            }
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        CloseHelper.close(sendChannelEndpoint);
+        CloseHelper.close(receiverChannel);
+        CloseHelper.close(otherReceiverChannel);
+    }
+
+    @Test
+    public void shouldSendEachDatagramOfBatchToUnicastEndpoint() throws IOException
+    {
+        openSendChannelEndpoint("aeron:udp?endpoint=localhost:40131");
+
+        assertThat(sendBatch(), is(DATAGRAM_COUNT));
+
+        assertReceivedBatch(receiverChannel);
+    }
+
+    @Test
+    public void shouldSendEachDatagramOfBatchToEveryManualDestination() throws IOException
+    {
+        openSendChannelEndpoint("aeron:udp?control=" + CONTROL + "|control-mode=manual");
+        sendChannelEndpoint.addDestination(RECEIVER_ADDRESS);
+        sendChannelEndpoint.addDestination(OTHER_RECEIVER_ADDRESS);
+
+        assertThat(sendBatch(), is(DATAGRAM_COUNT));
+
+        assertReceivedBatch(receiverChannel);
+        assertReceivedBatch(otherReceiverChannel);
+    }
+
+    @Test
+    public void shouldStopSendingBatchToManualDestinationOnceRemoved() throws IOException
+    {
+        openSendChannelEndpoint("aeron:udp?control=" + CONTROL + "|control-mode=manual");
+        sendChannelEndpoint.addDestination(RECEIVER_ADDRESS);
+        sendChannelEndpoint.addDestination(OTHER_RECEIVER_ADDRESS);
+        sendChannelEndpoint.removeDestination(OTHER_RECEIVER_ADDRESS);
+
+        assertThat(sendBatch(), is(DATAGRAM_COUNT));
+        assertReceivedBatch(receiverChannel);
+
+        sendChannelEndpoint.addDestination(OTHER_RECEIVER_ADDRESS);
+        sendBuffer.put(0, (byte)(DATAGRAM_COUNT + 1));
+
+        assertThat(sendBatch(), is(DATAGRAM_COUNT));
+        assertThat(receiveDatagram(otherReceiverChannel), is(DATAGRAM_COUNT + 1));
+    }
+
+    @Test
+    public void shouldSendEachDatagramOfBatchToEveryDynamicDestination() throws IOException
+    {
+        openSendChannelEndpoint("aeron:udp?control=" + CONTROL);
+        onStatusMessage(1, RECEIVER_ADDRESS);
+        onStatusMessage(2, OTHER_RECEIVER_ADDRESS);
+
+        assertThat(sendBatch(), is(DATAGRAM_COUNT));
+
+        assertReceivedBatch(receiverChannel);
+        assertReceivedBatch(otherReceiverChannel);
+    }
+
+    @Test
+    public void shouldDropTimedOutDynamicDestinationBeforeSendingBatch() throws IOException
+    {
+        openSendChannelEndpoint("aeron:udp?control=" + CONTROL);
+        onStatusMessage(1, RECEIVER_ADDRESS);
+        onStatusMessage(2, OTHER_RECEIVER_ADDRESS);
+
+        nanoClock.update(TimeUnit.SECONDS.toNanos(6));
+        onStatusMessage(1, RECEIVER_ADDRESS);
+
+        assertThat(sendBatch(), is(DATAGRAM_COUNT));
+        assertReceivedBatch(receiverChannel);
+
+        onStatusMessage(2, OTHER_RECEIVER_ADDRESS);
+        sendBuffer.put(0, (byte)(DATAGRAM_COUNT + 1));
+
+        assertThat(sendBatch(), is(DATAGRAM_COUNT));
+        assertThat(receiveDatagram(otherReceiverChannel), is(DATAGRAM_COUNT + 1));
+    }
+
+    @Test
+    public void shouldReportWholeBatchSentWhenNoDestinations()
+    {
+        openSendChannelEndpoint("aeron:udp?control=" + CONTROL + "|control-mode=manual");
+
+        assertThat(sendBatch(), is(DATAGRAM_COUNT));
+    }
+
+    @Test
+    public void shouldSendNothingWhenChannelNotOpen()
+    {
+        sendChannelEndpoint = new SendChannelEndpoint(
+            UdpChannel.parse("aeron:udp?endpoint=localhost:40131"), mockStatusIndicator, context);
+
+        assertThat(sendBatch(), is(0));
+    }
+
+    private void openSendChannelEndpoint(final String channel)
+    {
+        sendChannelEndpoint = new SendChannelEndpoint(UdpChannel.parse(channel), mockStatusIndicator, context);
+        sendChannelEndpoint.openDatagramChannel(mockStatusIndicator);
+    }
+
+    private int sendBatch()
+    {
+        return sendChannelEndpoint.sendBatch(sendBuffer, DATAGRAM_OFFSETS, DATAGRAM_LENGTHS, DATAGRAM_COUNT);
+    }
+
+    private void onStatusMessage(final long receiverId, final InetSocketAddress srcAddress)
+    {
+        final StatusMessageFlyweight msg = new StatusMessageFlyweight(
+            ByteBuffer.allocateDirect(StatusMessageFlyweight.HEADER_LENGTH));
+        msg.receiverId(receiverId);
+
+        sendChannelEndpoint.onStatusMessage(msg, msg, StatusMessageFlyweight.HEADER_LENGTH, srcAddress);
+    }
+
+    private void assertReceivedBatch(final DatagramChannel channel) throws IOException
+    {
+        for (int i = 0; i < DATAGRAM_COUNT; i++)
+        {
+            assertThat(receiveDatagram(channel), is(i + 1));
+        }
+    }
+
+    private int receiveDatagram(final DatagramChannel channel) throws IOException
+    {
+        final long deadlineMs = System.currentTimeMillis() + RECEIVE_TIMEOUT_MS;
+        receiveBuffer.clear();
+
+        while (null == channel.receive(receiveBuffer))
+        {
+            if (System.currentTimeMillis() > deadlineMs)
+            {
+                throw new IllegalStateException("datagram not received");
+            }
+
+            Thread.yield();
+        }
+
+        assertThat(receiveBuffer.position(), is(DATAGRAM_LENGTH));
+
+        return receiveBuffer.get(0);
+    }
+
+    private static DatagramChannel openReceiverChannel(final InetSocketAddress address) throws IOException
+    {
+        final DatagramChannel channel = DatagramChannel.open();
+        channel.bind(address);
+        channel.configureBlocking(false);
+
+        return channel;
+    }
+}
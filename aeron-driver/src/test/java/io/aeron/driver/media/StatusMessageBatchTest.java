@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import io.aeron.protocol.StatusMessageFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.aeron.protocol.StatusMessageFlyweight.HEADER_LENGTH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class StatusMessageBatchTest
+{
+    private static final InetSocketAddress CONTROL_ADDRESS = new InetSocketAddress("localhost", 40123);
+    private static final InetSocketAddress OTHER_CONTROL_ADDRESS = new InetSocketAddress("localhost", 40124);
+
+    private final ReceiveChannelEndpoint endpoint = mock(ReceiveChannelEndpoint.class);
+    private final ReceiveChannelEndpoint otherEndpoint = mock(ReceiveChannelEndpoint.class);
+    private final ByteBuffer smBuffer = ByteBuffer.allocateDirect(HEADER_LENGTH);
+    private final StatusMessageFlyweight smFlyweight = new StatusMessageFlyweight(smBuffer);
+    private final List<String> datagrams = new ArrayList<>();
+    private final StatusMessageBatch batch = new StatusMessageBatch(HEADER_LENGTH * 3);
+
+    @Before
+    public void setUp()
+    {
+        recordDatagrams(endpoint, "endpoint");
+        recordDatagrams(otherEndpoint, "otherEndpoint");
+    }
+
+    @Test
+    public void shouldSendNothingWhenEmpty()
+    {
+        assertThat(batch.flush(), is(0));
+        assertThat(datagrams, empty());
+    }
+
+    @Test
+    public void shouldBatchStatusMessagesForSameEndpointAndAddressUntilFlushed()
+    {
+        batch.add(endpoint, CONTROL_ADDRESS, statusMessage(1));
+        batch.add(endpoint, CONTROL_ADDRESS, statusMessage(2));
+
+        assertThat(datagrams, empty());
+        assertThat(batch.flush(), is(1));
+        assertThat(datagrams, contains("endpoint:" + CONTROL_ADDRESS + ":1,2"));
+        assertThat(batch.flush(), is(0));
+    }
+
+    @Test
+    public void shouldSendBatchWhenControlAddressChanges()
+    {
+        batch.add(endpoint, CONTROL_ADDRESS, statusMessage(1));
+        batch.add(endpoint, OTHER_CONTROL_ADDRESS, statusMessage(2));
+
+        assertThat(datagrams, contains("endpoint:" + CONTROL_ADDRESS + ":1"));
+
+        batch.flush();
+
+        assertThat(datagrams, contains(
+            "endpoint:" + CONTROL_ADDRESS + ":1",
+            "endpoint:" + OTHER_CONTROL_ADDRESS + ":2"));
+    }
+
+    @Test
+    public void shouldSendBatchWhenEndpointChanges()
+    {
+        batch.add(endpoint, CONTROL_ADDRESS, statusMessage(1));
+        batch.add(otherEndpoint, CONTROL_ADDRESS, statusMessage(2));
+        batch.flush();
+
+        assertThat(datagrams, contains(
+            "endpoint:" + CONTROL_ADDRESS + ":1",
+            "otherEndpoint:" + CONTROL_ADDRESS + ":2"));
+    }
+
+    @Test
+    public void shouldSendBatchWhenFullBeforeAddingNextStatusMessage()
+    {
+        batch.add(endpoint, CONTROL_ADDRESS, statusMessage(1));
+        batch.add(endpoint, CONTROL_ADDRESS, statusMessage(2));
+        batch.add(endpoint, CONTROL_ADDRESS, statusMessage(3));
+
+        assertThat(datagrams, empty());
+
+        batch.add(endpoint, CONTROL_ADDRESS, statusMessage(4));
+
+        assertThat(datagrams, contains("endpoint:" + CONTROL_ADDRESS + ":1,2,3"));
+
+        batch.flush();
+
+        assertThat(datagrams, contains(
+            "endpoint:" + CONTROL_ADDRESS + ":1,2,3",
+            "endpoint:" + CONTROL_ADDRESS + ":4"));
+    }
+
+    private ByteBuffer statusMessage(final int sessionId)
+    {
+        smBuffer.clear().limit(HEADER_LENGTH);
+        smFlyweight.sessionId(sessionId).frameLength(HEADER_LENGTH);
+
+        return smBuffer;
+    }
+
+    private void recordDatagrams(final ReceiveChannelEndpoint endpoint, final String name)
+    {
+        doAnswer(
+            (invocation) ->
+            {
+                final ByteBuffer buffer = invocation.getArgument(0);
+                final InetSocketAddress address = invocation.getArgument(1);
+                final UnsafeBuffer datagram = new UnsafeBuffer(buffer, buffer.position(), buffer.remaining());
+                final StatusMessageFlyweight statusMessage = new StatusMessageFlyweight();
+                final StringBuilder builder = new StringBuilder(name).append(':').append(address).append(':');
+
+                for (int offset = 0; offset < datagram.capacity(); offset += HEADER_LENGTH)
+                {
+                    statusMessage.wrap(datagram, offset, HEADER_LENGTH);
+                    builder.append(offset > 0 ? "," : "").append(statusMessage.sessionId());
+                }
+
+                datagrams.add(builder.toString());
+
+                return null;
+            })
+            .when(endpoint).sendStatusMessageBatch(any(), any());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.*;
+import io.aeron.driver.*;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.BufferUtil;
+import org.agrona.concurrent.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+
+/**
+ * Throughput comparison over IPC of offering messages one at a time with offering them in batches which reserve
+ * space in the term with a single tail update.
+ * <p>
+ * The message length is set with {@code aeron.sample.messageLength} and the batch size with
+ * {@code aeron.sample.batchSize}. Small messages, e.g. 32 or 64 bytes, show the greatest difference.
+ */
+public class EmbeddedBatchIpcThroughput
+{
+    public static final int MESSAGE_LENGTH = SampleConfiguration.MESSAGE_LENGTH;
+    public static final int BATCH_SIZE = SampleConfiguration.BATCH_SIZE;
+    public static final int FRAGMENT_COUNT_LIMIT = SampleConfiguration.FRAGMENT_COUNT_LIMIT;
+    public static final String CHANNEL = CommonContext.IPC_CHANNEL;
+    public static final int STREAM_ID = SampleConfiguration.STREAM_ID;
+    public static final int ITERATIONS = 5;
+    public static final int OFFERS_PER_DEADLINE_CHECK = 1000;
+    public static final long RUN_DURATION_NS = TimeUnit.SECONDS.toNanos(2);
+
+    public static void main(final String[] args) throws Exception
+    {
+        loadPropertiesFiles(args);
+
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new NoOpIdleStrategy());
+
+        try (MediaDriver ignore = MediaDriver.launch(ctx);
+            Aeron aeron = Aeron.connect())
+        {
+            int streamId = STREAM_ID;
+            for (int i = 0; i < ITERATIONS; i++)
+            {
+                final double singleRate = run(aeron, streamId++, false);
+                final double batchRate = run(aeron, streamId++, true);
+
+                System.out.format(
+                    "%d byte messages - single offer %,.0f msgs/sec - batch of %d offer %,.0f msgs/sec%n",
+                    MESSAGE_LENGTH, singleRate, BATCH_SIZE, batchRate);
+            }
+        }
+    }
+
+    private static double run(final Aeron aeron, final int streamId, final boolean isBatch) throws Exception
+    {
+        try (Publication publication = aeron.addPublication(CHANNEL, streamId);
+            Subscription subscription = aeron.addSubscription(CHANNEL, streamId))
+        {
+            final AtomicBoolean running = new AtomicBoolean(true);
+            final Subscriber subscriber = new Subscriber(running, subscription);
+            final Thread subscriberThread = new Thread(subscriber);
+            subscriberThread.setName("subscriber");
+            subscriberThread.start();
+
+            while (!publication.isConnected())
+            {
+                Thread.yield();
+            }
+
+            final UnsafeBuffer buffer = new UnsafeBuffer(
+                BufferUtil.allocateDirectAligned(MESSAGE_LENGTH * BATCH_SIZE, CACHE_LINE_LENGTH));
+            final DirectBufferVector[] batch = new DirectBufferVector[BATCH_SIZE];
+            for (int i = 0; i < BATCH_SIZE; i++)
+            {
+                batch[i] = new DirectBufferVector(buffer, i * MESSAGE_LENGTH, MESSAGE_LENGTH);
+            }
+
+            long sent = 0;
+            final long startNs = System.nanoTime();
+            final long deadlineNs = startNs + RUN_DURATION_NS;
+
+            do
+            {
+                for (int i = 0; i < OFFERS_PER_DEADLINE_CHECK; i++)
+                {
+                    if (isBatch)
+                    {
+                        if (publication.offerBatch(batch, BATCH_SIZE) > 0)
+                        {
+                            sent += BATCH_SIZE;
+                        }
+                    }
+                    else if (publication.offer(buffer, 0, MESSAGE_LENGTH) > 0)
+                    {
+                        sent++;
+                    }
+                }
+            }
+            while (System.nanoTime() < deadlineNs);
+
+            while (subscriber.received() < sent)
+            {
+                Thread.yield();
+            }
+
+            final long durationNs = System.nanoTime() - startNs;
+            running.set(false);
+            subscriberThread.join();
+
+            return sent / ((double)durationNs / TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    static final class Subscriber implements Runnable
+    {
+        private final AtomicBoolean running;
+        private final Subscription subscription;
+        private volatile long received = 0;
+
+        Subscriber(final AtomicBoolean running, final Subscription subscription)
+        {
+            this.running = running;
+            this.subscription = subscription;
+        }
+
+        long received()
+        {
+            return received;
+        }
+
+        public void run()
+        {
+            final FragmentHandler handler = (buffer, offset, length, header) -> {};
+            final Subscription subscription = this.subscription;
+            long count = 0;
+
+            while (running.get())
+            {
+                final int fragments = subscription.poll(handler, FRAGMENT_COUNT_LIMIT);
+                if (fragments > 0)
+                {
+                    count += fragments;
+                    received = count;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.*;
+import io.aeron.driver.*;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+
+/**
+ * Benchmark for the latency of add and remove subscription commands to an embedded driver which is already
+ * holding a large number of subscriptions from other streams.
+ */
+public class EmbeddedCommandLatency
+{
+    private static final int[] RESOURCE_COUNTS = { 10_000, 50_000 };
+    private static final int WARMUP_COUNT = 1_000;
+    private static final int SAMPLE_COUNT = 10_000;
+    private static final String CHANNEL = CommonContext.IPC_CHANNEL;
+    private static final int PROBE_STREAM_ID = -1;
+
+    public static void main(final String[] args)
+    {
+        loadPropertiesFiles(args);
+
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.DEDICATED);
+
+        try (MediaDriver ignore = MediaDriver.launch(ctx);
+            Aeron aeron = Aeron.connect())
+        {
+            final ArrayList<Subscription> subscriptions = new ArrayList<>();
+            final Histogram histogram = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+
+            for (final int resourceCount : RESOURCE_COUNTS)
+            {
+                while (subscriptions.size() < resourceCount)
+                {
+                    subscriptions.add(aeron.addSubscription(CHANNEL, subscriptions.size()));
+                }
+
+                for (int i = 0; i < WARMUP_COUNT; i++)
+                {
+                    aeron.addSubscription(CHANNEL, PROBE_STREAM_ID).close();
+                }
+
+                histogram.reset();
+                for (int i = 0; i < SAMPLE_COUNT; i++)
+                {
+                    final long startNs = System.nanoTime();
+                    final Subscription subscription = aeron.addSubscription(CHANNEL, PROBE_STREAM_ID);
+                    subscription.close();
+                    histogram.recordValue(System.nanoTime() - startNs);
+                }
+
+                System.out.format("Add and remove subscription with %,d existing subscriptions%n", resourceCount);
+                System.out.println("Histogram of command latencies in microseconds.");
+                histogram.outputPercentileDistribution(System.out, 1000.0);
+            }
+
+            subscriptions.forEach(Subscription::close);
+        }
+    }
+}
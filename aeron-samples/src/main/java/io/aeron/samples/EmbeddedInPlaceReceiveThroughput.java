@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.*;
+import io.aeron.driver.*;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+
+/**
+ * Throughput comparison of the receiver copying each packet from a receive buffer into the term with receiving the
+ * body of in order packets in place, over a unicast channel connected to a single source, for a range of message
+ * lengths which fit in an MTU.
+ */
+public class EmbeddedInPlaceReceiveThroughput
+{
+    private static final int[] MESSAGE_LENGTHS = { 64, 512, 1344 };
+    private static final int STREAM_ID = SampleConfiguration.STREAM_ID;
+    private static final long WARMUP_BYTES = 1024L * 1024 * 1024;
+    private static final long MEASURED_BYTES = 8L * 1024 * 1024 * 1024;
+    private static final int FRAGMENT_LIMIT = SampleConfiguration.FRAGMENT_COUNT_LIMIT;
+    private static final String PUBLICATION_CHANNEL = "aeron:udp?endpoint=127.0.0.1:40123|interface=127.0.0.1:40124";
+    private static final String SUBSCRIPTION_CHANNEL = "aeron:udp?endpoint=127.0.0.1:40123|source=127.0.0.1:40124";
+    private static final FragmentHandler NO_OP_HANDLER = (buffer, offset, length, header) -> {};
+
+    public static void main(final String[] args)
+    {
+        loadPropertiesFiles(args);
+
+        for (final int messageLength : MESSAGE_LENGTHS)
+        {
+            final double copyMBps = run(messageLength, false);
+            final double inPlaceMBps = run(messageLength, true);
+
+            System.out.format(
+                "%d byte messages - copy %.1fMB/s - in place %.1fMB/s%n", messageLength, copyMBps, inPlaceMBps);
+        }
+    }
+
+    private static double run(final int messageLength, final boolean isInPlace)
+    {
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.DEDICATED)
+            .receiverIdleStrategy(new BusySpinIdleStrategy())
+            .senderIdleStrategy(new BusySpinIdleStrategy())
+            .receiveInPlace(isInPlace);
+
+        try (MediaDriver ignore = MediaDriver.launch(ctx);
+            Aeron aeron = Aeron.connect();
+            Subscription subscription = aeron.addSubscription(SUBSCRIPTION_CHANNEL, STREAM_ID);
+            Publication publication = aeron.addPublication(PUBLICATION_CHANNEL, STREAM_ID))
+        {
+            while (!publication.isConnected())
+            {
+                Thread.yield();
+            }
+
+            final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(messageLength));
+
+            exchange(publication, subscription, buffer, messageLength, WARMUP_BYTES / messageLength);
+            final long count = MEASURED_BYTES / messageLength;
+            final long startNs = System.nanoTime();
+            exchange(publication, subscription, buffer, messageLength, count);
+            final long durationNs = System.nanoTime() - startNs;
+
+            return ((double)(count * messageLength) / (1024 * 1024)) / ((double)durationNs / 1_000_000_000);
+        }
+    }
+
+    private static void exchange(
+        final Publication publication,
+        final Subscription subscription,
+        final UnsafeBuffer buffer,
+        final int messageLength,
+        final long count)
+    {
+        long sent = 0;
+        long received = 0;
+
+        while (received < count)
+        {
+            if (sent < count && publication.offer(buffer, 0, messageLength) > 0)
+            {
+                sent++;
+            }
+
+            received += subscription.poll(NO_OP_HANDLER, FRAGMENT_LIMIT);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.*;
+import io.aeron.driver.*;
+import org.agrona.concurrent.NoOpIdleStrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+
+/**
+ * Compares the throughput of {@link EmbeddedIpcThroughput} with logs in the aeron directory against logs in a huge
+ * pages directory given by {@link Configuration#LOG_HUGE_PAGES_DIR_PROP_NAME}, defaulting to /dev/hugepages.
+ */
+public class EmbeddedIpcThroughputHugePages
+{
+    private static final String DEFAULT_HUGE_PAGES_DIR = "/dev/hugepages";
+    private static final long RUN_DURATION_NS = TimeUnit.SECONDS.toNanos(10);
+    private static final String CHANNEL = EmbeddedIpcThroughput.CHANNEL;
+    private static final int STREAM_ID = EmbeddedIpcThroughput.STREAM_ID;
+
+    public static void main(final String[] args) throws Exception
+    {
+        loadPropertiesFiles(args);
+
+        final String hugePagesDir = System.getProperty(
+            Configuration.LOG_HUGE_PAGES_DIR_PROP_NAME, DEFAULT_HUGE_PAGES_DIR);
+
+        final long regularBytes = run(new MediaDriver.Context().logHugePagesDir(null));
+        final long hugePagesBytes = run(new MediaDriver.Context().logHugePagesDir(hugePagesDir));
+
+        final long durationSeconds = TimeUnit.NANOSECONDS.toSeconds(RUN_DURATION_NS);
+        System.out.format("Regular pages - %,d payload bytes/sec%n", regularBytes / durationSeconds);
+        System.out.format("Huge pages in %s - %,d payload bytes/sec%n", hugePagesDir, hugePagesBytes / durationSeconds);
+    }
+
+    private static long run(final MediaDriver.Context ctx) throws Exception
+    {
+        ctx.threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new NoOpIdleStrategy())
+            .dirDeleteOnStart(true);
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+
+        try (MediaDriver ignore = MediaDriver.launch(ctx);
+            Aeron aeron = Aeron.connect();
+            Publication publication = aeron.addPublication(CHANNEL, STREAM_ID);
+            Subscription subscription = aeron.addSubscription(CHANNEL, STREAM_ID))
+        {
+            final EmbeddedIpcThroughput.Subscriber subscriber =
+                new EmbeddedIpcThroughput.Subscriber(running, subscription);
+            final Thread subscriberThread = new Thread(subscriber);
+            subscriberThread.setName("subscriber");
+            final Thread publisherThread = new Thread(new EmbeddedIpcThroughput.Publisher(running, publication));
+            publisherThread.setName("publisher");
+
+            subscriberThread.start();
+            publisherThread.start();
+
+            TimeUnit.NANOSECONDS.sleep(RUN_DURATION_NS);
+            running.set(false);
+
+            subscriberThread.join();
+            publisherThread.join();
+
+            return subscriber.totalBytes();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.*;
+import io.aeron.driver.*;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+
+/**
+ * Benchmark for the per packet cost of the receiver when one stream is active and the remaining receive endpoints
+ * are idle, comparing the selector based poll with the sweep poll over increasing numbers of endpoints.
+ */
+public class EmbeddedReceiveEndpointScaling
+{
+    private static final int[] ENDPOINT_COUNTS = { 10, 100, 500 };
+    private static final int BASE_PORT = 40_000;
+    private static final int STREAM_ID = SampleConfiguration.STREAM_ID;
+    private static final int MESSAGE_LENGTH = 32;
+    private static final int WARMUP_MESSAGE_COUNT = 1_000_000;
+    private static final int MESSAGE_COUNT = 10_000_000;
+    private static final int FRAGMENT_LIMIT = SampleConfiguration.FRAGMENT_COUNT_LIMIT;
+    private static final FragmentHandler NO_OP_HANDLER = (buffer, offset, length, header) -> {};
+
+    public static void main(final String[] args)
+    {
+        loadPropertiesFiles(args);
+
+        for (final int endpointCount : ENDPOINT_COUNTS)
+        {
+            final double selectorNs = run(endpointCount, false);
+            final double sweepNs = run(endpointCount, true);
+
+            System.out.format(
+                "%d endpoints - selector %.1fns/packet - sweep %.1fns/packet%n", endpointCount, selectorNs, sweepNs);
+        }
+    }
+
+    private static double run(final int endpointCount, final boolean isSweep)
+    {
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.DEDICATED)
+            .receiverIdleStrategy(new BusySpinIdleStrategy())
+            .senderIdleStrategy(new BusySpinIdleStrategy())
+            .receiveSweepPoll(isSweep);
+
+        try (MediaDriver ignore = MediaDriver.launch(ctx);
+            Aeron aeron = Aeron.connect())
+        {
+            final ArrayList<Subscription> idleSubscriptions = new ArrayList<>();
+            for (int i = 1; i < endpointCount; i++)
+            {
+                idleSubscriptions.add(aeron.addSubscription(channel(BASE_PORT + i), STREAM_ID));
+            }
+
+            final Subscription subscription = aeron.addSubscription(channel(BASE_PORT), STREAM_ID);
+            final Publication publication = aeron.addPublication(channel(BASE_PORT), STREAM_ID);
+            while (!publication.isConnected())
+            {
+                Thread.yield();
+            }
+
+            final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(MESSAGE_LENGTH));
+
+            exchange(publication, subscription, buffer, WARMUP_MESSAGE_COUNT);
+            final long startNs = System.nanoTime();
+            exchange(publication, subscription, buffer, MESSAGE_COUNT);
+            final long durationNs = System.nanoTime() - startNs;
+
+            publication.close();
+            subscription.close();
+            idleSubscriptions.forEach(Subscription::close);
+
+            return (double)durationNs / MESSAGE_COUNT;
+        }
+    }
+
+    private static void exchange(
+        final Publication publication, final Subscription subscription, final UnsafeBuffer buffer, final int count)
+    {
+        int sent = 0;
+        int received = 0;
+
+        while (received < count)
+        {
+            if (sent < count && publication.offer(buffer, 0, MESSAGE_LENGTH) > 0)
+            {
+                sent++;
+            }
+
+            received += subscription.poll(NO_OP_HANDLER, FRAGMENT_LIMIT);
+        }
+    }
+
+    private static String channel(final int port)
+    {
+        return "aeron:udp?endpoint=localhost:" + port;
+    }
+}
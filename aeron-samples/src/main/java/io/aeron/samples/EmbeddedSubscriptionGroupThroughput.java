@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.*;
+import io.aeron.driver.*;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+
+/**
+ * Throughput comparison of polling a large number of mostly idle IPC subscriptions in a hand-written loop with
+ * polling them via a {@link SubscriptionGroup}. One in {@link #ACTIVE_INTERVAL} subscriptions has a publisher.
+ */
+public class EmbeddedSubscriptionGroupThroughput
+{
+    private static final int SUBSCRIPTION_COUNT = 1000;
+    private static final int ACTIVE_INTERVAL = 100;
+    private static final int STREAM_ID = SampleConfiguration.STREAM_ID;
+    private static final int MESSAGE_LENGTH = SampleConfiguration.MESSAGE_LENGTH;
+    private static final int FRAGMENT_LIMIT = SampleConfiguration.FRAGMENT_COUNT_LIMIT;
+    private static final long WARMUP_MESSAGES = SampleConfiguration.WARMUP_NUMBER_OF_MESSAGES;
+    private static final long MESSAGES = SampleConfiguration.NUMBER_OF_MESSAGES;
+    private static final String CHANNEL = CommonContext.IPC_CHANNEL;
+
+    private static long received = 0;
+    private static final FragmentHandler COUNTING_HANDLER = (buffer, offset, length, header) -> received++;
+
+    public static void main(final String[] args)
+    {
+        loadPropertiesFiles(args);
+
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .sharedIdleStrategy(new BusySpinIdleStrategy());
+
+        try (MediaDriver ignore = MediaDriver.launch(ctx);
+            Aeron aeron = Aeron.connect())
+        {
+            final Subscription[] subscriptions = new Subscription[SUBSCRIPTION_COUNT];
+            final Publication[] publications = new Publication[SUBSCRIPTION_COUNT / ACTIVE_INTERVAL];
+            final SubscriptionGroup group = new SubscriptionGroup(FRAGMENT_LIMIT);
+
+            for (int i = 0; i < SUBSCRIPTION_COUNT; i++)
+            {
+                subscriptions[i] = aeron.addSubscription(CHANNEL, STREAM_ID + i);
+                group.add(subscriptions[i], COUNTING_HANDLER);
+
+                if (0 == i % ACTIVE_INTERVAL)
+                {
+                    publications[i / ACTIVE_INTERVAL] = aeron.addPublication(CHANNEL, STREAM_ID + i);
+                }
+            }
+
+            for (final Publication publication : publications)
+            {
+                while (!publication.isConnected())
+                {
+                    Thread.yield();
+                }
+            }
+
+            final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(MESSAGE_LENGTH));
+
+            exchange(publications, subscriptions, null, buffer, WARMUP_MESSAGES);
+            exchange(publications, subscriptions, group, buffer, WARMUP_MESSAGES);
+
+            final double loopRate = exchange(publications, subscriptions, null, buffer, MESSAGES);
+            final double groupRate = exchange(publications, subscriptions, group, buffer, MESSAGES);
+
+            System.out.format(
+                "%d subscriptions, %d active - loop %.0f msgs/sec - group %.0f msgs/sec%n",
+                SUBSCRIPTION_COUNT, publications.length, loopRate, groupRate);
+        }
+    }
+
+    private static double exchange(
+        final Publication[] publications,
+        final Subscription[] subscriptions,
+        final SubscriptionGroup group,
+        final UnsafeBuffer buffer,
+        final long count)
+    {
+        final long startNs = System.nanoTime();
+        long sent = 0;
+        received = 0;
+
+        while (received < count)
+        {
+            if (sent < count &&
+                publications[(int)(sent % publications.length)].offer(buffer, 0, MESSAGE_LENGTH) > 0)
+            {
+                sent++;
+            }
+
+            if (null == group)
+            {
+                for (final Subscription subscription : subscriptions)
+                {
+                    subscription.poll(COUNTING_HANDLER, FRAGMENT_LIMIT);
+                }
+            }
+            else
+            {
+                group.poll(FRAGMENT_LIMIT);
+            }
+        }
+
+        final long durationNs = System.nanoTime() - startNs;
+
+        return (double)count / ((double)durationNs / 1_000_000_000);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import org.agrona.concurrent.status.CountersReader;
+
+import java.io.PrintStream;
+import java.util.*;
+
+import static io.aeron.driver.status.ReceiveLatencyIndicator.RECEIVE_LATENCY_TYPE_ID;
+import static io.aeron.driver.status.StreamPositionCounter.*;
+
+/**
+ * Tool for taking a snapshot of the receive side latency percentiles for each image in a
+ * {@link io.aeron.driver.MediaDriver} running with {@code aeron.rcv.timestamps=true}.
+ * <p>
+ * A line of text is output per image with each of the latency indicators in the format:
+ * {@code <label-name>:<registration id>:<value in nanoseconds>}
+ */
+public class ReceiveLatencyStat
+{
+    private final CountersReader counters;
+
+    public static void main(final String[] args)
+    {
+        final ReceiveLatencyStat receiveLatencyStat = new ReceiveLatencyStat(StreamStat.mapCounters());
+
+        receiveLatencyStat.print(System.out);
+    }
+
+    public ReceiveLatencyStat(final CountersReader counters)
+    {
+        this.counters = counters;
+    }
+
+    /**
+     * Print a snapshot of the receive latency indicators to a {@link PrintStream}.
+     * <p>
+     * Each image will be printed on its own line.
+     *
+     * @param out to which the snapshot will be written.
+     * @return the number of images printed.
+     */
+    public int print(final PrintStream out)
+    {
+        final Map<StreamStat.StreamCompositeKey, List<String>> images = new LinkedHashMap<>();
+
+        counters.forEach(
+            (counterId, typeId, keyBuffer, label) ->
+            {
+                if (typeId == RECEIVE_LATENCY_TYPE_ID)
+                {
+                    final StreamStat.StreamCompositeKey key = new StreamStat.StreamCompositeKey(
+                        keyBuffer.getInt(SESSION_ID_OFFSET),
+                        keyBuffer.getInt(STREAM_ID_OFFSET),
+                        keyBuffer.getStringAscii(CHANNEL_OFFSET));
+
+                    final int nameLength = label.indexOf(':');
+                    final String indicator =
+                        (nameLength > 0 ? label.substring(0, nameLength) : label) +
+                        ':' + keyBuffer.getLong(REGISTRATION_ID_OFFSET) +
+                        ':' + counters.getCounterValue(counterId);
+
+                    images
+                        .computeIfAbsent(key, (ignore) -> new ArrayList<>())
+                        .add(indicator);
+                }
+            });
+
+        final StringBuilder builder = new StringBuilder();
+        for (final Map.Entry<StreamStat.StreamCompositeKey, List<String>> entry : images.entrySet())
+        {
+            builder.setLength(0);
+            final StreamStat.StreamCompositeKey key = entry.getKey();
+
+            builder
+                .append("sessionId=").append(key.sessionId())
+                .append(" streamId=").append(key.streamId())
+                .append(" channel=").append(key.channel())
+                .append(" :");
+
+            for (final String indicator : entry.getValue())
+            {
+                builder.append(' ').append(indicator);
+            }
+
+            out.println(builder);
+        }
+
+        return images.size();
+    }
+}
@@ -17,6 +17,7 @@ package io.aeron;
 
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.MutableInteger;
 import org.junit.After;
 import org.junit.Test;
 import org.junit.experimental.theories.DataPoint;
@@ -119,4 +120,63 @@ public class FragmentedMessageTest
             assertThat(headerArg.getValue().flags(), is(END_FRAG_FLAG));
         }
     }
+
+    @Theory
+    @Test(timeout = 10_000)
+    public void shouldReceiveMessageAsVectorsWhenFragmentsAreSplitAcrossPolls(final String channel)
+    {
+        final UnsafeBuffer receivedBuffer = new UnsafeBuffer(new byte[driver.context().mtuLength() * 4]);
+        final MutableInteger receivedLength = new MutableInteger();
+        final ImageVectorFragmentAssembler assembler = new ImageVectorFragmentAssembler(
+            (vectors, vectorCount, length, header) ->
+            {
+                int offset = 0;
+                for (int i = 0; i < vectorCount; i++)
+                {
+                    final DirectBufferVector vector = vectors[i];
+                    receivedBuffer.putBytes(offset, vector.buffer(), vector.offset(), vector.length());
+                    offset += vector.length();
+                }
+
+                receivedLength.value = length;
+            });
+
+        try (Publication publication = aeron.addPublication(channel, STREAM_ID);
+            Subscription subscription = aeron.addSubscription(channel, STREAM_ID))
+        {
+            final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[receivedBuffer.capacity()]);
+            final int length = srcBuffer.capacity() / 4;
+
+            for (int i = 0; i < 4; i++)
+            {
+                srcBuffer.setMemory(i * length, length, (byte)(65 + i));
+            }
+
+            while (publication.offer(srcBuffer, 0, srcBuffer.capacity()) < 0L)
+            {
+                SystemTest.checkInterruptedStatus();
+                Thread.yield();
+            }
+
+            final int expectedFragmentsBecauseOfHeader = 5;
+            int numFragments = 0;
+            do
+            {
+                final int fragments = subscription.poll(assembler, 1);
+                if (0 == fragments)
+                {
+                    SystemTest.checkInterruptedStatus();
+                    Thread.yield();
+                }
+                numFragments += fragments;
+            }
+            while (numFragments < expectedFragmentsBecauseOfHeader);
+
+            assertThat(receivedLength.value, is(srcBuffer.capacity()));
+            for (int i = 0; i < srcBuffer.capacity(); i++)
+            {
+                assertThat("same at i=" + i, receivedBuffer.getByte(i), is(srcBuffer.getByte(i)));
+            }
+        }
+    }
 }